@@ -0,0 +1,144 @@
+package com.plana.auth.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 전용 스레드 풀에서 해시를 계산하는 PasswordEncoder
+ *
+ * BCrypt encode/matches 는 CPU 를 많이 쓰는 작업이라 요청 스레드에서 바로 돌리면
+ * 로그인 폭주 시 Tomcat 워커가 모두 해시 계산에 묶여 일정/일기 같은 가벼운 요청까지 느려짐
+ * - 해시 계산은 코어 수만큼의 스레드에서만 실행 (동시에 CPU 를 점유하는 해시 작업 수 제한)
+ * - 대기 큐 크기 제한, 큐가 가득 차거나 timeout-ms 안에 끝나지 않으면 바로 503 (부하 차단)
+ * - 요청 스레드는 결과를 기다리는 동안 CPU 를 쓰지 않음
+ *
+ * 메트릭: plana.password.hash{op}, plana.password.queue.wait, plana.password.rejected{reason},
+ *        plana.password.queue.depth, plana.password.active
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer queueWaitTimer;
+    private final Counter queueFullCounter;
+    private final Counter timeoutCounter;
+
+    /**
+     * @param delegate 실제 해시 계산 (BCryptPasswordEncoder)
+     * @param threads 해시 계산 스레드 수 (0 이하면 CPU 코어 수)
+     * @param queueCapacity 대기 큐 크기
+     * @param timeoutMs 큐 대기 + 계산을 포함한 최대 대기 시간
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, MeterRegistry meterRegistry,
+                                  int threads, int queueCapacity, long timeoutMs) {
+        this.delegate = delegate;
+        this.timeoutMs = Math.max(timeoutMs, 1);
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)),
+                r -> {
+                    Thread t = new Thread(r, "password-hash-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("plana.password.hash")
+                .description("비밀번호 해시 계산 시간").tag("op", "encode").register(meterRegistry);
+        this.matchesTimer = Timer.builder("plana.password.hash")
+                .description("비밀번호 해시 계산 시간").tag("op", "matches").register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("plana.password.queue.wait")
+                .description("해시 계산 스레드를 기다린 시간").register(meterRegistry);
+        this.queueFullCounter = Counter.builder("plana.password.rejected")
+                .description("부하 차단된 해시 요청 수").tag("reason", "queue_full").register(meterRegistry);
+        this.timeoutCounter = Counter.builder("plana.password.rejected")
+                .description("부하 차단된 해시 요청 수").tag("reason", "timeout").register(meterRegistry);
+        Gauge.builder("plana.password.queue.depth", executor, e -> e.getQueue().size())
+                .description("해시 계산 대기 중인 요청 수").register(meterRegistry);
+        Gauge.builder("plana.password.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("해시 계산 중인 스레드 수").register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T submit(Timer timer, Callable<T> task) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueWaitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return timer.recordCallable(task);
+            });
+        } catch (RejectedExecutionException e) {
+            queueFullCounter.increment();
+            log.warn("비밀번호 해시 대기열 가득 참 - 요청 차단 (대기 {}건)", executor.getQueue().size());
+            throw overloaded();
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // 아직 큐에 있다면 계산하지 않도록 취소 (이미 계산 중이면 끝날 때까지 둠)
+            future.cancel(false);
+            timeoutCounter.increment();
+            log.warn("비밀번호 해시 대기 시간 초과 - 요청 차단 ({}ms)", timeoutMs);
+            throw overloaded();
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw overloaded();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException("비밀번호 해시 계산 실패", e.getCause());
+        }
+    }
+
+    private static ResponseStatusException overloaded() {
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해 주세요.");
+    }
+
+    /**
+     * 종료 시 해시 스레드 정리 (빈 destroy 메서드로 자동 호출)
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
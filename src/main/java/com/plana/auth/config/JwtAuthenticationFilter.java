@@ -1,7 +1,9 @@
 package com.plana.auth.config;
 
-import com.plana.auth.repository.MemberRepository;
+import com.plana.auth.service.AuthenticatedMemberCache;
 import com.plana.auth.service.JwtTokenProvider;
+import com.plana.auth.service.RefreshTokenService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -30,7 +32,8 @@ import java.util.Optional;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
-    private final MemberRepository memberRepository;
+    private final AuthenticatedMemberCache authenticatedMemberCache;
+    private final RefreshTokenService refreshTokenService;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
@@ -44,12 +47,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // Authorization 헤더에서 JWT 토큰 추출
             String token = getTokenFromRequest(request);
 
-            if (token != null && jwtTokenProvider.validateToken(token)) {
+            // 요청당 한 번만 검증/파싱 (이후 값은 Claims 에서 바로 꺼냄)
+            Claims claims = token != null ? jwtTokenProvider.getValidClaims(token) : null;
+
+            // 로그아웃/재사용 감지로 폐기된 패밀리의 토큰 거부 (대부분 메모리 필터에서 끝남)
+            if (claims != null && refreshTokenService.isRevoked(claims.get("fid", String.class))) {
+                log.debug("Revoked token family used for request: {}", request.getRequestURI());
+                claims = null;
+            }
+
+            if (claims != null) {
                 // 토큰에서 사용자 ID 추출
-                Long memberId = jwtTokenProvider.getMemberIdFromToken(token);
+                Long memberId = Long.parseLong(claims.getSubject());
 
-                // 사용자 정보 조회
-                Optional<AuthenticatedMemberDto> memberOptional = memberRepository.findAuthenticatedMemberById(memberId);
+                // 사용자 정보 조회 (근접 캐시, 미스일 때만 DB 조회)
+                Optional<AuthenticatedMemberDto> memberOptional = authenticatedMemberCache.get(memberId);
 
                 if (memberOptional.isPresent()) {
                     AuthenticatedMemberDto member = memberOptional.get();
@@ -57,7 +69,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     // 계정이 탈퇴하지 않은 상태인지 확인
                     if (!member.isDeleted()) {
                         // 토큰에서 권한 정보 추출, 일반 사용자인지 확인 작업
-                        String role = jwtTokenProvider.getRoleFromToken(token);
+                        String role = claims.get("role", String.class);
                         // 🔧 수정: 빈 문자열도 체크하고 ROLE_ 접두사 추가
                         if (role == null || role.trim().isEmpty()) {
                             role = "ROLE_USER"; // 기본 권한
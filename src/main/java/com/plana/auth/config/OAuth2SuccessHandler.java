@@ -3,6 +3,7 @@ package com.plana.auth.config;
 import com.plana.auth.entity.Member;
 import com.plana.auth.service.JwtTokenProvider;
 import com.plana.auth.service.OAuth2UserService;
+import com.plana.auth.service.RefreshTokenService;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -28,6 +29,7 @@ import java.nio.charset.StandardCharsets;
 public class OAuth2SuccessHandler extends SimpleUrlAuthenticationSuccessHandler {
 
     private final JwtTokenProvider jwtTokenProvider;
+    private final RefreshTokenService refreshTokenService;
     
     // 프론트엔드 리다이렉트 URL (application-private.properties에서 설정)
     @Value("${app.oauth2.authorized-redirect-uri:http://localhost:5173/auth/callback}")
@@ -49,13 +51,15 @@ public class OAuth2SuccessHandler extends SimpleUrlAuthenticationSuccessHandler
         log.info("OAuth2 login success for member: {}", member.getEmail());
 
         try {
-            // JWT 토큰 생성
+            // JWT 토큰 생성 (로그인마다 새 리프레시 토큰 패밀리)
+            RefreshTokenService.IssuedRefreshToken issued = refreshTokenService.issue(member.getId());
             String accessToken = jwtTokenProvider.createAccessToken(
                     member.getId(),
                     member.getEmail(),
-                    member.getRole()
+                    member.getRole(),
+                    issued.familyId()
             );
-            String refreshToken = jwtTokenProvider.createRefreshToken(member.getId());
+            String refreshToken = issued.token();
             
             // 리프레시 토큰을 HttpOnly 쿠키로 설정 (보안상 안전)
             addRefreshTokenCookie(response, refreshToken);
@@ -1,8 +1,10 @@
 package com.plana.auth.config;
 
 import com.plana.auth.service.OAuth2UserService;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -188,10 +190,14 @@ public class SecurityConfig {
     /**
      * 비밀번호 암호화를 위한 PasswordEncoder 빈 설정
      * BCrypt 해시 알고리즘 사용 (솔트 자동 생성)
+     * 해시 계산은 요청 스레드가 아닌 전용 제한 스레드 풀에서 실행 (BoundedPasswordEncoder)
      */
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Bean(destroyMethod = "shutdown")
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${auth.password-hash.threads:0}") int threads,
+                                           @Value("${auth.password-hash.queue-capacity:64}") int queueCapacity,
+                                           @Value("${auth.password-hash.timeout-ms:3000}") long timeoutMs) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry, threads, queueCapacity, timeoutMs);
     }
 
     @Bean
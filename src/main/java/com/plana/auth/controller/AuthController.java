@@ -3,10 +3,14 @@ package com.plana.auth.controller;
 import com.plana.auth.dto.*;
 import com.plana.auth.entity.Member;
 import com.plana.auth.enums.VerificationPurpose;
+import com.plana.auth.exception.UnauthorizedException;
 import com.plana.auth.repository.MemberRepository;
 import com.plana.auth.service.EmailVerificationService;
 import com.plana.auth.service.JwtTokenProvider;
 import com.plana.auth.service.MemberService;
+import com.plana.auth.service.RefreshTokenService;
+import com.plana.common.ratelimit.RateLimiter;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -40,6 +44,27 @@ public class AuthController {
     private final MemberRepository memberRepository;
     private final MemberService memberService;
     private final EmailVerificationService emailVerificationService;
+    private final RefreshTokenService refreshTokenService;
+    private final RateLimiter rateLimiter;
+
+    // 요청 한도 (분당, IP 기준 / 이메일 기준)
+    @Value("${ratelimit.login.per-ip:20}")
+    private int loginPerIp;
+
+    @Value("${ratelimit.login.per-email:5}")
+    private int loginPerEmail;
+
+    @Value("${ratelimit.email-code.per-ip:10}")
+    private int emailCodePerIp;
+
+    @Value("${ratelimit.email-code.per-email:3}")
+    private int emailCodePerEmail;
+
+    @Value("${ratelimit.email-verify.per-ip:30}")
+    private int emailVerifyPerIp;
+
+    @Value("${ratelimit.email-verify.per-email:10}")
+    private int emailVerifyPerEmail;
 
     @Value("${jwt.refresh-token-validity}")
     private long refreshTokenValidityMs;
@@ -71,12 +96,13 @@ public class AuthController {
 
         try {
             // 리프레시 토큰 유효성 검증
-            if (!jwtTokenProvider.validateToken(refreshToken)) {
+            Claims claims = jwtTokenProvider.getValidClaims(refreshToken);
+            if (claims == null) {
                 return ResponseEntity.status(401).body(Map.of("error", "Invalid refresh token"));
             }
 
             // 리프레시 토큰에서 사용자 ID 추출
-            Long memberId = jwtTokenProvider.getMemberIdFromToken(refreshToken);
+            Long memberId = Long.parseLong(claims.getSubject());
             
             // 사용자 정보 조회
             Optional<Member> memberOptional = memberRepository.findById(memberId);
@@ -85,13 +111,6 @@ public class AuthController {
             }
 
             Member member = memberOptional.get();
-            
-            // 새로운 액세스 토큰 생성
-            String newAccessToken = jwtTokenProvider.createAccessToken(
-                member.getId(),
-                member.getEmail(),
-                member.getRole()
-            );
 
             // Refresh 회전 + 슬라이딩 연장
             // 임박 기준 : 3일 이내면 true
@@ -101,7 +120,17 @@ public class AuthController {
             boolean longLived = remainingSec > (refreshTokenValidityShortMs / 1000); // 짧은 TTL 초과면 장기 취급
             long nextRtMs = longLived ? refreshTokenValidityLongMs : refreshTokenValidityShortMs;
 
-            String nextRefresh = jwtTokenProvider.createRefreshToken(member.getId(), nextRtMs);
+            // 패밀리의 현재 토큰일 때만 회전 (이미 회전된 토큰 재사용 시 패밀리 전체 폐기)
+            RefreshTokenService.IssuedRefreshToken rotated = refreshTokenService.rotate(claims, nextRtMs);
+            String nextRefresh = rotated.token();
+
+            // 새로운 액세스 토큰 생성 (같은 패밀리)
+            String newAccessToken = jwtTokenProvider.createAccessToken(
+                member.getId(),
+                member.getEmail(),
+                member.getRole(),
+                rotated.familyId()
+            );
 
 
             ResponseCookie rtCookie = ResponseCookie.from("refreshToken", nextRefresh)
@@ -126,6 +155,9 @@ public class AuthController {
             log.info("Token refreshed for member: {}", member.getEmail());
             return ResponseEntity.ok(response);
             
+        } catch (UnauthorizedException e) {
+            log.info("Token refresh rejected: {}", e.getMessage());
+            return ResponseEntity.status(401).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             log.error("Token refresh failed", e);
             return ResponseEntity.status(401).body(Map.of("error", "Token refresh failed"));
@@ -148,6 +180,14 @@ public class AuthController {
         
         if (refreshToken != null) {
             log.info("Logout requested with refresh token present");
+
+            // 리프레시 토큰 패밀리 폐기 (같은 로그인으로 발급된 액세스 토큰도 무효화)
+            // 리프레시 토큰이 만료되었어도 서명이 올바르면 패밀리를 찾아 폐기 (액세스 토큰이 아직 살아 있을 수 있음)
+            Claims claims = jwtTokenProvider.getClaimsAllowExpired(refreshToken);
+            String familyId = claims != null ? claims.get("fid", String.class) : null;
+            if (familyId != null) {
+                refreshTokenService.revokeFamily(familyId);
+            }
         } else {
             log.info("Logout requested without refresh token");
         }
@@ -234,9 +274,14 @@ public class AuthController {
      * @return 로그인 결과 (JWT 토큰 포함)
      */
     @PostMapping("/login")
-    public ResponseEntity<LoginResponseDto> login(@Valid @RequestBody LoginRequestDto loginRequest, HttpServletResponse httpResponse) {
+    public ResponseEntity<LoginResponseDto> login(@Valid @RequestBody LoginRequestDto loginRequest,
+                                                  HttpServletRequest httpRequest,
+                                                  HttpServletResponse httpResponse) {
         log.info("General login API called: {}", loginRequest.getEmail());
 
+        // 비밀번호 해시 비교/DB 조회 전에 요청 한도 확인
+        throttle("login", httpRequest, loginRequest.getEmail(), loginPerIp, loginPerEmail);
+
         IssuedTokens response = memberService.login(loginRequest);
 
         // HttpOnly Refresh 쿠키 세팅 (웹 계층 책임)
@@ -281,11 +326,13 @@ public class AuthController {
     // 이메일 인증번호 발송
     @PostMapping("/email/verification-code")
     public ResponseEntity<EmailSendResponseDto> sendVerificationCode(
-            @Valid @RequestBody EmailSendRequestDto request) {
+            @Valid @RequestBody EmailSendRequestDto request, HttpServletRequest httpRequest) {
 
         String email = request.getEmail().trim().toLowerCase();
         VerificationPurpose purpose = request.getPurpose();
 
+        throttle("email-code", httpRequest, email, emailCodePerIp, emailCodePerEmail);
+
         boolean success = emailVerificationService.sendCode(email, purpose);
 
         if (!success) {
@@ -300,7 +347,10 @@ public class AuthController {
 
     // 이메일 인증번호 확인
     @PostMapping("/email/verify")
-    public ResponseEntity<?> verify(@Valid @RequestBody VerifyCodeRequestDto req) {
+    public ResponseEntity<?> verify(@Valid @RequestBody VerifyCodeRequestDto req, HttpServletRequest httpRequest) {
+        // 6자리 인증번호 대입 공격 방지
+        throttle("email-verify", httpRequest, req.getEmail(), emailVerifyPerIp, emailVerifyPerEmail);
+
         var r = emailVerificationService.verifyCode(req.getEmail(), req.getCode());
         return switch (r) {
             case OK -> ResponseEntity.ok(Map.of("status", 200, "verified", true, "message", "이메일 인증이 완료되었습니다."));
@@ -321,4 +371,14 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
 
+
+    /**
+     * IP / 이메일 기준 요청 한도 확인 (초과 시 429)
+     */
+    private void throttle(String scope, HttpServletRequest request, String email, int perIp, int perEmail) {
+        rateLimiter.check(scope + ":ip", rateLimiter.clientIp(request), perIp);
+        if (email != null) {
+            rateLimiter.check(scope + ":email", email.trim().toLowerCase(), perEmail);
+        }
+    }
 }
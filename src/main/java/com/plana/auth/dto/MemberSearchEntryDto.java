@@ -0,0 +1,15 @@
+package com.plana.auth.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 친구 검색 색인용 사용자 정보 (검색에 필요한 컬럼만 조회)
+ */
+@Getter
+@AllArgsConstructor
+public class MemberSearchEntryDto {
+    private Long id;
+    private String loginId;
+    private String nickname;
+}
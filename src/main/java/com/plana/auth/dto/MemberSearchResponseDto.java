@@ -8,5 +8,6 @@ import lombok.Getter;
 public class MemberSearchResponseDto {
     private Long id;
     private String loginId;
+    private String nickname;
 
 }
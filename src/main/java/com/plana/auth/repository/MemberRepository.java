@@ -1,13 +1,18 @@
 package com.plana.auth.repository;
 
 import com.plana.auth.dto.AuthenticatedMemberDto;
+import com.plana.auth.dto.MemberSearchEntryDto;
 import com.plana.auth.entity.Member;
 import com.plana.auth.enums.SocialProvider;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -57,4 +62,35 @@ public interface MemberRepository extends JpaRepository<Member, Long> {
     @Query("select count(m) from Member m where m.loginId is not null")
     long countMembersWithLoginId();
 
+    // 친구 검색 색인 적재 (id 순 keyset 페이지)
+    @Query("""
+        select new com.plana.auth.dto.MemberSearchEntryDto(m.id, m.loginId, m.nickname)
+        from Member m
+        where m.id > :lastId
+          and (m.loginId is not null or m.nickname is not null)
+        order by m.id
+        """)
+    List<MemberSearchEntryDto> findSearchEntriesAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    // 친구 검색 색인 갱신 (탈퇴 회원은 조회되지 않음)
+    @Query("select new com.plana.auth.dto.MemberSearchEntryDto(m.id, m.loginId, m.nickname) from Member m where m.id = :id")
+    Optional<MemberSearchEntryDto> findSearchEntryById(@Param("id") Long id);
+
+    /**
+     * 비밀번호 교체 (해시 계산은 트랜잭션 밖에서 끝내고 이 UPDATE 만 짧게 실행)
+     * 조회 이후 다른 요청이 먼저 바꿨으면 expected 가 달라 0 을 반환
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Transactional
+    @Query("""
+        update Member m
+        set m.password = :password, m.updatedAt = :now
+        where m.id = :id
+          and (m.password = :expected or (m.password is null and :expected is null))
+        """)
+    int updatePassword(@Param("id") Long id,
+                       @Param("expected") String expected,
+                       @Param("password") String password,
+                       @Param("now") LocalDateTime now);
+
 }
@@ -0,0 +1,114 @@
+package com.plana.auth.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.plana.auth.dto.AuthenticatedMemberDto;
+import com.plana.auth.repository.MemberRepository;
+import com.plana.common.messaging.ClusterMessageBus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * 인증된 사용자 정보 근접 캐시 (near-cache)
+ *
+ * JWT 인증 필터/WebSocket 핸드셰이크가 요청마다 findAuthenticatedMemberById 를 호출하지 않도록
+ * AuthenticatedMemberDto 를 노드 메모리에 짧게 보관
+ * - 크기 제한(auth.member-cache.max-size) + 짧은 TTL(auth.member-cache.ttl-seconds)
+ * - 탈퇴/닉네임·이름·권한 변경 시 evict 호출 → 커밋 이후 Redis Pub/Sub 으로 모든 노드의 항목 제거
+ * - Pub/Sub 메시지가 유실되어도 TTL 이 지나면 DB 에서 다시 읽으므로 최대 TTL 만큼만 늦게 반영됨
+ *
+ * 존재하지 않는 사용자(조회 결과 없음)는 캐시하지 않음
+ */
+@Slf4j
+@Component
+public class AuthenticatedMemberCache {
+
+    private static final String EVICT_CHANNEL = "plana:auth:member-evict";
+
+    private final MemberRepository memberRepository;
+    private final ClusterMessageBus messageBus;
+    private final Cache<Long, AuthenticatedMemberDto> cache;
+
+    public AuthenticatedMemberCache(MemberRepository memberRepository,
+                                    ClusterMessageBus messageBus,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${auth.member-cache.max-size:10000}") long maxSize,
+                                    @Value("${auth.member-cache.ttl-seconds:30}") long ttlSeconds) {
+        this.memberRepository = memberRepository;
+        this.messageBus = messageBus;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(Math.max(maxSize, 0))
+                .expireAfterWrite(Duration.ofSeconds(Math.max(ttlSeconds, 0)))
+                .recordStats()
+                .build();
+
+        // cache.gets{result=hit|miss}, cache.evictions 등 (name=authenticatedMember)
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "authenticatedMember");
+
+        // 다른 노드(및 자기 자신)가 보낸 무효화 메시지 수신
+        messageBus.subscribe(EVICT_CHANNEL, this::onEvictMessage);
+    }
+
+    /**
+     * 인증용 사용자 정보 조회 (캐시 우선)
+     *
+     * @param memberId 사용자 ID
+     * @return 사용자 정보 (없으면 empty)
+     */
+    public Optional<AuthenticatedMemberDto> get(Long memberId) {
+        if (memberId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.get(memberId,
+                id -> memberRepository.findAuthenticatedMemberById(id).orElse(null)));
+    }
+
+    /**
+     * 사용자 정보 변경 시 캐시 무효화 (클러스터 전체)
+     *
+     * 트랜잭션 안에서 호출되면 즉시 로컬 항목을 지우고, 커밋 이후 한 번 더 지우면서 다른 노드에 전파
+     * (커밋 전에 다른 요청이 옛 값을 다시 읽어 캐시하는 경우 대비)
+     *
+     * @param memberId 사용자 ID
+     */
+    public void evict(Long memberId) {
+        cache.invalidate(memberId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(memberId);
+                    publishEvict(memberId);
+                }
+            });
+        } else {
+            publishEvict(memberId);
+        }
+    }
+
+    private void publishEvict(Long memberId) {
+        try {
+            messageBus.publish(EVICT_CHANNEL, memberId.toString());
+        } catch (Exception e) {
+            // 전파 실패 시 다른 노드는 TTL 만료 후 반영
+            log.warn("사용자 캐시 무효화 전파 실패: memberId={}, error={}", memberId, e.getMessage());
+        }
+    }
+
+    private void onEvictMessage(String payload) {
+        try {
+            cache.invalidate(Long.parseLong(payload.trim()));
+        } catch (NumberFormatException e) {
+            log.warn("잘못된 사용자 캐시 무효화 메시지: {}", payload);
+        }
+    }
+}
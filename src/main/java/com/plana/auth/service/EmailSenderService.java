@@ -1,22 +1,251 @@
 package com.plana.auth.service;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 비동기 메일 발송 서비스
+ *
+ * 요청 스레드에서 SMTP 세션을 열지 않고 메일을 제한된 크기의 큐에 넣은 뒤 바로 반환
+ * - 워커 스레드가 큐에서 최대 batch-size 개를 꺼내 JavaMailSender.send(...) 한 번으로 발송
+ *   → 한 묶음은 하나의 SMTP 연결(Transport)로 보내지므로 메일마다 연결/인증을 반복하지 않음
+ * - 실패한 메일만 지수 백오프 후 다시 큐에 넣음 (retry-base-ms, 2배씩, 최대 retry-max-ms), max-attempts 초과 시 포기
+ * - 큐가 가득 차면 즉시 거절 (send 가 false 반환) → 호출자가 사용자에게 재시도 안내
+ *
+ * 메트릭: plana.mail.queue.depth, plana.mail.sent, plana.mail.retried, plana.mail.failed, plana.mail.rejected
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class EmailSenderService {
+
     private final JavaMailSender mailSender;
+    private final int batchSize;
+    private final long lingerMs;
+    private final int maxAttempts;
+    private final long retryBaseMs;
+    private final long retryMaxMs;
+
+    private final BlockingQueue<OutgoingMail> queue;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService retryScheduler;
+    private volatile boolean running = true;
+
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+    private final Counter rejectedCounter;
+
+    public EmailSenderService(JavaMailSender mailSender,
+                              MeterRegistry meterRegistry,
+                              @Value("${mail.queue.capacity:1000}") int capacity,
+                              @Value("${mail.queue.workers:2}") int workerCount,
+                              @Value("${mail.queue.batch-size:20}") int batchSize,
+                              @Value("${mail.queue.linger-ms:100}") long lingerMs,
+                              @Value("${mail.queue.max-attempts:5}") int maxAttempts,
+                              @Value("${mail.queue.retry-base-ms:1000}") long retryBaseMs,
+                              @Value("${mail.queue.retry-max-ms:60000}") long retryMaxMs) {
+        this.mailSender = mailSender;
+        this.batchSize = Math.max(batchSize, 1);
+        this.lingerMs = Math.max(lingerMs, 0);
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.retryBaseMs = Math.max(retryBaseMs, 1);
+        this.retryMaxMs = Math.max(retryMaxMs, this.retryBaseMs);
+        this.queue = new ArrayBlockingQueue<>(Math.max(capacity, 1));
+
+        AtomicInteger seq = new AtomicInteger();
+        int threads = Math.max(workerCount, 1);
+        this.workers = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "mail-sender-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "mail-retry");
+            t.setDaemon(true);
+            return t;
+        });
+
+        Gauge.builder("plana.mail.queue.depth", queue, BlockingQueue::size)
+                .description("발송 대기 중인 메일 수")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("plana.mail.sent")
+                .description("발송 완료된 메일 수").register(meterRegistry);
+        this.retriedCounter = Counter.builder("plana.mail.retried")
+                .description("재시도 예약된 메일 수").register(meterRegistry);
+        this.failedCounter = Counter.builder("plana.mail.failed")
+                .description("최대 시도 횟수를 넘겨 포기한 메일 수").register(meterRegistry);
+        this.rejectedCounter = Counter.builder("plana.mail.rejected")
+                .description("큐가 가득 차 거절된 메일 수").register(meterRegistry);
+
+        for (int i = 0; i < threads; i++) {
+            workers.execute(this::runWorker);
+        }
+    }
 
-    public void send(String to, String subject, String body) {
+    /**
+     * 메일 발송 요청 (큐에 넣고 바로 반환)
+     *
+     * @return 큐 등록 여부 (큐가 가득 찼거나 종료 중이면 false)
+     */
+    public boolean send(String to, String subject, String body) {
         SimpleMailMessage msg = new SimpleMailMessage();
         msg.setTo(to);
         msg.setSubject(subject);
         msg.setText(body);
-        mailSender.send(msg);
+
+        if (running && queue.offer(new OutgoingMail(msg, 0))) {
+            return true;
+        }
+        rejectedCounter.increment();
+        log.warn("메일 발송 큐가 가득 차 요청 거절: to={}", to);
+        return false;
+    }
+
+    /**
+     * 현재 발송 대기 중인 메일 수
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    private void runWorker() {
+        List<OutgoingMail> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                OutgoingMail first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // 잠깐 기다리며 같은 연결로 보낼 메일을 더 모음
+                long deadline = System.currentTimeMillis() + lingerMs;
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.currentTimeMillis();
+                    OutgoingMail next = remaining > 0 ? queue.poll(remaining, TimeUnit.MILLISECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                sendBatch(batch);
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("메일 발송 워커 오류: {}", e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 한 묶음 발송 (하나의 SMTP 연결)
+     */
+    private void sendBatch(List<OutgoingMail> batch) {
+        SimpleMailMessage[] messages = batch.stream().map(OutgoingMail::message).toArray(SimpleMailMessage[]::new);
+
+        try {
+            mailSender.send(messages);
+            sentCounter.increment(batch.size());
+
+        } catch (MailSendException e) {
+            // 메시지별 실패 정보가 있으면 실패한 것만 재시도, 없으면(연결 실패 등) 묶음 전체 재시도
+            Map<Object, Exception> failed = e.getFailedMessages();
+            if (failed.isEmpty()) {
+                batch.forEach(mail -> retry(mail, e));
+                return;
+            }
+
+            Map<Object, OutgoingMail> byMessage = new IdentityHashMap<>();
+            batch.forEach(mail -> byMessage.put(mail.message(), mail));
+
+            int succeeded = batch.size();
+            for (Map.Entry<Object, Exception> entry : failed.entrySet()) {
+                OutgoingMail mail = byMessage.get(entry.getKey());
+                if (mail != null) {
+                    succeeded--;
+                    retry(mail, entry.getValue());
+                }
+            }
+            sentCounter.increment(succeeded);
+
+        } catch (MailException e) {
+            batch.forEach(mail -> retry(mail, e));
+        }
+    }
+
+    private void retry(OutgoingMail mail, Exception cause) {
+        int attempts = mail.attempts() + 1;
+        String to = String.join(",", mail.message().getTo());
+
+        if (attempts >= maxAttempts || !running) {
+            failedCounter.increment();
+            log.error("메일 발송 최종 실패: to={}, attempts={}, error={}", to, attempts, cause.getMessage());
+            return;
+        }
+
+        long delay = Math.min(retryBaseMs << Math.min(attempts - 1, 20), retryMaxMs);
+        retriedCounter.increment();
+        log.warn("메일 발송 실패 - {}ms 후 재시도: to={}, attempts={}, error={}", delay, to, attempts, cause.getMessage());
+
+        OutgoingMail next = new OutgoingMail(mail.message(), attempts);
+        try {
+            retryScheduler.schedule(() -> {
+                if (!queue.offer(next)) {
+                    failedCounter.increment();
+                    log.error("메일 재시도 큐 등록 실패 (큐 가득 참): to={}", to);
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            failedCounter.increment();
+            log.error("메일 재시도 예약 실패: to={}, error={}", to, e.getMessage());
+        }
+    }
+
+    /**
+     * 종료 시 큐에 남은 메일을 가능한 만큼 발송
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        retryScheduler.shutdownNow();
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("메일 발송 워커 종료 대기 시간 초과: 미발송 {}건", queue.size());
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            workers.shutdownNow();
+        }
+    }
+
+    private record OutgoingMail(SimpleMailMessage message, int attempts) {
     }
 }
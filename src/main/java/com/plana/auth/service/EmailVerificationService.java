@@ -2,11 +2,12 @@ package com.plana.auth.service;
 
 import com.plana.auth.enums.VerificationPurpose;
 import com.plana.auth.repository.MemberRepository;
-import jakarta.transaction.Transactional;
+import com.plana.common.store.KeyValueStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.security.SecureRandom;
 import java.time.Duration;
@@ -17,7 +18,7 @@ import java.time.Duration;
 public class EmailVerificationService {
 
     private final MemberRepository memberRepository;
-    private final StringRedisTemplate redis;
+    private final KeyValueStore store;
     private final EmailSenderService emailSender;
 
     private static final SecureRandom RAND = new SecureRandom();
@@ -29,7 +30,7 @@ public class EmailVerificationService {
     private String verifiedKey(String email) { return "email:verify:ok:" + email; }
     public enum VerifyResult { OK, EXPIRED, MISMATCH, NOT_FOUND }
 
-    @Transactional
+    // 메일은 비동기 큐로 발송되므로 SMTP 지연이 요청 시간에 포함되지 않음 (DB 는 존재 여부 조회 한 번뿐이라 트랜잭션 불필요)
     public boolean sendCode(String rawEmail, VerificationPurpose purpose) {
         String email = rawEmail.trim().toLowerCase();
 
@@ -38,11 +39,10 @@ public class EmailVerificationService {
         if (purpose.shouldExist() && !exists) return false;     // 있어야 하는데 없음
         if (!purpose.shouldExist() && exists) return false;     // 없어야 하는데 있음
 
-        // 쿨다운 체크(있으면 조용히 패스해도 되고 429로 처리해도 됨)
-        if (!Boolean.TRUE.equals(redis.hasKey(throttleKey(email)))) {
+        // 쿨다운 체크(있으면 조용히 패스해도 되고 429로 처리해도 됨) - 쿨다운 키 선점으로 동시 요청 중 하나만 발송
+        if (store.setIfAbsent(throttleKey(email), "1", COOLDOWN)) {
             String code = generateCode();
-            redis.opsForValue().set(codeKey(email), code, TTL);
-            redis.opsForValue().set(throttleKey(email), "1", COOLDOWN);
+            store.set(codeKey(email), code, TTL);
 
             String subject = switch (purpose) {
                 case SIGN_UP -> "[PlaNa] 회원가입 이메일 인증번호 안내";
@@ -57,7 +57,12 @@ public class EmailVerificationService {
                     유효시간: %d분
                     """.formatted(code, TTL.toMinutes());
 
-            emailSender.send(email, subject, body);
+            if (!emailSender.send(email, subject, body)) {
+                // 발송 큐 포화: 발급 정보를 되돌려 바로 다시 요청할 수 있게 함
+                store.delete(codeKey(email));
+                store.delete(throttleKey(email));
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "메일 발송 요청이 많습니다. 잠시 후 다시 시도해 주세요.");
+            }
         }
         return true; // 정책 조건 만족 & 발송 처리
     }
@@ -70,7 +75,7 @@ public class EmailVerificationService {
     public VerifyResult verifyCode(String rawEmail, String inputCode) {
         String email = rawEmail.trim().toLowerCase();
         String key = codeKey(email);
-        String saved = redis.opsForValue().get(key);
+        String saved = store.get(key);
         if (saved == null) {
             // TTL 지나서 사라졌거나, 애초에 발급이 안 됨
             return VerifyResult.EXPIRED; // 또는 NOT_FOUND로 구분해도 됨
@@ -79,19 +84,22 @@ public class EmailVerificationService {
             return VerifyResult.MISMATCH;
         }
         // 성공: 코드 제거 + "인증 완료" 플래그(예: 30분 유지)
-        redis.delete(key);
-        redis.opsForValue().set(verifiedKey(email), "true", Duration.ofMinutes(30)); // 30분동안 해당 이메일 인증 확인 했다는 표시를 가짐
+        // 일치할 때만 지우므로 같은 코드로 동시에 여러 번 인증되지 않음
+        if (!store.compareAndDelete(key, inputCode)) {
+            return VerifyResult.EXPIRED;
+        }
+        store.set(verifiedKey(email), "true", Duration.ofMinutes(30)); // 30분동안 해당 이메일 인증 확인 했다는 표시를 가짐
         return VerifyResult.OK;
     }
 
     public boolean isVerified(String email) {
         String key = verifiedKey(email.trim().toLowerCase());
-        return Boolean.TRUE.toString().equals(redis.opsForValue().get(key));
+        return Boolean.TRUE.toString().equals(store.get(key));
     }
 
     // 인증 만료
     public void invalidateVerified(String rawEmail) {
         String email = rawEmail.trim().toLowerCase();
-        redis.delete(verifiedKey(email));  // Redis에서 인증 OK 플래그 제거
+        store.delete(verifiedKey(email));  // 인증 OK 플래그 제거
     }
 }
@@ -1,18 +1,38 @@
 package com.plana.auth.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * JWT 토큰 생성, 검증, 파싱을 담당하는 서비스
  * 액세스 토큰과 리프레시 토큰을 모두 처리
+ *
+ * 검증 비용 절감:
+ * - JwtParser 는 스레드 안전하므로 생성자에서 한 번만 만들어 재사용
+ * - 서명 검증을 통과한 Claims 를 토큰 SHA-256 다이제스트 키로 캐시 (원문 토큰은 메모리에 보관하지 않음)
+ *   캐시 항목은 토큰의 exp 시각에 만료되고, 최대 개수(jwt.claims-cache.max-size)를 넘으면 오래 안 쓴 것부터 제거
+ * - 같은 토큰으로 오는 후속 요청은 서명 검증/JSON 파싱 없이 캐시된 값 사용
+ *   캐시에는 변경할 수 없는 사본을 두고 호출마다 새 Claims 로 복사해 반환 (호출한 쪽이 고쳐도 다른 요청에 새지 않음)
  */
 @Slf4j
 @Component
@@ -27,10 +47,36 @@ public class JwtTokenProvider {
     // 리프레시 토큰 만료시간 (기본: 7일)
     private final long refreshTokenValidityInMilliseconds;
 
+    // 재사용 파서 (스레드 안전)
+    private final JwtParser parser;
+
+    // 검증된 Claims 캐시 (키: 토큰 SHA-256 다이제스트)
+    private final Cache<String, CachedClaims> claimsCache;
+
+    // 발급/만료 판단 기준 시각 (테스트에서 시간을 직접 움직일 수 있도록 주입)
+    private final Clock clock;
+
+    public JwtTokenProvider(String secretKey,
+                            long accessTokenValidityInMilliseconds,
+                            long refreshTokenValidityInMilliseconds) {
+        this(secretKey, accessTokenValidityInMilliseconds, refreshTokenValidityInMilliseconds, 10_000);
+    }
+
+    @Autowired
     public JwtTokenProvider(
             @Value("${jwt.secret}") String secretKey,
             @Value("${jwt.access-token-validity}") long accessTokenValidityInMilliseconds,
-            @Value("${jwt.refresh-token-validity}") long refreshTokenValidityInMilliseconds) {
+            @Value("${jwt.refresh-token-validity}") long refreshTokenValidityInMilliseconds,
+            @Value("${jwt.claims-cache.max-size:10000}") long claimsCacheMaxSize) {
+        this(secretKey, accessTokenValidityInMilliseconds, refreshTokenValidityInMilliseconds, claimsCacheMaxSize,
+                Clock.systemUTC());
+    }
+
+    JwtTokenProvider(String secretKey,
+                     long accessTokenValidityInMilliseconds,
+                     long refreshTokenValidityInMilliseconds,
+                     long claimsCacheMaxSize,
+                     Clock clock) {
         
         // 비밀키 유효성 검증 (반드시 application.properties에 설정 필요)
         if (secretKey == null || secretKey.trim().isEmpty()) {
@@ -44,6 +90,33 @@ public class JwtTokenProvider {
         this.secretKey = Keys.hmacShaKeyFor(secretKey.getBytes());
         this.accessTokenValidityInMilliseconds = accessTokenValidityInMilliseconds;
         this.refreshTokenValidityInMilliseconds = refreshTokenValidityInMilliseconds;
+        this.clock = clock;
+
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(this.secretKey)
+                .setClock(() -> new Date(clock.millis()))
+                .build();
+        this.claimsCache = Caffeine.newBuilder()
+                .maximumSize(Math.max(claimsCacheMaxSize, 0))
+                .expireAfter(new Expiry<String, CachedClaims>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedClaims claims, long currentTime) {
+                        // exp 까지 남은 시간 (exp 가 없는 토큰은 캐시 직후 만료)
+                        long remainingMs = claims.expiresAt() - clock.millis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedClaims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedClaims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
     /**
@@ -54,14 +127,30 @@ public class JwtTokenProvider {
      * @return JWT 액세스 토큰
      */
     public String createAccessToken(Long memberId, String email, String role) {
-        Date now = new Date();
+        return createAccessToken(memberId, email, role, null);
+    }
+
+    /**
+     * 액세스 토큰 생성 : 리프레시 토큰 패밀리에 묶인 토큰 (패밀리 폐기 시 함께 무효화)
+     * @param memberId 사용자 ID
+     * @param email 사용자 이메일
+     * @param role 사용자 권한
+     * @param familyId 리프레시 토큰 패밀리 ID (없으면 null)
+     * @return JWT 액세스 토큰
+     */
+    public String createAccessToken(Long memberId, String email, String role, String familyId) {
+        Date now = new Date(clock.millis());
         Date expiryDate = new Date(now.getTime() + accessTokenValidityInMilliseconds);
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(memberId.toString()) // 토큰 주체 (사용자 ID)
                 .claim("email", email) // 사용자 이메일
                 .claim("role", role) // 사용자 권한
-                .claim("type", "access") // 토큰 타입
+                .claim("type", "access"); // 토큰 타입
+        if (familyId != null) {
+            builder.claim("fid", familyId); // 리프레시 토큰 패밀리
+        }
+        return builder
                 .setIssuedAt(now) // 발급 시간
                 .setExpiration(expiryDate) // 만료 시간
                 .signWith(secretKey, SignatureAlgorithm.HS512) // 서명
@@ -84,13 +173,30 @@ public class JwtTokenProvider {
      * @return JWT 리프레시 토큰
      */
     public String createRefreshToken(Long memberId, long validityMs) {
-        Date now = new Date();
+        return createRefreshToken(memberId, validityMs, null, null);
+    }
+
+    /**
+     * 리프레시 토큰 생성 : 회전 추적용 패밀리 ID / 토큰 ID(jti) 포함
+     * @param memberId 사용자 ID
+     * @param validityMs 만료 시간
+     * @param familyId 리프레시 토큰 패밀리 ID (로그인 1회 = 패밀리 1개)
+     * @param tokenId 토큰 ID (jti, 회전할 때마다 새로 발급)
+     * @return JWT 리프레시 토큰
+     */
+    public String createRefreshToken(Long memberId, long validityMs, String familyId, String tokenId) {
+        Date now = new Date(clock.millis());
         Date expiryDate = new Date(now.getTime() + validityMs);
 //        Date expiryDate = new Date(now.getTime() + refreshTokenValidityInMilliseconds);
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(memberId.toString()) // 토큰 주체 (사용자 ID)
-                .claim("type", "refresh") // 토큰 타입
+                .claim("type", "refresh"); // 토큰 타입
+        if (familyId != null) {
+            builder.claim("fid", familyId) // 리프레시 토큰 패밀리
+                    .setId(tokenId); // 토큰 ID (jti)
+        }
+        return builder
                 .setIssuedAt(now) // 발급 시간
                 .setExpiration(expiryDate) // 만료 시간
                 .signWith(secretKey, SignatureAlgorithm.HS512) // 서명
@@ -133,26 +239,99 @@ public class JwtTokenProvider {
      * @return 유효하면 true, 아니면 false
      */
     public boolean validateToken(String token) {
+        return getValidClaims(token) != null;
+    }
+
+    /**
+     * 토큰을 한 번만 검증/파싱해서 Claims 반환 (인증 필터처럼 여러 값을 꺼내야 할 때 사용)
+     * @param token JWT 토큰
+     * @return 유효하면 Claims, 아니면 null
+     */
+    public Claims getValidClaims(String token) {
         try {
-            getClaimsFromToken(token);
-            return true;
+            return getClaimsFromToken(token);
         } catch (JwtException | IllegalArgumentException e) {
             log.error("Invalid JWT token: {}", e.getMessage());
-            return false;
+            return null;
         }
     }
 
     /**
-     * 토큰에서 Claims 추출
+     * 서명은 검증하되 만료는 허용해서 Claims 반환 (로그아웃처럼 만료된 토큰의 패밀리를 찾아야 할 때)
      * @param token JWT 토큰
-     * @return Claims 객체
+     * @return 서명이 올바르면 Claims (만료되었어도), 위조/손상된 토큰이면 null
+     */
+    public Claims getClaimsAllowExpired(String token) {
+        try {
+            return getClaimsFromToken(token);
+        } catch (ExpiredJwtException e) {
+            // 서명 검증 후에 만료를 확인하므로 여기까지 왔으면 서명은 올바름
+            return e.getClaims();
+        } catch (JwtException | IllegalArgumentException e) {
+            log.error("Invalid JWT token: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 토큰에서 Claims 추출 (검증된 Claims 캐시 우선)
+     * @param token JWT 토큰
+     * @return Claims 객체 (호출마다 새 사본)
      */
     private Claims getClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("JWT token must not be empty");
+        }
+
+        String key = digest(token);
+        CachedClaims cached = claimsCache.getIfPresent(key);
+        if (cached != null && cached.expiresAt() > clock.millis()) {
+            return cached.toClaims();
+        }
+
+        // 캐시에 없거나 만료 → 서명 검증 포함 전체 파싱 (만료/위조 토큰은 여기서 예외)
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        CachedClaims snapshot = CachedClaims.of(claims);
+        claimsCache.put(key, snapshot);
+        return snapshot.toClaims();
+    }
+
+    /**
+     * 캐시에 두는 검증된 Claims 의 변경 불가 사본
+     * @param values 클레임 값 (수정 불가 Map)
+     * @param expiresAt exp (epoch 밀리초, 없으면 0)
+     */
+    private record CachedClaims(Map<String, Object> values, long expiresAt) {
+
+        static CachedClaims of(Claims claims) {
+            Date exp = claims.getExpiration();
+            return new CachedClaims(Collections.unmodifiableMap(new LinkedHashMap<>(claims)),
+                    exp == null ? 0 : exp.getTime());
+        }
+
+        Claims toClaims() {
+            return Jwts.claims(new LinkedHashMap<>(values));
+        }
+    }
+
+    /**
+     * 캐시 키용 토큰 다이제스트 (SHA-256, Base64)
+     */
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not supported", e);
+        }
+    }
+
+    /**
+     * 현재 캐시된 Claims 수 (테스트/모니터링용)
+     */
+    long cachedClaimsCount() {
+        claimsCache.cleanUp();
+        return claimsCache.estimatedSize();
     }
 
     /**
@@ -172,7 +351,7 @@ public class JwtTokenProvider {
      */
     public boolean isTokenExpired(String token) {
         Date expiration = getExpirationDateFromToken(token);
-        return expiration.before(new Date());
+        return expiration.getTime() < clock.millis();
     }
 
     // 순수 JWT 토큰 문자열만 반환
@@ -191,7 +370,7 @@ public class JwtTokenProvider {
      */
     public long getRemainingSeconds(String token) {
         Date exp = getExpirationDateFromToken(token);
-        long diffMs = exp.getTime() - System.currentTimeMillis();
+        long diffMs = exp.getTime() - clock.millis();
         return Math.max(0, diffMs / 1000);
     }
 
@@ -0,0 +1,373 @@
+package com.plana.auth.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.plana.auth.dto.MemberSearchEntryDto;
+import com.plana.auth.dto.MemberSearchResponseDto;
+import com.plana.auth.repository.MemberRepository;
+import com.plana.common.messaging.ClusterMessageBus;
+import com.plana.diary.repository.DiaryTagRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 친구 검색(다이어리 태그 자동완성) 메모리 색인
+ *
+ * 키 입력마다 member 테이블을 like '%kw%' 로 전체 스캔하지 않도록 아이디/닉네임을 노드 메모리에 색인
+ * - 접두어 색인: 소문자 아이디/닉네임 정렬 맵 → 입력값으로 시작하는 항목을 정렬 순서대로 필요한 만큼만 읽음
+ * - 3-gram 색인: 3글자 이상 입력 시 중간 일치 검색, 가장 작은 posting 부터 후보 확인 (확인 후보 수 상한)
+ * - 결과 순서: 내가 자주 태그한 사람 → 접두어 일치 → 중간 일치, 최대 member.search.limit 개
+ *   → 조회 비용이 회원 수가 아닌 결과 수/후보 상한에 비례
+ *
+ * 색인 갱신:
+ * - 기동 시 id 순으로 페이지 단위 적재, 적재 전에는 DB 검색으로 대체
+ * - 가입/닉네임 변경/탈퇴 시 refresh(memberId) → 커밋 이후 Redis Pub/Sub 으로 모든 노드가 DB 에서 다시 읽음
+ * - 메시지 유실 보정을 위해 주기적으로 전체 재적재 (member.search.rebuild-ms)
+ */
+@Slf4j
+@Component
+public class MemberSearchIndex {
+
+    private static final String CHANGED_CHANNEL = "plana:member:search-changed";
+    private static final int GRAM = 3;
+    private static final int LOAD_PAGE_SIZE = 1000;
+
+    private final MemberRepository memberRepository;
+    private final DiaryTagRepository diaryTagRepository;
+    private final ClusterMessageBus messageBus;
+
+    private final int limit;
+    private final int maxCandidates;
+    private final int coTagSize;
+    private final Cache<Long, List<Long>> coTagCache;
+
+    private volatile Index index = new Index();
+    private volatile boolean ready = false;
+
+    // 전체 재적재 중 들어온 변경 (교체 후 다시 반영)
+    private Set<Long> changedDuringRebuild;
+
+    public MemberSearchIndex(MemberRepository memberRepository,
+                             DiaryTagRepository diaryTagRepository,
+                             ClusterMessageBus messageBus,
+                             @Value("${member.search.limit:20}") int limit,
+                             @Value("${member.search.max-candidates:5000}") int maxCandidates,
+                             @Value("${member.search.co-tag-size:50}") int coTagSize,
+                             @Value("${member.search.co-tag-ttl-seconds:600}") long coTagTtlSeconds) {
+        this.memberRepository = memberRepository;
+        this.diaryTagRepository = diaryTagRepository;
+        this.messageBus = messageBus;
+        this.limit = Math.max(limit, 1);
+        this.maxCandidates = Math.max(maxCandidates, this.limit);
+        this.coTagSize = Math.max(coTagSize, 0);
+        this.coTagCache = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofSeconds(Math.max(coTagTtlSeconds, 0)))
+                .build();
+
+        messageBus.subscribe(CHANGED_CHANNEL, this::onChangedMessage);
+    }
+
+    /**
+     * 친구 검색
+     *
+     * @param keyword 검색어 (아이디/닉네임, 대소문자 무시)
+     * @param memberId 검색하는 사용자 (결과에서 제외, 자주 태그한 사람 우선)
+     * @return 최대 limit 개
+     */
+    public List<MemberSearchResponseDto> search(String keyword, Long memberId) {
+        String kw = normalize(keyword);
+        if (kw == null) {
+            return List.of();
+        }
+        if (!ready) {
+            // 색인 적재 전: 기존 DB 검색 (아이디만)
+            return memberRepository.searchByLoginId(kw, memberId).stream()
+                    .limit(limit)
+                    .map(m -> new MemberSearchResponseDto(m.getId(), m.getLoginId(), m.getNickname()))
+                    .toList();
+        }
+
+        Index idx = index;
+        Map<Long, MemberSearchEntryDto> result = new LinkedHashMap<>();
+
+        // 1) 자주 태그한 사람 중 일치하는 사람
+        for (Long id : frequentlyTagged(memberId)) {
+            MemberSearchEntryDto entry = idx.entries.get(id);
+            if (entry != null && matches(entry, kw)) {
+                add(result, entry, memberId);
+                if (result.size() >= limit) {
+                    return toResponse(result);
+                }
+            }
+        }
+
+        // 2) 접두어 일치 (정렬 순)
+        for (Long id : idx.prefix.subMap(kw, true, kw + Character.MAX_VALUE, false).values()) {
+            add(result, idx.entries.get(id), memberId);
+            if (result.size() >= limit) {
+                return toResponse(result);
+            }
+        }
+
+        // 3) 중간 일치 (3글자 이상)
+        if (kw.length() >= GRAM) {
+            Set<Long> smallest = null;
+            for (String gram : grams(kw)) {
+                Set<Long> posting = idx.grams.get(gram);
+                if (posting == null) {
+                    return toResponse(result);      // 포함하는 항목 없음
+                }
+                if (smallest == null || posting.size() < smallest.size()) {
+                    smallest = posting;
+                }
+            }
+            int scanned = 0;
+            for (Long id : smallest) {
+                if (++scanned > maxCandidates || result.size() >= limit) {
+                    break;
+                }
+                MemberSearchEntryDto entry = idx.entries.get(id);
+                if (entry != null && matches(entry, kw)) {
+                    add(result, entry, memberId);
+                }
+            }
+        }
+        return toResponse(result);
+    }
+
+    /**
+     * 아이디를 가진 회원 수 (색인 적재 전에는 DB 조회)
+     */
+    public long countWithLoginId() {
+        if (!ready) {
+            return memberRepository.countMembersWithLoginId();
+        }
+        return index.loginIdCount.get();
+    }
+
+    /**
+     * 회원 정보 변경 시 색인 갱신 (클러스터 전체)
+     *
+     * 트랜잭션 안에서 호출되면 커밋 이후 전파 (커밋 전에 읽으면 옛 값이 색인되므로)
+     *
+     * @param memberId 가입/닉네임 변경/탈퇴한 회원 ID
+     */
+    public void refresh(Long memberId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishChanged(memberId);
+                }
+            });
+        } else {
+            publishChanged(memberId);
+        }
+    }
+
+    /**
+     * 기동 시 적재
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    /**
+     * 전체 재적재 후 교체 (Pub/Sub 유실 보정)
+     */
+    @Scheduled(initialDelayString = "${member.search.rebuild-ms:3600000}",
+            fixedDelayString = "${member.search.rebuild-ms:3600000}")
+    public void rebuild() {
+        try {
+            synchronized (this) {
+                changedDuringRebuild = ConcurrentHashMap.newKeySet();
+            }
+
+            Index rebuilt = new Index();
+            long lastId = 0L;
+            List<MemberSearchEntryDto> page;
+            do {
+                page = memberRepository.findSearchEntriesAfter(lastId, PageRequest.of(0, LOAD_PAGE_SIZE));
+                for (MemberSearchEntryDto entry : page) {
+                    rebuilt.put(entry);
+                    lastId = entry.getId();
+                }
+            } while (page.size() == LOAD_PAGE_SIZE);
+
+            synchronized (this) {
+                index = rebuilt;
+                ready = true;
+                Set<Long> changed = changedDuringRebuild;
+                changedDuringRebuild = null;
+                changed.forEach(this::reload);
+            }
+            log.info("친구 검색 색인 적재 완료: {}명", rebuilt.entries.size());
+
+        } catch (Exception e) {
+            synchronized (this) {
+                changedDuringRebuild = null;
+            }
+            log.warn("친구 검색 색인 적재 실패: {}", e.getMessage());
+        }
+    }
+
+    private void publishChanged(Long memberId) {
+        try {
+            messageBus.publish(CHANGED_CHANNEL, memberId.toString());
+        } catch (Exception e) {
+            // 전파 실패 시 자기 노드만 반영, 다른 노드는 다음 재적재 때 반영
+            log.warn("친구 검색 색인 변경 전파 실패: memberId={}, error={}", memberId, e.getMessage());
+            reload(memberId);
+        }
+    }
+
+    private void onChangedMessage(String payload) {
+        try {
+            reload(Long.parseLong(payload.trim()));
+        } catch (NumberFormatException e) {
+            log.warn("잘못된 친구 검색 색인 변경 메시지: {}", payload);
+        }
+    }
+
+    /**
+     * 한 명의 색인 항목을 DB 기준으로 다시 반영 (없으면 = 탈퇴, 제거)
+     */
+    private synchronized void reload(Long memberId) {
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.add(memberId);
+        }
+        Index idx = index;
+        idx.remove(memberId);
+        memberRepository.findSearchEntryById(memberId).ifPresent(idx::put);
+    }
+
+    private List<Long> frequentlyTagged(Long memberId) {
+        if (memberId == null || coTagSize == 0) {
+            return List.of();
+        }
+        try {
+            return coTagCache.get(memberId,
+                    id -> diaryTagRepository.findFrequentlyTaggedMemberIds(id, PageRequest.of(0, coTagSize)));
+        } catch (Exception e) {
+            log.warn("자주 태그한 사용자 조회 실패: memberId={}, error={}", memberId, e.getMessage());
+            return List.of();
+        }
+    }
+
+    private static void add(Map<Long, MemberSearchEntryDto> result, MemberSearchEntryDto entry, Long excludeId) {
+        if (entry != null && !entry.getId().equals(excludeId)) {
+            result.putIfAbsent(entry.getId(), entry);
+        }
+    }
+
+    private static List<MemberSearchResponseDto> toResponse(Map<Long, MemberSearchEntryDto> result) {
+        return result.values().stream()
+                .map(e -> new MemberSearchResponseDto(e.getId(), e.getLoginId(), e.getNickname()))
+                .toList();
+    }
+
+    private static boolean matches(MemberSearchEntryDto entry, String kw) {
+        return contains(entry.getLoginId(), kw) || contains(entry.getNickname(), kw);
+    }
+
+    private static boolean contains(String value, String kw) {
+        return value != null && value.toLowerCase(Locale.ROOT).contains(kw);
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        String v = value.trim().toLowerCase(Locale.ROOT);
+        return v.isEmpty() ? null : v;
+    }
+
+    private static List<String> grams(String term) {
+        if (term.length() < GRAM) {
+            return List.of();
+        }
+        List<String> grams = new ArrayList<>(term.length() - GRAM + 1);
+        for (int i = 0; i + GRAM <= term.length(); i++) {
+            grams.add(term.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    /**
+     * 색인 데이터 (검색은 잠금 없이 읽고, 변경은 MemberSearchIndex 의 잠금 안에서만)
+     */
+    private static final class Index {
+        private final Map<Long, MemberSearchEntryDto> entries = new ConcurrentHashMap<>();
+        // "소문자 값\0id" → id (같은 값을 가진 여러 회원 구분)
+        private final NavigableMap<String, Long> prefix = new ConcurrentSkipListMap<>();
+        private final Map<String, Set<Long>> grams = new ConcurrentHashMap<>();
+        private final AtomicLong loginIdCount = new AtomicLong();
+
+        private void put(MemberSearchEntryDto entry) {
+            remove(entry.getId());
+            entries.put(entry.getId(), entry);
+            if (entry.getLoginId() != null) {
+                loginIdCount.incrementAndGet();
+            }
+            for (String term : terms(entry)) {
+                prefix.put(term + '\0' + entry.getId(), entry.getId());
+                for (String gram : grams(term)) {
+                    grams.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(entry.getId());
+                }
+            }
+        }
+
+        private void remove(Long id) {
+            MemberSearchEntryDto old = entries.remove(id);
+            if (old == null) {
+                return;
+            }
+            if (old.getLoginId() != null) {
+                loginIdCount.decrementAndGet();
+            }
+            for (String term : terms(old)) {
+                prefix.remove(term + '\0' + id);
+                for (String gram : grams(term)) {
+                    grams.computeIfPresent(gram, (g, ids) -> {
+                        ids.remove(id);
+                        return ids.isEmpty() ? null : ids;
+                    });
+                }
+            }
+        }
+
+        private static Set<String> terms(MemberSearchEntryDto entry) {
+            String loginId = normalize(entry.getLoginId());
+            String nickname = normalize(entry.getNickname());
+            if (loginId == null && nickname == null) {
+                return Set.of();
+            }
+            if (loginId == null || nickname == null || loginId.equals(nickname)) {
+                return Collections.singleton(loginId != null ? loginId : nickname);
+            }
+            return Set.of(loginId, nickname);
+        }
+    }
+}
@@ -6,20 +6,25 @@ import com.plana.auth.enums.SocialProvider;
 import com.plana.auth.exception.ForbiddenException;
 import com.plana.auth.exception.UnauthorizedException;
 import com.plana.auth.repository.MemberRepository;
+import com.plana.common.store.KeyValueStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
  * 일반 회원가입/로그인 비즈니스 로직 서비스
  * 기존 소셜 로그인 시스템과 완전 호환
+ *
+ * 비밀번호 해시(encode/matches)는 최대 수 초 걸리므로 트랜잭션 밖에서 실행
+ * (조회는 리포지토리 호출 단위의 짧은 트랜잭션, 저장은 별도 트랜잭션 -
+ *  해시를 기다리는 동안 DB 커넥션을 붙잡지 않도록 해당 요청은 OSIV 에서도 제외, WebMvcConfig 참고)
  */
 @Slf4j
 @Service
@@ -29,8 +34,11 @@ public class MemberService {
     private final MemberRepository memberRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
-    private final StringRedisTemplate redis;
+    private final KeyValueStore store;
     private final EmailVerificationService emailVerificationService;
+    private final AuthenticatedMemberCache authenticatedMemberCache;
+    private final RefreshTokenService refreshTokenService;
+    private final MemberSearchIndex memberSearchIndex;
 
     private String okKey(Long memberId){ return "pwd:change:ok:" + memberId; }
     private static final Duration TTL = Duration.ofMinutes(5); // 5분 이내 변경
@@ -47,7 +55,6 @@ public class MemberService {
      * @return 회원가입 응답 정보
      * @throws IllegalArgumentException 이메일 중복, 비밀번호 불일치 등
      */
-    @Transactional
     public SignupResponseDto signup(SignupRequestDto signupRequest) {
         String email = signupRequest.getEmail().trim().toLowerCase();
 
@@ -58,9 +65,9 @@ public class MemberService {
             throw new IllegalArgumentException("비밀번호가 일치하지 않습니다");
         }
 
-        // 2. 이메일 인증 완료 여부(서버 판정: Redis 플래그 확인)
+        // 2. 이메일 인증 완료 여부(서버 판정: 인증 완료 플래그 확인)
         String verifiedKey = "email:verify:ok:" + email;
-        String verified = redis.opsForValue().get(verifiedKey);
+        String verified = store.get(verifiedKey);
         if (!"true".equals(verified)) {
             // 400/403/409 등 팀 규칙에 맞게 예외 타입/상태코드 매핑
             throw new IllegalArgumentException("이메일 인증이 완료되지 않았습니다");
@@ -77,7 +84,7 @@ public class MemberService {
             throw new IllegalArgumentException("이미 사용중인 아이디입니다");
         }
         
-        // 5. 비밀번호 암호화
+        // 5. 비밀번호 암호화 (트랜잭션 밖)
         String encryptedPassword = passwordEncoder.encode(signupRequest.getPassword());
         
         // 6. Member 엔티티 생성
@@ -93,8 +100,9 @@ public class MemberService {
                 .enabled(true) // 계정 활성화
                 .build();
         
-        // 7. 데이터베이스 저장
+        // 7. 데이터베이스 저장 (save 자체 트랜잭션)
         Member savedMember = memberRepository.save(newMember);
+        memberSearchIndex.refresh(savedMember.getId());
         
         log.info("일반 회원가입 완료: memberId={}, email={}", savedMember.getId(), savedMember.getEmail());
         
@@ -121,7 +129,6 @@ public class MemberService {
      * @return 로그인 응답 정보 (JWT 토큰 포함)
      * @throws IllegalArgumentException 로그인 실패 (이메일 없음, 비밀번호 불일치 등)
      */
-    @Transactional(readOnly = true)
     public IssuedTokens login(LoginRequestDto loginRequest) {
         log.info("일반 로그인 시도: {}", loginRequest.getEmail());
         
@@ -144,7 +151,7 @@ public class MemberService {
             throw new ForbiddenException("비활성화된 계정입니다. 관리자에게 문의하세요");
         }
         
-        // 5. 비밀번호 검증
+        // 5. 비밀번호 검증 (트랜잭션 밖)
         if (!passwordEncoder.matches(loginRequest.getPassword(), member.getPassword())) {
             throw new UnauthorizedException("이메일 또는 비밀번호가 올바르지 않습니다");
         }
@@ -153,8 +160,9 @@ public class MemberService {
         boolean remember = Boolean.TRUE.equals(loginRequest.getRememberMe());
         long rtMs = remember ? refreshTokenValidityRememberMs : refreshTokenValidityMs;
 
-        String access = jwtTokenProvider.createAccessToken(member.getId(), member.getEmail(), member.getRole());
-        String refresh = jwtTokenProvider.createRefreshToken(member.getId(), rtMs);
+        // 로그인마다 새 리프레시 토큰 패밀리 (액세스 토큰도 같은 패밀리에 묶음)
+        RefreshTokenService.IssuedRefreshToken refresh = refreshTokenService.issue(member.getId(), rtMs);
+        String access = jwtTokenProvider.createAccessToken(member.getId(), member.getEmail(), member.getRole(), refresh.familyId());
 
         long accessTtlSec = Math.max(0,
                 (jwtTokenProvider.getExpirationDateFromToken(access).getTime() - System.currentTimeMillis()) / 1000);
@@ -176,7 +184,7 @@ public class MemberService {
         return IssuedTokens.builder()
                 .accessToken(access)
                 .accessExpiresInSec(accessTtlSec)
-                .refreshToken(refresh)                    // 컨트롤러에서만 사용
+                .refreshToken(refresh.token())            // 컨트롤러에서만 사용
                 .refreshMaxAgeSec(rtMs / 1000)
                 .member(memberInfo)
                 .build();
@@ -253,8 +261,12 @@ public class MemberService {
         m.setDeleted(true);
         m.setEnabled(false);
 
-        // 토큰/세션 정리 (로그인에 redis 적용 시)
-        // revokeTokensFor(m.getId());
+        // 인증 캐시 무효화 (커밋 이후 모든 노드에 전파)
+        authenticatedMemberCache.evict(m.getId());
+        memberSearchIndex.refresh(m.getId());
+
+        // 토큰 정리: 모든 리프레시 토큰 패밀리 폐기 (발급된 액세스 토큰도 함께 무효화)
+        refreshTokenService.revokeAll(m.getId());
     }
 
     /**
@@ -273,6 +285,8 @@ public class MemberService {
         }
 
         m.setNickname(newNickname);
+        authenticatedMemberCache.evict(m.getId());
+        memberSearchIndex.refresh(m.getId());
     }
 
     /**
@@ -280,7 +294,6 @@ public class MemberService {
      * @param req 비밀번호 재설정 요청 DTO (이메일, 새 비밀번호, 확인 비밀번호 포함)
      * @throws  IllegalArgumentException 인증 실패, 회원 미존재, 비밀번호 불일치 등의 경우 발생
      */
-    @Transactional
     public void resetPassword(PasswordResetRequestDto req) {
         String email = req.getEmail().trim().toLowerCase();
 
@@ -291,15 +304,15 @@ public class MemberService {
         Member member = memberRepository.findByEmail(email)
                 .orElseThrow(() -> new IllegalArgumentException("회원이 존재하지 않습니다."));
 
-        if (passwordEncoder.matches(req.getNewPassword(), member.getPassword())) {
-            throw new IllegalArgumentException("이전 비밀번호와 동일한 비밀번호는 사용할 수 없습니다.");
-        }
-
         if (!req.getNewPassword().equals(req.getConfirmPassword())) {
             throw new IllegalArgumentException("비밀번호 확인이 일치하지 않습니다.");
         }
 
-        member.setPassword(passwordEncoder.encode(req.getNewPassword()));
+        if (member.getPassword() != null && passwordEncoder.matches(req.getNewPassword(), member.getPassword())) {
+            throw new IllegalArgumentException("이전 비밀번호와 동일한 비밀번호는 사용할 수 없습니다.");
+        }
+
+        storePassword(member, passwordEncoder.encode(req.getNewPassword()));
         emailVerificationService.invalidateVerified(email);
     }
 
@@ -310,14 +323,13 @@ public class MemberService {
      * @param currentPassword 사용자가 입력한 현재 비밀번호
      * @throws IllegalArgumentException 회원이 존재하지 않거나 비밀번호가 일치하지 않는 경우 발생
      */
-    @Transactional(readOnly = true)
     public void confirmCurrentPassword(Long memberId, String currentPassword) {
         Member m = memberRepository.findById(memberId)
                 .orElseThrow(() -> new IllegalArgumentException("회원이 존재하지 않습니다."));
         if (!passwordEncoder.matches(currentPassword, m.getPassword())) {
             throw new IllegalArgumentException("현재 비밀번호가 일치하지 않습니다.");
         }
-        redis.opsForValue().set(okKey(memberId), "true", TTL);
+        store.set(okKey(memberId), "true", TTL);
     }
 
     /**
@@ -329,9 +341,8 @@ public class MemberService {
      * @throws UnauthorizedException 현재 비밀번호 확인 절차를 거치지 않은 경우 발생
      * @throws IllegalArgumentException 회원이 존재하지 않거나, 새 비밀번호 검증에 실패한 경우 발생
      */
-    @Transactional
     public void changePassword(Long memberId, String newPassword, String confirmPassword) {
-        String flag = redis.opsForValue().get(okKey(memberId));
+        String flag = store.get(okKey(memberId));
         if (!"true".equals(flag)) {
             throw new UnauthorizedException("비밀번호 변경을 위해서는 먼저 현재 비밀번호 확인이 필요합니다.");
         }
@@ -346,30 +357,37 @@ public class MemberService {
             throw new IllegalArgumentException("이전 비밀번호와 동일한 비밀번호는 사용할 수 없습니다.");
         }
 
-        m.setPassword(passwordEncoder.encode(newPassword));
-        redis.delete(okKey(memberId)); // 재사용 방지
+        storePassword(m, passwordEncoder.encode(newPassword));
+        store.delete(okKey(memberId)); // 재사용 방지
     }
 
     /**
-     *
-     * @param keyword
-     * @param excludeId
-     * @return
+     * 미리 계산한 해시로 비밀번호 교체 (UPDATE 한 번짜리 트랜잭션)
+     * 조회 후 해시를 계산하는 사이 다른 요청이 비밀번호를 먼저 바꿨으면 덮어쓰지 않고 실패
      */
+    private void storePassword(Member member, String encodedPassword) {
+        int updated = memberRepository.updatePassword(member.getId(), member.getPassword(), encodedPassword, LocalDateTime.now());
+        if (updated == 0) {
+            throw new IllegalArgumentException("비밀번호가 이미 변경되었습니다. 다시 시도해주세요.");
+        }
+        member.setPassword(encodedPassword);
+    }
 
+    /**
+     * 친구 검색 (다이어리 태그 자동완성)
+     * 아이디/닉네임 메모리 색인에서 자주 태그한 사람 → 접두어 일치 → 중간 일치 순으로 최대 N명
+     *
+     * @param keyword 검색어
+     * @param excludeId 검색하는 사용자 ID (결과에서 제외)
+     * @return 검색 결과
+     */
     public List<MemberSearchResponseDto> searchMembers(String keyword, Long excludeId) {
-        return memberRepository.searchByLoginId(keyword, excludeId)
-                .stream()
-                .map(m -> new MemberSearchResponseDto(
-                        m.getId(),
-                        m.getLoginId()
-                ))
-                .toList();
+        return memberSearchIndex.search(keyword, excludeId);
     }
 
 
     public long countMembersWithLoginId() {
-        return memberRepository.countMembersWithLoginId();
+        return memberSearchIndex.countWithLoginId();
     }
 
 }
@@ -27,6 +27,8 @@ import java.util.Map;
 public class OAuth2UserService extends DefaultOAuth2UserService {
 
     private final MemberRepository memberRepository;
+    private final AuthenticatedMemberCache authenticatedMemberCache;
+    private final MemberSearchIndex memberSearchIndex;
 
     /**
      * OAuth2 로그인 성공 시 호출되는 메서드
@@ -95,8 +97,10 @@ public class OAuth2UserService extends DefaultOAuth2UserService {
         // 이름이나 프로필 이미지가 변경되었을 수 있으므로 업데이트
         existingUser.setName(userInfo.getName());
         existingUser.setProfileImageUrl(userInfo.getImageUrl());
-        
-        return memberRepository.save(existingUser);
+
+        Member saved = memberRepository.save(existingUser);
+        authenticatedMemberCache.evict(saved.getId());
+        return saved;
     }
 
     /**
@@ -126,7 +130,9 @@ public class OAuth2UserService extends DefaultOAuth2UserService {
                 .enabled(true) // 계정 활성화
                 .build();
 
-        return memberRepository.save(newMember);
+        Member saved = memberRepository.save(newMember);
+        memberSearchIndex.refresh(saved.getId());
+        return saved;
     }
 
     /**
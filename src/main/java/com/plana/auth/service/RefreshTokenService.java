@@ -0,0 +1,252 @@
+package com.plana.auth.service;
+
+import com.plana.auth.exception.UnauthorizedException;
+import com.plana.common.messaging.ClusterMessageBus;
+import com.plana.common.store.KeyValueStore;
+import com.plana.common.util.BloomFilter;
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 리프레시 토큰 패밀리 관리 (회전 + 재사용 감지 + 폐기)
+ *
+ * - 로그인 1회마다 패밀리(fid)를 만들고, Redis 에 패밀리의 "현재 유효한 토큰 ID(jti)"만 저장
+ *   auth:rt:family:{fid} = "{memberId}|{jti}" (TTL = 리프레시 토큰 만료)
+ * - 회전 시 제시된 jti 가 현재 jti 와 같을 때만 새 jti 로 교체 (원자적 비교-교체)
+ * - 회전 직후 유예 시간(auth.refresh.rotation-grace-ms) 안에 같은 토큰이 다시 오면 이미 정해진 후속 jti 로 다시 발급
+ *   (여러 탭/재시도 등으로 동시에 온 회전 요청이 정상 사용자의 패밀리를 폐기하지 않도록)
+ *   auth:rt:rotated:{fid}:{옛 jti} = "{후속 jti}" (TTL = 유예 시간)
+ * - 유예 시간이 지난 뒤 이미 회전된 옛 토큰이 다시 쓰이면(탈취 의심) 패밀리 전체를 폐기 → 정상 사용자도 재로그인
+ * - 로그아웃/탈퇴 시 패밀리 폐기
+ *
+ * 폐기된 패밀리 확인:
+ * - 액세스 토큰에도 fid 를 넣어 패밀리 폐기 시 액세스 토큰도 즉시 무효화
+ * - 요청마다 Redis 를 조회하지 않도록 폐기된 fid 를 노드 메모리의 블룸 필터에 보관
+ *   필터에 없으면(대부분의 정상 요청) 바로 통과, 있을 수도 있으면 Redis(auth:rt:revoked ZSET)로 확인
+ * - 폐기 시 Redis Pub/Sub 으로 모든 노드의 필터에 추가, 주기적으로 ZSET 에서 필터를 다시 만들어
+ *   유실된 메시지 보정 + 만료된 항목 제거
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final String FAMILY_KEY_PREFIX = "auth:rt:family:";
+    private static final String ROTATED_KEY_PREFIX = "auth:rt:rotated:";
+    private static final String MEMBER_FAMILIES_KEY_PREFIX = "auth:rt:member:";
+    private static final String REVOKED_KEY = "auth:rt:revoked";
+    private static final String REVOKED_CHANNEL = "plana:auth:revoked";
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final KeyValueStore store;
+    private final ClusterMessageBus messageBus;
+
+    private final long refreshTokenValidityMs;
+    private final long accessTokenValidityMs;
+    private final long bloomBits;
+    private final int bloomHashes;
+    private final Duration rotationGrace;
+
+    private volatile BloomFilter revokedFilter;
+
+    public RefreshTokenService(JwtTokenProvider jwtTokenProvider,
+                               KeyValueStore store,
+                               ClusterMessageBus messageBus,
+                               @Value("${jwt.refresh-token-validity}") long refreshTokenValidityMs,
+                               @Value("${jwt.access-token-validity}") long accessTokenValidityMs,
+                               @Value("${auth.revocation.bloom-bits:1048576}") long bloomBits,
+                               @Value("${auth.revocation.bloom-hashes:7}") int bloomHashes,
+                               @Value("${auth.refresh.rotation-grace-ms:5000}") long rotationGraceMs) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.store = store;
+        this.messageBus = messageBus;
+        this.refreshTokenValidityMs = refreshTokenValidityMs;
+        this.accessTokenValidityMs = accessTokenValidityMs;
+        this.bloomBits = bloomBits;
+        this.bloomHashes = bloomHashes;
+        this.rotationGrace = Duration.ofMillis(Math.max(rotationGraceMs, 1));
+        this.revokedFilter = new BloomFilter(bloomBits, bloomHashes);
+
+        messageBus.subscribe(REVOKED_CHANNEL, familyId -> revokedFilter.put(familyId));
+    }
+
+    /**
+     * 발급된 리프레시 토큰과 패밀리 ID
+     */
+    public record IssuedRefreshToken(String token, String familyId) {
+    }
+
+    /**
+     * 새 패밀리로 리프레시 토큰 발급 (기본 만료 시간)
+     */
+    public IssuedRefreshToken issue(Long memberId) {
+        return issue(memberId, refreshTokenValidityMs);
+    }
+
+    /**
+     * 새 패밀리로 리프레시 토큰 발급 (로그인)
+     *
+     * @param memberId 사용자 ID
+     * @param validityMs 만료 시간
+     */
+    public IssuedRefreshToken issue(Long memberId, long validityMs) {
+        String familyId = UUID.randomUUID().toString();
+        String tokenId = UUID.randomUUID().toString();
+
+        store.set(familyKey(familyId), familyValue(memberId, tokenId), Duration.ofMillis(validityMs));
+
+        // 탈퇴 시 일괄 폐기용 (사용자의 패밀리 목록은 가장 긴 토큰 수명만큼 유지)
+        String memberKey = MEMBER_FAMILIES_KEY_PREFIX + memberId;
+        store.addToSet(memberKey, familyId);
+        long ttl = store.getTtlMillis(memberKey);
+        if (ttl < validityMs) {
+            store.expire(memberKey, Duration.ofMillis(validityMs));
+        }
+
+        return new IssuedRefreshToken(
+                jwtTokenProvider.createRefreshToken(memberId, validityMs, familyId, tokenId), familyId);
+    }
+
+    /**
+     * 리프레시 토큰 회전
+     *
+     * @param claims 서명/만료 검증을 통과한 리프레시 토큰 Claims
+     * @param nextValidityMs 새 리프레시 토큰 만료 시간
+     * @return 새 리프레시 토큰 (같은 패밀리)
+     * @throws UnauthorizedException 패밀리 정보가 없는 토큰, 폐기된 패밀리, 유예 시간이 지나 재사용된 토큰
+     */
+    public IssuedRefreshToken rotate(Claims claims, long nextValidityMs) {
+        String familyId = claims.get("fid", String.class);
+        String tokenId = claims.getId();
+        Long memberId = Long.parseLong(claims.getSubject());
+
+        if (familyId == null || tokenId == null || !"refresh".equals(claims.get("type", String.class))) {
+            throw new UnauthorizedException("다시 로그인해 주세요.");
+        }
+
+        // 후속 jti 를 먼저 예약 → 동시에 온 같은 토큰의 회전 요청은 예약된 jti 를 함께 받음
+        String rotatedKey = ROTATED_KEY_PREFIX + familyId + ":" + tokenId;
+        String nextTokenId = UUID.randomUUID().toString();
+        boolean rotated;
+        if (store.setIfAbsent(rotatedKey, nextTokenId, rotationGrace)) {
+            rotated = store.compareAndSet(familyKey(familyId),
+                    familyValue(memberId, tokenId),
+                    familyValue(memberId, nextTokenId),
+                    Duration.ofMillis(nextValidityMs));
+            if (!rotated) {
+                store.compareAndDelete(rotatedKey, nextTokenId);
+            }
+        } else {
+            // 유예 시간 안에 다시 온 회전 요청: 후속 jti 가 아직 패밀리의 현재 토큰(또는 예약 직후 교체 전)이면 같은 jti 로 다시 발급
+            String successor = store.get(rotatedKey);
+            String current = store.get(familyKey(familyId));
+            if (successor != null && current != null
+                    && (current.equals(familyValue(memberId, successor)) || current.equals(familyValue(memberId, tokenId)))) {
+                log.debug("유예 시간 안의 리프레시 토큰 재회전: memberId={}, familyId={}", memberId, familyId);
+                return new IssuedRefreshToken(
+                        jwtTokenProvider.createRefreshToken(memberId, nextValidityMs, familyId, successor), familyId);
+            }
+            rotated = false;
+        }
+
+        if (!rotated) {
+            if (store.get(familyKey(familyId)) == null) {
+                throw new UnauthorizedException("만료되었거나 폐기된 리프레시 토큰입니다.");
+            }
+            // 이미 회전된 토큰이 다시 사용됨 → 탈취 의심, 패밀리 전체 폐기
+            log.warn("리프레시 토큰 재사용 감지 - 패밀리 폐기: memberId={}, familyId={}", memberId, familyId);
+            revokeFamily(familyId);
+            throw new UnauthorizedException("재사용된 리프레시 토큰입니다. 다시 로그인해 주세요.");
+        }
+
+        return new IssuedRefreshToken(
+                jwtTokenProvider.createRefreshToken(memberId, nextValidityMs, familyId, nextTokenId), familyId);
+    }
+
+    /**
+     * 패밀리 폐기 (로그아웃, 재사용 감지)
+     * 패밀리에 속한 리프레시/액세스 토큰 모두 무효화
+     */
+    public void revokeFamily(String familyId) {
+        String key = familyKey(familyId);
+        long ttl = store.getTtlMillis(key);
+        store.delete(key);
+
+        // 패밀리의 토큰이 살아 있을 수 있는 최대 시간 동안 폐기 목록 유지
+        long keepMs = Math.max(ttl, accessTokenValidityMs);
+        store.addToSortedSet(REVOKED_KEY, familyId, System.currentTimeMillis() + keepMs);
+
+        revokedFilter.put(familyId);
+        try {
+            messageBus.publish(REVOKED_CHANNEL, familyId);
+        } catch (Exception e) {
+            // 다른 노드는 다음 재동기화 때 반영 (그 전까지는 액세스 토큰만 잠시 유효, 리프레시는 Redis 에서 바로 거부)
+            log.warn("토큰 폐기 전파 실패: familyId={}, error={}", familyId, e.getMessage());
+        }
+    }
+
+    /**
+     * 사용자의 모든 패밀리 폐기 (탈퇴 등)
+     */
+    public void revokeAll(Long memberId) {
+        String memberKey = MEMBER_FAMILIES_KEY_PREFIX + memberId;
+        store.getSetMembers(memberKey).forEach(this::revokeFamily);
+        store.delete(memberKey);
+    }
+
+    /**
+     * 폐기된 패밀리 여부 (요청마다 호출되는 경로)
+     * 블룸 필터에 없으면 Redis 조회 없이 false
+     */
+    public boolean isRevoked(String familyId) {
+        if (familyId == null || !revokedFilter.mightContain(familyId)) {
+            return false;
+        }
+        try {
+            Double expiresAt = store.getSortedSetScore(REVOKED_KEY, familyId);
+            return expiresAt != null && expiresAt > System.currentTimeMillis();
+        } catch (Exception e) {
+            // 확인 불가 시 거부 (필터에 걸린 경우에만 해당)
+            log.warn("토큰 폐기 여부 확인 실패 - 거부 처리: familyId={}, error={}", familyId, e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * 폐기 목록 재동기화 (기동 시 + 주기적)
+     * 만료된 항목을 Redis 에서 지우고 남은 항목으로 필터를 새로 만들어 교체
+     */
+    @Scheduled(fixedDelayString = "${auth.revocation.resync-ms:300000}")
+    public void resync() {
+        try {
+            long now = System.currentTimeMillis();
+            store.removeSortedSetRangeByScore(REVOKED_KEY, 0, now);
+            Set<String> revoked = store.getSortedSetRangeByScore(REVOKED_KEY, now, Double.POSITIVE_INFINITY);
+
+            BloomFilter rebuilt = new BloomFilter(bloomBits, bloomHashes);
+            revoked.forEach(rebuilt::put);
+            revokedFilter = rebuilt;
+
+            // 조회~교체 사이에 옛 필터로 들어간 폐기 항목 보정 (ZSET 기록이 필터 추가보다 먼저 일어남)
+            store.getSortedSetRangeByScore(REVOKED_KEY, now, Double.POSITIVE_INFINITY).forEach(rebuilt::put);
+
+            log.debug("폐기 토큰 필터 재동기화: {}개", revoked.size());
+        } catch (Exception e) {
+            log.warn("폐기 토큰 필터 재동기화 실패: {}", e.getMessage());
+        }
+    }
+
+    private static String familyKey(String familyId) {
+        return FAMILY_KEY_PREFIX + familyId;
+    }
+
+    private static String familyValue(Long memberId, String tokenId) {
+        return memberId + "|" + tokenId;
+    }
+}
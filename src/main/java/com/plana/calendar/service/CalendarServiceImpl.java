@@ -11,6 +11,8 @@ import com.plana.calendar.entity.ScheduleAlarm;
 import com.plana.calendar.repository.CategoryRepository;
 import com.plana.calendar.repository.ScheduleRepository;
 import com.plana.calendar.repository.ScheduleAlarmRepository;
+import com.plana.notification.enums.OutboxEventType;
+import com.plana.notification.service.NotificationOutboxService;
 import com.plana.notification.service.NotificationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -20,6 +22,7 @@ import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional(readOnly = true) // 기본값을 readOnly = true 로 설정. 메서드에서 오버라이드 (쓰기 설정해서 사용: @Transactional)
@@ -33,6 +36,7 @@ public class CalendarServiceImpl implements CalendarService {
     private final MemberRepository memberRepository;
     private final RecurrenceService recurrenceService;
     private final NotificationService notificationService;
+    private final NotificationOutboxService notificationOutboxService;
 
     @Override
     public List<ScheduleMonthlyItemDto> getMonthlySchedules(Long memberId, int year, int month) {
@@ -129,18 +133,8 @@ public class CalendarServiceImpl implements CalendarService {
                         .build();
                 ScheduleAlarm savedAlarm = scheduleAlarmRepository.save(alarm);
 
-                // Notification 생성 (스케줄 알람용)
-                try {
-                    String message = String.format("%d%s 후 '%s'가 시작됩니다",
-                            alarmDto.getNotifyBeforeVal(),
-                            getUnitDisplayName(alarmDto.getNotifyUnit().name()),
-                            savedSchedule.getTitle());
-
-                    notificationService.createScheduleNotification(savedAlarm.getId(), memberId, message);
-                } catch (Exception e) {
-                    // 알림 생성 실패 시 로깅만 하고 스케줄 생성은 계속 진행
-                    System.err.println("스케줄 알림 생성 실패: " + e.getMessage());
-                }
+                // Notification 생성 (스케줄 알람용, 반복 일정이면 앞으로 몇 회차분)
+                createAlarmNotification(savedAlarm.getId(), memberId);
             }
         }
 
@@ -153,6 +147,11 @@ public class CalendarServiceImpl implements CalendarService {
         Schedule schedule = scheduleRepository.findByIdAndMemberId(scheduleId, memberId)
                 .orElseThrow(() -> new RuntimeException("일정을 찾을 수 없습니다."));
 
+        // 알림 시각에 영향을 주는 기존 값 (프론트가 전체 DTO 를 보내므로 값이 실제로 바뀌었는지 비교)
+        LocalDateTime oldStartAt = schedule.getStartAt();
+        String oldRecurrenceRule = blankToNull(schedule.getRecurrenceRule());
+        LocalDateTime oldRecurrenceUntil = schedule.getRecurrenceUntil();
+
         // 부분 업데이트 (PATCH 방식)
         if (updateDto.getTitle() != null) {
             schedule.setTitle(updateDto.getTitle());
@@ -185,10 +184,25 @@ public class CalendarServiceImpl implements CalendarService {
             schedule.setRecurrenceUntil(updateDto.getRecurrenceUntil());
         }
 
-        // 알림 업데이트 (기존 알림 삭제 후 새로 생성)
-        if (updateDto.getAlarms() != null) {
+        // 시작 시간/반복 규칙/알람 설정이 실제로 바뀌었을 때만 기존 미발송 알림을 삭제 후 다시 생성
+        // (이미 발송된 회차와 지난 회차는 다시 만들지 않음 - NotificationService.createScheduleNotification)
+        boolean alarmsChanged = updateDto.getAlarms() != null
+                && !alarmKeys(scheduleAlarmRepository.findByScheduleId(scheduleId).stream()
+                        .map(a -> a.getNotifyBeforeVal() + ":" + a.getNotifyUnit()))
+                .equals(alarmKeys(updateDto.getAlarms().stream()
+                        .map(a -> a.getNotifyBeforeVal() + ":" + a.getNotifyUnit())));
+        boolean alarmTimingChanged = alarmsChanged
+                || !Objects.equals(oldStartAt, schedule.getStartAt())
+                || !Objects.equals(oldRecurrenceRule, blankToNull(schedule.getRecurrenceRule()))
+                || !Objects.equals(oldRecurrenceUntil, schedule.getRecurrenceUntil());
+        if (alarmTimingChanged) {
+            notificationService.clearPendingScheduleNotifications(scheduleId);
+        }
+
+        // 알람 설정이 바뀐 경우에만 교체 (기존 알람 삭제 후 새로 생성)
+        if (alarmsChanged) {
             scheduleAlarmRepository.deleteByScheduleId(scheduleId);
-            
+
             for (var alarmDto : updateDto.getAlarms()) {
                 ScheduleAlarm alarm = ScheduleAlarm.builder()
                         .schedule(schedule)
@@ -200,6 +214,12 @@ public class CalendarServiceImpl implements CalendarService {
         }
 
         Schedule updatedSchedule = scheduleRepository.save(schedule);
+
+        if (alarmTimingChanged) {
+            for (ScheduleAlarmResponseDto alarm : scheduleAlarmRepository.findByScheduleId(scheduleId)) {
+                createAlarmNotification(alarm.getId(), memberId);
+            }
+        }
         return convertToDetailResponseDto(updatedSchedule);
     }
 
@@ -211,6 +231,26 @@ public class CalendarServiceImpl implements CalendarService {
 
         schedule.setIsDeleted(true);
         scheduleRepository.save(schedule);
+
+        // 삭제된 일정의 예정 알림은 더 이상 발송하지 않음
+        notificationService.clearPendingScheduleNotifications(scheduleId);
+    }
+
+    /** 알람 설정 비교용 (순서 무관, "값:단위" 정렬 목록) */
+    private static List<String> alarmKeys(Stream<String> keys) {
+        return keys.sorted().toList();
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    /**
+     * 알람 설정에 대한 Notification 생성 요청
+     * 아웃박스에 이벤트만 기록하고 실제 알림 생성/발송은 NotificationOutboxDispatcher 가 커밋 이후 처리
+     */
+    private void createAlarmNotification(Long scheduleAlarmId, Long memberId) {
+        notificationOutboxService.append(OutboxEventType.SCHEDULE_ALARM_CREATED, scheduleAlarmId, memberId);
     }
 
     /**
@@ -303,15 +343,4 @@ public class CalendarServiceImpl implements CalendarService {
                 .toList();
     }
 
-    /**
-     * 알림 단위 표시명 변환
-     */
-    private String getUnitDisplayName(String unit) {
-        return switch (unit) {
-            case "MIN" -> "분";
-            case "HOUR" -> "시간";
-            case "DAY" -> "일";
-            default -> unit;
-        };
-    }
-}
\ No newline at end of file
+}
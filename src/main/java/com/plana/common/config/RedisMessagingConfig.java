@@ -0,0 +1,24 @@
+package com.plana.common.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Redis Pub/Sub 설정
+ * 노드 간 메시지 버스(RedisClusterMessageBus)가 채널 구독에 사용하는 리스너 컨테이너 등록
+ * (plana.store.mode=embedded 이면 Redis 에 연결하지 않도록 등록하지 않음)
+ */
+@Configuration
+@ConditionalOnProperty(name = "plana.store.mode", havingValue = "redis", matchIfMissing = true)
+public class RedisMessagingConfig {
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+}
@@ -1,7 +1,9 @@
 package com.plana.common.config;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
 import org.springframework.web.servlet.config.annotation.*;
 
 @Configuration
@@ -24,9 +26,32 @@ public class WebMvcConfig implements WebMvcConfigurer {
                 .allowCredentials(true);
     }
 
+    /**
+     * OSIV 인터셉터 직접 등록 (빈이 있으면 스프링 부트 기본 등록은 빠짐)
+     * 비밀번호 해시를 계산하는 요청은 제외 - OSIV 가 열어 둔 EntityManager 는 처음 잡은 커넥션을
+     * 요청이 끝날 때까지 놓지 않아서, 트랜잭션을 나눠도 BCrypt 를 기다리는 동안 커넥션이 묶임
+     * (MemberService 참고)
+     */
+    @Bean
+    public OpenEntityManagerInViewInterceptor openEntityManagerInViewInterceptor() {
+        return new OpenEntityManagerInViewInterceptor();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addWebRequestInterceptor(openEntityManagerInViewInterceptor())
+                .excludePathPatterns(
+                        "/api/auth/signup",
+                        "/api/auth/login",
+                        "/api/auth/password/reset",
+                        "/api/members/password",
+                        "/api/members/password/confirm");
+    }
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         // 로컬 디스크의 uploads 폴더를 /uploads/** 로 노출
+        // (/uploads/diary/** 는 UploadController 가 서명 확인 + ETag/Range/영구 캐시를 적용해 먼저 처리)
         registry.addResourceHandler("/uploads/**")
                 .addResourceLocations("file:uploads/")   // 프로젝트 루트/uploads
                 .setCachePeriod(3600);
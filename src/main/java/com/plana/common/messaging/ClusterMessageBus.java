@@ -0,0 +1,35 @@
+package com.plana.common.messaging;
+
+import java.util.function.Consumer;
+
+/**
+ * 노드 간 메시지 버스
+ *
+ * 여러 백엔드 인스턴스(레플리카)가 동시에 떠 있을 때, 한 노드에서 발생한 이벤트를
+ * 다른 모든 노드에 전달하기 위한 추상화 (실시간 알림 중계, 캐시 무효화 등)
+ * - 메시지는 채널 단위로 발행/구독하며, 본문은 문자열(JSON)로 주고받음
+ * - 발행한 노드 자신도 같은 채널을 구독 중이면 메시지를 수신함
+ */
+public interface ClusterMessageBus {
+
+    /**
+     * 채널에 메시지 발행
+     *
+     * @param channel 채널 이름
+     * @param payload 메시지 본문 (JSON 문자열)
+     */
+    void publish(String channel, String payload);
+
+    /**
+     * 채널 구독 등록
+     *
+     * @param channel 채널 이름
+     * @param handler 메시지 수신 시 호출될 핸들러
+     */
+    void subscribe(String channel, Consumer<String> handler);
+
+    /**
+     * 현재 노드 식별자 (메트릭 태그, 자기 자신이 발행한 메시지 구분 등에 사용)
+     */
+    String nodeId();
+}
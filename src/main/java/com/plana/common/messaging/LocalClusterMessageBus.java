@@ -0,0 +1,74 @@
+package com.plana.common.messaging;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * 프로세스 내 메시지 버스 (plana.store.mode=embedded, 단일 노드 전용)
+ *
+ * Redis Pub/Sub 과 같이 발행 스레드와 분리된 단일 스레드에서 구독자에게 순서대로 전달
+ * (발행자가 잡고 있는 락/트랜잭션 안에서 구독 핸들러가 실행되지 않도록)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "plana.store.mode", havingValue = "embedded")
+public class LocalClusterMessageBus implements ClusterMessageBus {
+
+    private final Map<String, List<Consumer<String>>> handlers = new ConcurrentHashMap<>();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "local-message-bus");
+        t.setDaemon(true);
+        return t;
+    });
+    private final String nodeId;
+
+    public LocalClusterMessageBus(@Value("${plana.cluster.node-id:}") String nodeId) {
+        this.nodeId = (nodeId == null || nodeId.isBlank())
+                ? UUID.randomUUID().toString().substring(0, 8)
+                : nodeId;
+    }
+
+    @Override
+    public void publish(String channel, String payload) {
+        List<Consumer<String>> subscribers = handlers.get(channel);
+        if (subscribers == null) {
+            return;
+        }
+        dispatcher.execute(() -> {
+            for (Consumer<String> handler : subscribers) {
+                try {
+                    handler.accept(payload);
+                } catch (Exception e) {
+                    log.error("메시지 처리 실패: channel={}, error={}", channel, e.getMessage(), e);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<String> handler) {
+        handlers.computeIfAbsent(channel, c -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+
+    @Override
+    public String nodeId() {
+        return nodeId;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+    }
+}
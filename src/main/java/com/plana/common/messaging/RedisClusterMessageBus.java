@@ -0,0 +1,62 @@
+package com.plana.common.messaging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Redis Pub/Sub 기반 노드 간 메시지 버스
+ *
+ * - 이미 사용 중인 Redis 를 그대로 활용 (추가 인프라 없음)
+ * - Pub/Sub 은 전달 보장이 없으므로 유실되어도 되는 실시간성 메시지에만 사용
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "plana.store.mode", havingValue = "redis", matchIfMissing = true)
+public class RedisClusterMessageBus implements ClusterMessageBus {
+
+    private final StringRedisTemplate redis;
+    private final RedisMessageListenerContainer container;
+    private final String nodeId;
+
+    public RedisClusterMessageBus(StringRedisTemplate redis,
+                                  RedisMessageListenerContainer container,
+                                  @Value("${plana.cluster.node-id:}") String nodeId) {
+        this.redis = redis;
+        this.container = container;
+        this.nodeId = (nodeId == null || nodeId.isBlank())
+                ? UUID.randomUUID().toString().substring(0, 8)
+                : nodeId;
+
+        log.info("클러스터 메시지 버스 시작: nodeId={}", this.nodeId);
+    }
+
+    @Override
+    public void publish(String channel, String payload) {
+        redis.convertAndSend(channel, payload);
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<String> handler) {
+        container.addMessageListener((message, pattern) -> {
+            try {
+                handler.accept(new String(message.getBody(), StandardCharsets.UTF_8));
+            } catch (Exception e) {
+                log.error("클러스터 메시지 처리 실패: channel={}, error={}", channel, e.getMessage(), e);
+            }
+        }, new ChannelTopic(channel));
+    }
+
+    @Override
+    public String nodeId() {
+        return nodeId;
+    }
+}
@@ -0,0 +1,18 @@
+package com.plana.common.ratelimit;
+
+import lombok.Getter;
+
+/**
+ * 요청 한도 초과 (429 Too Many Requests)
+ */
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+    // 다시 시도할 수 있을 때까지 남은 시간(초)
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(long retryAfterSeconds) {
+        super("요청이 너무 많습니다. 잠시 후 다시 시도해 주세요.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,186 @@
+package com.plana.common.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.plana.common.store.KeyValueStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 요청 한도 제한기 (IP/이메일 등 키 단위)
+ *
+ * 두 단계로 확인:
+ * 1) 노드 로컬 토큰 버킷 - 분당 limit 개, 버스트도 limit 개까지. Redis 왕복 없이 폭주 요청을 바로 거절
+ *    버킷 갱신은 키 해시로 고른 락 스트라이프 안에서 처리 (전역 락 없음)
+ * 2) 공유 저장소(Redis) 고정 윈도(1분) 카운터 - 여러 노드에 흩어진 요청의 합이 limit 을 넘지 않도록 전역 예산 확인
+ *    저장소 장애 시에는 로컬 버킷만으로 제한 (요청 자체는 막지 않음)
+ *
+ * 한도 초과 시 RateLimitExceededException (429, Retry-After)
+ * 클라이언트 IP 는 연결 주소가 신뢰하는 프록시(ratelimit.trusted-proxies, CIDR 목록)일 때만 X-Forwarded-For 를 사용
+ * (그 외에는 헤더를 무시 → 클라이언트가 헤더를 바꿔 가며 한도를 우회할 수 없음)
+ * 메트릭: plana.ratelimit.rejected{scope, layer=local|global}
+ */
+@Slf4j
+@Component
+public class RateLimiter {
+
+    private static final long WINDOW_MS = 60_000L;
+    private static final int STRIPES = 64;
+    private static final Pattern IP_LITERAL = Pattern.compile("[0-9A-Fa-f:.]+");
+
+    private final KeyValueStore store;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final List<IpAddressMatcher> trustedProxies;
+
+    private final Cache<String, TokenBucket> buckets;
+    private final Object[] stripes = new Object[STRIPES];
+
+    public RateLimiter(KeyValueStore store,
+                       MeterRegistry meterRegistry,
+                       @Value("${ratelimit.enabled:true}") boolean enabled,
+                       @Value("${ratelimit.trusted-proxies:}") String trustedProxies,
+                       @Value("${ratelimit.local.max-keys:100000}") long maxKeys) {
+        this.store = store;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.trustedProxies = Arrays.stream(trustedProxies.split(","))
+                .map(String::trim)
+                .filter(cidr -> !cidr.isEmpty())
+                .map(IpAddressMatcher::new)
+                .toList();
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofMinutes(5))
+                .build();
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+    }
+
+    /**
+     * 한도 확인 (초과 시 예외)
+     *
+     * @param scope 제한 구분 (예: login:ip, login:email)
+     * @param key 제한 대상 (IP, 이메일 등)
+     * @param limitPerMinute 분당 허용 요청 수 (0 이하면 제한 없음)
+     * @throws RateLimitExceededException 한도 초과
+     */
+    public void check(String scope, String key, int limitPerMinute) {
+        if (!enabled || limitPerMinute <= 0 || key == null || key.isBlank()) {
+            return;
+        }
+        String bucketKey = scope + ":" + key;
+
+        // 1) 로컬 토큰 버킷
+        long waitMs = tryConsumeLocal(bucketKey, limitPerMinute);
+        if (waitMs > 0) {
+            reject(scope, "local");
+            throw new RateLimitExceededException(Math.max(1, (waitMs + 999) / 1000));
+        }
+
+        // 2) 전역 예산 (윈도 카운터 증가 + 첫 증가 시 만료 설정)
+        long window = System.currentTimeMillis() / WINDOW_MS;
+        try {
+            long count = store.increment("ratelimit:" + bucketKey + ":" + window, Duration.ofMillis(WINDOW_MS));
+            if (count > limitPerMinute) {
+                reject(scope, "global");
+                long retryMs = (window + 1) * WINDOW_MS - System.currentTimeMillis();
+                throw new RateLimitExceededException(Math.max(1, (retryMs + 999) / 1000));
+            }
+        } catch (RateLimitExceededException e) {
+            throw e;
+        } catch (Exception e) {
+            log.warn("전역 요청 한도 확인 실패 - 로컬 한도만 적용: scope={}, error={}", scope, e.getMessage());
+        }
+    }
+
+    /**
+     * 클라이언트 IP
+     * 연결 주소가 신뢰하는 프록시면 X-Forwarded-For 를 오른쪽부터 거슬러 올라가 처음 나오는 신뢰하지 않는 주소
+     * (왼쪽 항목은 클라이언트가 마음대로 넣을 수 있으므로 사용하지 않음)
+     */
+    public String clientIp(HttpServletRequest request) {
+        String remote = request.getRemoteAddr();
+        if (!isTrustedProxy(remote)) {
+            return remote;
+        }
+        String forwarded = request.getHeader("X-Forwarded-For");
+        if (forwarded == null || forwarded.isBlank()) {
+            return remote;
+        }
+        String[] hops = forwarded.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (!hop.isEmpty() && !isTrustedProxy(hop)) {
+                return hop;
+            }
+        }
+        return remote; // 모두 내부 프록시
+    }
+
+    private boolean isTrustedProxy(String address) {
+        if (address == null || !IP_LITERAL.matcher(address).matches()) {
+            return false; // 호스트 이름 등은 조회하지 않고 신뢰하지 않음
+        }
+        try {
+            for (IpAddressMatcher matcher : trustedProxies) {
+                if (matcher.matches(address)) return true;
+            }
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return false;
+    }
+
+    /**
+     * 로컬 버킷에서 토큰 1개 사용
+     *
+     * @return 0 이면 허용, 양수면 다음 토큰까지 남은 시간(ms)
+     */
+    private long tryConsumeLocal(String bucketKey, int limitPerMinute) {
+        TokenBucket bucket = buckets.get(bucketKey, k -> new TokenBucket(limitPerMinute));
+        synchronized (stripes[(bucketKey.hashCode() & 0x7fffffff) % STRIPES]) {
+            return bucket.tryConsume(limitPerMinute);
+        }
+    }
+
+    private void reject(String scope, String layer) {
+        meterRegistry.counter("plana.ratelimit.rejected", "scope", scope, "layer", layer).increment();
+    }
+
+    /**
+     * 토큰 버킷 (스트라이프 락 안에서만 접근)
+     */
+    private static final class TokenBucket {
+        private double tokens;
+        private long lastRefillNanos;
+
+        private TokenBucket(int capacity) {
+            this.tokens = capacity;
+            this.lastRefillNanos = System.nanoTime();
+        }
+
+        private long tryConsume(int capacity) {
+            long now = System.nanoTime();
+            double refillPerNano = (double) capacity / (WINDOW_MS * 1_000_000L);
+            tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * refillPerNano);
+            lastRefillNanos = now;
+
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / refillPerNano / 1_000_000L);
+        }
+    }
+}
@@ -0,0 +1,442 @@
+package com.plana.common.store;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 프로세스 메모리 기반 키-값 저장소 (plana.store.mode=embedded, 단일 노드 전용)
+ *
+ * Redis 없이 작은 단일 노드 배포/테스트를 돌리기 위한 구현체
+ * - 키 해시로 고른 ConcurrentHashMap 스트라이프에 보관, 키 단위 연산은 compute 로 원자적 처리
+ *   (비교-교체, 비교-삭제, 증가 등 Redis Lua 스크립트와 같은 보장)
+ * - 만료: 읽을 때 지난 항목은 바로 제거 + 타이밍 휠(tick-ms 간격 슬롯)로 읽히지 않는 항목도 주기적으로 정리
+ *   → 만료 정리가 전체 키 스캔이 아니라 해당 슬롯의 키만 확인
+ *
+ * 여러 노드가 상태를 공유해야 하면 redis 모드 사용
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "plana.store.mode", havingValue = "embedded")
+public class InMemoryKeyValueStore implements KeyValueStore {
+
+    private static final int STRIPES = 32;
+    private static final int NO_SLOT = -1;
+
+    private final Clock clock;
+    private final long tickMs;
+    private final int wheelSize;
+
+    @SuppressWarnings("unchecked")
+    private final Map<String, Entry>[] stripes = new Map[STRIPES];
+    private final Object[] fenceLocks = new Object[STRIPES];
+    private final Set<String>[] wheel;
+    private volatile long lastSweptTick;
+
+    private final ScheduledExecutorService sweeper;
+
+    public InMemoryKeyValueStore(@Value("${plana.store.embedded.tick-ms:1000}") long tickMs,
+                                 @Value("${plana.store.embedded.wheel-size:512}") int wheelSize) {
+        this(Clock.systemUTC(), tickMs, wheelSize, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    InMemoryKeyValueStore(Clock clock, long tickMs, int wheelSize, boolean startSweeper) {
+        this.clock = clock;
+        this.tickMs = Math.max(tickMs, 1);
+        this.wheelSize = Math.max(wheelSize, 1);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+            fenceLocks[i] = new Object();
+        }
+        this.wheel = new Set[this.wheelSize];
+        for (int i = 0; i < this.wheelSize; i++) {
+            wheel[i] = ConcurrentHashMap.newKeySet();
+        }
+        this.lastSweptTick = clock.millis() / this.tickMs - 1;
+
+        if (startSweeper) {
+            this.sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "kv-store-sweeper");
+                t.setDaemon(true);
+                return t;
+            });
+            sweeper.scheduleWithFixedDelay(this::sweepSafely, this.tickMs, this.tickMs, TimeUnit.MILLISECONDS);
+            log.info("내장 키-값 저장소 사용 (Redis 미사용, 단일 노드 전용)");
+        } else {
+            this.sweeper = null;
+        }
+    }
+
+    @Override
+    public String get(String key) {
+        Entry entry = live(key);
+        return entry != null && entry.value() instanceof String s ? s : null;
+    }
+
+    @Override
+    public void set(String key, String value, Duration ttl) {
+        Entry entry = newEntry(value, ttl);
+        map(key).put(key, entry);
+        schedule(key, entry);
+    }
+
+    @Override
+    public boolean setIfAbsent(String key, String value, Duration ttl) {
+        long now = clock.millis();
+        Entry[] created = new Entry[1];
+        map(key).compute(key, (k, cur) -> {
+            if (alive(cur, now)) {
+                return cur;
+            }
+            return created[0] = newEntry(value, ttl);
+        });
+        schedule(key, created[0]);
+        return created[0] != null;
+    }
+
+    @Override
+    public boolean compareAndSet(String key, String expected, String value, Duration ttl) {
+        long now = clock.millis();
+        Entry[] replaced = new Entry[1];
+        map(key).compute(key, (k, cur) -> {
+            if (!alive(cur, now)) {
+                return null;
+            }
+            if (!cur.value().equals(expected)) {
+                return cur;
+            }
+            return replaced[0] = newEntry(value, ttl);
+        });
+        schedule(key, replaced[0]);
+        return replaced[0] != null;
+    }
+
+    @Override
+    public boolean compareAndDelete(String key, String expected) {
+        long now = clock.millis();
+        boolean[] deleted = new boolean[1];
+        map(key).compute(key, (k, cur) -> {
+            if (!alive(cur, now)) {
+                return null;
+            }
+            if (!cur.value().equals(expected)) {
+                return cur;
+            }
+            deleted[0] = true;
+            return null;
+        });
+        return deleted[0];
+    }
+
+    @Override
+    public long acquireWithFence(String key, String fenceKey, String value, Duration ttl) {
+        // 두 키를 함께 바꾸므로 compute 중첩 대신 락 키 기준 스트라이프 잠금 (같은 락 키의 획득끼리만 직렬화)
+        synchronized (fenceLocks[(key.hashCode() & 0x7fffffff) % STRIPES]) {
+            if (live(key) != null) {
+                return -1;
+            }
+            long fence = increment(fenceKey, null);
+            Entry entry = newEntry(value + ":" + fence, ttl);
+            map(key).put(key, entry);
+            schedule(key, entry);
+            return fence;
+        }
+    }
+
+    @Override
+    public long increment(String key, Duration ttlOnCreate) {
+        long now = clock.millis();
+        long[] result = new long[1];
+        Entry[] created = new Entry[1];
+        map(key).compute(key, (k, cur) -> {
+            if (!alive(cur, now)) {
+                result[0] = 1;
+                return created[0] = newEntry("1", ttlOnCreate);
+            }
+            result[0] = Long.parseLong(string(cur)) + 1;
+            return new Entry(String.valueOf(result[0]), cur.expiresAt(), cur.slot());
+        });
+        schedule(key, created[0]);
+        return result[0];
+    }
+
+    @Override
+    public boolean delete(String key) {
+        Entry removed = map(key).remove(key);
+        return alive(removed, clock.millis());
+    }
+
+    @Override
+    public boolean hasKey(String key) {
+        return live(key) != null;
+    }
+
+    @Override
+    public boolean expire(String key, Duration ttl) {
+        long now = clock.millis();
+        Entry[] updated = new Entry[1];
+        map(key).compute(key, (k, cur) -> {
+            if (!alive(cur, now)) {
+                return null;
+            }
+            return updated[0] = newEntry(cur.value(), ttl);
+        });
+        schedule(key, updated[0]);
+        return updated[0] != null;
+    }
+
+    @Override
+    public long getTtlMillis(String key) {
+        Entry entry = live(key);
+        if (entry == null) {
+            return NO_KEY;
+        }
+        if (entry.expiresAt() == 0) {
+            return NO_EXPIRE;
+        }
+        return Math.max(entry.expiresAt() - clock.millis(), 0);
+    }
+
+    @Override
+    public void addToSet(String key, String member) {
+        long now = clock.millis();
+        map(key).compute(key, (k, cur) -> {
+            if (!alive(cur, now)) {
+                Set<String> members = ConcurrentHashMap.newKeySet();
+                members.add(member);
+                return new Entry(members, 0, NO_SLOT);
+            }
+            set(cur).add(member);
+            return cur;
+        });
+    }
+
+    @Override
+    public Set<String> getSetMembers(String key) {
+        Entry entry = live(key);
+        return entry == null ? Set.of() : Set.copyOf(set(entry));
+    }
+
+    @Override
+    public void addToSortedSet(String key, String member, double score) {
+        long now = clock.millis();
+        map(key).compute(key, (k, cur) -> {
+            if (!alive(cur, now)) {
+                SortedSetValue zset = new SortedSetValue();
+                zset.add(member, score);
+                return new Entry(zset, 0, NO_SLOT);
+            }
+            sortedSet(cur).add(member, score);
+            return cur;
+        });
+    }
+
+    @Override
+    public Double getSortedSetScore(String key, String member) {
+        Entry entry = live(key);
+        return entry == null ? null : sortedSet(entry).score(member);
+    }
+
+    @Override
+    public Set<String> getSortedSetRangeByScore(String key, double min, double max) {
+        Entry entry = live(key);
+        return entry == null ? Set.of() : sortedSet(entry).range(min, max);
+    }
+
+    @Override
+    public void removeSortedSetRangeByScore(String key, double min, double max) {
+        long now = clock.millis();
+        map(key).computeIfPresent(key, (k, cur) -> {
+            if (!alive(cur, now)) {
+                return null;
+            }
+            SortedSetValue zset = sortedSet(cur);
+            zset.removeRange(min, max);
+            return zset.isEmpty() ? null : cur;
+        });
+    }
+
+    /**
+     * 타이밍 휠 정리 - 지난 tick 들의 슬롯에 등록된 키 중 만료된 항목 제거
+     */
+    void sweep() {
+        long now = clock.millis();
+        long currentTick = now / tickMs;
+        long from = Math.max(lastSweptTick + 1, currentTick - wheelSize + 1);
+
+        for (long tick = from; tick <= currentTick; tick++) {
+            int slot = (int) (tick % wheelSize);
+            Iterator<String> it = wheel[slot].iterator();
+            while (it.hasNext()) {
+                String key = it.next();
+                Map<String, Entry> map = map(key);
+                Entry entry = map.get(key);
+                if (entry == null || entry.slot() != slot) {
+                    // 삭제되었거나 만료 시간이 바뀌어 다른 슬롯에 다시 등록됨
+                    it.remove();
+                } else if (entry.expiresAt() <= now) {
+                    map.remove(key, entry);
+                    it.remove();
+                }
+                // 아직 만료 전(다음 바퀴) 이면 그대로 둠
+            }
+        }
+        lastSweptTick = currentTick;
+    }
+
+    /**
+     * 보관 중인 키 수 (만료되었지만 아직 정리되지 않은 항목 포함)
+     */
+    int size() {
+        int size = 0;
+        for (Map<String, Entry> map : stripes) {
+            size += map.size();
+        }
+        return size;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+    }
+
+    private void sweepSafely() {
+        try {
+            sweep();
+        } catch (Exception e) {
+            log.warn("내장 키-값 저장소 만료 정리 실패: {}", e.getMessage());
+        }
+    }
+
+    private Map<String, Entry> map(String key) {
+        return stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+    }
+
+    /**
+     * 살아있는 항목 조회 (만료되었으면 제거 후 null)
+     */
+    private Entry live(String key) {
+        Map<String, Entry> map = map(key);
+        Entry entry = map.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (!alive(entry, clock.millis())) {
+            map.remove(key, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    private static boolean alive(Entry entry, long now) {
+        return entry != null && (entry.expiresAt() == 0 || entry.expiresAt() > now);
+    }
+
+    private Entry newEntry(Object value, Duration ttl) {
+        if (ttl == null) {
+            return new Entry(value, 0, NO_SLOT);
+        }
+        long expiresAt = clock.millis() + Math.max(ttl.toMillis(), 1);
+        // 이미 정리한 tick 에 걸리면 다음 tick 슬롯에 등록
+        long tick = Math.max(expiresAt / tickMs, lastSweptTick + 1);
+        return new Entry(value, expiresAt, (int) (tick % wheelSize));
+    }
+
+    private void schedule(String key, Entry entry) {
+        if (entry != null && entry.slot() != NO_SLOT) {
+            wheel[entry.slot()].add(key);
+        }
+    }
+
+    private static String string(Entry entry) {
+        if (entry.value() instanceof String s) {
+            return s;
+        }
+        throw new IllegalStateException("문자열 값이 아닌 키입니다.");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<String> set(Entry entry) {
+        if (entry.value() instanceof Set<?> s) {
+            return (Set<String>) s;
+        }
+        throw new IllegalStateException("집합 값이 아닌 키입니다.");
+    }
+
+    private static SortedSetValue sortedSet(Entry entry) {
+        if (entry.value() instanceof SortedSetValue z) {
+            return z;
+        }
+        throw new IllegalStateException("정렬 집합 값이 아닌 키입니다.");
+    }
+
+    /**
+     * 저장 항목 (value: String | Set | SortedSetValue, expiresAt: 0 이면 만료 없음, slot: 타이밍 휠 슬롯)
+     */
+    private record Entry(Object value, long expiresAt, int slot) {
+    }
+
+    /**
+     * 정렬 집합 (점수 → 원소 순서)
+     */
+    private static final class SortedSetValue {
+
+        private final Map<String, Double> scores = new HashMap<>();
+        private final NavigableMap<Double, Set<String>> byScore = new TreeMap<>();
+
+        synchronized void add(String member, double score) {
+            Double old = scores.put(member, score);
+            if (old != null) {
+                removeFromScore(old, member);
+            }
+            byScore.computeIfAbsent(score, sc -> new TreeSet<>()).add(member);
+        }
+
+        synchronized Double score(String member) {
+            return scores.get(member);
+        }
+
+        synchronized Set<String> range(double min, double max) {
+            Set<String> result = new LinkedHashSet<>();
+            byScore.subMap(min, true, max, true).values().forEach(result::addAll);
+            return result;
+        }
+
+        synchronized void removeRange(double min, double max) {
+            NavigableMap<Double, Set<String>> range = byScore.subMap(min, true, max, true);
+            range.values().forEach(members -> members.forEach(scores::remove));
+            range.clear();
+        }
+
+        synchronized boolean isEmpty() {
+            return scores.isEmpty();
+        }
+
+        private void removeFromScore(double score, String member) {
+            Set<String> members = byScore.get(score);
+            if (members != null && members.remove(member) && members.isEmpty()) {
+                byScore.remove(score);
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.plana.common.store;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * 짧게 살아있는 상태(인증 코드, 락, 토큰 패밀리, 요청 한도 카운터 등)를 보관하는 키-값 저장소
+ *
+ * plana.store.mode 로 구현체 선택
+ * - redis (기본값): RedisKeyValueStore - 여러 노드가 상태를 공유
+ * - embedded: InMemoryKeyValueStore - Redis 없이 단일 노드에서 프로세스 메모리에 보관 (네트워크 왕복 없음)
+ *
+ * 모든 ttl 은 null 이면 만료 없음
+ */
+public interface KeyValueStore {
+
+    /** 키가 없음 (getTtlMillis) */
+    long NO_KEY = -2L;
+
+    /** 만료 시간이 없음 (getTtlMillis) */
+    long NO_EXPIRE = -1L;
+
+    /**
+     * 값 조회 (없거나 만료되었으면 null)
+     */
+    String get(String key);
+
+    /**
+     * 값 저장 (기존 값/만료 시간 덮어씀)
+     */
+    void set(String key, String value, Duration ttl);
+
+    /**
+     * 키가 없을 때만 저장
+     *
+     * @return 저장 여부
+     */
+    boolean setIfAbsent(String key, String value, Duration ttl);
+
+    /**
+     * 현재 값이 expected 일 때만 새 값으로 교체 (원자적)
+     *
+     * @return 교체 여부 (키가 없거나 값이 다르면 false)
+     */
+    boolean compareAndSet(String key, String expected, String value, Duration ttl);
+
+    /**
+     * 현재 값이 expected 일 때만 삭제 (원자적, 소유자 확인 후 락 해제 등)
+     *
+     * @return 삭제 여부
+     */
+    boolean compareAndDelete(String key, String expected);
+
+    /**
+     * 펜싱 토큰을 붙인 락 획득 (원자적)
+     * key 가 없을 때만 fenceKey 를 1 증가시키고 key 에 "{value}:{펜싱 토큰}" 저장
+     * → 성공한 획득은 항상 이전의 모든 획득보다 큰 펜싱 토큰을 받음
+     *
+     * 같은 key 는 이 메서드로만 획득해야 함 (이후 compareAndSet/compareAndDelete 로 연장/해제)
+     *
+     * @return 발급한 펜싱 토큰 (이미 다른 값이 있으면 -1)
+     */
+    long acquireWithFence(String key, String fenceKey, String value, Duration ttl);
+
+    /**
+     * 정수 값 1 증가 (원자적), 새로 만들어진 경우에만 ttl 적용
+     *
+     * @return 증가 후 값
+     */
+    long increment(String key, Duration ttlOnCreate);
+
+    /**
+     * 키 삭제
+     *
+     * @return 삭제 여부
+     */
+    boolean delete(String key);
+
+    /**
+     * 키 존재 여부
+     */
+    boolean hasKey(String key);
+
+    /**
+     * 만료 시간 변경
+     *
+     * @return 키가 있어서 변경되었는지 여부
+     */
+    boolean expire(String key, Duration ttl);
+
+    /**
+     * 남은 만료 시간(ms)
+     *
+     * @return 남은 시간, 키가 없으면 NO_KEY, 만료 시간이 없으면 NO_EXPIRE
+     */
+    long getTtlMillis(String key);
+
+    /**
+     * 집합에 원소 추가
+     */
+    void addToSet(String key, String member);
+
+    /**
+     * 집합의 모든 원소 (없으면 빈 집합)
+     */
+    Set<String> getSetMembers(String key);
+
+    /**
+     * 정렬 집합에 원소 추가 (이미 있으면 점수 갱신)
+     */
+    void addToSortedSet(String key, String member, double score);
+
+    /**
+     * 정렬 집합 원소의 점수 (없으면 null)
+     */
+    Double getSortedSetScore(String key, String member);
+
+    /**
+     * 점수가 [min, max] 인 원소 (점수 오름차순)
+     */
+    Set<String> getSortedSetRangeByScore(String key, double min, double max);
+
+    /**
+     * 점수가 [min, max] 인 원소 삭제
+     */
+    void removeSortedSetRangeByScore(String key, double min, double max);
+}
@@ -0,0 +1,162 @@
+package com.plana.common.store;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 기반 키-값 저장소 (기본값, 다중 노드)
+ * 비교-교체/비교-삭제/증가+만료는 Lua 스크립트로 원자적으로 처리
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "plana.store.mode", havingValue = "redis", matchIfMissing = true)
+public class RedisKeyValueStore implements KeyValueStore {
+
+    // 현재 값이 기대값과 같을 때만 교체 (ARGV[3] > 0 이면 PX 적용)
+    private static final DefaultRedisScript<Long> COMPARE_AND_SET_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) ~= ARGV[1] then return 0 end " +
+                    "if tonumber(ARGV[3]) > 0 then redis.call('set', KEYS[1], ARGV[2], 'PX', ARGV[3]) " +
+                    "else redis.call('set', KEYS[1], ARGV[2]) end " +
+                    "return 1",
+            Long.class
+    );
+
+    // 소유자 일치 시에만 DEL (체크-앤-딜리트)
+    private static final DefaultRedisScript<Long> COMPARE_AND_DELETE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then " +
+                    "  return redis.call('del', KEYS[1]) " +
+                    "else return 0 end",
+            Long.class
+    );
+
+    // 락이 비어 있을 때만 펜싱 카운터 증가 + "{value}:{fence}" 저장
+    private static final DefaultRedisScript<Long> ACQUIRE_WITH_FENCE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('exists', KEYS[1]) == 1 then return -1 end " +
+                    "local f = redis.call('incr', KEYS[2]) " +
+                    "if tonumber(ARGV[2]) > 0 then redis.call('set', KEYS[1], ARGV[1] .. ':' .. f, 'PX', ARGV[2]) " +
+                    "else redis.call('set', KEYS[1], ARGV[1] .. ':' .. f) end " +
+                    "return f",
+            Long.class
+    );
+
+    // 증가 + 첫 증가 시 만료 설정
+    private static final DefaultRedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>(
+            "local c = redis.call('incr', KEYS[1]) " +
+                    "if c == 1 and tonumber(ARGV[1]) > 0 then redis.call('pexpire', KEYS[1], ARGV[1]) end " +
+                    "return c",
+            Long.class
+    );
+
+    private final StringRedisTemplate redis;
+
+    @Override
+    public String get(String key) {
+        return redis.opsForValue().get(key);
+    }
+
+    @Override
+    public void set(String key, String value, Duration ttl) {
+        if (ttl == null) {
+            redis.opsForValue().set(key, value);
+        } else {
+            redis.opsForValue().set(key, value, ttl);
+        }
+    }
+
+    @Override
+    public boolean setIfAbsent(String key, String value, Duration ttl) {
+        Boolean ok = ttl == null
+                ? redis.opsForValue().setIfAbsent(key, value)
+                : redis.opsForValue().setIfAbsent(key, value, ttl);
+        return Boolean.TRUE.equals(ok);
+    }
+
+    @Override
+    public boolean compareAndSet(String key, String expected, String value, Duration ttl) {
+        Long res = redis.execute(COMPARE_AND_SET_SCRIPT, Collections.singletonList(key),
+                expected, value, String.valueOf(ttl == null ? 0 : ttl.toMillis()));
+        return res != null && res == 1L;
+    }
+
+    @Override
+    public boolean compareAndDelete(String key, String expected) {
+        Long res = redis.execute(COMPARE_AND_DELETE_SCRIPT, Collections.singletonList(key), expected);
+        return res != null && res == 1L;
+    }
+
+    @Override
+    public long acquireWithFence(String key, String fenceKey, String value, Duration ttl) {
+        Long fence = redis.execute(ACQUIRE_WITH_FENCE_SCRIPT, List.of(key, fenceKey),
+                value, String.valueOf(ttl == null ? 0 : ttl.toMillis()));
+        return fence == null ? -1 : fence;
+    }
+
+    @Override
+    public long increment(String key, Duration ttlOnCreate) {
+        Long count = redis.execute(INCREMENT_SCRIPT, Collections.singletonList(key),
+                String.valueOf(ttlOnCreate == null ? 0 : ttlOnCreate.toMillis()));
+        return count == null ? 0 : count;
+    }
+
+    @Override
+    public boolean delete(String key) {
+        return Boolean.TRUE.equals(redis.delete(key));
+    }
+
+    @Override
+    public boolean hasKey(String key) {
+        return Boolean.TRUE.equals(redis.hasKey(key));
+    }
+
+    @Override
+    public boolean expire(String key, Duration ttl) {
+        return Boolean.TRUE.equals(ttl == null ? redis.persist(key) : redis.expire(key, ttl));
+    }
+
+    @Override
+    public long getTtlMillis(String key) {
+        Long ttl = redis.getExpire(key, TimeUnit.MILLISECONDS);
+        return ttl == null ? NO_KEY : ttl;
+    }
+
+    @Override
+    public void addToSet(String key, String member) {
+        redis.opsForSet().add(key, member);
+    }
+
+    @Override
+    public Set<String> getSetMembers(String key) {
+        Set<String> members = redis.opsForSet().members(key);
+        return members == null ? Set.of() : members;
+    }
+
+    @Override
+    public void addToSortedSet(String key, String member, double score) {
+        redis.opsForZSet().add(key, member, score);
+    }
+
+    @Override
+    public Double getSortedSetScore(String key, String member) {
+        return redis.opsForZSet().score(key, member);
+    }
+
+    @Override
+    public Set<String> getSortedSetRangeByScore(String key, double min, double max) {
+        Set<String> members = redis.opsForZSet().rangeByScore(key, min, max);
+        return members == null ? Set.of() : members;
+    }
+
+    @Override
+    public void removeSortedSetRangeByScore(String key, double min, double max) {
+        redis.opsForZSet().removeRangeByScore(key, min, max);
+    }
+}
@@ -0,0 +1,89 @@
+package com.plana.common.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 문자열용 블룸 필터 (스레드 안전)
+ *
+ * "확실히 없음" 또는 "있을 수도 있음"만 판단하는 고정 크기 비트 집합
+ * - mightContain 이 false 면 추가된 적이 없음이 보장됨 → 대부분의 조회를 외부 저장소 없이 끝낼 수 있음
+ * - true 면 오탐일 수 있으므로 호출자가 원본 저장소에서 확인해야 함
+ * - 삭제는 지원하지 않음 (오래된 항목을 지우려면 새 필터를 만들어 교체)
+ *
+ * 오탐률 ≈ (1 - e^(-k·n/m))^k  (m: 비트 수, k: 해시 수, n: 추가된 항목 수)
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * @param bitCount 비트 수 (64 의 배수로 올림)
+     * @param hashCount 항목당 해시 수
+     */
+    public BloomFilter(long bitCount, int hashCount) {
+        if (bitCount <= 0 || hashCount <= 0) {
+            throw new IllegalArgumentException("bitCount, hashCount 는 1 이상이어야 합니다.");
+        }
+        int wordCount = (int) Math.min((bitCount + 63) / 64, Integer.MAX_VALUE);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount * 64;
+        this.hashCount = hashCount;
+    }
+
+    public void put(String value) {
+        long h1 = hash(value);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << (bit & 63);
+
+            long current;
+            do {
+                current = words.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!words.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long h1 = hash(value);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << (bit & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * FNV-1a 64 + 비트 섞기
+     */
+    private static long hash(String value) {
+        long h = 0xCBF29CE484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    /**
+     * MurmurHash3 fmix64
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
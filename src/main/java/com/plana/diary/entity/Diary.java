@@ -14,6 +14,11 @@ import java.time.LocalDateTime;
 @NoArgsConstructor // 기본 생성자를 만들어준다.
 @AllArgsConstructor // 모든 필드를 매개변수로 받는 생성자
 @Builder
+@Table(name = "diary",
+        indexes = {
+                // 업로드 파일 정리 시 참조 여부 조회 (UploadGarbageCollector)
+                @Index(name = "idx_diary_image_url", columnList = "image_url")
+        })
 public class Diary {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -39,6 +44,10 @@ public class Diary {
     @Column(name = "is_deleted", nullable = false)
     private boolean isDeleted = false;
 
+    // 마지막으로 수정을 반영한 락의 펜싱 토큰 (DiaryRepository.advanceLockFence 로만 변경)
+    @Column(name = "lock_fence", insertable = false, updatable = false)
+    private Long lockFence;
+
     @PrePersist // 엔티티가 DB에 저장되기 전에 실행되는 메서드에 붙이는 어노테이션
     public void onCreate() {
         this.createdAt = this.updatedAt = LocalDateTime.now(); //최초 저장 시점
@@ -2,10 +2,12 @@ package com.plana.diary.repository;
 
 import com.plana.diary.entity.Diary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -137,6 +139,20 @@ order by x.display_date asc
 
     Optional<Diary> findByIdAndIsDeletedFalse(Long id);
 
+    // 삭제되지 않은 다이어리가 참조 중인 이미지 URL (업로드 파일 정리용)
+    @Query("select distinct d.imageUrl from Diary d where d.isDeleted = false and d.imageUrl in :urls")
+    List<String> findReferencedImageUrls(@Param("urls") Collection<String> urls);
+
+    // 펜싱 토큰 전진: 저장된 값보다 작지 않을 때만 갱신 (0 이면 더 새로운 락으로 이미 수정됨)
+    @Modifying
+    @Query("update Diary d set d.lockFence = :fence " +
+            "where d.id = :id and (d.lockFence is null or d.lockFence <= :fence)")
+    int advanceLockFence(@Param("id") Long id, @Param("fence") long fence);
+
+    // 마지막으로 수정에 사용된 펜싱 토큰 (저장소의 펜싱 카운터를 잃었을 때 이어서 발급하기 위함)
+    @Query("select d.lockFence from Diary d where d.id = :id")
+    Optional<Long> findLockFence(@Param("id") Long id);
+
 
 
 }
@@ -3,6 +3,7 @@ package com.plana.diary.repository;
 import com.plana.diary.entity.Book;
 import com.plana.diary.entity.DiaryTag;
 import com.plana.diary.enums.TagStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.Modifying;
@@ -54,4 +55,15 @@ public interface DiaryTagRepository extends JpaRepository<DiaryTag, Long> {
 
     // 2) 존재 여부 확인
     boolean existsByDiary_IdAndMember_Id(Long diaryId, Long memberId);
+
+    // 내가 작성한 다이어리에 자주 태그한 사용자 ID (많이 태그한 순)
+    @Query("""
+        select t.member.id
+          from DiaryTag t
+         where t.diary.writer.id = :writerId
+           and t.member is not null
+         group by t.member.id
+         order by count(t) desc
+    """)
+    List<Long> findFrequentlyTaggedMemberIds(@Param("writerId") Long writerId, Pageable pageable);
 }
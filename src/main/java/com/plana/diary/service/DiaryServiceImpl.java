@@ -8,14 +8,16 @@ import com.plana.diary.entity.*;
 import com.plana.diary.enums.DiaryType;
 import com.plana.diary.enums.TagStatus;
 import com.plana.diary.repository.*;
+import com.plana.file.service.ImageUrlSigner;
+import com.plana.file.service.ImageVariant;
 import com.plana.lock.service.LockService;
 import com.plana.notification.entity.Notification;
 import com.plana.notification.repository.NotificationRepository;
-import com.plana.notification.service.NotificationService;
+import com.plana.notification.enums.OutboxEventType;
+import com.plana.notification.service.NotificationOutboxService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.crossstore.ChangeSetPersister;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
@@ -38,11 +40,12 @@ public class DiaryServiceImpl implements DiaryService {
     private final MemberRepository memberRepository;
 
     private final NotificationRepository notificationRepository;
-    private final NotificationService notificationService;
+    private final NotificationOutboxService notificationOutboxService;
 
     private final LockService lockService;
 
-    private final StringRedisTemplate redis;
+    private final ImageUrlSigner imageUrlSigner; // 응답 이미지 URL 서명 (DB 에는 서명 없는 URL 저장)
+
 
     // 다이어리 등록
     @Transactional
@@ -56,7 +59,7 @@ public class DiaryServiceImpl implements DiaryService {
                 .writer(writer)
                 .diaryDate(request.getDiaryDate())
                 .type(request.getDiaryType())
-                .imageUrl(request.getImageUrl())
+                .imageUrl(ImageUrlSigner.strip(request.getImageUrl()))
                 .build();
         diaryRepository.save(diary);
 
@@ -135,15 +138,9 @@ public class DiaryServiceImpl implements DiaryService {
                 diaryTagRepository.save(tag);
 
                 // 알림 생성: 작성자가 아닌 다른 사용자를 태그한 경우
+                // (아웃박스에 기록 → 커밋 이후 디스패처가 알림 생성/발송)
                 if (!writer.getId().equals(taggedMember.getId()) && status == TagStatus.PENDING) {
-                    try {
-                        String message = String.format("%s님이 다이어리에 회원님을 태그했습니다",
-                                writer.getName() != null ? writer.getName() : writer.getLoginId());
-                        notificationService.createDiaryTagNotification(tag.getId(), taggedMember.getId(), message);
-                    } catch (Exception e) {
-                        // 알림 생성 실패 시 로깅만 하고 다이어리 생성은 계속 진행
-                        System.err.println("다이어리 태그 알림 생성 실패: " + e.getMessage());
-                    }
+                    notificationOutboxService.append(OutboxEventType.DIARY_TAG_CREATED, tag.getId(), taggedMember.getId());
                 }
 
                 // response DTO (회원이면 memberId 반환)
@@ -185,7 +182,7 @@ public class DiaryServiceImpl implements DiaryService {
                 diary.getDiaryDate(),
                 diary.getType().name(),
                 diary.getCreatedAt(),
-                diary.getImageUrl(),
+                imageUrlSigner.sign(diary.getImageUrl()),
                 request.getContent(),  // 그대로 넣거나, 타입 맞춰 변환
                 tagDtos
         );
@@ -237,7 +234,7 @@ public class DiaryServiceImpl implements DiaryService {
                 diary.getId(),
                 diary.getDiaryDate(),
                 diary.getType(),
-                diary.getImageUrl(),
+                imageUrlSigner.sign(diary.getImageUrl()),
                 diary.getCreatedAt(),
                 diary.getUpdatedAt(),
                 contentDto,
@@ -352,7 +349,7 @@ public class DiaryServiceImpl implements DiaryService {
                         .id(d.getId())
                         .diaryDate(d.getDiaryDate())
                         .type(d.getType().name())
-                        .imageUrl(d.getImageUrl())
+                        .imageUrl(imageUrlSigner.sign(ImageVariant.THUMB.urlOf(d.getImageUrl()))) // 달력 칸에는 썸네일
                         .title(titleByDiaryId.getOrDefault(d.getId(), "")) // getOrDefault는 키에 해당하는 값이 있으면 그 값을 반환하고, 없으면 기본값을 반환
                         .build())
                 .collect(Collectors.toList());
@@ -420,6 +417,16 @@ public class DiaryServiceImpl implements DiaryService {
             throw new ResponseStatusException(HttpStatus.LOCKED, "현재 다른 사용자가 수정 중입니다.");
         }
 
+        // 펜싱 토큰 검증: 락이 만료된 뒤 늦게 도착한 수정이 더 새로운 락의 수정을 덮어쓰지 않도록
+        // (조건부 UPDATE 라 isOwner 확인 이후에 락이 넘어가도 DB 에서 한 번 더 걸러짐)
+        long fence = LockService.fenceOf(lockToken);
+        if (fence < 0 || diaryRepository.advanceLockFence(diaryId, fence) == 0) {
+            if (!diaryRepository.existsById(diaryId)) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "다이어리를 찾을 수 없습니다.");
+            }
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "만료된 락입니다. 다시 락을 획득해 주세요.");
+        }
+
         Diary diary = diaryRepository.findById(diaryId)
                     .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "다이어리를 찾을 수 없습니다."));
 
@@ -445,7 +452,7 @@ public class DiaryServiceImpl implements DiaryService {
 
             // 공통 필드 부분 수정
             if (requestDto.getDiaryDate() != null) diary.setDiaryDate(requestDto.getDiaryDate());
-            if (requestDto.getImageUrl() != null) diary.setImageUrl(requestDto.getImageUrl());
+            if (requestDto.getImageUrl() != null) diary.setImageUrl(ImageUrlSigner.strip(requestDto.getImageUrl()));
 
             // content만 현재 타입 기준으로 부분 수정
             if (requestDto.getContent() != null) {
@@ -576,7 +583,7 @@ public class DiaryServiceImpl implements DiaryService {
                     .toList();
 
             return new DiaryDetailResponseDto(
-                    diary.getId(), diary.getDiaryDate(), diary.getType(), diary.getImageUrl(),
+                    diary.getId(), diary.getDiaryDate(), diary.getType(), imageUrlSigner.sign(diary.getImageUrl()),
                     diary.getCreatedAt(), diary.getUpdatedAt(), contentDto, tagDtos
 //                    , diary.getVersion()
             );
@@ -633,22 +640,13 @@ public class DiaryServiceImpl implements DiaryService {
         diaryTagRepository.save(tag);
 
         // 태그 수락/거절 시 작성자에게 알림 발송
+        // (아웃박스에 기록 → 커밋 이후 디스패처가 알림 생성/발송)
         if (newStatus == TagStatus.ACCEPTED || newStatus == TagStatus.REJECTED) {
-            try {
-                Member writer = tag.getDiary().getWriter();
-                Member taggedMember = tag.getMember();
-
-                if (!writer.getId().equals(taggedMember.getId())) { // 자기 자신에게는 알림 안 보냄
-                    String message = String.format("%s님이 다이어리 태그를 %s했습니다",
-                            taggedMember.getName() != null ? taggedMember.getName() : taggedMember.getLoginId(),
-                            newStatus == TagStatus.ACCEPTED ? "수락" : "거절");
+            Member writer = tag.getDiary().getWriter();
+            Member taggedMember = tag.getMember();
 
-                    // 새로운 알림 생성 (기존 태그 알림과는 별개)
-                    notificationService.createDiaryTagNotification(tag.getId(), writer.getId(), message);
-                }
-            } catch (Exception e) {
-                // 알림 생성 실패 시 로깅만 하고 태그 업데이트는 계속 진행
-                System.err.println("다이어리 태그 상태 변경 알림 생성 실패: " + e.getMessage());
+            if (!writer.getId().equals(taggedMember.getId())) { // 자기 자신에게는 알림 안 보냄
+                notificationOutboxService.append(OutboxEventType.DIARY_TAG_STATUS_CHANGED, tag.getId(), writer.getId());
             }
         }
 
@@ -684,7 +682,7 @@ public class DiaryServiceImpl implements DiaryService {
                 diary.getId(),
                 diary.getDiaryDate(),
                 diary.getType(),
-                diary.getImageUrl(),
+                imageUrlSigner.sign(diary.getImageUrl()),
                 diary.getCreatedAt(),
                 diary.getUpdatedAt(),
                 contentDto,
@@ -0,0 +1,67 @@
+package com.plana.file.controller;
+
+import com.plana.auth.dto.AuthenticatedMemberDto;
+import com.plana.file.dto.request.ChunkedUploadCompleteRequestDto;
+import com.plana.file.dto.request.ChunkedUploadInitRequestDto;
+import com.plana.file.dto.response.ChunkedUploadStatusDto;
+import com.plana.file.dto.response.FileUploadResponseDto;
+import com.plana.file.service.ChunkedUploadService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * 이어 올리기 가능한 조각 업로드 API
+ *
+ * 1. POST /api/files/uploads                      {fileName, size, sha256?} → uploadId, chunkSize
+ * 2. PUT  /api/files/uploads/{uploadId}?offset=N  본문 = 조각 바이트 (application/octet-stream)
+ * 3. GET  /api/files/uploads/{uploadId}           연결이 끊긴 뒤 빠진 조각 확인
+ * 4. POST /api/files/uploads/{uploadId}/complete  {sha256?} → 일반 업로드(/api/files/upload)와 같은 응답
+ */
+@RestController
+@RequestMapping("/api/files/uploads")
+@RequiredArgsConstructor
+public class ChunkedUploadController {
+
+    private final ChunkedUploadService chunkedUploadService;
+
+    @PostMapping
+    public ResponseEntity<?> init(@AuthenticationPrincipal AuthenticatedMemberDto authMember,
+                                  @RequestBody ChunkedUploadInitRequestDto requestDto) {
+        ChunkedUploadStatusDto status = chunkedUploadService.init(
+                authMember.getId(), requestDto.getFileName(), requestDto.getSize(), requestDto.getSha256());
+        return ResponseEntity.status(HttpStatus.CREATED).body(new ApiResponse<>(201, status));
+    }
+
+    @PutMapping("/{uploadId}")
+    public ResponseEntity<?> writeChunk(@AuthenticationPrincipal AuthenticatedMemberDto authMember,
+                                        @PathVariable String uploadId,
+                                        @RequestParam long offset,
+                                        HttpServletRequest request) throws IOException {
+        ChunkedUploadStatusDto status = chunkedUploadService.writeChunk(
+                authMember.getId(), uploadId, offset, request.getInputStream());
+        return ResponseEntity.ok(new ApiResponse<>(200, status));
+    }
+
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<?> getStatus(@AuthenticationPrincipal AuthenticatedMemberDto authMember,
+                                       @PathVariable String uploadId) {
+        return ResponseEntity.ok(new ApiResponse<>(200, chunkedUploadService.getStatus(authMember.getId(), uploadId)));
+    }
+
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<?> complete(@AuthenticationPrincipal AuthenticatedMemberDto authMember,
+                                      @PathVariable String uploadId,
+                                      @RequestBody(required = false) ChunkedUploadCompleteRequestDto requestDto) {
+        FileUploadResponseDto response = chunkedUploadService.complete(
+                authMember.getId(), uploadId, requestDto == null ? null : requestDto.getSha256());
+        return ResponseEntity.status(HttpStatus.CREATED).body(new ApiResponse<>(201, response));
+    }
+
+    record ApiResponse<T>(int status, T data) {} // FileController 와 같은 응답 구조
+}
@@ -0,0 +1,44 @@
+package com.plana.file.controller;
+
+import com.plana.auth.dto.AuthenticatedMemberDto;
+import com.plana.file.dto.request.DirectUploadCompleteRequestDto;
+import com.plana.file.dto.request.DirectUploadRequestDto;
+import com.plana.file.dto.response.FileUploadResponseDto;
+import com.plana.file.service.DirectUploadService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 저장소로 직접 올리기 API (file.storage.mode=s3)
+ *
+ * 1. POST /api/files/direct-uploads           {fileName, size, sha256, contentType?} → uploadUrl, headers
+ * 2. PUT  {uploadUrl}                         headers 를 그대로 넣고 본문 = 파일 바이트 (저장소로 직접)
+ * 3. POST /api/files/direct-uploads/complete  {fileName, sha256} → 일반 업로드(/api/files/upload)와 같은 응답
+ */
+@RestController
+@RequestMapping("/api/files/direct-uploads")
+@RequiredArgsConstructor
+public class DirectUploadController {
+
+    private final DirectUploadService directUploadService;
+
+    @PostMapping
+    public ResponseEntity<?> prepare(@AuthenticationPrincipal AuthenticatedMemberDto authMember,
+                                     @RequestBody DirectUploadRequestDto requestDto) {
+        return ResponseEntity.ok(new ApiResponse<>(200, directUploadService.prepare(authMember.getId(),
+                requestDto.getFileName(), requestDto.getSize(), requestDto.getSha256(), requestDto.getContentType())));
+    }
+
+    @PostMapping("/complete")
+    public ResponseEntity<?> complete(@AuthenticationPrincipal AuthenticatedMemberDto authMember,
+                                      @RequestBody DirectUploadCompleteRequestDto requestDto) {
+        FileUploadResponseDto response = directUploadService.complete(
+                authMember.getId(), requestDto.getFileName(), requestDto.getSha256());
+        return ResponseEntity.status(HttpStatus.CREATED).body(new ApiResponse<>(201, response));
+    }
+
+    record ApiResponse<T>(int status, T data) {} // FileController 와 같은 응답 구조
+}
@@ -0,0 +1,240 @@
+package com.plana.file.controller;
+
+import com.plana.file.service.FileService;
+import com.plana.file.service.ImageUrlSigner;
+import com.plana.file.service.ImageVariant;
+import com.plana.file.service.ImageVariantService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 업로드 이미지 제공
+ *
+ * /uploads/diary/{fileName}?[size=thumb|medium&]exp=..&sig=..
+ * - ImageUrlSigner 서명/만료를 CPU 계산만으로 확인 (DB 조회, 인증 없음), 틀리거나 만료되면 403
+ *   서명된 응답은 private 캐시 + URL 만료까지만 (공유 캐시가 만료 후에도 내주지 않도록)
+ * - 내용 해시 이름 파일은 내용이 바뀌지 않으므로 1년 + immutable 캐시 (재방문 시 요청 자체가 없음)
+ *   해시 이름이 아닌 예전 파일과 축소본 대신 원본을 준 응답은 1시간 캐시
+ * - 강한 ETag (If-None-Match → 304), 단일 Range 요청 (206/416)
+ * - 본문은 Tomcat sendfile(커널에서 바로 소켓으로 복사)로 보내고, 지원하지 않거나 작은 파일은 64KB 버퍼로 복사
+ *   (서블릿 출력 스트림은 소켓 채널이 아니므로 이 경로는 zero-copy 가 아님)
+ * - 오브젝트 스토리지(file.storage.mode=s3)면 저장소 URL 로 302 리다이렉트
+ */
+@RestController
+@RequiredArgsConstructor
+public class UploadController {
+
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)");
+    private static final long IMMUTABLE_SECONDS = Duration.ofDays(365).toSeconds();
+    private static final long SHORT_SECONDS = Duration.ofHours(1).toSeconds();
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofSeconds(IMMUTABLE_SECONDS)).cachePublic().immutable();
+    private static final CacheControl SHORT = CacheControl.maxAge(Duration.ofSeconds(SHORT_SECONDS)).cachePublic();
+
+    // Tomcat 이 sendfile 을 지원할 때 요청 속성으로 알려줌 (작은 파일은 일반 복사가 더 빠름)
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final long SENDFILE_MIN_SIZE = 48 * 1024;
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final FileService fileService;
+    private final ImageVariantService imageVariantService;
+    private final ImageUrlSigner imageUrlSigner;
+
+    @RequestMapping(value = "/uploads/diary/{fileName:.+}", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void serve(@PathVariable String fileName,
+                      @RequestParam(required = false) String size,
+                      @RequestParam(required = false) String exp,
+                      @RequestParam(required = false) String sig,
+                      HttpServletRequest request,
+                      HttpServletResponse response) throws IOException {
+        boolean signed = imageUrlSigner.verify(fileName, exp, sig);
+        if (!signed && imageUrlSigner.isRequired()) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+
+        String served = fileName;
+        String etag = fileName;
+        boolean variantPending = false;
+        if (size != null) {
+            ImageVariant variant = ImageVariant.fromParam(size).orElse(null);
+            if (variant == null) {
+                response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+                return;
+            }
+            String resolved = imageVariantService.resolve(fileName, variant);
+            if (resolved == null) {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            if (!resolved.equals(fileName)) {
+                served = resolved;
+                etag = fileName + "-" + variant.param();
+            } else {
+                variantPending = true;
+            }
+        }
+
+        // 오브젝트 스토리지는 앱 서버를 거치지 않고 저장소에서 직접 받도록 리다이렉트
+        // (서명 URL 은 만료되므로 리다이렉트 응답은 캐시하지 않음)
+        Optional<String> external = fileService.externalUrl(served);
+        if (external.isPresent()) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+            response.setStatus(HttpServletResponse.SC_FOUND);
+            response.setHeader(HttpHeaders.LOCATION, external.get());
+            return;
+        }
+
+        Path path = fileService.resolve(served);
+        if (path == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long length = Files.size(path);
+        boolean contentAddressed = fileService.isContentAddressed(fileName);
+        if (!contentAddressed) {
+            // 예전 파일명은 내용과 무관하므로 크기 + 수정 시각으로 구분
+            etag += "-" + Long.toHexString(length) + "-" + Long.toHexString(Files.getLastModifiedTime(path).toMillis());
+        }
+        String etagValue = "\"" + etag + "\"";
+        // 축소본이 아직 없어 원본을 준 경우는 영구 캐시하지 않음 (나중에 축소본으로 바뀌어야 함)
+        boolean immutable = contentAddressed && !variantPending;
+
+        response.setHeader(HttpHeaders.ETAG, etagValue);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl(immutable, signed ? Long.parseLong(exp) : 0));
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etagValue)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setContentType(MediaTypeFactory.getMediaType(path.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(etagValue))) {
+            Matcher m = RANGE.matcher(range.trim());
+            // 여러 구간 요청(bytes=0-1,5-6)은 전체 응답으로 처리 (RFC 9110 허용)
+            if (m.matches()) {
+                long[] bounds = parseRange(m.group(1), m.group(2), length);
+                if (bounds == null) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count <= 0) {
+            return;
+        }
+
+        if (count >= SENDFILE_MIN_SIZE && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute("org.apache.tomcat.sendfile.filename", path.toAbsolutePath().toString());
+            request.setAttribute("org.apache.tomcat.sendfile.start", start);
+            request.setAttribute("org.apache.tomcat.sendfile.end", end + 1);
+            return;
+        }
+
+        // 대체 경로: 요청 구간만 버퍼로 읽어 출력 스트림에 씀 (버퍼는 응답 크기 이하로만 할당)
+        try (FileChannel channel = FileChannel.open(path)) {
+            channel.position(start);
+            InputStream in = Channels.newInputStream(channel);
+            OutputStream out = response.getOutputStream();
+            byte[] buffer = new byte[(int) Math.min(COPY_BUFFER_SIZE, count)];
+            long remaining = count;
+            while (remaining > 0) {
+                int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read < 0) break;
+                out.write(buffer, 0, read);
+                remaining -= read;
+            }
+            out.flush();
+        }
+    }
+
+    /**
+     * 2단계 폴더 경로(/uploads/diary/ab/cd/...)나 숨김 파일은 서명 URL 을 거치지 않으므로 직접 제공하지 않음
+     * (정적 리소스 핸들러보다 먼저 매칭)
+     */
+    @RequestMapping(value = "/uploads/diary/**", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void notFound(HttpServletResponse response) throws IOException {
+        response.sendError(HttpServletResponse.SC_NOT_FOUND);
+    }
+
+    /**
+     * @param signedExpiresAt 서명 URL 만료 epoch 초 (서명 없는 요청이면 0)
+     */
+    private static String cacheControl(boolean immutable, long signedExpiresAt) {
+        if (signedExpiresAt <= 0) {
+            return (immutable ? IMMUTABLE : SHORT).getHeaderValue();
+        }
+        long remaining = signedExpiresAt - System.currentTimeMillis() / 1000;
+        long maxAge = Math.max(0, Math.min(remaining, immutable ? IMMUTABLE_SECONDS : SHORT_SECONDS));
+        CacheControl cc = CacheControl.maxAge(Duration.ofSeconds(maxAge)).cachePrivate();
+        return (immutable ? cc.immutable() : cc).getHeaderValue();
+    }
+
+    /**
+     * bytes=a-b / bytes=a- / bytes=-n 해석
+     *
+     * @return [start, end] (둘 다 포함), 만족할 수 없으면 null
+     */
+    private static long[] parseRange(String first, String last, long length) {
+        try {
+            if (first.isEmpty()) {
+                if (last.isEmpty()) return null;
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || length == 0) return null;
+                return new long[]{Math.max(0, length - suffix), length - 1};
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+            if (start >= length || start > end) return null;
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String c = candidate.trim();
+            if (c.equals("*") || c.equals(etag) || c.equals("W/" + etag)) return true;
+        }
+        return false;
+    }
+}
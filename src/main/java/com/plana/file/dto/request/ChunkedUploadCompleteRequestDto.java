@@ -0,0 +1,12 @@
+package com.plana.file.dto.request;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChunkedUploadCompleteRequestDto {
+    private String sha256; // 전체 파일 SHA-256 (16진수, 시작 요청에서 보냈다면 생략 가능)
+}
@@ -0,0 +1,14 @@
+package com.plana.file.dto.request;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChunkedUploadInitRequestDto {
+    private String fileName; // 원본 파일명 (확장자 추출용)
+    private Long size;       // 전체 크기 (bytes)
+    private String sha256;   // 전체 파일 SHA-256 (16진수, 선택 - 완료 요청에서 보내도 됨)
+}
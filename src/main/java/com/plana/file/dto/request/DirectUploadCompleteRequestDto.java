@@ -0,0 +1,13 @@
+package com.plana.file.dto.request;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DirectUploadCompleteRequestDto {
+    private String fileName; // 준비 요청에서 보낸 원본 파일명
+    private String sha256;   // 준비 요청에서 보낸 SHA-256
+}
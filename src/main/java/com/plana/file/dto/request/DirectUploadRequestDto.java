@@ -0,0 +1,15 @@
+package com.plana.file.dto.request;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DirectUploadRequestDto {
+    private String fileName;    // 원본 파일명 (확장자 추출용)
+    private Long size;          // 전체 크기 (bytes)
+    private String sha256;      // 전체 파일 SHA-256 (16진수, 저장소가 업로드 시 검증)
+    private String contentType; // 업로드할 Content-Type (선택, 보내면 업로드 요청에도 같은 값 필요)
+}
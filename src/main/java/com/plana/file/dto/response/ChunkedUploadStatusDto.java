@@ -0,0 +1,19 @@
+package com.plana.file.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChunkedUploadStatusDto {
+    private String uploadId;
+    private long size;               // 전체 크기
+    private int chunkSize;           // 조각 크기 (마지막 조각만 더 작을 수 있음)
+    private int chunkCount;          // 전체 조각 수
+    private List<Integer> missingChunks; // 아직 받지 못한 조각 번호 (offset = 번호 * chunkSize)
+    private String expiresAt;        // 이 시각까지 조각이 오지 않으면 세션 정리
+}
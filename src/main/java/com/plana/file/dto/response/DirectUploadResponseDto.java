@@ -0,0 +1,18 @@
+package com.plana.file.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DirectUploadResponseDto {
+    private String fileId;               // 내용 해시
+    private boolean uploaded;            // 이미 같은 내용이 저장되어 있음 (업로드 생략, 바로 완료 요청)
+    private String uploadUrl;            // 저장소 업로드 URL (PUT), uploaded 면 null
+    private Map<String, String> headers; // 업로드 요청에 그대로 넣어야 하는 헤더
+    private String expiresAt;            // 업로드 URL 만료 시각
+}
@@ -0,0 +1,240 @@
+package com.plana.file.scheduler;
+
+import com.plana.diary.repository.DiaryRepository;
+import com.plana.file.service.ImageUrlSigner;
+import com.plana.file.service.ImageVariant;
+import com.plana.file.service.ImageVariantService;
+import com.plana.file.service.UploadLayout;
+import com.plana.file.storage.UploadStorage;
+import com.plana.file.storage.UploadStorage.StoredObject;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 다이어리에 연결되지 않은 업로드 파일 정리
+ *
+ * - UploadStorage 의 파일 목록을 이름 순으로 주기마다 batch-size 개씩 이어서 확인 (다 돌면 처음부터 다시)
+ *   local, s3 모두 같은 기준으로 정리 (저장소별 차이는 list/stat/delete 구현에 있음)
+ * - 대상은 내용 해시 이름 파일(축소본 포함)만
+ *   (uploads/temp, 예전 이름(diary_{회원ID}_...) 파일, 그 밖에 함께 둔 파일은 건드리지 않음)
+ * - 만료 시간(file.upload-expiry-ms)이 지난 파일 중 삭제되지 않은 다이어리의 imageUrl 이 가리키지 않는 파일 삭제
+ *   참조 여부는 diary.image_url 인덱스로 batch 단위 IN 조회
+ * - 삭제 직전에 수정 시각을 다시 확인 → 그 사이 같은 내용 재업로드(touch)로 갱신된 파일은 남겨 둠
+ * - 원본을 지울 때 축소본도 함께 삭제, 원본이 없는 축소본도 삭제
+ * - 업로드 폴더에 남은 임시 파일(.tmp, 중단된 업로드/축소본 생성)도 만료되면 삭제
+ * - 한 주기에 max-deletes-per-run 개까지만 삭제 (디스크/저장소 I/O 폭주 방지), 나머지는 다음 순회에서 처리
+ *
+ * 메트릭: plana.upload.gc.scanned, plana.upload.gc.reclaimed.files, plana.upload.gc.reclaimed.bytes
+ */
+@Slf4j
+@Component
+public class UploadGarbageCollector {
+
+    private final DiaryRepository diaryRepository;
+    private final UploadLayout layout;
+    private final UploadStorage storage;
+    private final boolean enabled;
+    private final long expiryMs;
+    private final int batchSize;
+    private final int maxDeletesPerRun;
+
+    private final Counter scannedCounter;
+    private final Counter reclaimedFilesCounter;
+    private final Counter reclaimedBytesCounter;
+
+    // 순회 위치 (마지막으로 확인한 이름, null 이면 처음부터)
+    private String cursor;
+
+    public UploadGarbageCollector(DiaryRepository diaryRepository,
+                                  UploadLayout layout,
+                                  UploadStorage storage,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${file.gc.enabled:true}") boolean enabled,
+                                  @Value("${file.upload-expiry-ms:3600000}") long expiryMs,
+                                  @Value("${file.gc.batch-size:500}") int batchSize,
+                                  @Value("${file.gc.max-deletes-per-run:100}") int maxDeletesPerRun) {
+        this.diaryRepository = diaryRepository;
+        this.layout = layout;
+        this.storage = storage;
+        this.enabled = enabled;
+        this.expiryMs = Math.max(expiryMs, 0);
+        this.batchSize = Math.max(batchSize, 1);
+        this.maxDeletesPerRun = Math.max(maxDeletesPerRun, 1);
+
+        this.scannedCounter = Counter.builder("plana.upload.gc.scanned")
+                .description("정리 대상 여부를 확인한 업로드 파일 수").register(meterRegistry);
+        this.reclaimedFilesCounter = Counter.builder("plana.upload.gc.reclaimed.files")
+                .description("삭제한 미참조 업로드 파일 수").register(meterRegistry);
+        this.reclaimedBytesCounter = Counter.builder("plana.upload.gc.reclaimed.bytes")
+                .baseUnit("bytes")
+                .description("삭제한 미참조 업로드 파일 크기").register(meterRegistry);
+    }
+
+    /**
+     * 다음 batch 정리
+     */
+    @Scheduled(initialDelayString = "${file.gc.interval-ms:60000}", fixedDelayString = "${file.gc.interval-ms:60000}")
+    public synchronized void sweep() {
+        if (!enabled) return;
+        long expiredBefore = System.currentTimeMillis() - expiryMs;
+        Reclaimed reclaimed = new Reclaimed();
+        try {
+            reclaimTempFiles(expiredBefore, reclaimed);
+            List<StoredObject> expired = nextExpiredBatch(expiredBefore);
+            if (!expired.isEmpty()) {
+                reclaim(expired, expiredBefore, reclaimed);
+            }
+        } catch (Exception e) {
+            log.warn("업로드 파일 정리 실패: {}", e.getMessage());
+            cursor = null;
+        }
+
+        if (reclaimed.files > 0) {
+            reclaimedFilesCounter.increment(reclaimed.files);
+            reclaimedBytesCounter.increment(reclaimed.bytes);
+            log.info("미참조 업로드 파일 정리: {}개, {} bytes", reclaimed.files, reclaimed.bytes);
+        }
+    }
+
+    /**
+     * 목록을 이어서 batchSize 개 확인하고 만료된 파일만 반환
+     */
+    private List<StoredObject> nextExpiredBatch(long expiredBefore) throws IOException {
+        UploadStorage.Listing page = storage.list(cursor, batchSize);
+        cursor = page.nextCursor(); // 마지막 페이지면 다음 주기에 처음부터
+
+        List<StoredObject> expired = new ArrayList<>();
+        int scanned = 0;
+        for (StoredObject object : page.objects()) {
+            if (!layout.isContentAddressed(object.name())) continue;
+            scanned++;
+            if (object.lastModified().toEpochMilli() < expiredBefore) {
+                expired.add(object);
+            }
+        }
+        scannedCounter.increment(scanned);
+        return expired;
+    }
+
+    private void reclaim(List<StoredObject> expired, long expiredBefore, Reclaimed reclaimed) {
+        List<StoredObject> originals = new ArrayList<>();
+        List<StoredObject> unreferenced = new ArrayList<>();
+        for (StoredObject object : expired) {
+            String base = ImageVariantService.originalBaseOf(object.name());
+            if (base != null) {
+                if (!hasOriginal(base)) {
+                    unreferenced.add(object);
+                }
+            } else {
+                originals.add(object);
+            }
+        }
+
+        if (!originals.isEmpty()) {
+            Set<String> referenced = new HashSet<>(diaryRepository.findReferencedImageUrls(
+                    originals.stream().map(o -> urlOf(o.name())).toList()));
+            for (StoredObject object : originals) {
+                if (!referenced.contains(urlOf(object.name()))) {
+                    unreferenced.add(object);
+                }
+            }
+        }
+
+        for (StoredObject object : unreferenced) {
+            if (reclaimed.files >= maxDeletesPerRun) break;
+            if (!deleteIfExpired(object.name(), expiredBefore, reclaimed)) continue;
+            // 원본과 함께 축소본 삭제
+            for (ImageVariant variant : ImageVariant.values()) {
+                deleteIfExpired(ImageVariantService.variantFileName(object.name(), variant), Long.MAX_VALUE, reclaimed);
+            }
+        }
+    }
+
+    /**
+     * 삭제 직전에 수정 시각을 다시 확인하고 여전히 만료된 파일만 삭제
+     * (참조 확인 이후 같은 내용 재업로드가 touch 한 파일은 곧 다이어리에 연결될 수 있음)
+     *
+     * @return 삭제 여부 (만료되지 않았거나 없거나 삭제하지 못했으면 false)
+     */
+    private boolean deleteIfExpired(String name, long expiredBefore, Reclaimed reclaimed) {
+        try {
+            StoredObject current = storage.stat(name);
+            if (current == null || current.lastModified().toEpochMilli() >= expiredBefore) {
+                return false;
+            }
+            if (!storage.delete(name)) {
+                return false;
+            }
+            reclaimed.files++;
+            reclaimed.bytes += current.size();
+            return true;
+        } catch (IOException e) {
+            log.debug("업로드 파일 삭제 실패: {} ({})", name, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 업로드 폴더에 남은 임시 파일 (.upload-*.tmp, .variant-*.tmp 등) 삭제
+     * 저장소와 무관하게 이 서버 디스크에 생기므로 s3 모드에서도 정리
+     */
+    private void reclaimTempFiles(long expiredBefore, Reclaimed reclaimed) throws IOException {
+        if (!Files.isDirectory(layout.root())) return;
+        try (DirectoryStream<Path> temps = Files.newDirectoryStream(layout.root(), ".*.tmp")) {
+            for (Path temp : temps) {
+                if (reclaimed.files >= maxDeletesPerRun) break;
+                try {
+                    BasicFileAttributes attrs = Files.readAttributes(temp, BasicFileAttributes.class);
+                    if (attrs.isRegularFile() && attrs.lastModifiedTime().toMillis() < expiredBefore
+                            && Files.deleteIfExists(temp)) {
+                        reclaimed.files++;
+                        reclaimed.bytes += attrs.size();
+                    }
+                } catch (NoSuchFileException e) {
+                    // 그 사이 저장/삭제됨
+                }
+            }
+        }
+    }
+
+    /**
+     * 공개 URL (/uploads/diary/xxx.jpg)
+     * 2단계 폴더(UploadLayout)는 URL 에 나타나지 않으므로 파일명만
+     */
+    private static String urlOf(String name) {
+        return ImageUrlSigner.URL_PREFIX + name;
+    }
+
+    /**
+     * 축소본의 원본이 남아 있는지 ({base}.{확장자} 가 이름 순으로 {base} 바로 뒤에 옴)
+     */
+    private boolean hasOriginal(String base) {
+        try {
+            List<StoredObject> next = storage.list(base, 1).objects();
+            return !next.isEmpty() && next.get(0).name().startsWith(base + ".");
+        } catch (IOException | RuntimeException e) {
+            return true; // 확인할 수 없으면 남겨 둠
+        }
+    }
+
+    /** 이번 주기에 삭제한 파일 수/크기 */
+    private static final class Reclaimed {
+        private int files;
+        private long bytes;
+    }
+}
@@ -0,0 +1,115 @@
+package com.plana.file.scheduler;
+
+import com.plana.file.service.UploadLayout;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 평면 배치(uploads/diary/{파일명})의 예전 파일을 2단계 폴더로 이동
+ *
+ * - 주기마다 batch-size 개씩 이동 (한 번에 수백만 개를 옮기며 디스크를 점유하지 않도록)
+ * - 이동 중에도 UploadLayout.locate 가 두 위치를 모두 찾으므로 URL 은 계속 동작
+ * - 같은 파일이 이미 2단계 폴더에 있으면 (해시 이름이라 내용이 같음) 평면 쪽만 삭제
+ * - 더 옮길 파일이 없으면 재시작 전까지 폴더를 다시 확인하지 않음
+ * - 앱 서버 디스크 저장소(file.storage.mode=local)에서만 동작
+ *
+ * 메트릭: plana.upload.layout.migrated
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "file.storage.mode", havingValue = "local", matchIfMissing = true)
+public class UploadLayoutMigrator {
+
+    private final UploadLayout layout;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Counter migratedCounter;
+
+    private volatile boolean done;
+
+    public UploadLayoutMigrator(UploadLayout layout,
+                                MeterRegistry meterRegistry,
+                                @Value("${file.layout.migrate.enabled:true}") boolean enabled,
+                                @Value("${file.layout.migrate.batch-size:1000}") int batchSize) {
+        this.layout = layout;
+        this.enabled = enabled;
+        this.batchSize = Math.max(batchSize, 1);
+        this.migratedCounter = Counter.builder("plana.upload.layout.migrated")
+                .description("2단계 폴더로 옮긴 예전 업로드 파일 수").register(meterRegistry);
+    }
+
+    /**
+     * 다음 batch 이동
+     *
+     * @return 이번에 옮긴 파일 수
+     */
+    @Scheduled(initialDelayString = "${file.layout.migrate.interval-ms:10000}",
+            fixedDelayString = "${file.layout.migrate.interval-ms:10000}")
+    public synchronized int migrateBatch() {
+        if (!enabled || done) return 0;
+
+        List<Path> batch = new ArrayList<>(batchSize);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(layout.root(), Files::isRegularFile)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                // 업로드/축소본 생성 중인 임시 파일(.tmp)과 알 수 없는 이름은 그대로 둠
+                if (name.startsWith(".") || !layout.isSafe(name)) continue;
+                batch.add(file);
+                if (batch.size() >= batchSize) break;
+            }
+        } catch (NoSuchFileException e) {
+            done = true;
+            return 0;
+        } catch (IOException e) {
+            log.warn("업로드 폴더 이동 대상 조회 실패: {}", e.getMessage());
+            return 0;
+        }
+
+        if (batch.isEmpty()) {
+            done = true;
+            log.info("업로드 폴더 2단계 배치 이동 완료");
+            return 0;
+        }
+
+        int moved = 0;
+        for (Path file : batch) {
+            if (move(file)) moved++;
+        }
+        migratedCounter.increment(moved);
+        log.info("업로드 파일 2단계 폴더로 이동: {}개", moved);
+        return moved;
+    }
+
+    private boolean move(Path file) {
+        Path target = layout.target(file.getFileName().toString());
+        try {
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                Files.delete(file);
+            }
+            return true;
+        } catch (NoSuchFileException e) {
+            return false; // 정리(UploadGarbageCollector) 등으로 이미 삭제됨
+        } catch (IOException e) {
+            log.warn("업로드 파일 이동 실패: file={}, error={}", file, e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package com.plana.file.service;
+
+import com.plana.common.store.KeyValueStore;
+import com.plana.file.dto.response.ChunkedUploadStatusDto;
+import com.plana.file.dto.response.FileUploadResponseDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * 이어 올리기 가능한 조각 업로드
+ *
+ * 시작(init) → 조각 전송(PUT, offset 지정, 순서/재전송 무관) → 완료(complete)
+ * - 시작 시 전체 크기만큼 파일을 미리 만들고, 조각은 FileChannel 위치 지정 쓰기로 제자리에 기록
+ *   (조각을 모아 다시 합치는 복사 없음, 요청당 힙 사용은 64KB 버퍼)
+ * - 받은 조각 번호는 저장소(KeyValueStore)에 기록 → 연결이 끊긴 뒤 상태 조회로 빠진 조각만 다시 전송
+ * - 완료 시 전체 SHA-256 을 계산해 클라이언트가 보낸 값과 비교, 일치하면 일반 업로드와 같은 해시 이름 파일로 등록
+ * - 세션은 마지막 조각 이후 session-ttl-ms 동안 유지, 만료된 세션의 파일은 주기적으로 삭제
+ */
+@Slf4j
+@Service
+public class ChunkedUploadService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern UPLOAD_ID = Pattern.compile("[0-9a-f]{32}");
+    private static final Pattern SHA256 = Pattern.compile("[0-9a-f]{64}");
+    private static final String PART_DIR = ".chunks";
+
+    private final FileService fileService;
+    private final UploadLayout layout;
+    private final KeyValueStore store;
+    private final int chunkSize;
+    private final long maxSize;
+    private final Duration sessionTtl;
+
+    public ChunkedUploadService(FileService fileService,
+                                UploadLayout layout,
+                                KeyValueStore store,
+                                @Value("${file.chunk.size-bytes:1048576}") int chunkSize,
+                                @Value("${file.chunk.max-size-bytes:52428800}") long maxSize,
+                                @Value("${file.chunk.session-ttl-ms:86400000}") long sessionTtlMs) {
+        this.fileService = fileService;
+        this.layout = layout;
+        this.store = store;
+        this.chunkSize = Math.max(chunkSize, 1);
+        this.maxSize = maxSize;
+        this.sessionTtl = Duration.ofMillis(Math.max(sessionTtlMs, 1));
+    }
+
+    /** 세션 정보 (저장소 값 "memberId:size:확장자:sha256") */
+    private record Session(Long memberId, long size, String extension, String sha256) {
+
+        String encode() {
+            return memberId + ":" + size + ":" + extension + ":" + (sha256 == null ? "" : sha256);
+        }
+
+        static Session decode(String value) {
+            String[] parts = value.split(":", -1);
+            return new Session(Long.parseLong(parts[0]), Long.parseLong(parts[1]), parts[2],
+                    parts[3].isEmpty() ? null : parts[3]);
+        }
+    }
+
+    private static String sessionKey(String uploadId) {
+        return "file:upload:" + uploadId;
+    }
+
+    private static String chunksKey(String uploadId) {
+        return "file:upload:" + uploadId + ":chunks";
+    }
+
+    private Path partFile(String uploadId) {
+        return layout.root().resolve(PART_DIR).resolve(uploadId + ".part");
+    }
+
+    /**
+     * 업로드 시작 - 전체 크기만큼 파일을 미리 만들고 세션 발급
+     */
+    public ChunkedUploadStatusDto init(Long memberId, String fileName, Long size, String sha256) {
+        if (size == null || size <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "파일 크기가 필요합니다.");
+        }
+        if (size > maxSize) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "파일이 너무 큽니다.");
+        }
+        String checksum = normalizeSha256(sha256);
+
+        String uploadId = UUID.randomUUID().toString().replace("-", "");
+        Session session = new Session(memberId, size, fileService.extensionOf(fileName), checksum);
+        Path part = partFile(uploadId);
+        try {
+            Files.createDirectories(part.getParent());
+            try (FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                // 마지막 바이트를 써서 전체 크기 확보 (파일시스템이 지원하면 빈 공간은 실제로 할당되지 않음)
+                channel.write(ByteBuffer.wrap(new byte[1]), size - 1);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("업로드 세션 생성 실패: " + e.getMessage(), e);
+        }
+        store.set(sessionKey(uploadId), session.encode(), sessionTtl);
+        log.debug("조각 업로드 시작: uploadId={}, memberId={}, size={}", uploadId, memberId, size);
+        return status(uploadId, session, Set.of());
+    }
+
+    /**
+     * 조각 기록 (offset 은 chunkSize 의 배수, 길이는 chunkSize - 마지막 조각만 나머지 크기)
+     * 같은 조각을 다시 보내도 같은 위치에 덮어쓰므로 안전
+     */
+    public ChunkedUploadStatusDto writeChunk(Long memberId, String uploadId, long offset, InputStream body) {
+        Session session = session(memberId, uploadId);
+        if (offset < 0 || offset >= session.size() || offset % chunkSize != 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "offset 은 chunkSize 의 배수여야 합니다.");
+        }
+        long expected = Math.min(chunkSize, session.size() - offset);
+
+        long written = 0;
+        try (FileChannel channel = FileChannel.open(partFile(uploadId), StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            byte[] array = buffer.array();
+            int read;
+            while ((read = body.read(array, 0, (int) Math.min(array.length, expected - written + 1))) != -1) {
+                if (written + read > expected) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "조각 크기가 맞지 않습니다.");
+                }
+                buffer.limit(read).position(0);
+                while (buffer.hasRemaining()) {
+                    written += channel.write(buffer, offset + written);
+                }
+                buffer.clear();
+            }
+        } catch (NoSuchFileException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "업로드 세션을 찾을 수 없습니다.");
+        } catch (IOException e) {
+            // 연결 끊김 등 - 이 조각은 받지 않은 것으로 두고 클라이언트가 다시 전송
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "조각을 끝까지 받지 못했습니다.");
+        }
+        if (written != expected) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "조각 크기가 맞지 않습니다.");
+        }
+
+        store.addToSet(chunksKey(uploadId), String.valueOf(offset / chunkSize));
+        // 조각이 올 때마다 세션 연장
+        store.expire(sessionKey(uploadId), sessionTtl);
+        store.expire(chunksKey(uploadId), sessionTtl);
+        return status(uploadId, session, store.getSetMembers(chunksKey(uploadId)));
+    }
+
+    /**
+     * 진행 상태 (이어 올리기 시 빠진 조각 확인)
+     */
+    public ChunkedUploadStatusDto getStatus(Long memberId, String uploadId) {
+        Session session = session(memberId, uploadId);
+        return status(uploadId, session, store.getSetMembers(chunksKey(uploadId)));
+    }
+
+    /**
+     * 업로드 완료 - 모든 조각 확인 + SHA-256 검증 후 해시 이름 파일로 등록
+     */
+    public FileUploadResponseDto complete(Long memberId, String uploadId, String sha256) {
+        Session session = session(memberId, uploadId);
+        ChunkedUploadStatusDto status = status(uploadId, session, store.getSetMembers(chunksKey(uploadId)));
+        if (!status.getMissingChunks().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "아직 받지 못한 조각이 있습니다.");
+        }
+        String expected = sha256 != null ? normalizeSha256(sha256) : session.sha256();
+        if (expected == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "sha256 이 필요합니다.");
+        }
+
+        // 세션을 먼저 지워 같은 세션의 완료 요청이 동시에 처리되지 않도록
+        if (!store.compareAndDelete(sessionKey(uploadId), session.encode())) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "업로드 세션을 찾을 수 없습니다.");
+        }
+        store.delete(chunksKey(uploadId));
+
+        Path part = partFile(uploadId);
+        try {
+            String actual = sha256Of(part);
+            if (!actual.equals(expected)) {
+                Files.deleteIfExists(part);
+                throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, "체크섬이 일치하지 않습니다. 처음부터 다시 업로드해 주세요.");
+            }
+            return fileService.commitUpload(part, actual, session.extension(), memberId);
+        } catch (IOException e) {
+            throw new RuntimeException("업로드 완료 처리 실패: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 만료된(저장소에서 세션이 사라진) 조각 업로드 파일 삭제
+     */
+    @Scheduled(initialDelayString = "${file.chunk.cleanup-ms:600000}", fixedDelayString = "${file.chunk.cleanup-ms:600000}")
+    public void cleanupExpired() {
+        Path dir = layout.root().resolve(PART_DIR);
+        if (!Files.isDirectory(dir)) return;
+        long graceBefore = System.currentTimeMillis() - Duration.ofMinutes(1).toMillis();
+        int deleted = 0;
+        try (DirectoryStream<Path> parts = Files.newDirectoryStream(dir, "*.part")) {
+            for (Path part : parts) {
+                String name = part.getFileName().toString();
+                String uploadId = name.substring(0, name.length() - ".part".length());
+                try {
+                    // 세션 저장 직전에 만들어진 파일은 건너뜀
+                    if (Files.getLastModifiedTime(part).toMillis() > graceBefore) continue;
+                    if (!store.hasKey(sessionKey(uploadId)) && Files.deleteIfExists(part)) {
+                        deleted++;
+                    }
+                } catch (IOException e) {
+                    // 다른 요청이 이미 처리
+                }
+            }
+        } catch (IOException e) {
+            log.warn("조각 업로드 정리 실패: {}", e.getMessage());
+            return;
+        }
+        if (deleted > 0) {
+            log.info("만료된 조각 업로드 정리: {}개", deleted);
+        }
+    }
+
+    private Session session(Long memberId, String uploadId) {
+        String value = uploadId != null && UPLOAD_ID.matcher(uploadId).matches()
+                ? store.get(sessionKey(uploadId))
+                : null;
+        if (value == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "업로드 세션을 찾을 수 없습니다.");
+        }
+        Session session = Session.decode(value);
+        if (!session.memberId().equals(memberId)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "다른 사용자의 업로드입니다.");
+        }
+        return session;
+    }
+
+    private ChunkedUploadStatusDto status(String uploadId, Session session, Set<String> received) {
+        int chunkCount = (int) ((session.size() + chunkSize - 1) / chunkSize);
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < chunkCount; i++) {
+            if (!received.contains(String.valueOf(i))) missing.add(i);
+        }
+        String expiresAt = LocalDateTime.now().plus(sessionTtl).format(DateTimeFormatter.ISO_DATE_TIME);
+        return new ChunkedUploadStatusDto(uploadId, session.size(), chunkSize, chunkCount, missing, expiresAt);
+    }
+
+    private static String normalizeSha256(String sha256) {
+        if (sha256 == null || sha256.isBlank()) return null;
+        String value = sha256.trim().toLowerCase();
+        if (!SHA256.matcher(value).matches()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "sha256 은 64자리 16진수여야 합니다.");
+        }
+        return value;
+    }
+
+    private static String sha256Of(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
@@ -0,0 +1,113 @@
+package com.plana.file.service;
+
+import com.plana.file.dto.response.DirectUploadResponseDto;
+import com.plana.file.dto.response.FileUploadResponseDto;
+import com.plana.file.storage.UploadStorage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.regex.Pattern;
+
+/**
+ * 저장소로 직접 올리기 (file.storage.mode=s3)
+ *
+ * 준비(prepare) → 클라이언트가 서명된 URL 로 저장소에 PUT → 완료(complete)
+ * - 업로드 요청이 앱 서버를 거치지 않음 (완료 때 메타데이터를 지우려고 한 번 내려받고, 지운 것이 있을 때만 다시 저장)
+ * - 오브젝트 이름 = 내용 해시 + 확장자, 서명에 크기와 SHA-256 이 포함되어 저장소가 내용을 검증
+ *   → 다른 내용을 올리거나 다른 이름에 쓸 수 없음
+ * - 같은 내용이 이미 있으면 업로드 URL 없이 uploaded=true
+ * - local 저장소는 지원하지 않음 (501, 일반/조각 업로드 사용)
+ */
+@Slf4j
+@Service
+public class DirectUploadService {
+
+    private static final Pattern SHA256 = Pattern.compile("[0-9a-f]{64}");
+
+    private final FileService fileService;
+    private final UploadStorage storage;
+    private final long maxSize;
+
+    public DirectUploadService(FileService fileService,
+                               UploadStorage storage,
+                               @Value("${file.direct.max-size-bytes:52428800}") long maxSize) {
+        this.fileService = fileService;
+        this.storage = storage;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * 업로드 준비 - 서명된 업로드 요청 발급
+     */
+    public DirectUploadResponseDto prepare(Long memberId, String fileName, Long size, String sha256, String contentType) {
+        if (size == null || size <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "파일 크기가 필요합니다.");
+        }
+        if (size > maxSize) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "파일이 너무 큽니다.");
+        }
+        String hash = normalizeSha256(sha256);
+        String name = hash + fileService.extensionOf(fileName);
+
+        if (exists(name)) {
+            return new DirectUploadResponseDto(hash, true, null, null, null);
+        }
+        UploadStorage.DirectUpload upload = storage.presignUpload(name, size, hash, contentType)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_IMPLEMENTED,
+                        "저장소로 직접 올리기를 지원하지 않습니다."));
+        log.debug("직접 업로드 준비: memberId={}, file={}", memberId, name);
+        String expiresAt = DateTimeFormatter.ISO_DATE_TIME.format(upload.expiresAt().atZone(ZoneId.systemDefault()).toLocalDateTime());
+        return new DirectUploadResponseDto(hash, false, upload.url(), upload.headers(), expiresAt);
+    }
+
+    /**
+     * 업로드 완료 - 저장소에 파일이 있으면 일반 업로드와 같은 응답
+     * 이미 있던 같은 내용의 파일(prepare 에서 uploaded=true)도 다시 올린 것으로 보고 수정 시각을 갱신
+     * (오래된 미참조 파일이면 다이어리에 연결되기 전에 UploadGarbageCollector 가 지우지 않도록)
+     */
+    public FileUploadResponseDto complete(Long memberId, String fileName, String sha256) {
+        String hash = normalizeSha256(sha256);
+        String extension = fileService.extensionOf(fileName);
+        if (!touch(hash + extension)) {
+            // 없거나 갱신 전에 정리됨 - 처음부터 다시 올리도록
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "저장소에 업로드된 파일이 없습니다.");
+        }
+        // 클라이언트가 올린 원본 그대로라 촬영 위치 등이 남아 있으므로 제공 전에 제거
+        try {
+            fileService.stripStoredMetadata(hash + extension);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "저장소에 연결할 수 없습니다.", e);
+        }
+        return fileService.registerStored(hash, extension, memberId);
+    }
+
+    private boolean exists(String name) {
+        try {
+            return storage.exists(name);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "저장소에 연결할 수 없습니다.", e);
+        }
+    }
+
+    private boolean touch(String name) {
+        try {
+            return storage.touch(name);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "저장소에 연결할 수 없습니다.", e);
+        }
+    }
+
+    private static String normalizeSha256(String sha256) {
+        String value = sha256 == null ? "" : sha256.trim().toLowerCase();
+        if (!SHA256.matcher(value).matches()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "sha256 은 64자리 16진수여야 합니다.");
+        }
+        return value;
+    }
+}
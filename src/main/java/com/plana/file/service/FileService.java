@@ -3,8 +3,33 @@ package com.plana.file.service;
 import com.plana.file.dto.response.FileUploadResponseDto;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
 public interface FileService {
     // MultipartFile(업로드된 파일)을 받아서 임시 파일로 저장한 뒤
     // 저장 결과를 TempFileResponseDto로 반환
     FileUploadResponseDto saveImageFile(MultipartFile file, Long memberId);
+
+    // 내용 해시를 이미 계산한 임시 파일(업로드 폴더 안)을 해시 이름 파일로 등록 (같은 내용이 있으면 임시 파일 삭제)
+    FileUploadResponseDto commitUpload(Path tempFile, String hash, String extension, Long memberId) throws IOException;
+
+    // 저장소에 있는 파일에서 촬영 위치 등 메타데이터 제거 (지울 것이 있을 때만 다시 저장, 저장소로 직접 올린 파일 등)
+    void stripStoredMetadata(String fileName) throws IOException;
+
+    // 이미 저장소에 있는 해시 이름 파일을 업로드로 등록 (축소본 예약 + 응답 생성, 저장소로 직접 올린 파일 등)
+    FileUploadResponseDto registerStored(String hash, String extension, Long memberId);
+
+    // 원본 파일명에서 안전한 확장자만 추출 (소문자, 경로 문자가 섞이면 빈 문자열)
+    String extensionOf(String originalFilename);
+
+    // 앱 서버 디스크의 파일 경로 (이름이 잘못되었거나, 파일이 없거나, 디스크에 없는 저장소면 null)
+    Path resolve(String fileName);
+
+    // 클라이언트가 저장소에서 직접 받을 URL (앱 서버가 직접 제공하는 저장소면 empty)
+    Optional<String> externalUrl(String fileName);
+
+    // 내용 해시로 이름 붙인 파일인지 (이름이 같으면 내용도 같으므로 영구 캐시 가능)
+    boolean isContentAddressed(String fileName);
 }
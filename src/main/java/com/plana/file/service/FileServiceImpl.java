@@ -1,58 +1,232 @@
 package com.plana.file.service;
 
 import com.plana.file.dto.response.FileUploadResponseDto; // ★ 이름 바꿀 경우
-import lombok.RequiredArgsConstructor;
+import com.plana.file.storage.UploadStorage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.regex.Pattern;
 
+/**
+ * 업로드 파일 저장
+ *
+ * - 업로드 파일을 byte[] 로 읽지 않고 64KB 버퍼로 임시 파일에 흘려 쓰면서 SHA-256 계산
+ *   (동시 업로드가 많아도 요청당 힙 사용량은 버퍼 크기로 고정)
+ * - 파일명 = 내용 해시 + 확장자, 같은 이미지를 다시 올리면 기존 파일을 그대로 사용 (중복 저장 없음)
+ * - 임시 파일은 업로드 폴더(UploadLayout)에 쓰고, 완성된 파일은 UploadStorage 에 저장 (local: 2단계 폴더, s3: 오브젝트 스토리지)
+ * - 저장 전에 촬영 위치 등 메타데이터 제거 (ImageMetadataStripper, 이름은 올린 내용의 해시 그대로)
+ * - 저장 후 축소본(ImageVariant) 생성 예약
+ * - expiresAt 까지 다이어리에 연결되지 않은 파일은 UploadGarbageCollector 가 삭제
+ *   응답 URL 도 ImageUrlSigner 로 expiresAt 까지만 유효하게 서명
+ */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class FileServiceImpl implements FileService {
 
-    private final String uploadDir = "uploads/diary";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern SAFE_EXTENSION = Pattern.compile("\\.[a-z0-9]{1,10}");
+
+    private final UploadLayout layout;
+    private final UploadStorage storage;
+    private final ImageVariantService imageVariantService;
+    private final ImageUrlSigner imageUrlSigner;
+    private final long expiryMs;
+
+    public FileServiceImpl(UploadLayout layout,
+                           UploadStorage storage,
+                           ImageVariantService imageVariantService,
+                           ImageUrlSigner imageUrlSigner,
+                           @Value("${file.upload-expiry-ms:3600000}") long expiryMs) {
+        this.layout = layout;
+        this.storage = storage;
+        this.imageVariantService = imageVariantService;
+        this.imageUrlSigner = imageUrlSigner;
+        this.expiryMs = expiryMs;
+    }
 
     @Override
     public FileUploadResponseDto saveImageFile(MultipartFile file, Long memberId) {
+        Path tempFile = null;
         try {
             // 1. 폴더 생성
-            File directory = new File(uploadDir);
-            if (!directory.exists() && !directory.mkdirs()) {
-                throw new IOException("업로드 폴더 생성 실패: " + uploadDir);
+            Path uploadDir = layout.root();
+            Files.createDirectories(uploadDir);
+
+            // 2. 확장자 안전 추출 (경로 문자가 섞인 확장자는 버림)
+            String extension = extensionOf(file.getOriginalFilename());
+
+            // 3. 같은 폴더의 임시 파일로 스트리밍 저장 + 해시 계산 (이동이 같은 파일시스템 안에서 끝나도록)
+            tempFile = uploadDir.resolve(".upload-" + UUID.randomUUID() + ".tmp");
+            String hash;
+            try (InputStream in = file.getInputStream()) {
+                hash = streamToFile(in, tempFile);
             }
 
-            // 2. 확장자 안전 추출
-            String originalFilename = file.getOriginalFilename();
-            String extension = "";
-            if (originalFilename != null && originalFilename.contains(".")) {
-                extension = originalFilename.substring(originalFilename.lastIndexOf(".")).toLowerCase();
+            // 4. 해시 이름으로 등록
+            FileUploadResponseDto response = commitUpload(tempFile, hash, extension, memberId);
+            tempFile = null;
+            return response;
+        } catch (IOException e) {
+            throw new RuntimeException("파일 저장 실패: " + e.getMessage(), e);
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException ignore) {
+                    // 남은 임시 파일은 다음 정리 때 삭제
+                }
             }
+        }
+    }
 
-            // 3. 파일명 생성: diary_회원ID_타임스탬프_랜덤8자리
-            String randomId = UUID.randomUUID().toString().replace("-", "").substring(0, 8);
-            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-            String fileName = "diary_" + memberId + "_" + timestamp + "_" + randomId + extension;
+    @Override
+    public FileUploadResponseDto commitUpload(Path tempFile, String hash, String extension, Long memberId) throws IOException {
+        // 해시 이름으로 저장, 이미 있으면 같은 내용이므로 임시 파일만 삭제
+        // (같은 이미지가 동시에 올라와 둘 다 저장해도 내용이 같으므로 덮어써도 무방)
+        String fileName = hash + extension;
+        // 다시 올린 파일로 취급해 만료 시간 갱신 (오래된 미참조 파일이어도 이번 만료 전에는 지워지지 않도록)
+        // 갱신 전에 정리되어 사라졌으면 임시 파일을 그대로 저장
+        if (storage.exists(fileName) && storage.touch(fileName)) {
+            Files.delete(tempFile);
+        } else {
+            storage.store(fileName, withoutMetadata(tempFile));
+        }
+        return registerStored(hash, extension, memberId);
+    }
 
-            // 4. 실제 저장
-            Path filePath = Paths.get(uploadDir, fileName);
-            Files.write(filePath, file.getBytes());
+    @Override
+    public void stripStoredMetadata(String fileName) throws IOException {
+        Files.createDirectories(layout.root());
+        Path original = storage.localPath(fileName);
+        Path downloaded = null;
+        Path stripped = layout.root().resolve(".upload-" + UUID.randomUUID() + ".tmp");
+        try {
+            if (original == null) {
+                downloaded = layout.root().resolve(".original-" + UUID.randomUUID() + ".tmp");
+                storage.download(fileName, downloaded);
+                original = downloaded;
+            }
+            if (ImageMetadataStripper.strip(original, stripped)) {
+                storage.store(fileName, stripped);
+                log.debug("저장된 파일 메타데이터 제거: file={}", fileName);
+            }
+        } finally {
+            Files.deleteIfExists(stripped);
+            if (downloaded != null) {
+                Files.deleteIfExists(downloaded);
+            }
+        }
+    }
 
-            // 5. URL & 만료 시간
-            String publicUrl = "/uploads/diary/" + fileName;
-            String expireAt = LocalDateTime.now().plusHours(1)
-                    .format(DateTimeFormatter.ISO_DATE_TIME);
+    /**
+     * 촬영 위치 등 메타데이터를 지운 임시 파일 (지울 것이 없으면 받은 파일 그대로, 지웠으면 받은 파일은 삭제)
+     * 이름은 올린 내용의 해시로 두고, 지운 결과는 항상 같으므로 같은 파일을 다시 올려도 같은 이름/내용
+     */
+    private Path withoutMetadata(Path tempFile) throws IOException {
+        Files.createDirectories(layout.root());
+        Path stripped = layout.root().resolve(".upload-" + UUID.randomUUID() + ".tmp");
+        boolean replaced = false;
+        try {
+            if (ImageMetadataStripper.strip(tempFile, stripped)) {
+                Files.delete(tempFile);
+                replaced = true;
+                return stripped;
+            }
+            return tempFile;
+        } finally {
+            if (!replaced) {
+                Files.deleteIfExists(stripped);
+            }
+        }
+    }
 
-            return new FileUploadResponseDto(publicUrl, randomId, expireAt);
-        } catch (IOException e) {
-            throw new RuntimeException("파일 저장 실패: " + e.getMessage(), e);
+    @Override
+    public FileUploadResponseDto registerStored(String hash, String extension, Long memberId) {
+        String fileName = hash + extension;
+        imageVariantService.scheduleVariants(fileName);
+        log.debug("업로드 저장: memberId={}, file={}", memberId, fileName);
+
+        // 서명 URL & 만료 시간 (다이어리에 연결되지 않으면 정리되는 시각까지만 URL 도 유효)
+        Instant expiresAt = Instant.now().plus(Duration.ofMillis(expiryMs));
+        String signedUrl = imageUrlSigner.sign(ImageUrlSigner.URL_PREFIX + fileName, expiresAt);
+        String expireAt = LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault())
+                .format(DateTimeFormatter.ISO_DATE_TIME);
+
+        return new FileUploadResponseDto(signedUrl, hash, expireAt);
+    }
+
+    @Override
+    public String extensionOf(String originalFilename) {
+        if (originalFilename == null || !originalFilename.contains(".")) {
+            return "";
+        }
+        String extension = originalFilename.substring(originalFilename.lastIndexOf(".")).toLowerCase();
+        return SAFE_EXTENSION.matcher(extension).matches() ? extension : "";
+    }
+
+    @Override
+    public Path resolve(String fileName) {
+        return layout.isSafe(fileName) ? storage.localPath(fileName) : null;
+    }
+
+    @Override
+    public Optional<String> externalUrl(String fileName) {
+        return layout.isSafe(fileName) ? storage.downloadUrl(fileName) : Optional.empty();
+    }
+
+    @Override
+    public boolean isContentAddressed(String fileName) {
+        return layout.isContentAddressed(fileName);
+    }
+
+    /**
+     * 입력을 파일로 복사하면서 SHA-256 계산
+     *
+     * @return 16진수 해시
+     */
+    private String streamToFile(InputStream in, Path target) throws IOException {
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        try (ReadableByteChannel src = Channels.newChannel(in);
+             FileChannel dst = FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            while (src.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer.array(), 0, buffer.limit());
+                while (buffer.hasRemaining()) {
+                    dst.write(buffer);
+                }
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
         }
     }
 }
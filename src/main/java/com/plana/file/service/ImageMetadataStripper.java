@@ -0,0 +1,221 @@
+package com.plana.file.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * 업로드 원본의 개인정보 메타데이터 제거 (다시 인코딩하지 않고 해당 구간만 빼고 복사)
+ *
+ * - JPEG: APP1(Exif/XMP, 촬영 위치·기기 정보), APP13(IPTC), 주석(COM), 제조사 APPn 제거
+ *   색 재현에 필요한 APP0(JFIF), APP2(ICC 프로파일), APP14(Adobe) 는 유지
+ *   회전 정보는 Orientation 하나만 담은 최소 Exif 로 다시 써서 원본과 같은 방향으로 보이게 함
+ *   마지막 EOI 뒤(다중 이미지 JPEG 의 미리보기 등)는 버림
+ * - PNG: eXIf, tEXt/zTXt/iTXt, tIME 청크 제거
+ * - 그 외 형식이거나 구조를 알 수 없으면 원본 그대로
+ */
+final class ImageMetadataStripper {
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final Set<String> PNG_METADATA_CHUNKS = Set.of("eXIf", "tEXt", "zTXt", "iTXt", "tIME");
+    private static final byte[] ICC_PROFILE = "ICC_PROFILE\0".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] EXIF = "Exif\0\0".getBytes(StandardCharsets.US_ASCII);
+
+    private ImageMetadataStripper() {
+    }
+
+    /**
+     * source 에서 메타데이터를 뺀 내용을 target 에 씀
+     *
+     * @return 제거한 것이 있으면 true (없으면 target 은 쓰지 않거나 원본과 같은 내용)
+     *         잘린 파일은 읽은 데까지만 쓰고 true
+     */
+    static boolean strip(Path source, Path target) throws IOException {
+        byte[] head;
+        try (InputStream in = Files.newInputStream(source)) {
+            head = in.readNBytes(PNG_SIGNATURE.length);
+        }
+        boolean jpeg = head.length >= 2 && (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xD8;
+        boolean png = Arrays.equals(head, PNG_SIGNATURE);
+        if (!jpeg && !png) return false;
+
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(source), 64 * 1024);
+             OutputStream out = new BufferedOutputStream(Files.newOutputStream(target), 64 * 1024)) {
+            return jpeg ? stripJpeg(in, out) : stripPng(in, out);
+        } catch (EOFException e) {
+            // 잘린 파일 - 읽은 데까지만 (메타데이터는 이미 걸러짐)
+            return true;
+        }
+    }
+
+    private static boolean stripJpeg(InputStream in, OutputStream out) throws IOException {
+        in.skipNBytes(2);
+        out.write(0xFF);
+        out.write(0xD8);
+        boolean changed = false;
+        boolean inScan = false;
+        int marker = -1;
+        while (true) {
+            if (marker < 0) {
+                int b = in.read();
+                if (b < 0) return changed;
+                if (inScan) {
+                    if (b != 0xFF) {
+                        out.write(b);
+                        continue;
+                    }
+                    int next = nextNonFill(in);
+                    if (next < 0) return changed;
+                    if (next == 0x00 || (next >= 0xD0 && next <= 0xD7)) {
+                        // 스터핑 바이트, 재시작 마커는 이미지 데이터의 일부
+                        out.write(0xFF);
+                        out.write(next);
+                        continue;
+                    }
+                    marker = next;
+                } else {
+                    if (b != 0xFF) {
+                        // 알 수 없는 구조 - 나머지는 그대로 복사
+                        out.write(b);
+                        in.transferTo(out);
+                        return changed;
+                    }
+                    marker = nextNonFill(in);
+                    if (marker < 0) return changed;
+                }
+            }
+
+            int m = marker;
+            marker = -1;
+            if (m == 0xD9) {
+                out.write(0xFF);
+                out.write(0xD9);
+                return changed || in.read() >= 0;
+            }
+            if (m == 0x01 || (m >= 0xD0 && m <= 0xD7)) {
+                out.write(0xFF);
+                out.write(m);
+                continue;
+            }
+
+            int length = (readByte(in) << 8) | readByte(in);
+            if (length < 2) {
+                throw new EOFException("잘못된 JPEG 구간 길이");
+            }
+            byte[] payload = in.readNBytes(length - 2);
+            if (payload.length < length - 2) {
+                throw new EOFException();
+            }
+            byte[] kept = keepSegment(m, payload);
+            if (kept == null || !Arrays.equals(kept, payload)) {
+                changed = true;
+            }
+            if (kept != null) {
+                out.write(0xFF);
+                out.write(m);
+                out.write((kept.length + 2) >> 8);
+                out.write((kept.length + 2) & 0xFF);
+                out.write(kept);
+            }
+            inScan = m == 0xDA;
+        }
+    }
+
+    /**
+     * @return 그대로 둘 구간이면 payload, 바꿔 쓸 구간이면 새 내용, 버릴 구간이면 null
+     */
+    private static byte[] keepSegment(int marker, byte[] payload) {
+        if (marker == 0xE1) {
+            if (!startsWith(payload, EXIF)) return null;
+            int orientation = orientationOf(payload);
+            return orientation == 1 ? null : orientationOnlyExif(orientation);
+        }
+        if (marker == 0xE2) {
+            return startsWith(payload, ICC_PROFILE) ? payload : null;
+        }
+        if (marker == 0xE0 || marker == 0xEE) return payload;
+        if ((marker >= 0xE3 && marker <= 0xEF) || marker == 0xFE) return null;
+        return payload;
+    }
+
+    private static int orientationOf(byte[] exif) {
+        try {
+            return ImageVariantService.ExifOrientation.parseTiff(exif, EXIF.length, exif.length);
+        } catch (RuntimeException e) {
+            return 1;
+        }
+    }
+
+    /** Exif 헤더 + 빅엔디언 TIFF, IFD0 에 Orientation 항목 하나 */
+    private static byte[] orientationOnlyExif(int orientation) {
+        return new byte[]{
+                'E', 'x', 'i', 'f', 0, 0,
+                'M', 'M', 0x00, 0x2A, 0x00, 0x00, 0x00, 0x08,
+                0x00, 0x01, 0x01, 0x12, 0x00, 0x03, 0x00, 0x00, 0x00, 0x01, 0x00, (byte) orientation, 0x00, 0x00,
+                0x00, 0x00, 0x00, 0x00
+        };
+    }
+
+    private static boolean stripPng(InputStream in, OutputStream out) throws IOException {
+        in.skipNBytes(PNG_SIGNATURE.length);
+        out.write(PNG_SIGNATURE);
+        boolean changed = false;
+        while (true) {
+            byte[] header = in.readNBytes(8);
+            if (header.length == 0) return changed;
+            if (header.length < 8) {
+                out.write(header);
+                return changed;
+            }
+            long length = ((header[0] & 0xFFL) << 24) | ((header[1] & 0xFF) << 16) | ((header[2] & 0xFF) << 8) | (header[3] & 0xFF);
+            String type = new String(header, 4, 4, StandardCharsets.US_ASCII);
+            if (PNG_METADATA_CHUNKS.contains(type)) {
+                in.skipNBytes(length + 4); // 데이터 + CRC
+                changed = true;
+                continue;
+            }
+            out.write(header);
+            copy(in, out, length + 4);
+            if ("IEND".equals(type)) {
+                return changed || in.read() >= 0;
+            }
+        }
+    }
+
+    private static int nextNonFill(InputStream in) throws IOException {
+        int b;
+        do {
+            b = in.read();
+        } while (b == 0xFF);
+        return b;
+    }
+
+    private static int readByte(InputStream in) throws IOException {
+        int b = in.read();
+        if (b < 0) throw new EOFException();
+        return b;
+    }
+
+    private static void copy(InputStream in, OutputStream out, long count) throws IOException {
+        byte[] buffer = new byte[8192];
+        long remaining = count;
+        while (remaining > 0) {
+            int n = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (n < 0) throw new EOFException();
+            out.write(buffer, 0, n);
+            remaining -= n;
+        }
+    }
+
+    private static boolean startsWith(byte[] data, byte[] prefix) {
+        return data.length >= prefix.length && Arrays.equals(data, 0, prefix.length, prefix, 0, prefix.length);
+    }
+}
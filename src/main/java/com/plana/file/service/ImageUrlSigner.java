@@ -0,0 +1,134 @@
+package com.plana.file.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.StringJoiner;
+
+/**
+ * 업로드 이미지 URL 서명 (HMAC-SHA256, 만료 시각 포함)
+ *
+ * /uploads/diary/{파일명}[?size=thumb] → ...?exp={만료 epoch 초}&sig={HMAC(파일명:exp)}
+ * - UploadController 가 DB 조회나 JWT 파싱 없이 서명/만료만 계산해서 확인 (요청당 HMAC 1회)
+ * - 서명은 파일명 기준이라 같은 URL 의 축소본(size)에도 그대로 사용 가능
+ * - 만료 시각을 ttl 경계로 맞춰 ttl ~ 2*ttl 동안 유효 → 같은 구간의 응답은 URL 이 같아 브라우저 캐시 재사용
+ * - DB 에는 서명 없는 URL 만 저장 (strip), 서명은 응답할 때마다 새로 붙임
+ */
+@Component
+public class ImageUrlSigner {
+
+    public static final String URL_PREFIX = "/uploads/diary/";
+    private static final String HMAC = "HmacSHA256";
+
+    private final byte[] key;
+    private final long ttlSeconds;
+    private final boolean required;
+    private final ThreadLocal<Mac> mac;
+
+    /**
+     * @param secret 서명 키 원본 (기본값 jwt.secret, 용도별 키를 따로 파생해서 사용)
+     * @param ttlSeconds 발급 URL 최소 유효 시간
+     * @param required 서명 없는/잘못된 요청 거부 여부 (false 면 서명 없는 예전 URL 도 제공)
+     */
+    public ImageUrlSigner(@Value("${file.url.secret:${jwt.secret}}") String secret,
+                          @Value("${file.url.ttl-seconds:3600}") long ttlSeconds,
+                          @Value("${file.url.require-signature:true}") boolean required) {
+        this.key = hmac(secret.getBytes(StandardCharsets.UTF_8), "plana-image-url");
+        this.ttlSeconds = Math.max(ttlSeconds, 1);
+        this.required = required;
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac m = Mac.getInstance(HMAC);
+                m.init(new SecretKeySpec(key, HMAC));
+                return m;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    public boolean isRequired() {
+        return required;
+    }
+
+    /**
+     * 기본 유효 시간으로 서명 (업로드 이미지 URL 이 아니면 그대로)
+     */
+    public String sign(String url) {
+        long now = Instant.now().getEpochSecond();
+        return sign(url, Instant.ofEpochSecond((now / ttlSeconds + 2) * ttlSeconds));
+    }
+
+    /**
+     * 지정한 만료 시각으로 서명 (업로드 이미지 URL 이 아니면 그대로)
+     */
+    public String sign(String url, Instant expiresAt) {
+        String fileName = fileNameOf(url);
+        if (fileName == null) return url;
+        String unsigned = strip(url);
+        long exp = expiresAt.getEpochSecond();
+        return unsigned + (unsigned.contains("?") ? "&" : "?") + "exp=" + exp + "&sig=" + signature(fileName, exp);
+    }
+
+    /**
+     * 서명/만료 확인 (HMAC 비교는 상수 시간)
+     */
+    public boolean verify(String fileName, String exp, String sig) {
+        if (fileName == null || exp == null || sig == null) return false;
+        long expiresAt;
+        try {
+            expiresAt = Long.parseLong(exp);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        if (expiresAt < Instant.now().getEpochSecond()) return false;
+        return MessageDigest.isEqual(signature(fileName, expiresAt).getBytes(StandardCharsets.US_ASCII),
+                sig.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * 서명 파라미터(exp, sig) 제거 - DB 에 저장할 URL
+     */
+    public static String strip(String url) {
+        if (url == null || !url.startsWith(URL_PREFIX)) return url;
+        int q = url.indexOf('?');
+        if (q < 0) return url;
+        StringJoiner kept = new StringJoiner("&");
+        for (String param : url.substring(q + 1).split("&")) {
+            if (!param.isEmpty() && !param.startsWith("exp=") && !param.startsWith("sig=")) {
+                kept.add(param);
+            }
+        }
+        return url.substring(0, q) + (kept.length() == 0 ? "" : "?" + kept);
+    }
+
+    /** 업로드 이미지 URL 의 파일명 (한 단계 경로만, 아니면 null) */
+    private static String fileNameOf(String url) {
+        if (url == null || !url.startsWith(URL_PREFIX)) return null;
+        int q = url.indexOf('?');
+        String fileName = url.substring(URL_PREFIX.length(), q < 0 ? url.length() : q);
+        return fileName.isEmpty() || fileName.contains("/") ? null : fileName;
+    }
+
+    private String signature(String fileName, long exp) {
+        byte[] digest = mac.get().doFinal((fileName + ":" + exp).getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    }
+
+    private static byte[] hmac(byte[] key, String data) {
+        try {
+            Mac m = Mac.getInstance(HMAC);
+            m.init(new SecretKeySpec(key, HMAC));
+            return m.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
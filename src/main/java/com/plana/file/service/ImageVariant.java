@@ -0,0 +1,44 @@
+package com.plana.file.service;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * 업로드 이미지 축소본 크기 (긴 변 기준 px)
+ */
+public enum ImageVariant {
+    THUMB(320),
+    MEDIUM(1024);
+
+    private final int maxSize;
+
+    ImageVariant(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+
+    /** size 파라미터 값 (thumb, medium) */
+    public String param() {
+        return name().toLowerCase();
+    }
+
+    public static Optional<ImageVariant> fromParam(String param) {
+        if (param == null) return Optional.empty();
+        return Arrays.stream(values())
+                .filter(v -> v.param().equalsIgnoreCase(param))
+                .findFirst();
+    }
+
+    /**
+     * 업로드 이미지 URL 을 이 크기의 URL 로 변환 (업로드 이미지가 아니면 그대로)
+     */
+    public String urlOf(String imageUrl) {
+        if (imageUrl == null || !imageUrl.startsWith("/uploads/diary/") || imageUrl.contains("?")) {
+            return imageUrl;
+        }
+        return imageUrl + "?size=" + param();
+    }
+}
@@ -0,0 +1,372 @@
+package com.plana.file.service;
+
+import com.plana.file.storage.UploadStorage;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 업로드 이미지 축소본 생성
+ *
+ * - 업로드 직후 전용 스레드 풀(크기/대기열 제한)에서 ImageVariant 별 축소본을 만들어 UploadStorage 에 저장
+ *   "{원본 이름(확장자 제외)}_{size}.jpg" (투명도가 있을 수 있는 png/gif 는 .png)
+ * - 원본이 앱 서버 디스크에 없는 저장소(s3)면 업로드 폴더의 임시 파일로 내려받아 생성
+ * - 요청한 축소본이 아직 없으면 생성을 예약하고 그 요청은 원본으로 응답 (요청 스레드는 생성을 기다리지 않음)
+ *   같은 축소본은 동시에 한 번만 생성
+ * - 큰 원본은 디코딩할 때부터 솎아 읽어(source subsampling) 축소 크기의 2배 정도만 메모리에 올림
+ * - 다시 인코딩하므로 EXIF(촬영 위치 등) 메타데이터는 축소본에 남지 않음, 회전 정보는 픽셀에 반영
+ *   (원본의 메타데이터는 업로드할 때 ImageMetadataStripper 로 제거)
+ * - 읽을 수 없는 형식이거나 너무 큰 이미지는 축소본 없이 원본 제공
+ */
+@Slf4j
+@Service
+public class ImageVariantService {
+
+    private static final Set<String> ALPHA_EXTENSIONS = Set.of(".png", ".gif");
+    private static final long MAX_PIXELS = 50_000_000L; // 압축 폭탄 방지
+
+    private final UploadLayout layout;
+    private final UploadStorage storage;
+    private final ThreadPoolExecutor executor;
+    // 생성 중이거나 대기열에 있는 축소본 이름 (같은 축소본을 여러 요청이 중복 예약하지 않도록)
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    public ImageVariantService(UploadLayout layout,
+                               UploadStorage storage,
+                               @Value("${file.image.workers:2}") int workers,
+                               @Value("${file.image.queue-capacity:100}") int queueCapacity) {
+        this.layout = layout;
+        this.storage = storage;
+        AtomicInteger seq = new AtomicInteger();
+        int poolSize = Math.max(workers, 1);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)),
+                r -> {
+                    Thread t = new Thread(r, "image-variant-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 업로드된 파일의 모든 축소본 생성 예약 (이미 있으면 건너뜀)
+     */
+    public void scheduleVariants(String fileName) {
+        if (!layout.isSafe(fileName)) return;
+        for (ImageVariant variant : ImageVariant.values()) {
+            if (existsQuietly(variantFileName(fileName, variant))) continue;
+            if (!submit(fileName, variant)) {
+                log.warn("축소본 생성 대기열 가득 참 - 요청 시 생성: file={}, size={}", fileName, variant.param());
+                return;
+            }
+        }
+    }
+
+    /**
+     * 요청한 크기의 파일 이름 (축소본이 있으면 축소본, 없으면 생성을 예약하고 원본 이름)
+     *
+     * @return 제공할 파일 이름, 원본도 없으면 null
+     */
+    public String resolve(String fileName, ImageVariant variant) {
+        if (!layout.isSafe(fileName)) return null;
+        String variantName = variantFileName(fileName, variant);
+        try {
+            if (storage.exists(variantName)) return variantName;
+            if (!storage.exists(fileName)) return null;
+        } catch (IOException e) {
+            // 저장소 조회 실패 시 원본으로 응답 (없으면 저장소가 404)
+            log.warn("축소본 조회 실패: file={}, error={}", fileName, e.toString());
+            return fileName;
+        }
+
+        // 대기열이 가득 차면 다음 요청 때 다시 예약
+        submit(fileName, variant);
+        return fileName;
+    }
+
+    /**
+     * 축소본 생성 예약 (이미 생성 중이면 예약한 것으로 봄)
+     *
+     * @return 대기열이 가득 차서 예약하지 못했으면 false
+     */
+    private boolean submit(String fileName, ImageVariant variant) {
+        String variantName = variantFileName(fileName, variant);
+        if (!pending.add(variantName)) return true;
+        try {
+            executor.execute(() -> {
+                try {
+                    generateQuietly(fileName, variant);
+                } finally {
+                    pending.remove(variantName);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            pending.remove(variantName);
+            return false;
+        }
+    }
+
+    /**
+     * 원본 파일명에 대응하는 축소본 파일명
+     */
+    public static String variantFileName(String fileName, ImageVariant variant) {
+        int dot = fileName.lastIndexOf('.');
+        String base = dot < 0 ? fileName : fileName.substring(0, dot);
+        String ext = dot < 0 ? "" : fileName.substring(dot);
+        return base + "_" + variant.param() + outputExtension(ext);
+    }
+
+    /**
+     * 축소본 파일명이면 원본 파일명의 확장자 제외 부분, 아니면 null
+     */
+    public static String originalBaseOf(String fileName) {
+        for (ImageVariant variant : ImageVariant.values()) {
+            for (String ext : new String[]{".jpg", ".png"}) {
+                String suffix = "_" + variant.param() + ext;
+                if (fileName.endsWith(suffix) && fileName.length() > suffix.length()) {
+                    return fileName.substring(0, fileName.length() - suffix.length());
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String outputExtension(String originalExt) {
+        return ALPHA_EXTENSIONS.contains(originalExt) ? ".png" : ".jpg";
+    }
+
+    private boolean generateQuietly(String fileName, ImageVariant variant) {
+        try {
+            return generate(fileName, variant);
+        } catch (Exception | OutOfMemoryError e) {
+            log.warn("축소본 생성 실패: file={}, size={}, error={}", fileName, variant.param(), e.toString());
+            return false;
+        }
+    }
+
+    private boolean existsQuietly(String name) {
+        try {
+            return storage.exists(name);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 축소본 생성 (임시 파일에 쓴 뒤 저장소에 저장, 동시에 만들어도 완성된 파일만 보임)
+     * 원본이 아직 평면 위치에 있어도 축소본은 2단계 폴더에 저장 (local)
+     */
+    boolean generate(String fileName, ImageVariant variant) throws IOException {
+        String variantName = variantFileName(fileName, variant);
+        if (storage.exists(variantName)) return true;
+
+        Path downloaded = null;
+        Path temp = layout.root().resolve(".variant-" + UUID.randomUUID() + ".tmp");
+        try {
+            Path original = storage.localPath(fileName);
+            if (original == null) {
+                if (!storage.exists(fileName)) return false;
+                Files.createDirectories(layout.root());
+                downloaded = layout.root().resolve(".original-" + UUID.randomUUID() + ".tmp");
+                storage.download(fileName, downloaded);
+                original = downloaded;
+            }
+            BufferedImage source = read(original, variant.maxSize());
+            if (source == null) return false;
+
+            int orientation = ExifOrientation.read(original);
+            String format = variantName.endsWith(".png") ? "png" : "jpeg";
+            BufferedImage scaled = scale(source, variant.maxSize(), !"png".equals(format));
+            BufferedImage oriented = ExifOrientation.apply(scaled, orientation);
+
+            if (!ImageIO.write(oriented, format, temp.toFile())) return false;
+            storage.store(variantName, temp);
+        } finally {
+            Files.deleteIfExists(temp);
+            if (downloaded != null) {
+                Files.deleteIfExists(downloaded);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 크기를 먼저 확인하고 디코딩 (지원하지 않는 형식이나 너무 큰 이미지는 null)
+     * 긴 변이 maxSize 의 2배 이상 남는 만큼만 솎아 읽음 (솎기만 하면 계단 현상이 생기므로 나머지는 scale 에서 축소)
+     */
+    static BufferedImage read(Path file, int maxSize) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            if (in == null) return null;
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) return null;
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true); // 메타데이터는 읽지 않음
+                int w = reader.getWidth(0);
+                int h = reader.getHeight(0);
+                if ((long) w * h > MAX_PIXELS) return null;
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, Math.max(w, h) / (maxSize * 2));
+                if (step > 1) {
+                    param.setSourceSubsampling(step, step, 0, 0);
+                }
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * 긴 변이 maxSize 이하가 되도록 축소 (작은 이미지는 크기 유지, 다시 인코딩만)
+     * 한 번에 크게 줄이면 계단 현상이 생기므로 절반씩 단계적으로 축소
+     */
+    private static BufferedImage scale(BufferedImage source, int maxSize, boolean opaque) {
+        int w = source.getWidth();
+        int h = source.getHeight();
+        double ratio = Math.min(1.0, (double) maxSize / Math.max(w, h));
+        int targetW = Math.max(1, (int) Math.round(w * ratio));
+        int targetH = Math.max(1, (int) Math.round(h * ratio));
+        int type = opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+
+        BufferedImage current = source;
+        do {
+            w = Math.max(targetW, w / 2);
+            h = Math.max(targetH, h / 2);
+            BufferedImage next = new BufferedImage(w, h, type);
+            Graphics2D g = next.createGraphics();
+            try {
+                if (opaque) {
+                    g.setColor(Color.WHITE); // JPEG 는 투명도가 없으므로 흰 배경
+                    g.fillRect(0, 0, w, h);
+                }
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, w, h, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (w != targetW || h != targetH);
+        return current;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * JPEG EXIF 회전 정보 (0x0112)
+     * 축소본에는 EXIF 를 남기지 않으므로 회전을 픽셀에 반영해야 원본과 같은 방향으로 보임
+     */
+    static final class ExifOrientation {
+
+        private ExifOrientation() {
+        }
+
+        /** @return 1~8, 없거나 JPEG 가 아니면 1 */
+        static int read(Path file) {
+            try (InputStream in = Files.newInputStream(file)) {
+                byte[] head = in.readNBytes(128 * 1024); // EXIF 는 파일 앞부분에 있음
+                return parse(head);
+            } catch (IOException | RuntimeException e) {
+                return 1;
+            }
+        }
+
+        static int parse(byte[] b) {
+            if (b.length < 4 || (b[0] & 0xFF) != 0xFF || (b[1] & 0xFF) != 0xD8) return 1;
+            int pos = 2;
+            while (pos + 4 <= b.length && (b[pos] & 0xFF) == 0xFF) {
+                int marker = b[pos + 1] & 0xFF;
+                int length = ((b[pos + 2] & 0xFF) << 8) | (b[pos + 3] & 0xFF);
+                if (marker == 0xDA) break; // 이미지 데이터 시작
+                int seg = pos + 4;
+                if (marker == 0xE1 && seg + 14 <= b.length
+                        && b[seg] == 'E' && b[seg + 1] == 'x' && b[seg + 2] == 'i' && b[seg + 3] == 'f') {
+                    return parseTiff(b, seg + 6, Math.min(b.length, pos + 2 + length));
+                }
+                pos += 2 + length;
+            }
+            return 1;
+        }
+
+        static int parseTiff(byte[] b, int tiff, int end) {
+            boolean little = b[tiff] == 'I';
+            int ifd = tiff + readInt(b, tiff + 4, little);
+            int count = readShort(b, ifd, little);
+            for (int i = 0; i < count; i++) {
+                int entry = ifd + 2 + i * 12;
+                if (entry + 12 > end) break;
+                if (readShort(b, entry, little) == 0x0112) {
+                    int value = readShort(b, entry + 8, little);
+                    return value >= 1 && value <= 8 ? value : 1;
+                }
+            }
+            return 1;
+        }
+
+        private static int readShort(byte[] b, int pos, boolean little) {
+            int b0 = b[pos] & 0xFF, b1 = b[pos + 1] & 0xFF;
+            return little ? (b1 << 8) | b0 : (b0 << 8) | b1;
+        }
+
+        private static int readInt(byte[] b, int pos, boolean little) {
+            int hi = readShort(b, little ? pos + 2 : pos, little);
+            int lo = readShort(b, little ? pos : pos + 2, little);
+            return (hi << 16) | lo;
+        }
+
+        static BufferedImage apply(BufferedImage image, int orientation) {
+            if (orientation <= 1 || orientation > 8) return image;
+            int w = image.getWidth(), h = image.getHeight();
+            boolean swap = orientation >= 5;
+            AffineTransform t = new AffineTransform();
+            switch (orientation) {
+                case 2 -> { t.translate(w, 0); t.scale(-1, 1); }
+                case 3 -> { t.translate(w, h); t.rotate(Math.PI); }
+                case 4 -> { t.translate(0, h); t.scale(1, -1); }
+                case 5 -> { t.rotate(Math.PI / 2); t.scale(1, -1); }
+                case 6 -> { t.translate(h, 0); t.rotate(Math.PI / 2); }
+                case 7 -> { t.scale(-1, 1); t.translate(-h, 0); t.translate(0, w); t.rotate(3 * Math.PI / 2); }
+                case 8 -> { t.translate(0, w); t.rotate(3 * Math.PI / 2); }
+                default -> { }
+            }
+            BufferedImage out = new BufferedImage(swap ? h : w, swap ? w : h, image.getType());
+            Graphics2D g = out.createGraphics();
+            try {
+                g.drawImage(image, t, null);
+            } finally {
+                g.dispose();
+            }
+            return out;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.plana.file.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * 업로드 폴더 배치
+ *
+ * 파일을 한 폴더에 모두 두면 파일 수가 많아질수록 조회/목록이 느려지므로 2단계로 나눠 저장
+ *   uploads/diary/{ab}/{cd}/{파일명}  (ab, cd = 원본 이름 해시의 앞 4자리)
+ * - 내용 해시 이름은 이름 앞 4자리, 예전 이름(diary_{회원ID}_...)은 이름의 SHA-256 앞 4자리
+ * - 축소본은 원본 이름 기준으로 계산하므로 항상 원본과 같은 폴더
+ * - 공개 URL 은 그대로 /uploads/diary/{파일명} (저장된 imageUrl 변경 없음)
+ * - 아직 옮기지 않은 예전 파일은 평면 위치에서 찾음 (UploadLayoutMigrator 가 점진적으로 이동)
+ */
+@Component
+public class UploadLayout {
+
+    private static final Pattern SAFE_FILE_NAME = Pattern.compile("[A-Za-z0-9_-]+(\\.[a-z0-9]{1,10})?");
+    private static final Pattern CONTENT_ADDRESSED = Pattern.compile("[0-9a-f]{64}(_[a-z]+)?(\\.[a-z0-9]{1,10})?");
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+
+    public UploadLayout(@Value("${file.upload-dir:uploads/diary}") String uploadDir) {
+        this.root = Paths.get(uploadDir);
+    }
+
+    /** 업로드 폴더 (임시 파일, 평면 배치의 예전 파일 위치) */
+    public Path root() {
+        return root;
+    }
+
+    /** 업로드 폴더 밖을 가리킬 수 없는 파일명인지 */
+    public boolean isSafe(String fileName) {
+        return fileName != null && SAFE_FILE_NAME.matcher(fileName).matches();
+    }
+
+    /** 내용 해시로 이름 붙인 파일인지 (축소본 포함) */
+    public boolean isContentAddressed(String fileName) {
+        return fileName != null && CONTENT_ADDRESSED.matcher(fileName).matches();
+    }
+
+    /** 새로 저장할 위치 (2단계 폴더) */
+    public Path target(String fileName) {
+        String shard = shardKey(fileName);
+        return root.resolve(shard.substring(0, 2)).resolve(shard.substring(2, 4)).resolve(fileName);
+    }
+
+    /** 평면 배치 위치 (이동 전 예전 파일) */
+    public Path legacy(String fileName) {
+        return root.resolve(fileName);
+    }
+
+    /**
+     * 저장된 파일 위치 (2단계 폴더 → 평면 순서로 찾음)
+     *
+     * @return 파일 경로, 이름이 잘못되었거나 없으면 null
+     */
+    public Path locate(String fileName) {
+        if (!isSafe(fileName)) return null;
+        Path sharded = target(fileName);
+        if (Files.isRegularFile(sharded)) return sharded;
+        if (Files.isRegularFile(legacy(fileName))) return legacy(fileName);
+        // 확인하는 사이에 평면 → 2단계 폴더로 옮겨졌을 수 있음
+        return Files.isRegularFile(sharded) ? sharded : null;
+    }
+
+    /**
+     * 폴더를 정하는 키 (축소본은 원본 이름 기준)
+     */
+    private static String shardKey(String fileName) {
+        String base = ImageVariantService.originalBaseOf(fileName);
+        if (base == null) {
+            int dot = fileName.lastIndexOf('.');
+            base = dot < 0 ? fileName : fileName.substring(0, dot);
+        }
+        if (HASH.matcher(base).matches()) {
+            return base;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(base.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 2);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+    }
+}
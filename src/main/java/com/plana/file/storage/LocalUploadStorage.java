@@ -0,0 +1,193 @@
+package com.plana.file.storage;
+
+import com.plana.file.service.UploadLayout;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * 앱 서버 디스크 저장소 (기본값, 단일 서버 또는 공유 볼륨)
+ * 파일은 UploadLayout 의 2단계 폴더에 두고 UploadController 가 직접 제공
+ *
+ * 목록(list)은 내용 해시 이름 파일만 나열: 내용 해시 이름은 앞 4자리가 곧 2단계 폴더이므로
+ * 폴더를 이름 순으로 훑으면 전체가 이름 순 (아직 옮기지 않은 평면 위치 파일은 매번 합쳐서 정렬)
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "file.storage.mode", havingValue = "local", matchIfMissing = true)
+public class LocalUploadStorage implements UploadStorage {
+
+    private static final Pattern SHARD_DIR = Pattern.compile("[0-9a-f]{2}");
+
+    private final UploadLayout layout;
+
+    @Override
+    public boolean exists(String name) {
+        return layout.locate(name) != null;
+    }
+
+    @Override
+    public void store(String name, Path source) throws IOException {
+        Path target = layout.target(name);
+        Files.createDirectories(target.getParent());
+        Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public boolean touch(String name) throws IOException {
+        Path path = layout.locate(name);
+        if (path == null) {
+            return false;
+        }
+        try {
+            Files.setLastModifiedTime(path, FileTime.from(Instant.now()));
+            return true;
+        } catch (NoSuchFileException e) {
+            return false; // 찾은 직후 정리됨
+        }
+    }
+
+    @Override
+    public Path localPath(String name) {
+        return layout.locate(name);
+    }
+
+    @Override
+    public void download(String name, Path target) throws IOException {
+        Path path = layout.locate(name);
+        if (path == null) {
+            throw new NoSuchFileException(name);
+        }
+        Files.copy(path, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public StoredObject stat(String name) throws IOException {
+        Path path = layout.locate(name);
+        if (path == null) {
+            return null;
+        }
+        try {
+            return toStoredObject(name, Files.readAttributes(path, BasicFileAttributes.class));
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public Listing list(String startAfter, int limit) throws IOException {
+        TreeMap<String, StoredObject> found = new TreeMap<>();
+        Path root = layout.root();
+        if (!Files.isDirectory(root)) {
+            return new Listing(List.of(), null);
+        }
+
+        // 평면 위치 (2단계 폴더로 옮기기 전 파일)
+        collect(root, startAfter, found);
+
+        // 2단계 폴더 {ab}/{cd} 를 이름 순으로 (startAfter 가 속한 폴더부터)
+        String from = startAfter != null && layout.isContentAddressed(startAfter) ? startAfter.substring(0, 4) : "";
+        boolean complete = true;
+        outer:
+        for (String ab : shardDirs(root)) {
+            if (ab.compareTo(from.substring(0, Math.min(2, from.length()))) < 0) continue;
+            for (String cd : shardDirs(root.resolve(ab))) {
+                String shard = ab + cd;
+                if (shard.compareTo(from) < 0) continue;
+                collect(root.resolve(ab).resolve(cd), startAfter, found);
+                // 이후 폴더의 파일은 모두 이 폴더의 이름보다 뒤이므로 여기까지로 limit 을 채우면 멈춤
+                if (found.headMap(shard + Character.MAX_VALUE).size() >= limit) {
+                    complete = false;
+                    break outer;
+                }
+            }
+        }
+
+        List<StoredObject> page = new ArrayList<>();
+        for (StoredObject object : found.values()) {
+            if (page.size() >= limit) {
+                complete = false;
+                break;
+            }
+            page.add(object);
+        }
+        return new Listing(page, complete || page.isEmpty() ? null : page.get(page.size() - 1).name());
+    }
+
+    /** 폴더 안의 내용 해시 이름 파일 중 startAfter 이후 것 */
+    private void collect(Path dir, String startAfter, Map<String, StoredObject> found) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (!layout.isContentAddressed(name) || (startAfter != null && name.compareTo(startAfter) <= 0)) continue;
+                try {
+                    BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+                    if (attrs.isRegularFile()) {
+                        found.put(name, toStoredObject(name, attrs));
+                    }
+                } catch (NoSuchFileException e) {
+                    // 나열 중 삭제/이동됨
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // 폴더 없음
+        }
+    }
+
+    private static TreeSet<String> shardDirs(Path dir) throws IOException {
+        TreeSet<String> names = new TreeSet<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir, Files::isDirectory)) {
+            for (Path entry : entries) {
+                String name = entry.getFileName().toString();
+                if (SHARD_DIR.matcher(name).matches()) {
+                    names.add(name);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // 폴더 없음
+        }
+        return names;
+    }
+
+    private static StoredObject toStoredObject(String name, BasicFileAttributes attrs) {
+        return new StoredObject(name, attrs.size(), attrs.lastModifiedTime().toInstant());
+    }
+
+    @Override
+    public boolean delete(String name) throws IOException {
+        if (!layout.isSafe(name)) {
+            return false;
+        }
+        // 옮기는 중 두 위치에 모두 남았을 수 있으므로 둘 다 삭제
+        boolean sharded = Files.deleteIfExists(layout.target(name));
+        boolean legacy = Files.deleteIfExists(layout.legacy(name));
+        return sharded || legacy;
+    }
+
+    @Override
+    public Optional<String> downloadUrl(String name) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<DirectUpload> presignUpload(String name, long size, String sha256Hex, String contentType) {
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,190 @@
+package com.plana.file.storage;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+
+/**
+ * AWS Signature Version 4 (S3)
+ *
+ * - sign: Authorization 헤더 방식 (서버 → 저장소 요청)
+ * - presign: 쿼리 문자열 방식 (클라이언트가 일정 시간 동안 직접 사용하는 URL)
+ */
+public final class S3Signer {
+
+    public static final String UNSIGNED_PAYLOAD = "UNSIGNED-PAYLOAD";
+    public static final String EMPTY_PAYLOAD_SHA256 = "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855";
+
+    private static final String ALGORITHM = "AWS4-HMAC-SHA256";
+    private static final DateTimeFormatter AMZ_DATE = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyyMMdd").withZone(ZoneOffset.UTC);
+
+    private final String accessKey;
+    private final String secretKey;
+    private final String region;
+
+    public S3Signer(String accessKey, String secretKey, String region) {
+        this.accessKey = accessKey;
+        this.secretKey = secretKey;
+        this.region = region;
+    }
+
+    /**
+     * Authorization 헤더 방식 서명
+     * host, x-amz-date, x-amz-content-sha256 헤더를 추가하고 서명에 포함
+     *
+     * @param headers 보낼 헤더 (서명할 헤더 포함, 결과 헤더가 추가됨)
+     * @return 요청에 넣을 헤더 (Host 제외 - HTTP 클라이언트가 URI 로 채움)
+     */
+    public Map<String, String> sign(String method, URI uri, Map<String, String> headers, String payloadHash, Instant now) {
+        String amzDate = AMZ_DATE.format(now);
+        String scope = DATE.format(now) + "/" + region + "/s3/aws4_request";
+
+        Map<String, String> signed = new TreeMap<>();
+        headers.forEach((k, v) -> signed.put(k.toLowerCase(), v.trim()));
+        signed.put("host", hostOf(uri));
+        signed.put("x-amz-date", amzDate);
+        signed.put("x-amz-content-sha256", payloadHash);
+
+        String signedHeaders = String.join(";", signed.keySet());
+        String canonical = canonicalRequest(method, uri.getRawPath(), canonicalQuery(uri.getRawQuery()), signed, signedHeaders, payloadHash);
+        String signature = signature(amzDate, scope, canonical, now);
+
+        Map<String, String> result = new TreeMap<>(signed);
+        result.remove("host");
+        result.put("authorization", ALGORITHM + " Credential=" + accessKey + "/" + scope
+                + ", SignedHeaders=" + signedHeaders + ", Signature=" + signature);
+        return result;
+    }
+
+    /**
+     * 쿼리 문자열 방식 서명 (pre-signed URL)
+     *
+     * @param headers 클라이언트가 반드시 같은 값으로 보내야 하는 헤더 (host 는 자동 포함)
+     */
+    public URI presign(String method, URI uri, Map<String, String> headers, long expiresSeconds, Instant now) {
+        String amzDate = AMZ_DATE.format(now);
+        String scope = DATE.format(now) + "/" + region + "/s3/aws4_request";
+
+        Map<String, String> signed = new TreeMap<>();
+        headers.forEach((k, v) -> signed.put(k.toLowerCase(), v.trim()));
+        signed.put("host", hostOf(uri));
+        String signedHeaders = String.join(";", signed.keySet());
+
+        Map<String, String> query = new TreeMap<>(parseQuery(uri.getRawQuery()));
+        query.put("X-Amz-Algorithm", ALGORITHM);
+        query.put("X-Amz-Credential", accessKey + "/" + scope);
+        query.put("X-Amz-Date", amzDate);
+        query.put("X-Amz-Expires", String.valueOf(expiresSeconds));
+        query.put("X-Amz-SignedHeaders", signedHeaders);
+        String canonicalQuery = encodeQuery(query);
+
+        String canonical = canonicalRequest(method, uri.getRawPath(), canonicalQuery, signed, signedHeaders, UNSIGNED_PAYLOAD);
+        String signature = signature(amzDate, scope, canonical, now);
+        return URI.create(uri.getScheme() + "://" + uri.getRawAuthority() + uri.getRawPath()
+                + "?" + canonicalQuery + "&X-Amz-Signature=" + signature);
+    }
+
+    private static String canonicalRequest(String method, String rawPath, String canonicalQuery,
+                                           Map<String, String> signed, String signedHeaders, String payloadHash) {
+        StringBuilder headerBlock = new StringBuilder();
+        signed.forEach((k, v) -> headerBlock.append(k).append(':').append(v).append('\n'));
+        return method + "\n"
+                + (rawPath == null || rawPath.isEmpty() ? "/" : rawPath) + "\n"
+                + canonicalQuery + "\n"
+                + headerBlock + "\n"
+                + signedHeaders + "\n"
+                + payloadHash;
+    }
+
+    private String signature(String amzDate, String scope, String canonicalRequest, Instant now) {
+        String stringToSign = ALGORITHM + "\n" + amzDate + "\n" + scope + "\n" + sha256Hex(canonicalRequest);
+        byte[] key = hmac(("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8), DATE.format(now));
+        key = hmac(key, region);
+        key = hmac(key, "s3");
+        key = hmac(key, "aws4_request");
+        return HexFormat.of().formatHex(hmac(key, stringToSign));
+    }
+
+    /** 이미 인코딩된 쿼리 문자열을 정렬 (값이 없는 키는 빈 값) */
+    private static String canonicalQuery(String rawQuery) {
+        return encodeQuery(new TreeMap<>(parseQuery(rawQuery)));
+    }
+
+    /** 인코딩된 키/값 (정렬된 맵) → 쿼리 문자열 */
+    private static String encodeQuery(Map<String, String> sorted) {
+        StringJoiner joiner = new StringJoiner("&");
+        sorted.forEach((k, v) -> joiner.add(encodeIfPlain(k) + "=" + encodeIfPlain(v)));
+        return joiner.toString();
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new TreeMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) return query;
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            query.put(eq < 0 ? pair : pair.substring(0, eq), eq < 0 ? "" : pair.substring(eq + 1));
+        }
+        return query;
+    }
+
+    /** 이미 %XX 로 인코딩된 값은 그대로, 아니면 인코딩 */
+    private static String encodeIfPlain(String value) {
+        return value.contains("%") ? value : uriEncode(value, true);
+    }
+
+    /**
+     * RFC 3986 인코딩 (A-Z a-z 0-9 - _ . ~ 외 모두 %XX)
+     *
+     * @param encodeSlash 경로에서는 false
+     */
+    public static String uriEncode(String value, boolean encodeSlash) {
+        StringBuilder sb = new StringBuilder();
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            char c = (char) (b & 0xFF);
+            if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.' || c == '~' || (c == '/' && !encodeSlash)) {
+                sb.append(c);
+            } else {
+                sb.append('%').append(String.format("%02X", b & 0xFF));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String hostOf(URI uri) {
+        int port = uri.getPort();
+        boolean defaultPort = port == -1
+                || ("https".equals(uri.getScheme()) && port == 443)
+                || ("http".equals(uri.getScheme()) && port == 80);
+        return defaultPort ? uri.getHost() : uri.getHost() + ":" + port;
+    }
+
+    public static String sha256Hex(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] hmac(byte[] key, String data) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
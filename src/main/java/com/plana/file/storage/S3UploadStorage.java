@@ -0,0 +1,389 @@
+package com.plana.file.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * S3 호환 오브젝트 스토리지 (AWS S3, MinIO 등)
+ *
+ * - 경로 방식 URL: {endpoint}/{bucket}/{prefix}{name}
+ * - 요청은 SigV4 로 서명 (S3Signer), 본문은 스트리밍 (UNSIGNED-PAYLOAD)
+ * - multipart-threshold 이상인 파일은 멀티파트 업로드로 part-size 씩 나눠 전송 (실패 시 중단 요청)
+ * - 다운로드는 public-base-url 이 있으면 공개 URL, 없으면 presign-ttl-seconds 동안 유효한 서명 URL
+ * - 있다고 확인한 이름은 exists-cache-seconds 동안 기억 (이미지 요청마다 HEAD 를 보내지 않도록)
+ *   내용 해시 이름은 내용이 바뀌지 않으므로 삭제만 반영하면 됨 (이 서버의 delete 는 즉시 반영, 없다는 결과는 기억하지 않음)
+ * - touch 는 자기 자신으로 복사(메타데이터 교체)해 LastModified 갱신 → UploadGarbageCollector 가 local 과 같은 기준으로 정리
+ * - Content-Type 은 파일 이름 확장자로 정해 저장/touch 때마다 지정 (리다이렉트/서명 URL 로 받을 때 브라우저가 이미지로 표시)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "file.storage.mode", havingValue = "s3")
+public class S3UploadStorage implements UploadStorage {
+
+    private static final Pattern UPLOAD_ID = Pattern.compile("<UploadId>([^<]+)</UploadId>");
+    private static final Pattern CONTENTS = Pattern.compile("<Contents>(.*?)</Contents>", Pattern.DOTALL);
+    private static final Pattern KEY = Pattern.compile("<Key>([^<]*)</Key>");
+    private static final Pattern SIZE = Pattern.compile("<Size>(\\d+)</Size>");
+    private static final Pattern LAST_MODIFIED = Pattern.compile("<LastModified>([^<]+)</LastModified>");
+    private static final Pattern TRUNCATED = Pattern.compile("<IsTruncated>true</IsTruncated>");
+    private static final int EXISTS_CACHE_SIZE = 10_000;
+
+    private final HttpClient http;
+    private final S3Signer signer;
+    private final String endpoint;
+    private final String bucket;
+    private final String prefix;
+    private final String publicBaseUrl;
+    private final long presignTtlSeconds;
+    private final long multipartThreshold;
+    private final long partSize;
+    private final Duration timeout;
+    private final long existsCacheMs;
+    // 있다고 확인한 이름 → 확인 시각 (접근 순서 LRU)
+    private final Map<String, Long> knownExisting = Collections.synchronizedMap(
+            new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                    return size() > EXISTS_CACHE_SIZE;
+                }
+            });
+
+    public S3UploadStorage(
+            @Value("${file.storage.s3.endpoint}") String endpoint,
+            @Value("${file.storage.s3.bucket}") String bucket,
+            @Value("${file.storage.s3.region:us-east-1}") String region,
+            @Value("${file.storage.s3.access-key}") String accessKey,
+            @Value("${file.storage.s3.secret-key}") String secretKey,
+            @Value("${file.storage.s3.prefix:diary/}") String prefix,
+            @Value("${file.storage.s3.public-base-url:}") String publicBaseUrl,
+            @Value("${file.storage.s3.presign-ttl-seconds:900}") long presignTtlSeconds,
+            @Value("${file.storage.s3.multipart-threshold-bytes:8388608}") long multipartThreshold,
+            @Value("${file.storage.s3.part-size-bytes:8388608}") long partSize,
+            @Value("${file.storage.s3.timeout-ms:30000}") long timeoutMs,
+            @Value("${file.storage.s3.exists-cache-seconds:300}") long existsCacheSeconds) {
+        this.endpoint = endpoint.endsWith("/") ? endpoint.substring(0, endpoint.length() - 1) : endpoint;
+        this.bucket = bucket;
+        this.prefix = prefix == null ? "" : prefix;
+        this.publicBaseUrl = publicBaseUrl == null || publicBaseUrl.isBlank() ? null
+                : (publicBaseUrl.endsWith("/") ? publicBaseUrl : publicBaseUrl + "/");
+        this.presignTtlSeconds = Math.max(presignTtlSeconds, 1);
+        // S3 는 마지막 파트를 제외하고 5MB 이상이어야 함
+        this.partSize = Math.max(partSize, 5L * 1024 * 1024);
+        this.multipartThreshold = Math.max(multipartThreshold, this.partSize);
+        this.timeout = Duration.ofMillis(Math.max(timeoutMs, 1));
+        this.existsCacheMs = Math.max(existsCacheSeconds, 0) * 1000;
+        this.signer = new S3Signer(accessKey, secretKey, region);
+        this.http = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    @Override
+    public boolean exists(String name) throws IOException {
+        Long checkedAt = knownExisting.get(name);
+        if (checkedAt != null && System.currentTimeMillis() - checkedAt < existsCacheMs) {
+            return true;
+        }
+        return stat(name) != null;
+    }
+
+    @Override
+    public StoredObject stat(String name) throws IOException {
+        HttpResponse<Void> res = send("HEAD", objectUri(name, null), Map.of(), HttpRequest.BodyPublishers.noBody(),
+                S3Signer.EMPTY_PAYLOAD_SHA256, HttpResponse.BodyHandlers.discarding());
+        if (res.statusCode() == 404) {
+            knownExisting.remove(name);
+            return null;
+        }
+        ensureOk(res, "HEAD", name);
+        knownExisting.put(name, System.currentTimeMillis());
+        long size = res.headers().firstValueAsLong("Content-Length").orElse(0L);
+        Instant lastModified = res.headers().firstValue("Last-Modified")
+                .map(v -> ZonedDateTime.parse(v, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant())
+                .orElse(Instant.EPOCH);
+        return new StoredObject(name, size, lastModified);
+    }
+
+    /**
+     * ListObjectsV2 (start-after 로 이름 순 이어서 조회)
+     */
+    @Override
+    public Listing list(String startAfter, int limit) throws IOException {
+        StringBuilder query = new StringBuilder("list-type=2&max-keys=").append(Math.max(limit, 1))
+                .append("&prefix=").append(S3Signer.uriEncode(prefix, true));
+        if (startAfter != null) {
+            query.append("&start-after=").append(S3Signer.uriEncode(prefix + startAfter, true));
+        }
+        URI uri = URI.create(endpoint + "/" + bucket + "?" + query);
+        HttpResponse<String> res = send("GET", uri, Map.of(), HttpRequest.BodyPublishers.noBody(),
+                S3Signer.EMPTY_PAYLOAD_SHA256, HttpResponse.BodyHandlers.ofString());
+        ensureOk(res, "ListObjectsV2", prefix);
+
+        List<StoredObject> objects = new ArrayList<>();
+        Matcher contents = CONTENTS.matcher(res.body());
+        while (contents.find()) {
+            String entry = contents.group(1);
+            Matcher key = KEY.matcher(entry);
+            if (!key.find()) continue;
+            String name = unescapeXml(key.group(1));
+            if (!name.startsWith(prefix)) continue;
+            Matcher size = SIZE.matcher(entry);
+            Matcher lastModified = LAST_MODIFIED.matcher(entry);
+            objects.add(new StoredObject(name.substring(prefix.length()),
+                    size.find() ? Long.parseLong(size.group(1)) : 0L,
+                    lastModified.find() ? Instant.parse(lastModified.group(1)) : Instant.EPOCH));
+        }
+        boolean truncated = TRUNCATED.matcher(res.body()).find();
+        return new Listing(objects, truncated && !objects.isEmpty() ? objects.get(objects.size() - 1).name() : null);
+    }
+
+    @Override
+    public void store(String name, Path source) throws IOException {
+        long size = Files.size(source);
+        if (size < multipartThreshold) {
+            HttpResponse<String> res = send("PUT", objectUri(name, null),
+                    Map.of("content-length", String.valueOf(size), "content-type", contentTypeOf(name)),
+                    HttpRequest.BodyPublishers.ofFile(source), S3Signer.UNSIGNED_PAYLOAD, HttpResponse.BodyHandlers.ofString());
+            ensureOk(res, "PUT", name);
+        } else {
+            storeMultipart(name, source, size);
+        }
+        knownExisting.put(name, System.currentTimeMillis());
+        Files.deleteIfExists(source);
+    }
+
+    /**
+     * 멀티파트 업로드: 시작 → 파트 전송 (파일 구간을 그대로 스트리밍) → 완료, 실패하면 중단 요청
+     */
+    private void storeMultipart(String name, Path source, long size) throws IOException {
+        HttpResponse<String> created = send("POST", objectUri(name, "uploads="), Map.of("content-type", contentTypeOf(name)),
+                HttpRequest.BodyPublishers.noBody(), S3Signer.EMPTY_PAYLOAD_SHA256, HttpResponse.BodyHandlers.ofString());
+        ensureOk(created, "CreateMultipartUpload", name);
+        Matcher m = UPLOAD_ID.matcher(created.body());
+        if (!m.find()) {
+            throw new IOException("멀티파트 업로드 ID 를 받지 못했습니다: " + name);
+        }
+        String uploadId = S3Signer.uriEncode(m.group(1), true);
+
+        try {
+            List<String> etags = new ArrayList<>();
+            int partNumber = 1;
+            for (long offset = 0; offset < size; offset += partSize, partNumber++) {
+                long length = Math.min(partSize, size - offset);
+                long start = offset;
+                HttpRequest.BodyPublisher body = HttpRequest.BodyPublishers.fromPublisher(
+                        HttpRequest.BodyPublishers.ofInputStream(() -> slice(source, start, length)), length);
+                HttpResponse<Void> res = send("PUT", objectUri(name, "partNumber=" + partNumber + "&uploadId=" + uploadId),
+                        Map.of("content-length", String.valueOf(length)), body, S3Signer.UNSIGNED_PAYLOAD,
+                        HttpResponse.BodyHandlers.discarding());
+                ensureOk(res, "UploadPart", name);
+                etags.add(res.headers().firstValue("ETag")
+                        .orElseThrow(() -> new IOException("파트 ETag 가 없습니다: " + name)));
+            }
+
+            StringBuilder xml = new StringBuilder("<CompleteMultipartUpload>");
+            for (int i = 0; i < etags.size(); i++) {
+                xml.append("<Part><PartNumber>").append(i + 1).append("</PartNumber><ETag>")
+                        .append(etags.get(i)).append("</ETag></Part>");
+            }
+            xml.append("</CompleteMultipartUpload>");
+            byte[] payload = xml.toString().getBytes(StandardCharsets.UTF_8);
+            HttpResponse<String> done = send("POST", objectUri(name, "uploadId=" + uploadId), Map.of(),
+                    HttpRequest.BodyPublishers.ofByteArray(payload), sha256Hex(payload), HttpResponse.BodyHandlers.ofString());
+            // 완료 요청은 200 이어도 본문에 오류가 올 수 있음
+            if (done.statusCode() / 100 != 2 || done.body().contains("<Error>")) {
+                throw new IOException("멀티파트 업로드 완료 실패 (" + done.statusCode() + "): " + name);
+            }
+        } catch (IOException | RuntimeException e) {
+            abortMultipart(name, uploadId);
+            throw e;
+        }
+    }
+
+    private void abortMultipart(String name, String uploadId) {
+        try {
+            send("DELETE", objectUri(name, "uploadId=" + uploadId), Map.of(), HttpRequest.BodyPublishers.noBody(),
+                    S3Signer.EMPTY_PAYLOAD_SHA256, HttpResponse.BodyHandlers.discarding());
+        } catch (IOException e) {
+            log.warn("멀티파트 업로드 중단 실패: {} ({})", name, e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean touch(String name) throws IOException {
+        // 자기 자신으로 복사 (메타데이터 교체) → 내용은 그대로, LastModified 만 갱신
+        // REPLACE 는 Content-Type 도 요청 값으로 바꾸므로 다시 지정 (빠뜨리면 binary/octet-stream 이 됨)
+        Map<String, String> headers = Map.of(
+                "x-amz-copy-source", "/" + bucket + "/" + S3Signer.uriEncode(prefix + name, false),
+                "x-amz-metadata-directive", "REPLACE",
+                "content-type", contentTypeOf(name));
+        HttpResponse<String> res = send("PUT", objectUri(name, null), headers, HttpRequest.BodyPublishers.noBody(),
+                S3Signer.EMPTY_PAYLOAD_SHA256, HttpResponse.BodyHandlers.ofString());
+        if (res.statusCode() == 404) {
+            knownExisting.remove(name);
+            return false;
+        }
+        // 복사 요청은 200 이어도 본문에 오류가 올 수 있음
+        if (res.statusCode() / 100 != 2 || res.body().contains("<Error>")) {
+            throw new IOException("저장소 CopyObject 실패 (" + res.statusCode() + "): " + name);
+        }
+        return true;
+    }
+
+    @Override
+    public Path localPath(String name) {
+        return null;
+    }
+
+    @Override
+    public void download(String name, Path target) throws IOException {
+        HttpResponse<Path> res = send("GET", objectUri(name, null), Map.of(), HttpRequest.BodyPublishers.noBody(),
+                S3Signer.EMPTY_PAYLOAD_SHA256,
+                HttpResponse.BodyHandlers.ofFile(target, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.WRITE));
+        if (res.statusCode() == 404) {
+            Files.deleteIfExists(target);
+            throw new NoSuchFileException(name);
+        }
+        ensureOk(res, "GET", name);
+    }
+
+    @Override
+    public boolean delete(String name) throws IOException {
+        knownExisting.remove(name);
+        HttpResponse<Void> res = send("DELETE", objectUri(name, null), Map.of(), HttpRequest.BodyPublishers.noBody(),
+                S3Signer.EMPTY_PAYLOAD_SHA256, HttpResponse.BodyHandlers.discarding());
+        if (res.statusCode() == 404) return false;
+        ensureOk(res, "DELETE", name);
+        return true;
+    }
+
+    @Override
+    public Optional<String> downloadUrl(String name) {
+        if (publicBaseUrl != null) {
+            return Optional.of(publicBaseUrl + S3Signer.uriEncode(prefix + name, false));
+        }
+        return Optional.of(signer.presign("GET", objectUri(name, null), Map.of(), presignTtlSeconds, Instant.now()).toString());
+    }
+
+    @Override
+    public Optional<DirectUpload> presignUpload(String name, long size, String sha256Hex, String contentType) {
+        Instant now = Instant.now();
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("content-length", String.valueOf(size));
+        headers.put("x-amz-checksum-sha256", Base64.getEncoder().encodeToString(HexFormat.of().parseHex(sha256Hex)));
+        if (contentType != null && !contentType.isBlank()) {
+            headers.put("content-type", contentType);
+        }
+        URI url = signer.presign("PUT", objectUri(name, null), headers, presignTtlSeconds, now);
+        return Optional.of(new DirectUpload(url.toString(), headers, now.plusSeconds(presignTtlSeconds)));
+    }
+
+    private URI objectUri(String name, String rawQuery) {
+        String uri = endpoint + "/" + bucket + "/" + S3Signer.uriEncode(prefix + name, false);
+        return URI.create(rawQuery == null ? uri : uri + "?" + rawQuery);
+    }
+
+    private <T> HttpResponse<T> send(String method, URI uri, Map<String, String> headers,
+                                     HttpRequest.BodyPublisher body, String payloadHash,
+                                     HttpResponse.BodyHandler<T> handler) throws IOException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri).timeout(timeout).method(method, body);
+        signer.sign(method, uri, headers, payloadHash, Instant.now()).forEach((k, v) -> {
+            // content-length 는 HttpClient 가 본문 길이로 직접 채움 (제한 헤더)
+            if (!"content-length".equals(k)) {
+                builder.header(k, v);
+            }
+        });
+        try {
+            return http.send(builder.build(), handler);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("저장소 요청이 중단되었습니다", e);
+        }
+    }
+
+    /** 파일 이름 확장자로 정한 Content-Type (모르는 확장자는 application/octet-stream) */
+    private static String contentTypeOf(String name) {
+        return MediaTypeFactory.getMediaType(name).orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+    }
+
+    private static void ensureOk(HttpResponse<?> res, String op, String name) throws IOException {
+        if (res.statusCode() / 100 != 2) {
+            throw new IOException("저장소 " + op + " 실패 (" + res.statusCode() + "): " + name);
+        }
+    }
+
+    /** 파일의 [offset, offset + length) 구간만 읽는 스트림 */
+    private static InputStream slice(Path source, long offset, long length) {
+        try {
+            FileChannel channel = FileChannel.open(source, StandardOpenOption.READ).position(offset);
+            return new FilterInputStream(Channels.newInputStream(channel)) {
+                private long remaining = length;
+
+                @Override
+                public int read() throws IOException {
+                    if (remaining <= 0) return -1;
+                    int b = super.read();
+                    if (b >= 0) remaining--;
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] buf, int off, int len) throws IOException {
+                    if (remaining <= 0) return -1;
+                    int n = super.read(buf, off, (int) Math.min(len, remaining));
+                    if (n > 0) remaining -= n;
+                    return n;
+                }
+            };
+        } catch (IOException e) {
+            throw new RuntimeException("파트 읽기 실패: " + source, e);
+        }
+    }
+
+    private static String unescapeXml(String value) {
+        return value.replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"")
+                .replace("&apos;", "'").replace("&amp;", "&");
+    }
+
+    private static String sha256Hex(byte[] payload) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(payload));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.plana.file.storage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 업로드 파일 저장소
+ *
+ * file.storage.mode 로 구현체 선택
+ * - local (기본값): LocalUploadStorage - 앱 서버 디스크 (UploadLayout 2단계 폴더)
+ * - s3: S3UploadStorage - S3 호환 오브젝트 스토리지 (AWS S3, MinIO 등), 여러 서버가 같은 저장소 공유
+ *
+ * 이름은 공개 URL 의 파일명 (/uploads/diary/{name}), 업로드 폴더 밖을 가리킬 수 없는 이름만 사용
+ */
+public interface UploadStorage {
+
+    /**
+     * 저장소에 직접 올리기 위한 서명된 요청 정보
+     *
+     * @param url 업로드 URL (PUT)
+     * @param headers 업로드 요청에 그대로 넣어야 하는 헤더 (서명에 포함됨)
+     * @param expiresAt 서명 만료 시각
+     */
+    record DirectUpload(String url, Map<String, String> headers, Instant expiresAt) {
+    }
+
+    /**
+     * 저장된 파일 정보
+     *
+     * @param lastModified 마지막 저장/touch 시각 (미참조 파일 정리 기준)
+     */
+    record StoredObject(String name, long size, Instant lastModified) {
+    }
+
+    /**
+     * 파일 목록 한 페이지
+     *
+     * @param nextCursor 다음 페이지를 이어서 조회할 커서 (마지막 페이지면 null)
+     */
+    record Listing(List<StoredObject> objects, String nextCursor) {
+    }
+
+    /** 파일이 있는지 */
+    boolean exists(String name) throws IOException;
+
+    /**
+     * 로컬 파일을 name 으로 저장 (성공하면 source 는 삭제/이동됨)
+     * 큰 파일은 구현체가 나눠서 전송
+     */
+    void store(String name, Path source) throws IOException;
+
+    /**
+     * 다시 업로드된 파일로 표시 (미참조 파일 정리 기준 시각 갱신)
+     *
+     * @return 갱신 여부 (그 사이 정리되어 없으면 false → 호출 측에서 다시 저장)
+     */
+    boolean touch(String name) throws IOException;
+
+    /**
+     * 앱 서버 디스크의 파일 경로 (디스크에 없는 저장소거나 파일이 없으면 null)
+     */
+    Path localPath(String name);
+
+    /**
+     * 파일을 로컬 경로로 내려받기 (축소본 생성 등)
+     */
+    void download(String name, Path target) throws IOException;
+
+    /**
+     * 파일 정보 조회 (없으면 null)
+     */
+    StoredObject stat(String name) throws IOException;
+
+    /**
+     * 내용 해시 이름 파일(축소본 포함)을 이름 순으로 나열 (미참조 파일 정리용)
+     * 그 밖의 이름(예전 이름 파일 등)은 구현체에 따라 포함될 수 있으므로 호출 측에서 걸러야 함
+     *
+     * @param startAfter 이 이름 다음부터 (null 이면 처음부터), 이전 페이지의 nextCursor 를 그대로 넘김
+     * @param limit 최대 개수
+     */
+    Listing list(String startAfter, int limit) throws IOException;
+
+    /** 삭제 */
+    boolean delete(String name) throws IOException;
+
+    /**
+     * 클라이언트가 저장소에서 직접 받을 URL (앱 서버가 직접 제공하는 저장소면 empty)
+     */
+    Optional<String> downloadUrl(String name);
+
+    /**
+     * 클라이언트가 저장소로 직접 올릴 서명된 요청 (지원하지 않는 저장소면 empty)
+     * 저장소가 크기와 SHA-256 을 검증하므로 name 이 내용 해시와 일치함이 보장됨
+     *
+     * @param sha256Hex 내용 SHA-256 (16진수)
+     */
+    Optional<DirectUpload> presignUpload(String name, long size, String sha256Hex, String contentType);
+}
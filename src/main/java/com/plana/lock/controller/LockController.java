@@ -19,15 +19,16 @@ public class LockController {
 
     /**
      * 락 획득
-     * - 성공: token 반환
-     * - 실패: 423 LOCKED + 현재 ownerId/TTL 정보 반환
+     * - 성공: token + STOMP 하트비트 주소(heartbeat) 반환
+     *   하트비트를 보내면 락이 WebSocket 세션에 묶여 연결이 끊길 때 바로 해제됨
+     * - 실패: 423 LOCKED + 현재 ownerId/TTL 정보 + 해제/만료 알림 구독 주소(subscribe) 반환
      */
     @PostMapping("/{diaryId}/acquire")
     public ResponseEntity<?> acquire(@PathVariable Long diaryId,
                                      @AuthenticationPrincipal AuthenticatedMemberDto authMember) {
         String token = lockService.tryAcquire(diaryId, authMember.getId());
         if (token == null) {
-            String holder = lockService.currentToken(diaryId); // "ownerId:UUID"
+            String holder = lockService.currentToken(diaryId); // "ownerId:UUID:fence"
             long ttl = lockService.ttl(diaryId);
             Long ownerId = parseOwnerId(holder);
             return ResponseEntity.status(423) // LOCKED
@@ -36,7 +37,8 @@ public class LockController {
                             "acquired", false,
                             "ownerId", ownerId,
                             "ttlSeconds", Math.max(ttl, 0),
-                            "expiresAt", Instant.now().plusSeconds(Math.max(ttl, 0)).toString()
+                            "expiresAt", Instant.now().plusSeconds(Math.max(ttl, 0)).toString(),
+                            "subscribe", LockService.topic(diaryId)
                     ));
         }
         return ResponseEntity.ok(Map.of(
@@ -44,7 +46,8 @@ public class LockController {
                 "token", token,
                 "ownerId", authMember.getId(),
                 "ttlSeconds", lockService.ttlSeconds(),
-                "expiresAt", lockService.expiresAtFromNow().toString()
+                "expiresAt", lockService.expiresAtFromNow().toString(),
+                "heartbeat", "/app/locks/diaries/" + diaryId + "/heartbeat"
         ));
     }
 
@@ -0,0 +1,53 @@
+package com.plana.lock.controller;
+
+import com.plana.lock.service.LockService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Controller;
+
+import java.util.Map;
+
+/**
+ * 다이어리 락 STOMP 하트비트
+ *
+ * 편집 중인 클라이언트가 /app/locks/diaries/{diaryId}/heartbeat 로 X-Lock-Token 헤더를 담아 주기적으로 전송
+ * (lease 보다 짧은 간격, 예: 10초)
+ * - 락을 이 WebSocket 세션에 묶고 lease 만큼 연장
+ * - 세션이 끊기면 WebSocketEventListener 에서 바로 해제
+ * - 연장에 실패하면 (락을 잃었으면) /topic/diaries/{diaryId}/lock 의 만료/해제 알림으로 알 수 있음
+ */
+@Slf4j
+@Controller
+@RequiredArgsConstructor
+public class LockMessageController {
+
+    private final LockService lockService;
+
+    @MessageMapping("/locks/diaries/{diaryId}/heartbeat")
+    public void heartbeat(@DestinationVariable Long diaryId,
+                          @Header(name = "X-Lock-Token", required = false) String token,
+                          SimpMessageHeaderAccessor headerAccessor) {
+        String sessionId = headerAccessor.getSessionId();
+        Long memberId = memberIdOf(headerAccessor);
+
+        // 다른 사용자의 토큰으로 락을 세션에 묶지 못하도록 토큰의 ownerId 와 세션 사용자 비교
+        if (token == null || memberId == null || !token.startsWith(memberId + ":")) {
+            log.warn("잘못된 다이어리 락 하트비트: diaryId={}, sessionId={}", diaryId, sessionId);
+            return;
+        }
+
+        if (!lockService.heartbeat(diaryId, token, sessionId)) {
+            log.debug("다이어리 락 하트비트 실패 (락 없음/만료): diaryId={}, sessionId={}", diaryId, sessionId);
+        }
+    }
+
+    private Long memberIdOf(SimpMessageHeaderAccessor headerAccessor) {
+        Map<String, Object> attributes = headerAccessor.getSessionAttributes();
+        Object memberId = attributes == null ? null : attributes.get("memberId");
+        return memberId instanceof Long id ? id : null;
+    }
+}
@@ -0,0 +1,59 @@
+package com.plana.lock.service;
+
+import com.plana.common.messaging.ClusterMessageBus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 다이어리 락 해제/만료 알림 발송
+ *
+ * 423 을 받은 클라이언트가 acquire 를 반복 호출(polling)하지 않고
+ * /topic/diaries/{diaryId}/lock 을 구독해 두었다가 알림을 받으면 다시 획득을 시도하도록 함
+ * - 어느 노드에 WebSocket 이 붙어 있든 받을 수 있도록 클러스터 메시지 버스로 모든 노드에 전달 후 각 노드의 브로커로 발송
+ */
+@Slf4j
+@Component
+public class LockEventPublisher {
+
+    private static final String CHANNEL = "plana:diary-lock:events";
+
+    public enum LockEvent { RELEASED, EXPIRED }
+
+    private final ClusterMessageBus messageBus;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    public LockEventPublisher(ClusterMessageBus messageBus, SimpMessagingTemplate messagingTemplate) {
+        this.messageBus = messageBus;
+        this.messagingTemplate = messagingTemplate;
+        messageBus.subscribe(CHANNEL, this::onMessage);
+    }
+
+    /**
+     * 락 상태 변경 알림 (모든 노드)
+     */
+    public void publish(Long diaryId, LockEvent event) {
+        try {
+            messageBus.publish(CHANNEL, diaryId + ":" + event.name());
+        } catch (Exception e) {
+            // 알림을 못 받은 클라이언트는 Retry-After 이후 다시 시도
+            log.warn("다이어리 락 알림 전파 실패: diaryId={}, event={}, error={}", diaryId, event, e.getMessage());
+        }
+    }
+
+    private void onMessage(String payload) {
+        int idx = payload.indexOf(':');
+        try {
+            Long diaryId = Long.parseLong(payload.substring(0, idx));
+            LockEvent event = LockEvent.valueOf(payload.substring(idx + 1));
+            messagingTemplate.convertAndSend(LockService.topic(diaryId), Map.of(
+                    "diaryId", diaryId,
+                    "event", event.name()
+            ));
+        } catch (RuntimeException e) {
+            log.warn("잘못된 다이어리 락 알림 메시지: {}", payload);
+        }
+    }
+}
@@ -4,7 +4,7 @@ import java.time.Instant;
 
 public interface LockService {
 
-    /** 락 획득 (성공 시 토큰 반환, 실패 시 null) */
+    /** 락 획득 (성공 시 토큰 반환, 실패 시 null), 토큰 = "ownerId:UUID:펜싱토큰" */
     String tryAcquire(Long diaryId, Long ownerId);
 
     /** 남은 TTL(초). 없으면 0 또는 음수 */
@@ -22,9 +22,40 @@ public interface LockService {
     /** 해제(소유자일 때만) */
     boolean release(Long diaryId, String token);
 
+    /**
+     * WebSocket(STOMP) 세션 하트비트
+     * 락을 세션에 묶고 만료 시간을 짧은 lease 로 갱신 (이후 세션이 끊기면 바로 해제)
+     *
+     * @return 연장 여부 (토큰 소유자가 아니면 false)
+     */
+    boolean heartbeat(Long diaryId, String token, String sessionId);
+
+    /** 세션에 묶인 락 모두 해제 (WebSocket 연결 해제 시) */
+    void releaseSession(String sessionId);
+
     /** TTL 기준 만료 예상 시각 */
     Instant expiresAtFromNow();
 
     /** TTL(기본 설정 값) */
     long ttlSeconds();
+
+    /** 락 해제/만료 알림을 받을 STOMP 구독 주소 */
+    static String topic(Long diaryId) {
+        return "/topic/diaries/" + diaryId + "/lock";
+    }
+
+    /**
+     * 토큰에 담긴 펜싱 토큰 (락을 획득할 때마다 증가하는 값)
+     *
+     * @return 펜싱 토큰, 형식이 맞지 않으면 -1
+     */
+    static long fenceOf(String token) {
+        if (token == null) return -1;
+        int idx = token.lastIndexOf(':');
+        try {
+            return idx > 0 ? Long.parseLong(token.substring(idx + 1)) : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
 }
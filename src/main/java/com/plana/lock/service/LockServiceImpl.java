@@ -1,53 +1,118 @@
 package com.plana.lock.service;
 
-import lombok.RequiredArgsConstructor;
-import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.core.script.DefaultRedisScript;
+import com.plana.common.store.KeyValueStore;
+import com.plana.diary.repository.DiaryRepository;
+import com.plana.lock.service.LockEventPublisher.LockEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.time.Instant;
-import java.util.Collections;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * 다이어리 수정 락
+ *
+ * - 획득/연장/해제는 각각 저장소의 원자적 연산 한 번 (Redis 에서는 Lua 스크립트 하나)
+ *   획득: 비어 있을 때만 펜싱 토큰 증가 + 저장, 연장: 토큰 비교-교체, 해제: 토큰 비교-삭제
+ * - 토큰 끝의 펜싱 토큰은 획득할 때마다 커지므로, 만료된 옛 토큰으로 늦게 도착한 수정은 DiaryServiceImpl 에서 거부
+ *   저장소의 펜싱 카운터가 사라지면(재시작, 축출 등) DB 의 diary.lock_fence 에서 이어서 발급 (1 부터 다시 세면 모든 수정이 거부됨)
+ * - 해제/만료 시 /topic/diaries/{diaryId}/lock 으로 알림 (대기 중인 클라이언트가 polling 하지 않도록)
+ *   만료는 획득/연장한 노드가 만료 시각에 한 번 확인해서 알림
+ * - STOMP 하트비트를 보내는 락은 그 세션에 묶여 짧은 lease(diary.lock.lease-seconds)로만 유지되고,
+ *   세션이 끊기면 바로 해제 (브라우저가 죽어도 5분 동안 막히지 않음)
+ *   노드가 죽어서 해제하지 못한 경우에도 lease 가 지나면 만료
+ *   토큰 → 세션 연결은 저장소(diary:lock:session:{token})에 두므로 다른 노드로 온 REST 연장도 lease 로만 연장하고,
+ *   다른 노드에서 재연결한 세션으로 넘어간 락은 옛 세션이 끊겨도 해제하지 않음
+ *   세션 → 락 목록은 연결 해제 이벤트를 받는 노드(소켓이 붙은 노드)에만 필요하므로 노드 로컬
+ */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class LockServiceImpl implements LockService{
 
-    private final StringRedisTemplate redis;
+    private static final long TTL_SECONDS = 300; // 5분
+    private static final long EXPIRY_CHECK_GRACE_MS = 200;
 
-    // 소유자 일치 시에만 DEL (체크-앤-딜리트)
-    private static final DefaultRedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
-            "if redis.call('get', KEYS[1]) == ARGV[1] then " +
-                    "  return redis.call('del', KEYS[1]) " +
-                    "else return 0 end",
-            Long.class
-    );
+    private final KeyValueStore store;
+    private final LockEventPublisher eventPublisher;
+    private final DiaryRepository diaryRepository;
+    private final Duration lease;
 
-    private static final long TTL_SECONDS = 300; // 5분
+    // 이 노드에 연결된 세션에 묶인 락 (세션 ID -> 다이어리 ID -> 토큰)
+    private final Map<String, Map<Long, String>> sessionLocks = new ConcurrentHashMap<>();
+
+    // 다이어리별 만료 확인 예약 (노드 로컬)
+    private final Map<Long, ScheduledFuture<?>> expiryChecks = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService expiryScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "diary-lock-expiry");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public LockServiceImpl(KeyValueStore store, LockEventPublisher eventPublisher, DiaryRepository diaryRepository,
+                           @Value("${diary.lock.lease-seconds:30}") long leaseSeconds) {
+        this.store = store;
+        this.eventPublisher = eventPublisher;
+        this.diaryRepository = diaryRepository;
+        this.lease = Duration.ofSeconds(Math.max(1, Math.min(leaseSeconds, TTL_SECONDS)));
+    }
 
     private String key(Long diaryId) {
         return "diary:lock:" + diaryId;
     }
 
+    private String fenceKey(Long diaryId) {
+        return "diary:lock:fence:" + diaryId;
+    }
+
+    /** 토큰 → 세션 ID (모든 노드 공유, 락 최대 TTL 동안 유지) */
+    private String sessionKey(String token) {
+        return "diary:lock:session:" + token;
+    }
+
     /** 락 획득 (성공 시 토큰 반환, 실패 시 null) */
     public String tryAcquire(Long diaryId, Long ownerId) {
-        String token = ownerId + ":" + UUID.randomUUID();
-        Boolean ok = redis.opsForValue()
-                .setIfAbsent(key(diaryId), token, Duration.ofSeconds(TTL_SECONDS));
-        return Boolean.TRUE.equals(ok) ? token : null;
+        seedFence(diaryId);
+        String prefix = ownerId + ":" + UUID.randomUUID();
+        long fence = store.acquireWithFence(key(diaryId), fenceKey(diaryId), prefix, Duration.ofSeconds(TTL_SECONDS));
+        if (fence < 0) {
+            return null;
+        }
+        String token = prefix + ":" + fence;
+        scheduleExpiryCheck(diaryId, token, TimeUnit.SECONDS.toMillis(TTL_SECONDS));
+        return token;
+    }
+
+    /**
+     * 펜싱 카운터가 저장소에 없으면 DB 에 기록된 마지막 값으로 채움 (NX - 다른 노드가 먼저 채웠거나 발급했으면 그대로)
+     * 카운터는 만료 없이 저장되므로 평소에는 존재 확인 한 번으로 끝남
+     */
+    private void seedFence(Long diaryId) {
+        String fenceKey = fenceKey(diaryId);
+        if (store.hasKey(fenceKey)) {
+            return;
+        }
+        long persisted = diaryRepository.findLockFence(diaryId).orElse(0L);
+        store.setIfAbsent(fenceKey, String.valueOf(persisted), null);
     }
 
     /** 남은 TTL(초). 없으면 0 또는 음수 */
     public long ttl(Long diaryId) {
-        Long ttl = redis.getExpire(key(diaryId), TimeUnit.SECONDS);
-        return ttl == null ? 0 : ttl;
+        long ttlMs = store.getTtlMillis(key(diaryId));
+        return ttlMs < 0 ? ttlMs : ttlMs / 1000;
     }
 
     /** 현재 홀더 토큰 반환 (없으면 null) */
     public String currentToken(Long diaryId) {
-        return redis.opsForValue().get(key(diaryId));
+        return store.get(key(diaryId));
     }
 
     /** 토큰 소유자 여부 */
@@ -56,16 +121,89 @@ public class LockServiceImpl implements LockService{
         return cur != null && cur.equals(token);
     }
 
-    /** 연장(소유자일 때만) */
+    /** 연장(소유자일 때만) - 같은 토큰으로 비교-교체하며 만료 시간만 갱신 */
     public boolean renew(Long diaryId, String token) {
-        if (!isOwner(diaryId, token)) return false;
-        return Boolean.TRUE.equals(redis.expire(key(diaryId), Duration.ofSeconds(TTL_SECONDS)));
+        Duration ttl = store.hasKey(sessionKey(token)) ? lease : Duration.ofSeconds(TTL_SECONDS);
+        return extend(diaryId, token, ttl);
+    }
+
+    /** 세션 하트비트 - 락을 세션에 묶고 lease 만큼 연장 */
+    public boolean heartbeat(Long diaryId, String token, String sessionId) {
+        if (!extend(diaryId, token, lease)) {
+            unbind(diaryId, token);
+            return false;
+        }
+        // 이미 이 세션에 묶여 있으면 유지 시간만 갱신 (평소 하트비트는 저장소 연산 한 번 추가)
+        Duration bindingTtl = Duration.ofSeconds(TTL_SECONDS);
+        if (!store.compareAndSet(sessionKey(token), sessionId, sessionId, bindingTtl)) {
+            String prev = store.get(sessionKey(token));
+            store.set(sessionKey(token), sessionId, bindingTtl);
+            if (prev != null && !prev.equals(sessionId)) {
+                // 같은 토큰으로 새 세션에서 하트비트 (재연결, 옛 세션이 이 노드에 있었으면 목록에서 제거)
+                removeFromSession(prev, diaryId, token);
+            }
+        }
+        sessionLocks.computeIfAbsent(sessionId, k -> new ConcurrentHashMap<>()).put(diaryId, token);
+        return true;
+    }
+
+    /**
+     * 세션에 묶인 락 모두 해제
+     * - 다른 세션(다른 노드 포함)으로 다시 묶인 락은 연결을 지우지 못하므로 건너뜀
+     * - 이미 다른 사용자에게 넘어간 락은 토큰 비교로 걸러짐
+     */
+    public void releaseSession(String sessionId) {
+        Map<Long, String> locks = sessionLocks.remove(sessionId);
+        if (locks == null) {
+            return;
+        }
+        locks.forEach((diaryId, token) -> {
+            try {
+                if (!store.compareAndDelete(sessionKey(token), sessionId)) {
+                    return;
+                }
+                if (release(diaryId, token)) {
+                    log.info("WebSocket 연결 해제로 다이어리 락 해제: diaryId={}, sessionId={}", diaryId, sessionId);
+                }
+            } catch (Exception e) {
+                // 해제하지 못하면 lease 만료로 풀림
+                log.warn("세션 락 해제 실패: diaryId={}, sessionId={}, error={}", diaryId, sessionId, e.getMessage());
+            }
+        });
     }
 
-    /** 해제(소유자일 때만) */
+    private boolean extend(Long diaryId, String token, Duration ttl) {
+        boolean ok = store.compareAndSet(key(diaryId), token, token, ttl);
+        if (ok) {
+            scheduleExpiryCheck(diaryId, token, ttl.toMillis());
+        }
+        return ok;
+    }
+
+    private void unbind(Long diaryId, String token) {
+        String sessionId = store.get(sessionKey(token));
+        if (sessionId != null) {
+            store.delete(sessionKey(token));
+            removeFromSession(sessionId, diaryId, token);
+        }
+    }
+
+    private void removeFromSession(String sessionId, Long diaryId, String token) {
+        sessionLocks.computeIfPresent(sessionId, (k, locks) -> {
+            locks.remove(diaryId, token);
+            return locks.isEmpty() ? null : locks;
+        });
+    }
+
+    /** 해제(소유자일 때만, 체크-앤-딜리트) */
     public boolean release(Long diaryId, String token) {
-        Long res = redis.execute(UNLOCK_SCRIPT, Collections.singletonList(key(diaryId)), token);
-        return res != null && res == 1L;
+        boolean released = store.compareAndDelete(key(diaryId), token);
+        unbind(diaryId, token);
+        if (released) {
+            cancelExpiryCheck(diaryId);
+            eventPublisher.publish(diaryId, LockEvent.RELEASED);
+        }
+        return released;
     }
 
     public Instant expiresAtFromNow() {
@@ -73,4 +211,51 @@ public class LockServiceImpl implements LockService{
     }
 
     public long ttlSeconds() { return TTL_SECONDS; }
+
+    private void scheduleExpiryCheck(Long diaryId, String token, long delayMs) {
+        ScheduledFuture<?> next = expiryScheduler.schedule(
+                () -> checkExpiry(diaryId, token), delayMs + EXPIRY_CHECK_GRACE_MS, TimeUnit.MILLISECONDS);
+        ScheduledFuture<?> prev = expiryChecks.put(diaryId, next);
+        if (prev != null) {
+            prev.cancel(false);
+        }
+    }
+
+    private void cancelExpiryCheck(Long diaryId) {
+        ScheduledFuture<?> prev = expiryChecks.remove(diaryId);
+        if (prev != null) {
+            prev.cancel(false);
+        }
+    }
+
+    /**
+     * 예약된 만료 시각에 락 상태 확인
+     * - 사라졌으면 만료 알림 (여러 노드가 확인해도 토큰당 한 번만)
+     * - 같은 토큰이 남아 있으면 다른 노드에서 연장된 것이므로 남은 시간 후 다시 확인
+     * - 다른 토큰이면 이미 다른 사용자가 획득, 알림 없음
+     */
+    private void checkExpiry(Long diaryId, String token) {
+        try {
+            String current = store.get(key(diaryId));
+            if (current == null) {
+                expiryChecks.remove(diaryId);
+                unbind(diaryId, token);
+                if (store.setIfAbsent("diary:lock:expired:" + token, "1", Duration.ofMinutes(1))) {
+                    eventPublisher.publish(diaryId, LockEvent.EXPIRED);
+                }
+            } else if (current.equals(token)) {
+                scheduleExpiryCheck(diaryId, token, Math.max(store.getTtlMillis(key(diaryId)), 0));
+            } else {
+                expiryChecks.remove(diaryId);
+                unbind(diaryId, token);
+            }
+        } catch (Exception e) {
+            log.warn("다이어리 락 만료 확인 실패: diaryId={}, error={}", diaryId, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        expiryScheduler.shutdownNow();
+    }
 }
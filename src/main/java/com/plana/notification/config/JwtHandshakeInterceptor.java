@@ -1,7 +1,9 @@
 package com.plana.notification.config;
 
-import com.plana.auth.repository.MemberRepository;
+import com.plana.auth.service.AuthenticatedMemberCache;
 import com.plana.auth.service.JwtTokenProvider;
+import com.plana.auth.service.RefreshTokenService;
+import io.jsonwebtoken.Claims;
 import com.plana.auth.dto.AuthenticatedMemberDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -28,7 +30,8 @@ import java.util.Optional;
 public class JwtHandshakeInterceptor implements HandshakeInterceptor {
 
     private final JwtTokenProvider jwtTokenProvider;
-    private final MemberRepository memberRepository;
+    private final AuthenticatedMemberCache authenticatedMemberCache;
+    private final RefreshTokenService refreshTokenService;
 
     /**
      * WebSocket 핸드셰이크 전에 JWT 토큰을 검증
@@ -56,18 +59,19 @@ public class JwtHandshakeInterceptor implements HandshakeInterceptor {
                 return false; // 연결 거부
             }
 
-            // 토큰 유효성 검증
-            if (!jwtTokenProvider.validateToken(token)) {
+            // 토큰 유효성 검증 (폐기된 패밀리의 토큰 포함)
+            Claims claims = jwtTokenProvider.getValidClaims(token);
+            if (claims == null || refreshTokenService.isRevoked(claims.get("fid", String.class))) {
                 log.debug("WebSocket 연결 시 유효하지 않은 JWT 토큰: {}", request.getURI());
                 return false; // 연결 거부
             }
 
             // 토큰에서 사용자 ID 추출
-            Long memberId = jwtTokenProvider.getMemberIdFromToken(token);
+            Long memberId = Long.parseLong(claims.getSubject());
             log.debug("WebSocket 연결 요청 사용자 ID: {}", memberId);
 
-            // 사용자 정보 조회
-            Optional<AuthenticatedMemberDto> memberOptional = memberRepository.findAuthenticatedMemberById(memberId);
+            // 사용자 정보 조회 (근접 캐시, 미스일 때만 DB 조회)
+            Optional<AuthenticatedMemberDto> memberOptional = authenticatedMemberCache.get(memberId);
 
             if (memberOptional.isEmpty()) {
                 log.warn("WebSocket 연결 시 사용자를 찾을 수 없음: memberId={}", memberId);
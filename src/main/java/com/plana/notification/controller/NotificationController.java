@@ -2,11 +2,11 @@ package com.plana.notification.controller;
 
 import com.plana.auth.dto.AuthenticatedMemberDto;
 import com.plana.notification.dto.response.ApiResponse;
+import com.plana.notification.dto.response.NotificationCursorResponseDto;
 import com.plana.notification.dto.response.NotificationListResponseDto;
 import com.plana.notification.dto.response.NotificationResponseDto;
+import com.plana.notification.service.NotificationRelay;
 import com.plana.notification.service.NotificationService;
-// import com.plana.notification.service.WebSocketSessionManager;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
@@ -34,7 +34,7 @@ import java.util.Map;
 public class NotificationController {
 
     private final NotificationService notificationService;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final NotificationRelay notificationRelay;
 
     /**
      * 알림 목록 조회 API
@@ -75,6 +75,49 @@ public class NotificationController {
         }
     }
 
+    /**
+     * 알림함 커서 조회 API (무한 스크롤용)
+     *
+     * @param cursor 이전 응답의 nextCursor (첫 페이지는 생략)
+     * @param size 페이지 크기 (기본값: 20, 최대 100)
+     * @param unreadOnly 안읽은 알림만 조회 여부 (기본값: false)
+     * @param authMember 인증된 사용자 정보
+     * @return 알림 목록과 다음 페이지 커서
+     */
+    @GetMapping("/inbox")
+    public ResponseEntity<ApiResponse<NotificationCursorResponseDto>> getInbox(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean unreadOnly,
+            @AuthenticationPrincipal AuthenticatedMemberDto authMember) {
+
+        try {
+            if (authMember == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(ApiResponse.error(401, "인증이 필요합니다."));
+            }
+
+            log.info("GET /api/notifications/inbox - memberId: {}, size: {}, unreadOnly: {}",
+                    authMember.getId(), size, unreadOnly);
+
+            int pageSize = Math.min(Math.max(size, 1), 100);
+            NotificationCursorResponseDto notifications = notificationService.getNotificationsByCursor(
+                    authMember.getId(), cursor, pageSize, unreadOnly);
+
+            String message = unreadOnly ? "안읽은 알림 조회 성공" : "알림 목록 조회 성공";
+            return ResponseEntity.ok(ApiResponse.success(message, notifications));
+
+        } catch (IllegalArgumentException e) {
+            log.warn("알림함 조회 실패 - 잘못된 요청: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(400, e.getMessage()));
+        } catch (Exception e) {
+            log.error("알림함 조회 중 오류 발생: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error(500, "알림 목록 조회 중 오류가 발생했습니다."));
+        }
+    }
+
     /**
      * 개별 알림 읽음 처리 API
      *
@@ -168,8 +211,8 @@ public class NotificationController {
             );
 
             // 본인에게 테스트 메시지 발송
-            messagingTemplate.convertAndSendToUser(
-                memberId.toString(),
+            notificationRelay.sendToUser(
+                memberId,
                 "/queue/notifications",
                 testMessage
             );
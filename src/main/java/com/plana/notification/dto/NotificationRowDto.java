@@ -0,0 +1,53 @@
+package com.plana.notification.dto;
+
+import com.plana.calendar.enums.NotifyUnit;
+import com.plana.diary.enums.DiaryType;
+import com.plana.diary.enums.TagStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 알림함 조회용 평탄화(flat) 프로젝션 DTO
+ * 다이어리 태그 → 다이어리 → 작성자, 스케줄 알람 → 스케줄을 한 번의 조인 쿼리로 가져옴
+ * 지연 로딩 연관관계를 따라가지 않으므로 목록 조회 시 N+1 쿼리가 발생하지 않음
+ *
+ * 주의: JPQL 생성자 표현식(new ...)에서 필드 선언 순서대로 인자를 넘기므로 순서 변경 시 Repository 쿼리도 함께 수정
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationRowDto {
+
+    private Long id;
+    private String type;           /* TAG, ALARM */
+    private LocalDateTime time;
+    private Boolean isRead;
+    private LocalDateTime readAt;
+    private LocalDateTime createdAt;
+
+    // TAG 알림 관련 (ALARM 이면 null)
+    private Long diaryId;
+    private LocalDate diaryDate;
+    private DiaryType diaryType;
+    private Long writerId;
+    private String writerName;
+    private Long recipientId;         /* 알림 받는 사용자 (작성자와 같으면 태그 수락/거절 알림) */
+    private TagStatus tagStatus;          /* 알림 생성 시점의 태그 상태 (예전 알림은 현재 태그 상태) */
+    private String taggedMemberName;
+
+    // ALARM 알림 관련 (TAG 이면 null)
+    private Long scheduleId;
+    private String scheduleTitle;
+    private LocalDateTime scheduleStartAt;
+    private LocalDateTime occurrenceAt;    /* 반복 일정이면 해당 회차 시작 시각 */
+    private Integer notifyBeforeVal;
+    private NotifyUnit notifyUnit;
+
+    private String message;               /* 생성 시점에 저장된 문구 (예전 알림은 null → 조회 시 조립) */
+}
@@ -0,0 +1,37 @@
+package com.plana.notification.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 알림함 커서(keyset) 페이징 응답 DTO
+ * 전체 개수/전체 페이지 수 대신 다음 페이지 커서만 내려줌 (COUNT 쿼리 불필요)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class NotificationCursorResponseDto {
+
+    private List<NotificationResponseDto> data;
+
+    /**
+     * 다음 페이지 조회 시 그대로 전달할 커서 (마지막 페이지면 null)
+     */
+    private String nextCursor;
+
+    private boolean hasNext;
+
+    private int size;
+
+    /**
+     * 안읽은 알림 개수 (첫 페이지 요청에서만 포함)
+     */
+    private Long unreadCount;
+}
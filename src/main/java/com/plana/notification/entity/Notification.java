@@ -3,6 +3,7 @@ package com.plana.notification.entity;
 import com.plana.auth.entity.Member;
 import com.plana.calendar.entity.ScheduleAlarm;
 import com.plana.diary.entity.DiaryTag;
+import com.plana.diary.enums.TagStatus;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -23,13 +24,29 @@ import java.time.LocalDateTime;
  * 1. ScheduleAlarm: 일정별로 "5분전", "1시간전" 등 상대적 알림 설정 저장
  * 2. Notification: 실제 알림 발송 시각 계산하여 저장 (일정시작시간 - notifyBeforeVal * notifyUnit)
  * 3. 알림 스케줄러: 이 엔티티의 time 필드 기준으로 실제 알림 발송
+ * 4. 반복 일정: 회차(occurrenceAt)별로 알림을 만들되, 앞으로 K 회차분만 미리 생성하고 발송될 때마다 보충
  * 
  * 통합 설계 이유:
  * - 다이어리 태그 알림과 일정 알림을 하나의 알림함에서 통합 관리
  * - 공통 알림 처리 로직 (읽음/안읽음, 발송시간, 알림 히스토리 등) 통일
  */
 @Entity
-@Table(name = "notification")
+@Table(name = "notification",
+        indexes = {
+                // 알림함 커서(keyset) 페이징용: 안읽은 알림만 조회 시 (member_id, is_read) 범위 내에서 정렬 순서 그대로 스캔
+                @Index(name = "idx_notification_member_read_created", columnList = "member_id, is_read, created_at, id"),
+                // 전체 알림 조회용 (is_read 조건 없이 최신순 스캔)
+                @Index(name = "idx_notification_member_created", columnList = "member_id, created_at, id"),
+                // 보관 주기 정리용: 오래된 읽은 알림을 (created_at, id) 순서로 청크 스캔
+                @Index(name = "idx_notification_read_created", columnList = "is_read, created_at, id")
+        },
+        uniqueConstraints = {
+                // 같은 알람 설정의 같은 회차 알림은 하나만 (여러 노드가 동시에 보충해도 중복 생성 방지)
+                @UniqueConstraint(name = "uk_notification_alarm_occurrence", columnNames = {"schedule_alarm_id", "occurrence_at"}),
+                // 같은 태그의 같은 상태 알림은 수신자별로 하나만 (태그 알림, 수락 알림, 거절 알림은 각각 별개)
+                @UniqueConstraint(name = "uk_notification_tag_member_status", columnNames = {"diary_tag_id", "member_id", "tag_status"})
+        }
+)
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -63,7 +80,20 @@ public class Notification {
     // 실제 알림 발생 시각
     @Column(nullable = false)
     private LocalDateTime time;
+
+    // 일정 알림 대상 회차의 시작 시각 (반복 일정은 회차마다 다름, TAG 알림은 null)
+    @Column(name = "occurrence_at")
+    private LocalDateTime occurrenceAt;
     
+    // 알림 생성 시점의 태그 상태 (태그 알림은 PENDING, 작성자에게 가는 알림은 ACCEPTED/REJECTED, ALARM 알림은 null)
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tag_status", length = 20)
+    private TagStatus tagStatus;
+
+    // 생성 시점에 확정된 알림 문구 (이후 태그 상태가 바뀌어도 알림 내용은 그대로, 예전 알림은 null)
+    @Column(length = 255)
+    private String message;
+
     // 읽음 여부
     @Column(nullable = false)
     private Boolean isRead;
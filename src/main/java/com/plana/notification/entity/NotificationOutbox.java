@@ -0,0 +1,91 @@
+package com.plana.notification.entity;
+
+import com.plana.notification.enums.OutboxEventType;
+import com.plana.notification.enums.OutboxStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 알림 아웃박스 엔티티 (Transactional Outbox)
+ *
+ * 역할:
+ * - 다이어리 태그/일정 알람 등 알림이 필요한 도메인 이벤트를 도메인 쓰기와 같은 트랜잭션에서 기록
+ * - 도메인 쓰기가 커밋되면 이벤트도 반드시 남고, 롤백되면 이벤트도 사라짐 (알림 유실/유령 알림 방지)
+ * - 실제 알림 생성/발송은 NotificationOutboxDispatcher 가 비동기로 처리 → 사용자 요청 지연에서 알림 작업 제외
+ *
+ * 처리 규칙:
+ * - 같은 사용자(memberId)의 이벤트는 id 순서대로 처리 (앞 이벤트가 재시도 대기 중이면 뒤 이벤트도 대기)
+ * - 실패 시 지수 백오프로 재시도, 재시도 불가 오류이거나 최대 횟수 초과 시 FAILED
+ */
+@Entity
+@Table(name = "notification_outbox",
+        indexes = {
+                // 디스패처 폴링용: 대기 중 이벤트를 id 순서로 스캔
+                @Index(name = "idx_outbox_status_id", columnList = "status, id"),
+                // 사용자별 앞선 재시도 대기 이벤트 확인용
+                @Index(name = "idx_outbox_member_status_id", columnList = "member_id, status, id"),
+                // 완료 이벤트 정리용
+                @Index(name = "idx_outbox_status_processed", columnList = "status, processed_at")
+        }
+)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class NotificationOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // 이벤트 유형
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 40)
+    private OutboxEventType eventType;
+
+    // 이벤트 대상 식별자 (diaryTagId, scheduleAlarmId 등)
+    @Column(nullable = false)
+    private Long aggregateId;
+
+    // 알림 받을 사용자 ID (처리 순서 보장 단위)
+    @Column(nullable = false)
+    private Long memberId;
+
+    // 처리 상태
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OutboxStatus status;
+
+    // 시도 횟수
+    @Column(nullable = false)
+    private int attempts;
+
+    // 다음 처리 가능 시각 (재시도 백오프)
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    // 마지막 실패 사유
+    @Column(length = 500)
+    private String lastError;
+
+    // 이벤트 기록 시간
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // 처리 완료(또는 최종 실패) 시간
+    @Column
+    private LocalDateTime processedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+}
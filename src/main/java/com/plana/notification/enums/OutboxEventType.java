@@ -0,0 +1,14 @@
+package com.plana.notification.enums;
+
+/**
+ * 알림 아웃박스 이벤트 유형
+ *
+ * 도메인 쓰기 트랜잭션(다이어리/일정)에서 아웃박스에 기록하고, 디스패처가 비동기로 알림을 생성
+ * - aggregateId: 이벤트 대상 식별자 (유형별 의미는 아래 참고)
+ * - memberId: 알림 받을 사용자 (사용자별 처리 순서 보장 기준)
+ */
+public enum OutboxEventType {
+    DIARY_TAG_CREATED,          // 다이어리에 회원 태그됨 → 태그된 회원에게 알림 (aggregateId: diaryTagId)
+    DIARY_TAG_STATUS_CHANGED,   // 태그 수락/거절 → 다이어리 작성자에게 알림 (aggregateId: diaryTagId)
+    SCHEDULE_ALARM_CREATED      // 일정 알람 설정 생성 → 일정 알림 생성 (aggregateId: scheduleAlarmId)
+}
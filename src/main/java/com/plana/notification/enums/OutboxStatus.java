@@ -0,0 +1,10 @@
+package com.plana.notification.enums;
+
+/**
+ * 알림 아웃박스 처리 상태
+ */
+public enum OutboxStatus {
+    PENDING,    // 처리 대기 (재시도 대기 포함)
+    DONE,       // 처리 완료
+    FAILED      // 재시도 불가 또는 최대 재시도 초과 (수동 확인 필요)
+}
@@ -1,8 +1,11 @@
 package com.plana.notification.listener;
 
+import com.plana.lock.service.LockService;
+import com.plana.notification.service.WebSocketSessionManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.messaging.SessionConnectedEvent;
@@ -17,12 +20,16 @@ import java.util.Map;
  *
  * WebSocket 연결/해제 및 구독/구독해제 이벤트를 처리하여
  * 사용자 세션을 관리하고 로깅
+ * 연결 해제 시 세션에 묶인 다이어리 락도 해제
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class WebSocketEventListener {
 
+    private final WebSocketSessionManager sessionManager;
+    private final LockService lockService;
+
     /**
      * WebSocket 연결 이벤트 처리
      *
@@ -37,7 +44,7 @@ public class WebSocketEventListener {
 
         try {
             // 핸드셰이크 인터셉터에서 설정한 세션 속성에서 사용자 정보 추출
-            Map<String, Object> sessionAttributes = headerAccessor.getSessionAttributes();
+            Map<String, Object> sessionAttributes = sessionAttributesOf(headerAccessor);
 
             log.info("세션 속성 디버깅: sessionId={}, attributes={}", sessionId, sessionAttributes);
 
@@ -45,6 +52,9 @@ public class WebSocketEventListener {
                 Long memberId = (Long) sessionAttributes.get("memberId");
                 String memberEmail = (String) sessionAttributes.get("memberEmail");
 
+                // 현재 노드의 세션으로 등록 (알림 중계 시 로컬 전달 대상 판단에 사용)
+                sessionManager.register(memberId, sessionId);
+
                 log.info("WebSocket 연결 성공: memberId={}, email={}, sessionId={}",
                         memberId, memberEmail, sessionId);
             } else {
@@ -56,6 +66,21 @@ public class WebSocketEventListener {
         }
     }
 
+    /**
+     * 연결 완료(CONNECT_ACK) 메시지에는 세션 속성이 없으므로, 함께 실려 오는 클라이언트 CONNECT 메시지에서 꺼냄
+     */
+    private static Map<String, Object> sessionAttributesOf(SimpMessageHeaderAccessor headerAccessor) {
+        Map<String, Object> attributes = headerAccessor.getSessionAttributes();
+        if (attributes != null) {
+            return attributes;
+        }
+        Object connect = headerAccessor.getHeader(SimpMessageHeaderAccessor.CONNECT_MESSAGE_HEADER);
+        if (connect instanceof Message<?> connectMessage) {
+            return SimpMessageHeaderAccessor.getSessionAttributes(connectMessage.getHeaders());
+        }
+        return null;
+    }
+
     /**
      * WebSocket 연결 해제 이벤트 처리
      *
@@ -69,11 +94,19 @@ public class WebSocketEventListener {
         log.info("WebSocket 연결 해제됨: sessionId={}", sessionId);
 
         try {
-            log.debug("WebSocket 연결 해제 처리 완료: sessionId={}", sessionId);
+            Long memberId = sessionManager.unregister(sessionId);
+            log.debug("WebSocket 연결 해제 처리 완료: memberId={}, sessionId={}", memberId, sessionId);
 
         } catch (Exception e) {
             log.error("WebSocket 연결 해제 처리 중 오류 발생: sessionId={}, error={}", sessionId, e.getMessage(), e);
         }
+
+        // 편집 중이던 다이어리 락 해제 (실패해도 lease 만료로 풀림)
+        try {
+            lockService.releaseSession(sessionId);
+        } catch (Exception e) {
+            log.error("WebSocket 연결 해제 시 락 해제 중 오류 발생: sessionId={}, error={}", sessionId, e.getMessage(), e);
+        }
     }
 
     /**
@@ -0,0 +1,40 @@
+package com.plana.notification.repository;
+
+import com.plana.notification.entity.NotificationOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 알림 아웃박스 Repository
+ */
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    /**
+     * 지금 처리할 수 있는 대기 이벤트를 기록 순서대로 조회
+     * - 재시도 대기 중(nextAttemptAt > now)인 이벤트는 제외 → 백오프 중인 이벤트가 batch 를 채워 다른 사용자 이벤트가 밀리지 않음
+     * - 같은 사용자의 앞선 이벤트가 재시도 대기 중이면 그 사용자의 이후 이벤트도 제외 (사용자별 순서 보장)
+     */
+    @Query("SELECT o FROM NotificationOutbox o " +
+            "WHERE o.status = com.plana.notification.enums.OutboxStatus.PENDING AND o.nextAttemptAt <= :now " +
+            "AND NOT EXISTS (SELECT p.id FROM NotificationOutbox p " +
+            "  WHERE p.memberId = o.memberId AND p.status = com.plana.notification.enums.OutboxStatus.PENDING " +
+            "  AND p.id < o.id AND p.nextAttemptAt > :now) " +
+            "ORDER BY o.id ASC")
+    List<NotificationOutbox> findPendingBatch(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * 처리 완료된 지 오래된 이벤트 정리
+     */
+    @Modifying
+    @Query(value = "DELETE FROM notification_outbox WHERE status = 'DONE' AND processed_at < :before LIMIT :limit",
+            nativeQuery = true)
+    int deleteProcessedBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+}
@@ -1,5 +1,7 @@
 package com.plana.notification.repository;
 
+import com.plana.diary.enums.TagStatus;
+import com.plana.notification.dto.NotificationRowDto;
 import com.plana.notification.entity.Notification;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -11,6 +13,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * 알림 Repository
@@ -18,17 +21,68 @@ import java.util.List;
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
+    /**
+     * 알림함 목록 조회용 프로젝션 (SELECT ~ JOIN 절 공통)
+     * 연관 엔티티를 LEFT JOIN 으로 한 번에 가져와 NotificationRowDto 로 바로 변환 (N+1 방지)
+     */
+    String INBOX_ROW_SELECT = "SELECT new com.plana.notification.dto.NotificationRowDto(" +
+            "n.id, n.type, n.time, n.isRead, n.readAt, n.createdAt, " +
+            "d.id, d.diaryDate, d.type, w.id, w.name, n.member.id, COALESCE(n.tagStatus, dt.tagStatus), tm.name, " +
+            "s.id, s.title, s.startAt, n.occurrenceAt, sa.notifyBeforeVal, sa.notifyUnit, n.message) " +
+            "FROM Notification n " +
+            "LEFT JOIN n.diaryTag dt LEFT JOIN dt.diary d LEFT JOIN d.writer w LEFT JOIN dt.member tm " +
+            "LEFT JOIN n.scheduleAlarm sa LEFT JOIN sa.schedule s ";
+
     /**
      * 특정 사용자의 알림 목록 조회 (페이징)
      */
-    @Query("SELECT n FROM Notification n WHERE n.member.id = :memberId ORDER BY n.createdAt DESC")
-    Page<Notification> findByMemberIdOrderByCreatedAtDesc(@Param("memberId") Long memberId, Pageable pageable);
+    @Query(value = INBOX_ROW_SELECT + "WHERE n.member.id = :memberId ORDER BY n.createdAt DESC, n.id DESC",
+            countQuery = "SELECT COUNT(n) FROM Notification n WHERE n.member.id = :memberId")
+    Page<NotificationRowDto> findByMemberIdOrderByCreatedAtDesc(@Param("memberId") Long memberId, Pageable pageable);
 
     /**
      * 특정 사용자의 안읽은 알림만 조회 (페이징)
      */
-    @Query("SELECT n FROM Notification n WHERE n.member.id = :memberId AND n.isRead = false ORDER BY n.createdAt DESC")
-    Page<Notification> findByMemberIdAndIsReadFalseOrderByCreatedAtDesc(@Param("memberId") Long memberId, Pageable pageable);
+    @Query(value = INBOX_ROW_SELECT + "WHERE n.member.id = :memberId AND n.isRead = false ORDER BY n.createdAt DESC, n.id DESC",
+            countQuery = "SELECT COUNT(n) FROM Notification n WHERE n.member.id = :memberId AND n.isRead = false")
+    Page<NotificationRowDto> findByMemberIdAndIsReadFalseOrderByCreatedAtDesc(@Param("memberId") Long memberId, Pageable pageable);
+
+    /**
+     * 알림함 커서 조회 - 첫 페이지 (COUNT 쿼리 없음)
+     * pageable 은 LIMIT 용도로만 사용 (항상 0페이지, size + 1 개 조회로 다음 페이지 존재 여부 판단)
+     */
+    @Query(INBOX_ROW_SELECT + "WHERE n.member.id = :memberId ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationRowDto> findInboxFirstPage(@Param("memberId") Long memberId, Pageable pageable);
+
+    /**
+     * 알림함 커서 조회 - 커서 (createdAt, id) 이후 페이지
+     * idx_notification_member_created 인덱스를 타고 커서 위치부터 바로 스캔하므로 페이지 깊이와 무관하게 비용이 일정함
+     */
+    @Query(INBOX_ROW_SELECT + "WHERE n.member.id = :memberId " +
+            "AND (n.createdAt < :cursorCreatedAt OR (n.createdAt = :cursorCreatedAt AND n.id < :cursorId)) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationRowDto> findInboxAfterCursor(@Param("memberId") Long memberId,
+                                                  @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                                  @Param("cursorId") Long cursorId,
+                                                  Pageable pageable);
+
+    /**
+     * 안읽은 알림함 커서 조회 - 첫 페이지
+     */
+    @Query(INBOX_ROW_SELECT + "WHERE n.member.id = :memberId AND n.isRead = false " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationRowDto> findUnreadInboxFirstPage(@Param("memberId") Long memberId, Pageable pageable);
+
+    /**
+     * 안읽은 알림함 커서 조회 - 커서 이후 페이지 (idx_notification_member_read_created 사용)
+     */
+    @Query(INBOX_ROW_SELECT + "WHERE n.member.id = :memberId AND n.isRead = false " +
+            "AND (n.createdAt < :cursorCreatedAt OR (n.createdAt = :cursorCreatedAt AND n.id < :cursorId)) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationRowDto> findUnreadInboxAfterCursor(@Param("memberId") Long memberId,
+                                                        @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                                        @Param("cursorId") Long cursorId,
+                                                        Pageable pageable);
 
     /**
      * 특정 사용자의 안읽은 알림 개수 조회
@@ -56,12 +110,49 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     @Query("SELECT COUNT(n) > 0 FROM Notification n WHERE n.diaryTag.id = :diaryTagId")
     boolean existsByDiaryTagId(@Param("diaryTagId") Long diaryTagId);
 
+    /**
+     * 특정 다이어리 태그에 대해 특정 사용자에게 보낸 같은 상태의 알림 조회
+     * (태그 알림, 수락 알림, 거절 알림을 구분 - 수락 후 거절로 바꾸면 거절 알림은 새로 생성)
+     */
+    @Query("SELECT n FROM Notification n WHERE n.diaryTag.id = :diaryTagId AND n.member.id = :memberId AND n.tagStatus = :tagStatus")
+    Optional<Notification> findByDiaryTagIdAndMemberIdAndTagStatus(@Param("diaryTagId") Long diaryTagId,
+                                                                   @Param("memberId") Long memberId,
+                                                                   @Param("tagStatus") TagStatus tagStatus);
+
     /**
      * 특정 스케줄 알람에 대한 알림 존재 여부 확인
      */
     @Query("SELECT COUNT(n) > 0 FROM Notification n WHERE n.scheduleAlarm.id = :scheduleAlarmId")
     boolean existsByScheduleAlarmId(@Param("scheduleAlarmId") Long scheduleAlarmId);
 
+    /**
+     * 특정 스케줄 알람의 특정 회차 알림 (uk_notification_alarm_occurrence 로 최대 1개)
+     */
+    @Query("SELECT n FROM Notification n WHERE n.scheduleAlarm.id = :scheduleAlarmId AND n.occurrenceAt = :occurrenceAt")
+    Optional<Notification> findByScheduleAlarmIdAndOccurrenceAt(@Param("scheduleAlarmId") Long scheduleAlarmId,
+                                                                @Param("occurrenceAt") LocalDateTime occurrenceAt);
+
+    /**
+     * 특정 스케줄 알람에 대해 지금까지 생성된 마지막 회차 시각 (반복 일정 알림 보충 기준점)
+     */
+    @Query("SELECT MAX(n.occurrenceAt) FROM Notification n WHERE n.scheduleAlarm.id = :scheduleAlarmId")
+    LocalDateTime findLatestOccurrenceAt(@Param("scheduleAlarmId") Long scheduleAlarmId);
+
+    /**
+     * 특정 스케줄 알람의 아직 울리지 않은(미래) 알림 개수
+     */
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.scheduleAlarm.id = :scheduleAlarmId " +
+            "AND n.isSent = false AND n.time > :now")
+    long countUpcomingByScheduleAlarmId(@Param("scheduleAlarmId") Long scheduleAlarmId, @Param("now") LocalDateTime now);
+
+    /**
+     * 특정 일정의 미발송 알림 전부 삭제 (일정 시간/반복 규칙/알람 설정 변경 또는 일정 삭제 시)
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("DELETE FROM Notification n WHERE n.isSent = false AND n.scheduleAlarm.id IN " +
+            "(SELECT sa.id FROM ScheduleAlarm sa WHERE sa.schedule.id = :scheduleId)")
+    int deleteUnsentByScheduleId(@Param("scheduleId") Long scheduleId);
+
     /**
      * 특정 다이어리 ID와 연결된 알림 전부 삭제
      */
@@ -0,0 +1,236 @@
+package com.plana.notification.scheduler;
+
+import com.plana.common.store.KeyValueStore;
+import com.plana.notification.entity.NotificationOutbox;
+import com.plana.notification.enums.OutboxStatus;
+import com.plana.notification.repository.NotificationOutboxRepository;
+import com.plana.notification.service.NotificationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 알림 아웃박스 디스패처
+ *
+ * notification_outbox 에 기록된 이벤트를 일정 주기로 묶어서 꺼내 실제 알림을 생성/발송
+ * - 이벤트마다 별도 트랜잭션: 알림 생성과 DONE 처리가 함께 커밋됨
+ * - 사용자별 순서 보장: 같은 사용자의 앞선 이벤트가 실패/재시도 대기 중이면 뒤 이벤트는 이번 주기에 처리하지 않음
+ *   (재시도 대기 중인 이벤트와 그 뒤 이벤트는 조회 단계에서 제외 → 다른 사용자의 이벤트를 막지 않음)
+ * - 재시도: 지수 백오프 (1초, 2초, 4초 ... 최대 max-backoff), max-attempts 초과 시 FAILED
+ * - IllegalArgumentException (대상 없음 등)은 재시도해도 같은 결과이므로 즉시 FAILED (중복 알림은 예외 없이 기존 알림 반환)
+ * - 여러 노드 중 한 노드만 디스패치하도록 Redis 키로 실행권 확보
+ */
+@Slf4j
+@Component
+public class NotificationOutboxDispatcher {
+
+    private static final String RUN_LOCK_KEY = "notification:outbox:lock";
+    private static final Duration RUN_LOCK_TTL = Duration.ofSeconds(60);
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationService notificationService;
+    private final KeyValueStore store;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long maxBackoffSeconds;
+
+    private final Counter processedCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+
+    public NotificationOutboxDispatcher(NotificationOutboxRepository outboxRepository,
+                                        NotificationService notificationService,
+                                        KeyValueStore store,
+                                        PlatformTransactionManager transactionManager,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${notification.outbox.batch-size:100}") int batchSize,
+                                        @Value("${notification.outbox.max-attempts:10}") int maxAttempts,
+                                        @Value("${notification.outbox.max-backoff-seconds:600}") long maxBackoffSeconds) {
+        this.outboxRepository = outboxRepository;
+        this.notificationService = notificationService;
+        this.store = store;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setTimeout(30);
+        this.batchSize = Math.max(batchSize, 1);
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.maxBackoffSeconds = Math.max(maxBackoffSeconds, 1);
+
+        this.processedCounter = Counter.builder("plana.notification.outbox.processed")
+                .description("처리 완료된 아웃박스 이벤트 수").register(meterRegistry);
+        this.retriedCounter = Counter.builder("plana.notification.outbox.retried")
+                .description("재시도 예약된 아웃박스 이벤트 수").register(meterRegistry);
+        this.failedCounter = Counter.builder("plana.notification.outbox.failed")
+                .description("최종 실패 처리된 아웃박스 이벤트 수").register(meterRegistry);
+    }
+
+    /**
+     * 대기 중인 아웃박스 이벤트 처리
+     */
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-ms:500}")
+    public void dispatch() {
+        // 값은 이번 주기만의 소유자 토큰 → TTL 이 지나 다른 노드가 잡은 실행권을 해제/연장하지 않음
+        String runToken = UUID.randomUUID().toString();
+        boolean acquired;
+        try {
+            acquired = store.setIfAbsent(RUN_LOCK_KEY, runToken, RUN_LOCK_TTL);
+        } catch (Exception e) {
+            log.warn("아웃박스 디스패치 실행권 확보 실패: {}", e.getMessage());
+            return;
+        }
+        if (!acquired) {
+            return; // 다른 노드가 처리 중
+        }
+
+        try {
+            List<NotificationOutbox> batch = outboxRepository.findPendingBatch(LocalDateTime.now(), PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            Set<Long> blockedMembers = new HashSet<>();
+            long renewedAt = System.nanoTime();
+
+            for (NotificationOutbox event : batch) {
+                if (blockedMembers.contains(event.getMemberId())) {
+                    continue;
+                }
+                // TTL 절반이 지나면 실행권 연장, 이미 다른 노드로 넘어갔으면 남은 이벤트는 그 노드에 맡김
+                if (System.nanoTime() - renewedAt > RUN_LOCK_TTL.toNanos() / 2) {
+                    if (!store.compareAndSet(RUN_LOCK_KEY, runToken, runToken, RUN_LOCK_TTL)) {
+                        log.warn("아웃박스 디스패치 실행권을 잃어 이번 배치 중단");
+                        return;
+                    }
+                    renewedAt = System.nanoTime();
+                }
+                // 이번 주기에 재시도 대기로 바뀌면 같은 사용자의 이후 이벤트도 보류 (순서 보장)
+                if (!process(event)) {
+                    blockedMembers.add(event.getMemberId());
+                }
+            }
+
+        } catch (Exception e) {
+            log.error("아웃박스 디스패치 중 오류 발생: {}", e.getMessage(), e);
+        } finally {
+            store.compareAndDelete(RUN_LOCK_KEY, runToken);
+        }
+    }
+
+    /**
+     * 완료된 지 하루 지난 아웃박스 이벤트 정리 (매시 정각)
+     */
+    @Scheduled(cron = "0 0 * * * ?")
+    public void cleanupProcessed() {
+        try {
+            LocalDateTime before = LocalDateTime.now().minusDays(1);
+            int total = 0;
+            int deleted;
+            do {
+                deleted = transactionTemplate.execute(status -> outboxRepository.deleteProcessedBefore(before, 1000));
+                total += deleted;
+            } while (deleted == 1000);
+
+            if (total > 0) {
+                log.info("처리 완료된 아웃박스 이벤트 {}개 정리", total);
+            }
+        } catch (Exception e) {
+            log.error("아웃박스 정리 중 오류 발생: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 이벤트 하나 처리
+     *
+     * @return 성공(또는 최종 실패로 더 이상 순서를 막지 않음) 여부
+     */
+    private boolean process(NotificationOutbox event) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                handle(event);
+                event.setStatus(OutboxStatus.DONE);
+                event.setAttempts(event.getAttempts() + 1);
+                event.setProcessedAt(LocalDateTime.now());
+                outboxRepository.save(event);
+            });
+            processedCounter.increment();
+            return true;
+
+        } catch (Exception e) {
+            return recordFailure(event, e);
+        }
+    }
+
+    /**
+     * 이벤트 유형별 알림 생성
+     */
+    private void handle(NotificationOutbox event) {
+        switch (event.getEventType()) {
+            case DIARY_TAG_CREATED, DIARY_TAG_STATUS_CHANGED ->
+                    notificationService.createDiaryTagNotification(event.getAggregateId(), event.getMemberId(), null);
+            case SCHEDULE_ALARM_CREATED ->
+                    notificationService.createScheduleNotification(event.getAggregateId(), event.getMemberId(), null);
+        }
+    }
+
+    /**
+     * 실패 기록 (별도 트랜잭션)
+     *
+     * @return 최종 실패 처리되어 이후 이벤트를 막지 않아도 되면 true, 재시도 대기면 false
+     */
+    private boolean recordFailure(NotificationOutbox event, Exception e) {
+        int attempts = event.getAttempts() + 1;
+        boolean retryable = !(e instanceof IllegalArgumentException);
+        boolean giveUp = !retryable || attempts >= maxAttempts;
+
+        String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        if (error.length() > 500) {
+            error = error.substring(0, 500);
+        }
+
+        try {
+            String lastError = error;
+            transactionTemplate.executeWithoutResult(status ->
+                    outboxRepository.findById(event.getId()).ifPresent(saved -> {
+                        saved.setAttempts(attempts);
+                        saved.setLastError(lastError);
+                        if (giveUp) {
+                            saved.setStatus(OutboxStatus.FAILED);
+                            saved.setProcessedAt(LocalDateTime.now());
+                        } else {
+                            long backoff = Math.min(1L << Math.min(attempts - 1, 30), maxBackoffSeconds);
+                            saved.setNextAttemptAt(LocalDateTime.now().plusSeconds(backoff));
+                        }
+                        outboxRepository.save(saved);
+                    }));
+        } catch (Exception ex) {
+            log.error("아웃박스 실패 기록 중 오류: outboxId={}, error={}", event.getId(), ex.getMessage(), ex);
+            return false;
+        }
+
+        if (giveUp) {
+            failedCounter.increment();
+            log.warn("아웃박스 이벤트 최종 실패: outboxId={}, type={}, attempts={}, error={}",
+                    event.getId(), event.getEventType(), attempts, error);
+            return true;
+        }
+
+        retriedCounter.increment();
+        log.info("아웃박스 이벤트 재시도 예약: outboxId={}, type={}, attempts={}, error={}",
+                event.getId(), event.getEventType(), attempts, error);
+        return false;
+    }
+}
@@ -2,15 +2,21 @@ package com.plana.notification.scheduler;
 
 import com.plana.notification.entity.Notification;
 import com.plana.notification.repository.NotificationRepository;
+import com.plana.notification.service.NotificationRetentionService;
 import com.plana.notification.service.NotificationService;
+import com.plana.notification.service.RecurringAlarmGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * 알림 스케줄러
@@ -19,6 +25,7 @@ import java.util.List;
  * - 1분마다 실행되어 발송 시간이 된 알림들을 처리
  * - 스케줄 알림(ALARM 타입)이고 isSent = false인 알림만 대상
  * - 발송 후 isRead는 사용자가 확인할 때까지 false 유지
+ * - 반복 일정 알림은 발송 후 다음 회차 알림을 보충 (RecurringAlarmGenerator)
  */
 @Slf4j
 @Component
@@ -27,6 +34,8 @@ public class NotificationScheduler {
 
     private final NotificationRepository notificationRepository;
     private final NotificationService notificationService;
+    private final RecurringAlarmGenerator recurringAlarmGenerator;
+    private final NotificationRetentionService notificationRetentionService;
 
     /**
      * 예정된 스케줄 알림 처리
@@ -53,6 +62,7 @@ public class NotificationScheduler {
 
             int successCount = 0;
             int failCount = 0;
+            Set<Long> firedAlarmIds = new LinkedHashSet<>();
 
             for (Notification notification : dueNotifications) {
                 try {
@@ -60,6 +70,10 @@ public class NotificationScheduler {
                     notificationService.sendRealTimeNotification(notification);
                     successCount++;
 
+                    if (notification.getScheduleAlarm() != null) {
+                        firedAlarmIds.add(notification.getScheduleAlarm().getId());
+                    }
+
                 } catch (Exception e) {
                     log.error("알림 발송 실패: notificationId={}, error={}",
                             notification.getId(), e.getMessage(), e);
@@ -71,31 +85,52 @@ public class NotificationScheduler {
 
             log.info("알림 처리 완료: 성공={}개, 실패={}개", successCount, failCount);
 
+            // 발송 결과가 커밋된 뒤 반복 일정의 다음 회차 알림 보충
+            if (!firedAlarmIds.isEmpty()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        topUpRecurringAlarms(firedAlarmIds);
+                    }
+                });
+            }
+
         } catch (Exception e) {
             log.error("스케줄러 실행 중 오류 발생: {}", e.getMessage(), e);
         }
     }
 
     /**
-     * 만료된 알림 정리 (선택사항)
+     * 반복 일정 알림 보충 - 알람별로 별도 트랜잭션이므로 한 알람의 실패가 다른 알람에 영향을 주지 않음
+     */
+    private void topUpRecurringAlarms(Set<Long> scheduleAlarmIds) {
+        int generated = 0;
+        for (Long scheduleAlarmId : scheduleAlarmIds) {
+            try {
+                generated += recurringAlarmGenerator.topUp(scheduleAlarmId);
+            } catch (Exception e) {
+                // 다른 노드가 먼저 보충한 경우(유니크 제약 위반) 포함, 다음 발송 시 다시 시도됨
+                log.warn("반복 일정 알림 보충 실패: scheduleAlarmId={}, error={}", scheduleAlarmId, e.getMessage());
+            }
+        }
+        if (generated > 0) {
+            log.info("반복 일정 알림 {}개 보충", generated);
+        }
+    }
+
+    /**
+     * 만료된 알림 정리
      *
      * 매일 자정에 실행되어 오래된 알림들을 정리
-     * - 30일 이전의 읽은 알림들을 삭제하여 DB 용량 관리
+     * - 보관 기간(notification.retention.max-age-days)이 지난 읽은 알림을 청크 단위로 삭제/아카이브
+     * - 청크마다 짧은 트랜잭션으로 처리하므로 이 메서드 자체는 트랜잭션을 잡지 않음
      */
     @Scheduled(cron = "0 0 0 * * ?") // 매일 자정 실행
-    @Transactional(timeout = 60)
     public void cleanupOldNotifications() {
         try {
-            LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
-
-            // 30일 이전의 읽은 알림들 삭제 (향후 구현)
-            // int deletedCount = notificationRepository.deleteOldReadNotifications(thirtyDaysAgo);
-            // log.info("오래된 알림 {}개 정리 완료", deletedCount);
-
-            log.info("오래된 알림 정리 작업 실행 (구현 예정)");
-
+            notificationRetentionService.purge();
         } catch (Exception e) {
             log.error("알림 정리 작업 중 오류 발생: {}", e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,38 @@
+package com.plana.notification.service;
+
+import com.plana.common.messaging.ClusterMessageBus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 단일 노드용 중계 구현체 - 현재 노드의 Simple Broker 로 바로 전달
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "notification.relay.mode", havingValue = "local", matchIfMissing = true)
+public class LocalNotificationRelay implements NotificationRelay {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final Counter deliveredCounter;
+
+    public LocalNotificationRelay(SimpMessagingTemplate messagingTemplate,
+                                  ClusterMessageBus messageBus,
+                                  MeterRegistry meterRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.deliveredCounter = Counter.builder("plana.notification.relay.delivered")
+                .description("현재 노드에서 WebSocket 으로 전달한 사용자 메시지 수")
+                .tag("mode", "local")
+                .tag("node", messageBus.nodeId())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void sendToUser(Long memberId, String destination, Object payload) {
+        messagingTemplate.convertAndSendToUser(memberId.toString(), destination, payload);
+        deliveredCounter.increment();
+    }
+}
@@ -0,0 +1,209 @@
+package com.plana.notification.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자별 실시간 알림 묶음(coalescing) 발송기
+ *
+ * 한 사용자에게 짧은 시간에 알림이 몰리면 (여러 다이어리에 연속 태그, 같은 분에 울리는 알람 등)
+ * 알림마다 STOMP 프레임을 보내지 않고 잠시 모았다가 한 번에 보냄
+ * - window-ms: 마지막 알림 이후 이 시간 동안 추가 알림이 없으면 발송
+ * - max-delay-ms: 첫 알림 이후 최대 대기 시간 (알림이 계속 들어와도 이 시간이 지나면 발송)
+ * - max-batch: 한 묶음 최대 개수 (버퍼가 차면 즉시 발송)
+ *
+ * 발송 형식:
+ * - 1건이면 기존과 동일하게 알림 객체 그대로 발송 (클라이언트 호환)
+ * - 2건 이상이면 {type: "BATCH", count, items, time} 형태로 한 프레임에 발송
+ *
+ * window-ms=0 이면 묶지 않고 즉시 발송
+ */
+@Slf4j
+@Component
+public class NotificationCoalescer {
+
+    private static final String DESTINATION = "/queue/notifications";
+
+    private final NotificationRelay notificationRelay;
+    private final long windowMs;
+    private final long maxDelayMs;
+    private final int maxBatch;
+
+    private final Map<Long, Buffer> buffers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    private final Counter itemCounter;
+    private final Counter frameCounter;
+
+    public NotificationCoalescer(NotificationRelay notificationRelay,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${notification.coalesce.window-ms:500}") long windowMs,
+                                 @Value("${notification.coalesce.max-delay-ms:2000}") long maxDelayMs,
+                                 @Value("${notification.coalesce.max-batch:50}") int maxBatch) {
+        this.notificationRelay = notificationRelay;
+        this.windowMs = windowMs;
+        this.maxDelayMs = Math.max(maxDelayMs, windowMs);
+        this.maxBatch = Math.max(maxBatch, 1);
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "notification-coalescer");
+            t.setDaemon(true);
+            return t;
+        });
+
+        this.itemCounter = Counter.builder("plana.notification.coalesce.items")
+                .description("묶음 발송기에 들어온 알림 수")
+                .register(meterRegistry);
+        this.frameCounter = Counter.builder("plana.notification.coalesce.frames")
+                .description("실제로 발송된 STOMP 프레임 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 알림 발송 요청 (묶음 대기열에 추가)
+     *
+     * @param memberId 수신자 ID
+     * @param payload 알림 페이로드
+     */
+    public void enqueue(Long memberId, Object payload) {
+        itemCounter.increment();
+
+        if (windowMs <= 0) {
+            send(memberId, List.of(payload));
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+
+        // compute 안에서 버퍼 생성/추가/가득 참 판단을 원자적으로 처리 (check/drain 과의 경합 방지)
+        // [0]: 가득 차서 떼어낸 항목, [1]: 새로 만든 버퍼 여부
+        Object[] result = new Object[2];
+        buffers.compute(memberId, (id, buffer) -> {
+            if (buffer == null) {
+                buffer = new Buffer(now);
+                result[1] = Boolean.TRUE;
+            }
+            buffer.items.add(payload);
+            buffer.lastAt = now;
+
+            if (buffer.items.size() >= maxBatch) {
+                result[0] = buffer.items;
+                return null; // 맵에서 제거 → 이후 알림은 새 버퍼로 모임
+            }
+            return buffer;
+        });
+
+        if (result[0] != null) {
+            @SuppressWarnings("unchecked")
+            List<Object> full = (List<Object>) result[0];
+            send(memberId, full);
+        } else if (result[1] != null) {
+            scheduleCheck(memberId, windowMs);
+        }
+    }
+
+    /**
+     * 버퍼 발송 시점 확인 - 아직 대기 중이면 다음 확인을 다시 예약
+     */
+    private void check(Long memberId) {
+        Buffer buffer = buffers.get(memberId);
+        if (buffer == null) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        long quietDeadline = buffer.lastAt + windowMs;
+        long hardDeadline = buffer.firstAt + maxDelayMs;
+        long due = Math.min(quietDeadline, hardDeadline);
+
+        if (now >= due) {
+            // 확인 시점의 버퍼만 제거 (그 사이 새로 생긴 버퍼는 자체 예약으로 처리됨)
+            if (buffers.remove(memberId, buffer) && !buffer.items.isEmpty()) {
+                send(memberId, buffer.items);
+            }
+        } else {
+            scheduleCheck(memberId, due - now);
+        }
+    }
+
+    private void scheduleCheck(Long memberId, long delayMs) {
+        try {
+            scheduler.schedule(() -> check(memberId), delayMs, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            // 종료 중이면 바로 발송
+            List<Object> items = drain(memberId);
+            if (items != null) {
+                send(memberId, items);
+            }
+        }
+    }
+
+    /**
+     * 버퍼를 맵에서 떼어내고 항목 반환 (이후 들어오는 알림은 새 버퍼로 모임)
+     */
+    private List<Object> drain(Long memberId) {
+        Buffer buffer = buffers.remove(memberId);
+        return buffer == null || buffer.items.isEmpty() ? null : buffer.items;
+    }
+
+    private void send(Long memberId, List<Object> items) {
+        try {
+            if (items.size() == 1) {
+                notificationRelay.sendToUser(memberId, DESTINATION, items.get(0));
+            } else {
+                Map<String, Object> batch = new LinkedHashMap<>();
+                batch.put("type", "BATCH");
+                batch.put("count", items.size());
+                batch.put("items", items);
+                batch.put("time", LocalDateTime.now().toString());
+                notificationRelay.sendToUser(memberId, DESTINATION, batch);
+            }
+            frameCounter.increment();
+
+            log.debug("알림 묶음 발송: memberId={}, count={}", memberId, items.size());
+
+        } catch (Exception e) {
+            log.error("알림 묶음 발송 실패: memberId={}, count={}, error={}",
+                    memberId, items.size(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 종료 시 대기 중인 알림 모두 발송
+     */
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        for (Long memberId : List.copyOf(buffers.keySet())) {
+            List<Object> items = drain(memberId);
+            if (items != null) {
+                send(memberId, items);
+            }
+        }
+    }
+
+    private static final class Buffer {
+        private final long firstAt;
+        private volatile long lastAt;
+        private final List<Object> items = new ArrayList<>();
+
+        private Buffer(long firstAt) {
+            this.firstAt = firstAt;
+            this.lastAt = firstAt;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.plana.notification.service;
+
+import com.plana.notification.entity.NotificationOutbox;
+import com.plana.notification.enums.OutboxEventType;
+import com.plana.notification.enums.OutboxStatus;
+import com.plana.notification.repository.NotificationOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 알림 아웃박스 기록 서비스
+ *
+ * 도메인 서비스(다이어리/일정)는 NotificationService 를 직접 호출하지 않고 이 서비스로 이벤트만 기록
+ * 반드시 호출자의 쓰기 트랜잭션 안에서 호출되어야 함 (MANDATORY) → 도메인 데이터와 이벤트가 함께 커밋/롤백
+ */
+@Service
+@RequiredArgsConstructor
+public class NotificationOutboxService {
+
+    private final NotificationOutboxRepository outboxRepository;
+
+    /**
+     * 알림 이벤트 기록
+     *
+     * @param eventType 이벤트 유형
+     * @param aggregateId 이벤트 대상 식별자 (diaryTagId, scheduleAlarmId 등)
+     * @param memberId 알림 받을 사용자 ID
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(OutboxEventType eventType, Long aggregateId, Long memberId) {
+        outboxRepository.save(NotificationOutbox.builder()
+                .eventType(eventType)
+                .aggregateId(aggregateId)
+                .memberId(memberId)
+                .status(OutboxStatus.PENDING)
+                .attempts(0)
+                .build());
+    }
+}
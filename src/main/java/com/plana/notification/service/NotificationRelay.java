@@ -0,0 +1,23 @@
+package com.plana.notification.service;
+
+/**
+ * 사용자 대상 실시간 메시지 중계 인터페이스
+ *
+ * 알림을 만든 노드와 사용자의 WebSocket 세션이 붙어 있는 노드가 다를 수 있으므로
+ * 사용자 대상 메시지는 SimpMessagingTemplate 으로 직접 보내지 않고 반드시 이 인터페이스를 거침
+ * - local: 단일 노드 운영용, 현재 노드의 브로커로 바로 전달 (기본값)
+ * - redis: 다중 노드 운영용, Redis Pub/Sub 으로 모든 노드에 중계 후 세션을 가진 노드만 전달
+ *
+ * 설정: notification.relay.mode=local|redis
+ */
+public interface NotificationRelay {
+
+    /**
+     * 특정 사용자에게 메시지 전달
+     *
+     * @param memberId 수신자 ID
+     * @param destination 사용자 목적지 (예: /queue/notifications)
+     * @param payload 메시지 페이로드 (JSON 직렬화 가능 객체)
+     */
+    void sendToUser(Long memberId, String destination, Object payload);
+}
@@ -0,0 +1,289 @@
+package com.plana.notification.service;
+
+import com.plana.common.store.KeyValueStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 알림 보관 주기(retention) 처리
+ *
+ * 읽은 지 오래된 알림을 작은 청크 단위로 삭제(또는 월별 아카이브 테이블로 이동)하여 알림 테이블 크기를 일정하게 유지
+ * - 청크마다 별도 트랜잭션 → 한 번에 긴 락을 잡지 않음
+ * - (created_at, id) keyset 순서로 진행 → 오래된 것부터, 이미 본 구간은 다시 스캔하지 않음
+ * - 청크 사이에 잠시 쉬어 운영 트래픽(알림함 조회, 알림 발송 스캔)에 양보
+ * - 1회 실행당 최대 청크 수 제한, 남은 분량은 다음 실행에서 처리 (lag 메트릭으로 확인)
+ * - 여러 노드가 동시에 돌지 않도록 공유 저장소(Redis) 키로 실행권 확보
+ *
+ * 아카이브 모드: notification_archive_yyyyMM (created_at 기준 월) 테이블에 복사 후 삭제
+ * - 복사는 notification 의 현재 컬럼 목록을 명시 (SELECT * 는 컬럼이 추가된 뒤 옛 월 테이블과 어긋남)
+ * - 옛 월 테이블에 없는 컬럼은 복사 전에 추가 (nullable)
+ * - 삭제는 아카이브 테이블에 실제로 들어간 id 만
+ */
+@Slf4j
+@Service
+public class NotificationRetentionService {
+
+    private static final String RUN_LOCK_KEY = "notification:retention:lock";
+    private static final Duration RUN_LOCK_TTL = Duration.ofHours(1);
+    private static final DateTimeFormatter ARCHIVE_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final KeyValueStore store;
+
+    private final boolean enabled;
+    private final int maxAgeDays;
+    private final int chunkSize;
+    private final long pauseMs;
+    private final int maxChunksPerRun;
+    private final boolean archive;
+
+    private final Counter deletedCounter;
+    private final Counter archivedCounter;
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    public NotificationRetentionService(JdbcTemplate jdbcTemplate,
+                                        PlatformTransactionManager transactionManager,
+                                        KeyValueStore store,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${notification.retention.enabled:true}") boolean enabled,
+                                        @Value("${notification.retention.max-age-days:30}") int maxAgeDays,
+                                        @Value("${notification.retention.chunk-size:500}") int chunkSize,
+                                        @Value("${notification.retention.pause-ms:200}") long pauseMs,
+                                        @Value("${notification.retention.max-chunks-per-run:200}") int maxChunksPerRun,
+                                        @Value("${notification.retention.archive:false}") boolean archive) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setTimeout(30);
+        this.store = store;
+        this.enabled = enabled;
+        this.maxAgeDays = maxAgeDays;
+        this.chunkSize = Math.max(chunkSize, 1);
+        this.pauseMs = Math.max(pauseMs, 0);
+        this.maxChunksPerRun = Math.max(maxChunksPerRun, 1);
+        this.archive = archive;
+
+        this.deletedCounter = Counter.builder("plana.notification.retention.purged")
+                .description("보관 주기가 지나 정리된 알림 수")
+                .tag("action", "deleted")
+                .register(meterRegistry);
+        this.archivedCounter = Counter.builder("plana.notification.retention.purged")
+                .description("보관 주기가 지나 정리된 알림 수")
+                .tag("action", "archived")
+                .register(meterRegistry);
+        Gauge.builder("plana.notification.retention.lag.seconds", lagSeconds, AtomicLong::get)
+                .description("정리 대상 중 가장 오래된 알림이 보관 기준 시각보다 앞선 정도 (0 이면 밀린 작업 없음)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 보관 주기가 지난 읽은 알림 정리
+     *
+     * @return 이번 실행에서 정리된 알림 수
+     */
+    public int purge() {
+        if (!enabled) {
+            return 0;
+        }
+
+        // 다른 노드가 실행 중이면 건너뜀 (최대 실행 시간보다 넉넉한 TTL)
+        // 값은 이번 실행만의 소유자 토큰 → TTL 이 지나 다른 노드가 잡은 실행권을 해제/연장하지 않음
+        String runToken = UUID.randomUUID().toString();
+        if (!store.setIfAbsent(RUN_LOCK_KEY, runToken, RUN_LOCK_TTL)) {
+            log.info("다른 노드에서 알림 정리 작업 실행 중 - 건너뜀");
+            return 0;
+        }
+
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(maxAgeDays);
+            int total = runChunks(cutoff, runToken);
+            updateLag(cutoff);
+            log.info("알림 정리 완료: {}개 {} (기준: {} 이전 읽은 알림)",
+                    total, archive ? "아카이브" : "삭제", cutoff);
+            return total;
+        } finally {
+            store.compareAndDelete(RUN_LOCK_KEY, runToken);
+        }
+    }
+
+    private int runChunks(LocalDateTime cutoff, String runToken) {
+        Timestamp cursorCreatedAt = new Timestamp(0);
+        long cursorId = 0L;
+        int total = 0;
+        // 아카이브 테이블 → 복사할 컬럼 목록 (이번 실행 동안 확인을 마친 테이블)
+        Map<String, String> archiveColumns = new HashMap<>();
+
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            // 청크마다 실행권 연장, 이미 만료되어 다른 노드가 가져갔으면 여기서 멈춤 (남은 분량은 그 노드가 처리)
+            if (chunk > 0 && !store.compareAndSet(RUN_LOCK_KEY, runToken, runToken, RUN_LOCK_TTL)) {
+                log.warn("알림 정리 실행권을 잃어 중단: {}개 청크 처리 후", chunk);
+                break;
+            }
+
+            List<Row> rows = jdbcTemplate.query(
+                    "SELECT id, created_at FROM notification " +
+                    "WHERE is_read = true AND created_at < ? " +
+                    "AND (created_at > ? OR (created_at = ? AND id > ?)) " +
+                    "ORDER BY created_at, id LIMIT ?",
+                    (rs, i) -> new Row(rs.getLong("id"), rs.getTimestamp("created_at")),
+                    Timestamp.valueOf(cutoff), cursorCreatedAt, cursorCreatedAt, cursorId, chunkSize);
+
+            if (rows.isEmpty()) {
+                break;
+            }
+
+            if (archive) {
+                // DDL 은 MySQL 에서 암묵적 커밋을 일으키므로 청크 트랜잭션 밖에서 미리 준비
+                rows.stream().map(NotificationRetentionService::archiveTable).distinct()
+                        .forEach(table -> archiveColumns.computeIfAbsent(table, this::prepareArchiveTable));
+            }
+
+            Integer purged = transactionTemplate.execute(status -> purgeChunk(rows, archiveColumns));
+            total += purged == null ? 0 : purged;
+
+            Row last = rows.get(rows.size() - 1);
+            cursorCreatedAt = last.createdAt();
+            cursorId = last.id();
+
+            if (rows.size() < chunkSize || !pause()) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * 월별 아카이브 테이블 준비 (DDL 이므로 청크 트랜잭션 밖에서 호출)
+     * 없으면 notification 과 같은 구조로 만들고, 있으면 그 뒤 notification 에 추가된 컬럼을 채워 넣음
+     *
+     * @return 복사에 쓸 컬럼 목록 (notification 의 현재 컬럼, 따옴표 처리됨)
+     */
+    private String prepareArchiveTable(String table) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + table + " LIKE notification");
+
+        Map<String, String> source = columnTypes("notification");
+        Map<String, String> target = columnTypes(table);
+        source.forEach((column, type) -> {
+            if (!target.containsKey(column)) {
+                // 이미 보관된 행에는 값이 없으므로 NULL 허용으로 추가
+                jdbcTemplate.execute("ALTER TABLE " + table + " ADD COLUMN `" + column + "` " + type + " NULL");
+                log.info("아카이브 테이블 {} 에 컬럼 추가: {}", table, column);
+            }
+        });
+
+        return source.keySet().stream().map(column -> "`" + column + "`").collect(Collectors.joining(", "));
+    }
+
+    /**
+     * 테이블 컬럼 이름 → 타입 (정의 순서)
+     */
+    private Map<String, String> columnTypes(String table) {
+        Map<String, String> columns = new LinkedHashMap<>();
+        jdbcTemplate.query(
+                "SELECT column_name, column_type FROM information_schema.columns " +
+                "WHERE table_schema = DATABASE() AND table_name = ? ORDER BY ordinal_position",
+                rs -> {
+                    columns.put(rs.getString(1), rs.getString(2));
+                },
+                table);
+        return columns;
+    }
+
+    /**
+     * 청크 하나 처리 (하나의 짧은 트랜잭션)
+     */
+    private int purgeChunk(List<Row> rows, Map<String, String> archiveColumns) {
+        if (!archive) {
+            List<Long> ids = rows.stream().map(Row::id).toList();
+            int deleted = jdbcTemplate.update(
+                    "DELETE FROM notification WHERE id IN (" + placeholders(ids.size()) + ")", ids.toArray());
+            deletedCounter.increment(deleted);
+            return deleted;
+        }
+
+        // created_at 기준 월별 아카이브 테이블로 복사
+        Map<String, List<Long>> idsByMonth = rows.stream().collect(Collectors.groupingBy(
+                NotificationRetentionService::archiveTable,
+                TreeMap::new,
+                Collectors.mapping(Row::id, Collectors.toList())));
+
+        int deleted = 0;
+        for (Map.Entry<String, List<Long>> entry : idsByMonth.entrySet()) {
+            String table = entry.getKey();
+            Object[] ids = entry.getValue().toArray();
+            String columns = archiveColumns.get(table);
+
+            // 이전 실행에서 이미 복사된 id 는 그대로 둠 (id 는 notification 의 PK 라 같은 행)
+            jdbcTemplate.update("INSERT INTO " + table + " (" + columns + ") SELECT " + columns +
+                    " FROM notification WHERE id IN (" + placeholders(ids.length) + ")" +
+                    " ON DUPLICATE KEY UPDATE id = id", ids);
+
+            // 아카이브에 있는 것이 확인된 id 만 삭제
+            deleted += jdbcTemplate.update("DELETE n FROM notification n JOIN " + table + " a ON a.id = n.id " +
+                    "WHERE n.id IN (" + placeholders(ids.length) + ")", ids);
+        }
+
+        archivedCounter.increment(deleted);
+        return deleted;
+    }
+
+    /**
+     * 남은 정리 대상 중 가장 오래된 알림 기준 지연 시간 갱신
+     */
+    private void updateLag(LocalDateTime cutoff) {
+        Timestamp oldest = jdbcTemplate.queryForObject(
+                "SELECT MIN(created_at) FROM notification WHERE is_read = true AND created_at < ?",
+                Timestamp.class, Timestamp.valueOf(cutoff));
+        lagSeconds.set(oldest == null ? 0 : Duration.between(oldest.toLocalDateTime(), cutoff).getSeconds());
+    }
+
+    /**
+     * 청크 사이 휴식
+     *
+     * @return 계속 진행 여부 (종료 중 인터럽트되면 false)
+     */
+    private boolean pause() {
+        if (pauseMs == 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static String archiveTable(Row row) {
+        return "notification_archive_" + row.createdAt().toLocalDateTime().format(ARCHIVE_SUFFIX);
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    private record Row(long id, Timestamp createdAt) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.plana.notification.service;
 
+import com.plana.notification.dto.response.NotificationCursorResponseDto;
 import com.plana.notification.dto.response.NotificationListResponseDto;
 import com.plana.notification.dto.response.NotificationResponseDto;
 import com.plana.notification.entity.Notification;
@@ -20,6 +21,18 @@ public interface NotificationService {
      */
     NotificationListResponseDto getNotifications(Long memberId, Pageable pageable, boolean unreadOnly);
 
+    /**
+     * 사용자의 알림함 커서(keyset) 조회
+     * (createdAt, id) 커서 기준으로 이어서 조회하므로 페이지 깊이와 무관하게 비용이 일정하고 COUNT 쿼리가 없음
+     *
+     * @param memberId 사용자 ID
+     * @param cursor 이전 응답의 nextCursor (첫 페이지는 null)
+     * @param size 페이지 크기
+     * @param unreadOnly 안읽은 알림만 조회할지 여부
+     * @return 알림 목록과 다음 페이지 커서
+     */
+    NotificationCursorResponseDto getNotificationsByCursor(Long memberId, String cursor, int size, boolean unreadOnly);
+
     /**
      * 개별 알림 읽음 처리
      *
@@ -39,24 +52,36 @@ public interface NotificationService {
 
     /**
      * 다이어리 태그 알림 생성
+     * 태그 상태와 문구는 생성 시점 기준으로 저장하고, 같은 (태그, 수신자, 상태) 알림이 이미 있으면 새로 만들지 않음
      *
      * @param diaryTagId 다이어리 태그 ID
      * @param targetMemberId 알림을 받을 사용자 ID
-     * @param message 알림 메시지
-     * @return 생성된 알림 정보
+     * @param message 알림 메시지 (null 이면 태그 상태로 조립)
+     * @return 생성된 알림 정보 (중복이면 기존 알림 정보)
      */
     NotificationResponseDto createDiaryTagNotification(Long diaryTagId, Long targetMemberId, String message);
 
     /**
      * 스케줄 알림 생성
+     * 반복 일정이면 앞으로 K 회차분의 알림을 생성하고 첫 회차 알림 정보를 반환
+     * 이미 있는 회차 알림은 다시 만들지 않음 (기존 알림 반환), 이미 시작한 일정은 만들지 않음
      *
      * @param scheduleAlarmId 스케줄 알람 ID
      * @param targetMemberId 알림을 받을 사용자 ID
      * @param message 알림 메시지
-     * @return 생성된 알림 정보
+     * @return 생성된 알림 정보 (이미 시작한 일정이거나, 반복 일정의 예정 회차가 이미 모두 있으면 null)
      */
     NotificationResponseDto createScheduleNotification(Long scheduleAlarmId, Long targetMemberId, String message);
 
+    /**
+     * 일정의 미발송 알림 삭제
+     * 일정 시간/반복 규칙/알람 설정이 바뀌거나 일정이 삭제될 때 호출 (이미 발송된 알림은 알림함에 유지)
+     *
+     * @param scheduleId 일정 ID
+     * @return 삭제된 알림 개수
+     */
+    int clearPendingScheduleNotifications(Long scheduleId);
+
     /**
      * 실시간 알림 발송 (WebSocket)
      *
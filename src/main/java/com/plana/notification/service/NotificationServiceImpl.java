@@ -4,8 +4,12 @@ import com.plana.auth.entity.Member;
 import com.plana.auth.repository.MemberRepository;
 import com.plana.calendar.entity.ScheduleAlarm;
 import com.plana.calendar.repository.ScheduleAlarmRepository;
+import com.plana.diary.entity.Diary;
+import com.plana.diary.enums.TagStatus;
 import com.plana.diary.entity.DiaryTag;
 import com.plana.diary.repository.DiaryTagRepository;
+import com.plana.notification.dto.NotificationRowDto;
+import com.plana.notification.dto.response.NotificationCursorResponseDto;
 import com.plana.notification.dto.response.NotificationListResponseDto;
 import com.plana.notification.dto.response.NotificationResponseDto;
 import com.plana.notification.entity.Notification;
@@ -13,15 +17,18 @@ import com.plana.notification.repository.NotificationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * 알림 서비스 구현체
@@ -35,12 +42,13 @@ public class NotificationServiceImpl implements NotificationService {
     private final MemberRepository memberRepository;
     private final DiaryTagRepository diaryTagRepository;
     private final ScheduleAlarmRepository scheduleAlarmRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final NotificationCoalescer notificationCoalescer;
+    private final RecurringAlarmGenerator recurringAlarmGenerator;
 
     @Override
     @Transactional(readOnly = true)
     public NotificationListResponseDto getNotifications(Long memberId, Pageable pageable, boolean unreadOnly) {
-        Page<Notification> notificationPage;
+        Page<NotificationRowDto> notificationPage;
 
         if (unreadOnly) {
             notificationPage = notificationRepository.findByMemberIdAndIsReadFalseOrderByCreatedAtDesc(memberId, pageable);
@@ -49,7 +57,7 @@ public class NotificationServiceImpl implements NotificationService {
         }
 
         List<NotificationResponseDto> notifications = notificationPage.getContent().stream()
-                .map(this::convertToResponseDto)
+                .map(this::toResponseDto)
                 .toList();
 
         long unreadCount = notificationRepository.countByMemberIdAndIsReadFalse(memberId);
@@ -68,6 +76,51 @@ public class NotificationServiceImpl implements NotificationService {
                 .build();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public NotificationCursorResponseDto getNotificationsByCursor(Long memberId, String cursor, int size, boolean unreadOnly) {
+        // size + 1 개를 조회해서 다음 페이지 존재 여부 판단 (COUNT 쿼리 없음)
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<NotificationRowDto> rows;
+
+        if (cursor == null || cursor.isBlank()) {
+            rows = unreadOnly
+                    ? notificationRepository.findUnreadInboxFirstPage(memberId, limit)
+                    : notificationRepository.findInboxFirstPage(memberId, limit);
+        } else {
+            InboxCursor decoded = decodeCursor(cursor);
+            rows = unreadOnly
+                    ? notificationRepository.findUnreadInboxAfterCursor(memberId, decoded.createdAt(), decoded.id(), limit)
+                    : notificationRepository.findInboxAfterCursor(memberId, decoded.createdAt(), decoded.id(), limit);
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<NotificationRowDto> page = hasNext ? rows.subList(0, size) : rows;
+
+        List<NotificationResponseDto> notifications = page.stream()
+                .map(this::toResponseDto)
+                .toList();
+
+        String nextCursor = null;
+        if (hasNext) {
+            NotificationRowDto last = page.get(page.size() - 1);
+            nextCursor = encodeCursor(last.getCreatedAt(), last.getId());
+        }
+
+        // 안읽은 개수는 첫 페이지에서만 계산 (스크롤 중에는 재계산하지 않음)
+        Long unreadCount = (cursor == null || cursor.isBlank())
+                ? notificationRepository.countByMemberIdAndIsReadFalse(memberId)
+                : null;
+
+        return NotificationCursorResponseDto.builder()
+                .data(notifications)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .size(notifications.size())
+                .unreadCount(unreadCount)
+                .build();
+    }
+
     @Override
     @Transactional
     public NotificationResponseDto markAsRead(Long notificationId, Long memberId) {
@@ -102,15 +155,29 @@ public class NotificationServiceImpl implements NotificationService {
         Member targetMember = memberRepository.findById(targetMemberId)
                 .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
 
-        // 중복 알림 방지
-        if (notificationRepository.existsByDiaryTagId(diaryTagId)) {
-            throw new IllegalArgumentException("이미 해당 다이어리 태그에 대한 알림이 존재합니다.");
+        // 작성자에게 가는 알림이면 지금의 수락/거절 상태, 태그된 사용자에게 가는 알림이면 태그(PENDING) 알림
+        Diary diary = diaryTag.getDiary();
+        boolean toWriter = diary.getWriter() != null && diary.getWriter().getId().equals(targetMemberId);
+        TagStatus tagStatus = toWriter ? diaryTag.getTagStatus() : TagStatus.PENDING;
+
+        // 중복 알림 방지 (수신자 + 상태 기준): 같은 이벤트가 다시 처리되어도 예외 없이 기존 알림을 그대로 반환
+        Optional<Notification> existing =
+                notificationRepository.findByDiaryTagIdAndMemberIdAndTagStatus(diaryTagId, targetMemberId, tagStatus);
+        if (existing.isPresent()) {
+            return convertToResponseDto(existing.get());
+        }
+
+        if (message == null) {
+            message = tagMessage(diary.getWriter() != null ? diary.getWriter().getName() : null,
+                    diaryTag.getMember() != null ? diaryTag.getMember().getName() : null, toWriter, tagStatus);
         }
 
         Notification notification = Notification.builder()
                 .diaryTag(diaryTag)
                 .member(targetMember)
                 .type("TAG")
+                .tagStatus(tagStatus)
+                .message(message)
                 .time(LocalDateTime.now())
                 .isRead(false)
                 .isSent(false)
@@ -133,6 +200,39 @@ public class NotificationServiceImpl implements NotificationService {
         Member targetMember = memberRepository.findById(targetMemberId)
                 .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
 
+        // 아웃박스 처리 전에 일정이 삭제된 경우
+        if (Boolean.TRUE.equals(scheduleAlarm.getSchedule().getIsDeleted())) {
+            throw new IllegalArgumentException("삭제된 일정입니다.");
+        }
+
+        // 반복 일정: 회차별 알림을 앞으로 K 개까지만 생성 (이후는 발송될 때마다 스케줄러가 보충)
+        if (recurringAlarmGenerator.isActiveRecurring(scheduleAlarm.getSchedule())) {
+            List<Notification> created = recurringAlarmGenerator.fill(scheduleAlarm, targetMember);
+            if (created.isEmpty()) {
+                // 예정 회차가 이미 채워져 있음 (같은 이벤트 재전달, 스케줄러 topUp 이 먼저 채움 등) - 정상 처리
+                return null;
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            for (Notification notification : created) {
+                if (!notification.getTime().isAfter(now)) {
+                    sendRealTimeNotification(notification);
+                }
+            }
+            return convertToResponseDto(created.get(0));
+        }
+
+        // 이미 시작한 일정이거나 이미 만들어진(발송된) 회차는 다시 만들지 않음
+        // (일정 수정으로 알림을 다시 만들 때 지난 알림 재발송/유니크 제약 충돌 방지)
+        LocalDateTime occurrenceAt = scheduleAlarm.getSchedule().getStartAt();
+        if (occurrenceAt.isBefore(LocalDateTime.now())) {
+            return null;
+        }
+        Optional<Notification> existing = notificationRepository.findByScheduleAlarmIdAndOccurrenceAt(scheduleAlarmId, occurrenceAt);
+        if (existing.isPresent()) {
+            return convertToResponseDto(existing.get());
+        }
+
         // 알림 시각 계산
         LocalDateTime notifyTime = calculateNotifyTime(scheduleAlarm);
 
@@ -141,6 +241,7 @@ public class NotificationServiceImpl implements NotificationService {
                 .member(targetMember)
                 .type("ALARM")
                 .time(notifyTime)
+                .occurrenceAt(occurrenceAt)
                 .isRead(false)
                 .isSent(false)
                 .build();
@@ -155,6 +256,12 @@ public class NotificationServiceImpl implements NotificationService {
         return convertToResponseDto(savedNotification);
     }
 
+    @Override
+    @Transactional
+    public int clearPendingScheduleNotifications(Long scheduleId) {
+        return notificationRepository.deleteUnsentByScheduleId(scheduleId);
+    }
+
     @Override
     public void sendRealTimeNotification(Notification notification) {
         Long memberId = notification.getMember().getId();
@@ -162,12 +269,9 @@ public class NotificationServiceImpl implements NotificationService {
         try {
             NotificationResponseDto responseDto = convertToResponseDto(notification);
 
-            // STOMP 표준 방식으로 메시지 발송
-            messagingTemplate.convertAndSendToUser(
-                memberId.toString(),           // Principal name (STOMP_USER_NAME)
-                "/queue/notifications",        // 목적지
-                responseDto                    // 메시지 페이로드
-            );
+            // 사용자별 묶음 발송기를 거쳐 중계기로 발송
+            // (짧은 시간에 몰린 알림은 한 프레임으로 묶이고, 다중 노드 환경에서는 사용자 세션이 있는 노드가 전달)
+            notificationCoalescer.enqueue(memberId, responseDto);
 
             log.info("실시간 알림 발송 완료: memberId={}, notificationId={}",
                     memberId, notification.getId());
@@ -193,60 +297,142 @@ public class NotificationServiceImpl implements NotificationService {
 
     /**
      * Notification 엔티티를 ResponseDto로 변환
+     * 단건 처리용 (연관 엔티티를 지연 로딩으로 따라감) - 목록 조회는 Repository 프로젝션을 사용할 것
      */
     private NotificationResponseDto convertToResponseDto(Notification notification) {
-        Map<String, Object> relatedData = new HashMap<>();
-        String message = "";
+        NotificationRowDto.NotificationRowDtoBuilder row = NotificationRowDto.builder()
+                .id(notification.getId())
+                .type(notification.getType())
+                .time(notification.getTime())
+                .isRead(notification.getIsRead())
+                .readAt(notification.getReadAt())
+                .createdAt(notification.getCreatedAt());
 
         if ("TAG".equals(notification.getType()) && notification.getDiaryTag() != null) {
-            DiaryTag diaryTag = notification.getDiaryTag();
-            relatedData.put("diaryId", diaryTag.getDiary().getId());
-            relatedData.put("diaryDate", diaryTag.getDiary().getDiaryDate());
-            relatedData.put("diaryType", diaryTag.getDiary().getType());
-
-            if (diaryTag.getDiary().getWriter() != null) {
-                relatedData.put("writerName", diaryTag.getDiary().getWriter().getName());
-                relatedData.put("writerId", diaryTag.getDiary().getWriter().getId());
-                message = String.format("%s님이 다이어리에 회원님을 태그했습니다",
-                        diaryTag.getDiary().getWriter().getName());
+            Diary diary = notification.getDiaryTag().getDiary();
+            row.diaryId(diary.getId())
+                    .diaryDate(diary.getDiaryDate())
+                    .diaryType(diary.getType());
+
+            if (diary.getWriter() != null) {
+                row.writerId(diary.getWriter().getId())
+                        .writerName(diary.getWriter().getName());
+            }
+            row.recipientId(notification.getMember().getId())
+                    .tagStatus(notification.getTagStatus() != null
+                            ? notification.getTagStatus() : notification.getDiaryTag().getTagStatus())
+                    .message(notification.getMessage());
+            if (notification.getDiaryTag().getMember() != null) {
+                row.taggedMemberName(notification.getDiaryTag().getMember().getName());
             }
 
         } else if ("ALARM".equals(notification.getType()) && notification.getScheduleAlarm() != null) {
             ScheduleAlarm scheduleAlarm = notification.getScheduleAlarm();
-            relatedData.put("scheduleId", scheduleAlarm.getSchedule().getId());
-            relatedData.put("scheduleTitle", scheduleAlarm.getSchedule().getTitle());
-            relatedData.put("startAt", scheduleAlarm.getSchedule().getStartAt());
+            row.scheduleId(scheduleAlarm.getSchedule().getId())
+                    .scheduleTitle(scheduleAlarm.getSchedule().getTitle())
+                    .scheduleStartAt(scheduleAlarm.getSchedule().getStartAt())
+                    .occurrenceAt(notification.getOccurrenceAt())
+                    .notifyBeforeVal(scheduleAlarm.getNotifyBeforeVal())
+                    .notifyUnit(scheduleAlarm.getNotifyUnit());
+        }
+
+        return toResponseDto(row.build());
+    }
+
+    /**
+     * 평탄화된 알림 행을 ResponseDto로 변환 (추가 쿼리 없음)
+     */
+    private NotificationResponseDto toResponseDto(NotificationRowDto row) {
+        Map<String, Object> relatedData = new HashMap<>();
+        String message = "";
+
+        if ("TAG".equals(row.getType()) && row.getDiaryId() != null) {
+            relatedData.put("diaryId", row.getDiaryId());
+            relatedData.put("diaryDate", row.getDiaryDate());
+            relatedData.put("diaryType", row.getDiaryType());
+
+            if (row.getWriterId() != null) {
+                relatedData.put("writerName", row.getWriterName());
+                relatedData.put("writerId", row.getWriterId());
+            }
+
+            // 작성자에게 온 알림이면 태그 수락/거절 알림
+            boolean toWriter = row.getRecipientId() != null && row.getRecipientId().equals(row.getWriterId());
+            if (toWriter && (row.getTagStatus() == TagStatus.ACCEPTED || row.getTagStatus() == TagStatus.REJECTED)) {
+                relatedData.put("tagStatus", row.getTagStatus());
+            }
+
+            // 생성 시점에 저장된 문구 우선 (저장된 문구가 없는 예전 알림만 조회 시점 상태로 조립)
+            message = row.getMessage() != null ? row.getMessage()
+                    : tagMessage(row.getWriterName(), row.getTaggedMemberName(), toWriter, row.getTagStatus());
+
+        } else if ("ALARM".equals(row.getType()) && row.getScheduleId() != null) {
+            relatedData.put("scheduleId", row.getScheduleId());
+            relatedData.put("scheduleTitle", row.getScheduleTitle());
+            // 반복 일정은 원본 시작 시각이 아닌 해당 회차 시작 시각
+            relatedData.put("startAt", row.getOccurrenceAt() != null ? row.getOccurrenceAt() : row.getScheduleStartAt());
 
             message = String.format("%d%s 후 '%s'가 시작됩니다",
-                    scheduleAlarm.getNotifyBeforeVal(),
-                    getUnitDisplayName(scheduleAlarm.getNotifyUnit().name()),
-                    scheduleAlarm.getSchedule().getTitle());
+                    row.getNotifyBeforeVal(),
+                    getUnitDisplayName(row.getNotifyUnit().name()),
+                    row.getScheduleTitle());
         }
 
         return NotificationResponseDto.builder()
-                .id(notification.getId())
-                .type(notification.getType())
+                .id(row.getId())
+                .type(row.getType())
                 .message(message)
-                .time(notification.getTime())
-                .isRead(notification.getIsRead())
-                .readAt(notification.getReadAt())
-                .createdAt(notification.getCreatedAt())
+                .time(row.getTime())
+                .isRead(row.getIsRead())
+                .readAt(row.getReadAt())
+                .createdAt(row.getCreatedAt())
                 .relatedData(relatedData)
                 .build();
     }
 
+    /**
+     * 태그 알림 문구 조립
+     * 작성자에게 가는 수락/거절 알림이 아니면 태그 알림 문구 (작성자 이름이 없으면 빈 문구)
+     */
+    private String tagMessage(String writerName, String taggedMemberName, boolean toWriter, TagStatus tagStatus) {
+        if (toWriter && (tagStatus == TagStatus.ACCEPTED || tagStatus == TagStatus.REJECTED)) {
+            return String.format("%s님이 다이어리 태그를 %s했습니다",
+                    taggedMemberName, tagStatus == TagStatus.ACCEPTED ? "수락" : "거절");
+        }
+        return writerName != null ? String.format("%s님이 다이어리에 회원님을 태그했습니다", writerName) : "";
+    }
+
+    /**
+     * 알림함 커서 인코딩 ("createdAt|id" 를 URL-safe Base64 로 감싸 클라이언트에는 불투명한 값으로 전달)
+     */
+    private String encodeCursor(LocalDateTime createdAt, Long id) {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 알림함 커서 디코딩
+     */
+    private InboxCursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new InboxCursor(
+                    LocalDateTime.parse(raw.substring(0, sep)),
+                    Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 커서 값입니다.");
+        }
+    }
+
+    private record InboxCursor(LocalDateTime createdAt, Long id) {
+    }
+
     /**
      * 스케줄 알람의 알림 시각 계산
      */
     private LocalDateTime calculateNotifyTime(ScheduleAlarm scheduleAlarm) {
-        LocalDateTime scheduleStartTime = scheduleAlarm.getSchedule().getStartAt();
-        int notifyBefore = scheduleAlarm.getNotifyBeforeVal();
-
-        return switch (scheduleAlarm.getNotifyUnit()) {
-            case MIN -> scheduleStartTime.minusMinutes(notifyBefore);
-            case HOUR -> scheduleStartTime.minusHours(notifyBefore);
-            case DAY -> scheduleStartTime.minusDays(notifyBefore);
-        };
+        return RecurringAlarmGenerator.notifyTime(scheduleAlarm, scheduleAlarm.getSchedule().getStartAt());
     }
 
     /**
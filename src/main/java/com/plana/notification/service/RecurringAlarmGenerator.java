@@ -0,0 +1,148 @@
+package com.plana.notification.service;
+
+import com.plana.auth.entity.Member;
+import com.plana.calendar.entity.Schedule;
+import com.plana.calendar.entity.ScheduleAlarm;
+import com.plana.calendar.repository.ScheduleAlarmRepository;
+import com.plana.calendar.service.RecurrenceService;
+import com.plana.notification.entity.Notification;
+import com.plana.notification.repository.NotificationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 반복 일정 알림 생성기 (rolling horizon)
+ *
+ * 반복 일정의 모든 회차 알림을 미리 만들면 알림 테이블이 끝없이 커지므로
+ * 알람 설정(ScheduleAlarm)마다 "아직 울리지 않은 알림"을 최대 K 개만 유지
+ * - 일정 생성 시: 지금 이후 회차부터 K 개 생성
+ * - 알림 발송 후: 스케줄러가 topUp 을 호출해 부족한 만큼 다음 회차를 이어서 생성
+ * - 다음 회차 계산은 RecurrenceService.getNextOccurrence 사용, recurrenceUntil 이후 회차는 만들지 않음
+ *
+ * 설정: notification.alarm.horizon (기본 3)
+ */
+@Slf4j
+@Component
+public class RecurringAlarmGenerator {
+
+    // 회차 계산이 잘못된 규칙 등으로 끝나지 않는 경우를 막기 위한 1회 호출당 최대 생성 수
+    private static final int MAX_GENERATE_PER_CALL = 50;
+
+    private final NotificationRepository notificationRepository;
+    private final ScheduleAlarmRepository scheduleAlarmRepository;
+    private final RecurrenceService recurrenceService;
+    private final int horizon;
+
+    public RecurringAlarmGenerator(NotificationRepository notificationRepository,
+                                   ScheduleAlarmRepository scheduleAlarmRepository,
+                                   RecurrenceService recurrenceService,
+                                   @Value("${notification.alarm.horizon:3}") int horizon) {
+        this.notificationRepository = notificationRepository;
+        this.scheduleAlarmRepository = scheduleAlarmRepository;
+        this.recurrenceService = recurrenceService;
+        this.horizon = Math.max(horizon, 1);
+    }
+
+    /**
+     * 반복 일정 알람의 미래 알림을 K 개가 되도록 채움 (호출자 트랜잭션에 참여)
+     *
+     * @param alarm 반복 일정의 알람 설정
+     * @param member 알림 받을 사용자
+     * @return 새로 생성된 알림 목록 (회차 순)
+     */
+    @Transactional
+    public List<Notification> fill(ScheduleAlarm alarm, Member member) {
+        Schedule schedule = alarm.getSchedule();
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> created = new ArrayList<>();
+
+        long upcoming = notificationRepository.countUpcomingByScheduleAlarmId(alarm.getId(), now);
+        if (upcoming >= horizon) {
+            return created;
+        }
+
+        // 이미 생성된 마지막 회차 다음부터, 처음이면 지금 이후 첫 회차부터
+        LocalDateTime latest = notificationRepository.findLatestOccurrenceAt(alarm.getId());
+        LocalDateTime from = (latest == null || latest.isBefore(now)) ? now : latest.plusSeconds(1);
+
+        while (upcoming < horizon && created.size() < MAX_GENERATE_PER_CALL) {
+            LocalDateTime occurrence = recurrenceService.getNextOccurrence(
+                    schedule.getRecurrenceRule(), schedule.getStartAt(), from);
+
+            if (occurrence == null
+                    || (schedule.getRecurrenceUntil() != null && occurrence.isAfter(schedule.getRecurrenceUntil()))) {
+                break; // 반복 종료
+            }
+
+            LocalDateTime notifyTime = notifyTime(alarm, occurrence);
+            created.add(notificationRepository.save(Notification.builder()
+                    .scheduleAlarm(alarm)
+                    .member(member)
+                    .type("ALARM")
+                    .time(notifyTime)
+                    .occurrenceAt(occurrence)
+                    .isRead(false)
+                    .isSent(false)
+                    .build()));
+
+            // 알림 시각이 이미 지난 회차(곧 시작하는 회차)는 스케줄러가 바로 발송하므로 미래 알림 수에 포함하지 않음
+            if (notifyTime.isAfter(now)) {
+                upcoming++;
+            }
+            from = occurrence.plusSeconds(1);
+        }
+
+        if (!created.isEmpty()) {
+            log.debug("반복 일정 알림 생성: scheduleAlarmId={}, count={}, last={}",
+                    alarm.getId(), created.size(), created.get(created.size() - 1).getOccurrenceAt());
+        }
+        return created;
+    }
+
+    /**
+     * 발송 후 보충 (스케줄러용, 알람 단위로 별도 트랜잭션)
+     * 여러 노드가 동시에 보충하면 (schedule_alarm_id, occurrence_at) 유니크 제약으로 한쪽만 성공하고 나머지는 실패 처리됨
+     *
+     * @param scheduleAlarmId 알람 설정 ID
+     * @return 새로 생성된 알림 수
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int topUp(Long scheduleAlarmId) {
+        ScheduleAlarm alarm = scheduleAlarmRepository.findById(scheduleAlarmId).orElse(null);
+        if (alarm == null || !isActiveRecurring(alarm.getSchedule())) {
+            return 0;
+        }
+        return fill(alarm, alarm.getSchedule().getMember()).size();
+    }
+
+    /**
+     * 보충 대상 여부 (삭제되지 않은 반복 일정)
+     */
+    public boolean isActiveRecurring(Schedule schedule) {
+        return schedule != null
+                && Boolean.TRUE.equals(schedule.getIsRecurring())
+                && !Boolean.TRUE.equals(schedule.getIsDeleted())
+                && schedule.getRecurrenceRule() != null
+                && !schedule.getRecurrenceRule().isBlank();
+    }
+
+    /**
+     * 회차 시작 시각 기준 알림 시각 계산 (시작 시각 - notifyBeforeVal * notifyUnit)
+     */
+    public static LocalDateTime notifyTime(ScheduleAlarm alarm, LocalDateTime occurrenceStart) {
+        int notifyBefore = alarm.getNotifyBeforeVal();
+
+        return switch (alarm.getNotifyUnit()) {
+            case MIN -> occurrenceStart.minusMinutes(notifyBefore);
+            case HOUR -> occurrenceStart.minusHours(notifyBefore);
+            case DAY -> occurrenceStart.minusDays(notifyBefore);
+        };
+    }
+}
@@ -0,0 +1,115 @@
+package com.plana.notification.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.plana.common.messaging.ClusterMessageBus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 다중 노드용 중계 구현체 - Redis Pub/Sub 으로 모든 노드에 발행
+ *
+ * 흐름:
+ * 1. 알림을 만든 노드가 {memberId, destination, payload} 봉투를 relay 채널에 발행
+ * 2. 모든 노드(발행 노드 포함)가 수신
+ * 3. 해당 사용자의 세션이 현재 노드에 있는 경우에만 로컬 브로커로 전달, 없으면 무시
+ *
+ * 로드밸런서에 sticky session 없이 여러 레플리카를 띄워도 사용자가 어느 노드에 붙어 있든 알림이 도달함
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "notification.relay.mode", havingValue = "redis")
+public class RedisNotificationRelay implements NotificationRelay {
+
+    static final String CHANNEL = "plana:notification:relay";
+
+    private final ClusterMessageBus messageBus;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final WebSocketSessionManager sessionManager;
+    private final ObjectMapper objectMapper;
+
+    private final Counter publishedCounter;
+    private final Counter deliveredCounter;
+    private final Counter skippedCounter;
+    private final Counter failedCounter;
+
+    public RedisNotificationRelay(ClusterMessageBus messageBus,
+                                  SimpMessagingTemplate messagingTemplate,
+                                  WebSocketSessionManager sessionManager,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry) {
+        this.messageBus = messageBus;
+        this.messagingTemplate = messagingTemplate;
+        this.sessionManager = sessionManager;
+        this.objectMapper = objectMapper;
+
+        String node = messageBus.nodeId();
+        this.publishedCounter = counter(meterRegistry, "plana.notification.relay.published", node,
+                "relay 채널에 발행한 사용자 메시지 수");
+        this.deliveredCounter = counter(meterRegistry, "plana.notification.relay.delivered", node,
+                "현재 노드에서 WebSocket 으로 전달한 사용자 메시지 수");
+        this.skippedCounter = counter(meterRegistry, "plana.notification.relay.skipped", node,
+                "수신자 세션이 현재 노드에 없어 무시한 메시지 수");
+        this.failedCounter = counter(meterRegistry, "plana.notification.relay.failed", node,
+                "중계 메시지 처리 실패 수");
+
+        messageBus.subscribe(CHANNEL, this::onRelayMessage);
+    }
+
+    @Override
+    public void sendToUser(Long memberId, String destination, Object payload) {
+        try {
+            RelayEnvelope envelope = new RelayEnvelope(memberId, destination,
+                    objectMapper.valueToTree(payload), messageBus.nodeId());
+            messageBus.publish(CHANNEL, objectMapper.writeValueAsString(envelope));
+            publishedCounter.increment();
+        } catch (JsonProcessingException e) {
+            failedCounter.increment();
+            throw new IllegalStateException("알림 중계 메시지 직렬화 실패", e);
+        }
+    }
+
+    /**
+     * relay 채널 수신 처리 - 현재 노드에 세션이 있는 사용자에게만 전달
+     */
+    private void onRelayMessage(String message) {
+        try {
+            RelayEnvelope envelope = objectMapper.readValue(message, RelayEnvelope.class);
+
+            if (!sessionManager.isOnline(envelope.memberId())) {
+                skippedCounter.increment();
+                return;
+            }
+
+            messagingTemplate.convertAndSendToUser(
+                    envelope.memberId().toString(), envelope.destination(), envelope.payload());
+            deliveredCounter.increment();
+
+            log.debug("중계 메시지 전달: memberId={}, origin={}, node={}",
+                    envelope.memberId(), envelope.originNode(), messageBus.nodeId());
+
+        } catch (Exception e) {
+            failedCounter.increment();
+            log.error("중계 메시지 처리 실패: error={}", e.getMessage(), e);
+        }
+    }
+
+    private static Counter counter(MeterRegistry registry, String name, String node, String description) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("mode", "redis")
+                .tag("node", node)
+                .register(registry);
+    }
+
+    /**
+     * relay 채널로 주고받는 메시지 봉투
+     */
+    record RelayEnvelope(Long memberId, String destination, JsonNode payload, String originNode) {
+    }
+}
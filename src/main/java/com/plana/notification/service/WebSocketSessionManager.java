@@ -0,0 +1,73 @@
+package com.plana.notification.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 현재 노드에 연결된 WebSocket 세션 관리
+ *
+ * - 저장 방식: 메모리 기반 ConcurrentHashMap (노드 로컬 정보, 다른 노드의 세션은 알지 못함)
+ * - 사용자별 다중 세션 지원 (여러 탭/디바이스)
+ * - WebSocketEventListener 의 연결/해제 이벤트에서 갱신됨
+ */
+@Slf4j
+@Component
+public class WebSocketSessionManager {
+
+    // memberId → sessionId 집합
+    private final Map<Long, Set<String>> sessionsByMember = new ConcurrentHashMap<>();
+
+    // sessionId → memberId (연결 해제 이벤트에는 세션 속성이 없을 수 있어 역방향 매핑 유지)
+    private final Map<String, Long> memberBySession = new ConcurrentHashMap<>();
+
+    /**
+     * 세션 등록
+     */
+    public void register(Long memberId, String sessionId) {
+        memberBySession.put(sessionId, memberId);
+        sessionsByMember.computeIfAbsent(memberId, id -> ConcurrentHashMap.newKeySet()).add(sessionId);
+        log.debug("세션 등록: memberId={}, sessionId={}", memberId, sessionId);
+    }
+
+    /**
+     * 세션 해제
+     *
+     * @return 세션에 연결되어 있던 사용자 ID (없으면 null)
+     */
+    public Long unregister(String sessionId) {
+        Long memberId = memberBySession.remove(sessionId);
+        if (memberId != null) {
+            sessionsByMember.computeIfPresent(memberId, (id, sessions) -> {
+                sessions.remove(sessionId);
+                return sessions.isEmpty() ? null : sessions;
+            });
+            log.debug("세션 해제: memberId={}, sessionId={}", memberId, sessionId);
+        }
+        return memberId;
+    }
+
+    /**
+     * 해당 사용자가 현재 노드에 연결되어 있는지 여부
+     */
+    public boolean isOnline(Long memberId) {
+        return sessionsByMember.containsKey(memberId);
+    }
+
+    /**
+     * 현재 노드에 연결된 사용자 목록
+     */
+    public Set<Long> getOnlineUsers() {
+        return Set.copyOf(sessionsByMember.keySet());
+    }
+
+    /**
+     * 현재 노드의 전체 세션 수
+     */
+    public int getSessionCount() {
+        return memberBySession.size();
+    }
+}
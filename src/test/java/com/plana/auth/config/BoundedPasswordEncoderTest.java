@@ -0,0 +1,78 @@
+package com.plana.auth.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * BoundedPasswordEncoder 부하 차단 테스트
+ */
+@DisplayName("BoundedPasswordEncoder 테스트")
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null) {
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("전용 스레드에서 BCrypt 해시 계산")
+    void encodeAndMatches() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), meterRegistry, 2, 8, 5000);
+
+        String hash = encoder.encode("password123!");
+
+        assertThat(encoder.matches("password123!", hash)).isTrue();
+        assertThat(encoder.matches("wrong", hash)).isFalse();
+        assertThat(meterRegistry.timer("plana.password.hash", "op", "matches").count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("해시 스레드와 대기열이 모두 차면 즉시 503")
+    void queueFull_Rejected() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder slow = mock(PasswordEncoder.class);
+        given(slow.encode(any())).willAnswer(inv -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "hash";
+        });
+        encoder = new BoundedPasswordEncoder(slow, meterRegistry, 1, 1, 5000);
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();         // 스레드 1개 사용 중
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+        while (meterRegistry.get("plana.password.queue.depth").gauge().value() < 1) {
+            Thread.sleep(10);                                             // 대기열 1칸 사용
+        }
+
+        assertThatThrownBy(() -> encoder.encode("c"))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+        assertThat(meterRegistry.counter("plana.password.rejected", "reason", "queue_full").count()).isEqualTo(1.0);
+
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("hash");
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("hash");
+    }
+}
@@ -0,0 +1,217 @@
+package com.plana.auth.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * EmailSenderService 비동기 발송 큐 테스트
+ * 실제 SMTP 서버 대신 로컬 소켓으로 동작하는 최소 SMTP 서버를 띄워 검증
+ */
+@DisplayName("EmailSenderService 비동기 발송 큐 테스트")
+class EmailSenderServiceTest {
+
+    private StubSmtpServer smtp;
+    private SimpleMeterRegistry meterRegistry;
+    private EmailSenderService emailSender;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        smtp = new StubSmtpServer();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (emailSender != null) {
+            emailSender.shutdown();
+        }
+        smtp.close();
+    }
+
+    @Test
+    @DisplayName("여러 메일은 하나의 SMTP 연결로 묶어서 발송")
+    void send_MultipleMails_ReusesConnection() {
+        emailSender = new EmailSenderService(mailSender(), meterRegistry, 100, 1, 20, 300, 3, 10, 100);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(emailSender.send("user" + i + "@plana.test", "제목", "본문")).isTrue();
+        }
+
+        await(() -> smtp.delivered.get() == 10);
+        assertThat(smtp.connections.get()).isLessThanOrEqualTo(2);
+        assertThat(meterRegistry.counter("plana.mail.sent").count()).isEqualTo(10.0);
+    }
+
+    @Test
+    @DisplayName("일시적 오류로 실패한 메일은 백오프 후 재시도")
+    void send_TemporaryFailure_Retried() {
+        smtp.rejectRecipients.set(1);
+        emailSender = new EmailSenderService(mailSender(), meterRegistry, 100, 1, 20, 0, 3, 10, 100);
+
+        assertThat(emailSender.send("retry@plana.test", "제목", "본문")).isTrue();
+
+        await(() -> smtp.delivered.get() == 1);
+        assertThat(meterRegistry.counter("plana.mail.retried").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("plana.mail.failed").count()).isZero();
+    }
+
+    @Test
+    @DisplayName("큐가 가득 차면 즉시 거절")
+    void send_QueueFull_Rejected() throws InterruptedException {
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        JavaMailSender blocking = mock(JavaMailSender.class);
+        doAnswer(invocation -> {
+            sending.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(blocking).send(any(SimpleMailMessage[].class));
+
+        emailSender = new EmailSenderService(blocking, meterRegistry, 1, 1, 1, 0, 3, 10, 100);
+
+        assertThat(emailSender.send("a@plana.test", "제목", "본문")).isTrue();
+        assertThat(sending.await(5, TimeUnit.SECONDS)).isTrue();   // 워커가 첫 메일 발송 중
+
+        assertThat(emailSender.send("b@plana.test", "제목", "본문")).isTrue();  // 큐 1칸
+        assertThat(emailSender.send("c@plana.test", "제목", "본문")).isFalse(); // 가득 참
+        assertThat(meterRegistry.counter("plana.mail.rejected").count()).isEqualTo(1.0);
+
+        release.countDown();
+    }
+
+    private JavaMailSenderImpl mailSender() {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("127.0.0.1");
+        sender.setPort(smtp.port());
+        Properties props = new Properties();
+        props.put("mail.smtp.from", "noreply@plana.test");
+        props.put("mail.smtp.timeout", "5000");
+        sender.setJavaMailProperties(props);
+        return sender;
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("조건 대기 시간 초과").isLessThan(deadline);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * 테스트용 최소 SMTP 서버 (EHLO/MAIL/RCPT/DATA/RSET/NOOP/QUIT)
+     */
+    private static final class StubSmtpServer implements AutoCloseable {
+
+        private final ServerSocket serverSocket;
+        private final AtomicInteger connections = new AtomicInteger();
+        private final AtomicInteger delivered = new AtomicInteger();
+        private final AtomicInteger rejectRecipients = new AtomicInteger();   // 앞에서부터 N 번 RCPT 를 451 로 거절
+
+        private StubSmtpServer() throws IOException {
+            serverSocket = new ServerSocket(0);
+            Thread acceptor = new Thread(this::acceptLoop, "stub-smtp");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        private int port() {
+            return serverSocket.getLocalPort();
+        }
+
+        private void acceptLoop() {
+            while (!serverSocket.isClosed()) {
+                try {
+                    Socket socket = serverSocket.accept();
+                    connections.incrementAndGet();
+                    Thread handler = new Thread(() -> handle(socket), "stub-smtp-session");
+                    handler.setDaemon(true);
+                    handler.start();
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private void handle(Socket socket) {
+            try (socket;
+                 BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                 PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.US_ASCII)) {
+
+                reply(out, "220 localhost ESMTP stub");
+                String line;
+                while ((line = in.readLine()) != null) {
+                    String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+                    switch (command) {
+                        case "EHLO" -> reply(out, "250-localhost\r\n250 8BITMIME");
+                        case "HELO", "MAIL", "RSET", "NOOP" -> reply(out, "250 OK");
+                        case "RCPT" -> {
+                            if (rejectRecipients.getAndUpdate(n -> Math.max(n - 1, 0)) > 0) {
+                                reply(out, "451 try again later");
+                            } else {
+                                reply(out, "250 OK");
+                            }
+                        }
+                        case "DATA" -> {
+                            reply(out, "354 end with .");
+                            while ((line = in.readLine()) != null && !line.equals(".")) {
+                                // 본문은 버림
+                            }
+                            delivered.incrementAndGet();
+                            reply(out, "250 OK");
+                        }
+                        case "QUIT" -> {
+                            reply(out, "221 bye");
+                            return;
+                        }
+                        default -> reply(out, "502 not implemented");
+                    }
+                }
+            } catch (IOException ignored) {
+                // 연결 종료
+            }
+        }
+
+        private static void reply(PrintWriter out, String response) {
+            out.print(response + "\r\n");
+            out.flush();
+        }
+
+        @Override
+        public void close() {
+            try {
+                serverSocket.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
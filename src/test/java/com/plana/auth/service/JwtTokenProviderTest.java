@@ -5,6 +5,10 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.Date;
 
 import static org.assertj.core.api.Assertions.*;
@@ -255,4 +259,101 @@ class JwtTokenProviderTest {
         // 테스트 실행 시간을 고려해 생략
         System.out.println("💡 참고: 1초 후에는 만료되어 검증 실패할 것임");
     }
+
+    @Test
+    @DisplayName("검증된 Claims 캐시 - 같은 토큰은 한 번만 파싱, 반환한 Claims 를 고쳐도 캐시는 그대로")
+    void getValidClaims_SameToken_ServedFromCache() {
+        // Given
+        String token = jwtTokenProvider.createAccessToken(testMemberId, testEmail, testRole);
+
+        // When - 인증 필터처럼 한 번 검증 후 여러 값 조회
+        var claims = jwtTokenProvider.getValidClaims(token);
+        Long memberId = jwtTokenProvider.getMemberIdFromToken(token);
+        String role = jwtTokenProvider.getRoleFromToken(token);
+
+        // Then - 캐시 항목은 하나, 호출마다 사본이라 고쳐도 다음 조회에 영향 없음
+        assertThat(claims).isNotNull();
+        claims.setSubject("999");
+        claims.put("role", "ROLE_ADMIN");
+        assertThat(jwtTokenProvider.getValidClaims(token).getSubject()).isEqualTo(testMemberId.toString());
+        assertThat(jwtTokenProvider.getRoleFromToken(token)).isEqualTo(testRole);
+        assertThat(memberId).isEqualTo(testMemberId);
+        assertThat(role).isEqualTo(testRole);
+        assertThat(jwtTokenProvider.cachedClaimsCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("검증된 Claims 캐시 - 위조/만료 토큰은 캐시로 통과하지 않음")
+    void getValidClaims_TamperedOrExpiredToken_NotServedFromCache() {
+        // Given - 정상 토큰을 캐시에 올려둔 뒤 서명 일부를 변조
+        String token = jwtTokenProvider.createAccessToken(testMemberId, testEmail, testRole);
+        assertThat(jwtTokenProvider.validateToken(token)).isTrue();
+        char last = token.charAt(token.length() - 2);
+        String tampered = token.substring(0, token.length() - 2) + (last == 'A' ? 'B' : 'A') + token.charAt(token.length() - 1);
+
+        // Then - 변조 토큰은 실패, 캐시에도 들어가지 않음
+        assertThat(jwtTokenProvider.getValidClaims(tampered)).isNull();
+        assertThat(jwtTokenProvider.cachedClaimsCount()).isEqualTo(1);
+
+        // Given - exp 가 1초 남은 토큰 (JWT exp 는 초 단위)
+        MutableClock clock = new MutableClock(1_700_000_000_000L);
+        JwtTokenProvider clocked = new JwtTokenProvider(testSecret, accessTokenValidity, refreshTokenValidity, 100, clock);
+        String shortToken = clocked.createRefreshToken(testMemberId, 1000L);
+        assertThat(clocked.validateToken(shortToken)).isTrue();
+
+        // When - 만료 후 재검증
+        clock.advance(2100);
+
+        // Then - 캐시에 있었더라도 만료 토큰은 실패
+        assertThat(clocked.validateToken(shortToken)).isFalse();
+    }
+
+    @Test
+    @DisplayName("만료된 토큰도 서명이 올바르면 Claims 조회 (로그아웃용), 위조 토큰은 null")
+    void getClaimsAllowExpired_ExpiredButSigned() {
+        String expired = jwtTokenProvider.createRefreshToken(testMemberId, -60_000L, "family-1", "jti-1");
+        assertThat(jwtTokenProvider.getValidClaims(expired)).isNull();
+
+        var claims = jwtTokenProvider.getClaimsAllowExpired(expired);
+        assertThat(claims).isNotNull();
+        assertThat(claims.get("fid", String.class)).isEqualTo("family-1");
+
+        JwtTokenProvider otherKey = new JwtTokenProvider(testSecret.replace('t', 'x'), accessTokenValidity, refreshTokenValidity);
+        assertThat(otherKey.getClaimsAllowExpired(expired)).isNull();
+    }
+
+    /**
+     * 테스트용 수동 시계
+     */
+    private static final class MutableClock extends Clock {
+        private long millis;
+
+        private MutableClock(long millis) {
+            this.millis = millis;
+        }
+
+        private void advance(long ms) {
+            millis += ms;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
 }
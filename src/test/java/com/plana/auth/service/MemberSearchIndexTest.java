@@ -0,0 +1,86 @@
+package com.plana.auth.service;
+
+import com.plana.auth.dto.MemberSearchEntryDto;
+import com.plana.auth.dto.MemberSearchResponseDto;
+import com.plana.auth.repository.MemberRepository;
+import com.plana.common.messaging.ClusterMessageBus;
+import com.plana.diary.repository.DiaryTagRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+/**
+ * MemberSearchIndex 단위 테스트 (DB/Redis 는 목으로 대체)
+ */
+@DisplayName("MemberSearchIndex 단위 테스트")
+class MemberSearchIndexTest {
+
+    private MemberRepository memberRepository;
+    private DiaryTagRepository diaryTagRepository;
+    private ClusterMessageBus messageBus;
+    private MemberSearchIndex index;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        memberRepository = mock(MemberRepository.class);
+        diaryTagRepository = mock(DiaryTagRepository.class);
+        messageBus = mock(ClusterMessageBus.class);
+
+        // 발행한 변경 메시지를 자기 자신에게 바로 전달 (Redis Pub/Sub 흉내)
+        doAnswer(inv -> {
+            Consumer<String> handler = inv.getArgument(1);
+            doAnswer(pub -> {
+                handler.accept(pub.getArgument(1));
+                return null;
+            }).when(messageBus).publish(anyString(), anyString());
+            return null;
+        }).when(messageBus).subscribe(anyString(), any(Consumer.class));
+
+        given(memberRepository.findSearchEntriesAfter(eq(0L), any(Pageable.class))).willReturn(List.of(
+                new MemberSearchEntryDto(1L, "me", "나"),
+                new MemberSearchEntryDto(2L, "alice", "앨리스"),
+                new MemberSearchEntryDto(3L, "alfred", null),
+                new MemberSearchEntryDto(4L, "kalice", "bob"),
+                new MemberSearchEntryDto(5L, null, "alicia")));
+
+        index = new MemberSearchIndex(memberRepository, diaryTagRepository, messageBus, 20, 5000, 50, 600);
+        index.load();
+    }
+
+    @Test
+    @DisplayName("자주 태그한 사람 → 접두어 일치 → 중간 일치 순, 본인 제외")
+    void search_Ranking() {
+        given(diaryTagRepository.findFrequentlyTaggedMemberIds(eq(1L), any(Pageable.class))).willReturn(List.of(4L));
+
+        List<Long> ids = index.search("ALI", 1L).stream().map(MemberSearchResponseDto::getId).toList();
+
+        assertThat(ids).containsExactly(4L, 2L, 5L);
+        assertThat(index.search("me", 1L)).isEmpty();
+        assertThat(index.search("al", 1L)).extracting(MemberSearchResponseDto::getId).containsExactly(4L, 3L, 2L, 5L);
+        verify(memberRepository, never()).searchByLoginId(anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("닉네임 변경/탈퇴 후 색인 갱신")
+    void refresh_UpdatesIndex() {
+        given(memberRepository.findSearchEntryById(2L)).willReturn(Optional.of(new MemberSearchEntryDto(2L, "alice", "zed")));
+        index.refresh(2L);
+        assertThat(index.search("zed", 1L)).extracting(MemberSearchResponseDto::getId).containsExactly(2L);
+
+        given(memberRepository.findSearchEntryById(3L)).willReturn(Optional.empty());
+        index.refresh(3L);
+        assertThat(index.search("alf", 1L)).isEmpty();
+        assertThat(index.countWithLoginId()).isEqualTo(3);
+    }
+}
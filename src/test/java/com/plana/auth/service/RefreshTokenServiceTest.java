@@ -0,0 +1,70 @@
+package com.plana.auth.service;
+
+import com.plana.auth.exception.UnauthorizedException;
+import com.plana.common.messaging.LocalClusterMessageBus;
+import com.plana.common.store.InMemoryKeyValueStore;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * RefreshTokenService 단위 테스트 (프로세스 메모리 저장소 + 로컬 메시지 버스)
+ */
+@DisplayName("RefreshTokenService 단위 테스트")
+class RefreshTokenServiceTest {
+
+    private static final String SECRET = "testSecretKeyForTestingPurposesOnly12345678901234567890123456789";
+    private static final long VALIDITY = 604800000L;
+
+    private InMemoryKeyValueStore store;
+    private LocalClusterMessageBus messageBus;
+    private JwtTokenProvider jwtTokenProvider;
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryKeyValueStore(1000, 64);
+        messageBus = new LocalClusterMessageBus("test");
+        jwtTokenProvider = new JwtTokenProvider(SECRET, 3600000L, VALIDITY);
+        refreshTokenService = new RefreshTokenService(jwtTokenProvider, store, messageBus, VALIDITY, 3600000L,
+                1024, 3, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.shutdown();
+        messageBus.shutdown();
+    }
+
+    @Test
+    @DisplayName("유예 시간 안에 같은 토큰으로 다시 회전하면 같은 후속 토큰(jti), 패밀리는 유지")
+    void rotate_SameTokenWithinGrace_ReturnsSameSuccessor() {
+        RefreshTokenService.IssuedRefreshToken issued = refreshTokenService.issue(1L);
+        Claims original = jwtTokenProvider.getValidClaims(issued.token());
+
+        Claims first = jwtTokenProvider.getValidClaims(refreshTokenService.rotate(original, VALIDITY).token());
+        Claims second = jwtTokenProvider.getValidClaims(refreshTokenService.rotate(original, VALIDITY).token());
+
+        assertThat(second.getId()).isEqualTo(first.getId());
+        assertThat(refreshTokenService.isRevoked(issued.familyId())).isFalse();
+        // 후속 토큰으로는 계속 회전 가능
+        assertThatCode(() -> refreshTokenService.rotate(second, VALIDITY)).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("후속 토큰까지 회전된 뒤 옛 토큰이 다시 오면 재사용으로 보고 패밀리 폐기")
+    void rotate_ReuseAfterSuccessorRotated_RevokesFamily() {
+        RefreshTokenService.IssuedRefreshToken issued = refreshTokenService.issue(1L);
+        Claims original = jwtTokenProvider.getValidClaims(issued.token());
+        Claims next = jwtTokenProvider.getValidClaims(refreshTokenService.rotate(original, VALIDITY).token());
+        refreshTokenService.rotate(next, VALIDITY);
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(original, VALIDITY))
+                .isInstanceOf(UnauthorizedException.class);
+        assertThat(refreshTokenService.isRevoked(issued.familyId())).isTrue();
+    }
+}
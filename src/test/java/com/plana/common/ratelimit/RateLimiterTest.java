@@ -0,0 +1,85 @@
+package com.plana.common.ratelimit;
+
+import com.plana.common.store.KeyValueStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * RateLimiter 단위 테스트 (공유 저장소는 목으로 대체)
+ */
+@DisplayName("RateLimiter 단위 테스트")
+class RateLimiterTest {
+
+    private KeyValueStore store;
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        store = mock(KeyValueStore.class);
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new RateLimiter(store, meterRegistry, true, "127.0.0.1/32, 10.0.0.0/8", 1000);
+    }
+
+    @Test
+    @DisplayName("로컬 버킷 한도를 넘으면 전역 카운터 조회 없이 429")
+    void check_OverLocalLimit_RejectedWithoutRedis() {
+        AtomicLong counter = new AtomicLong();
+        given(store.increment(anyString(), any())).willAnswer(inv -> counter.incrementAndGet());
+
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.check("login:email", "a@plana.test", 3);
+        }
+
+        assertThatThrownBy(() -> rateLimiter.check("login:email", "a@plana.test", 3))
+                .isInstanceOf(RateLimitExceededException.class)
+                .satisfies(e -> assertThat(((RateLimitExceededException) e).getRetryAfterSeconds()).isPositive());
+        assertThat(counter.get()).isEqualTo(3);   // 4번째 요청은 전역 카운터까지 가지 않음
+        assertThat(meterRegistry.counter("plana.ratelimit.rejected", "scope", "login:email", "layer", "local").count())
+                .isEqualTo(1.0);
+
+        // 다른 키는 영향 없음 (전역 윈도도 키별)
+        counter.set(0);
+        assertThatCode(() -> rateLimiter.check("login:email", "b@plana.test", 3)).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("전역 예산 초과 시 429, 저장소 장애 시에는 로컬 한도만 적용")
+    void check_GlobalBudget() {
+        // 다른 노드에서 이미 한도만큼 사용한 상태
+        given(store.increment(anyString(), any())).willReturn(6L);
+        assertThatThrownBy(() -> rateLimiter.check("login:ip", "10.0.0.1", 5))
+                .isInstanceOf(RateLimitExceededException.class);
+
+        // 저장소 장애
+        given(store.increment(anyString(), any())).willThrow(new IllegalStateException("down"));
+        assertThatCode(() -> rateLimiter.check("login:ip", "10.0.0.2", 5)).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("신뢰하는 프록시를 거친 요청만 X-Forwarded-For 의 오른쪽 첫 외부 주소를 클라이언트 IP 로 사용")
+    void clientIp_UsesRightmostUntrustedHop() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("127.0.0.1");
+        request.addHeader("X-Forwarded-For", "1.1.1.1, 203.0.113.7, 10.0.0.5");
+
+        assertThat(rateLimiter.clientIp(request)).isEqualTo("203.0.113.7");
+        assertThat(new RateLimiter(store, meterRegistry, true, "", 10).clientIp(request)).isEqualTo("127.0.0.1");
+
+        // 프록시를 거치지 않고 직접 붙은 클라이언트의 헤더는 무시
+        MockHttpServletRequest direct = new MockHttpServletRequest();
+        direct.setRemoteAddr("198.51.100.9");
+        direct.addHeader("X-Forwarded-For", "1.1.1.1");
+        assertThat(rateLimiter.clientIp(direct)).isEqualTo("198.51.100.9");
+    }
+}
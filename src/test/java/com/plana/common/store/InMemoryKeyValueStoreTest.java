@@ -0,0 +1,169 @@
+package com.plana.common.store;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * InMemoryKeyValueStore 단위 테스트 (시계를 직접 움직여 만료 검증)
+ */
+@DisplayName("InMemoryKeyValueStore 단위 테스트")
+class InMemoryKeyValueStoreTest {
+
+    private MutableClock clock;
+    private InMemoryKeyValueStore store;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(1_000_000L);
+        store = new InMemoryKeyValueStore(clock, 100, 16, false);
+    }
+
+    @Test
+    @DisplayName("만료 시간이 지나면 조회되지 않고, 타이밍 휠 정리로 메모리에서도 제거")
+    void ttl_ExpiresAndSwept() {
+        store.set("a", "1", Duration.ofMillis(250));
+        store.set("b", "2", Duration.ofSeconds(10));   // 휠 한 바퀴(1.6초)보다 긴 만료
+        store.set("c", "3", null);
+
+        assertThat(store.getTtlMillis("a")).isEqualTo(250);
+        assertThat(store.getTtlMillis("c")).isEqualTo(KeyValueStore.NO_EXPIRE);
+
+        clock.advance(300);
+        store.sweep();
+        assertThat(store.get("a")).isNull();
+        assertThat(store.getTtlMillis("a")).isEqualTo(KeyValueStore.NO_KEY);
+        assertThat(store.size()).isEqualTo(2);
+
+        clock.advance(5_000);
+        store.sweep();
+        assertThat(store.get("b")).isEqualTo("2");   // 다음 바퀴까지 유지
+
+        clock.advance(5_000);
+        store.sweep();
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.get("c")).isEqualTo("3");
+    }
+
+    @Test
+    @DisplayName("비교-교체/비교-삭제는 현재 값이 일치할 때만 성공")
+    void compareAndSetAndDelete() {
+        assertThat(store.setIfAbsent("lock", "owner-1", Duration.ofSeconds(5))).isTrue();
+        assertThat(store.setIfAbsent("lock", "owner-2", Duration.ofSeconds(5))).isFalse();
+
+        assertThat(store.compareAndSet("lock", "owner-2", "owner-2", Duration.ofSeconds(5))).isFalse();
+        assertThat(store.compareAndSet("lock", "owner-1", "owner-1", Duration.ofSeconds(30))).isTrue();
+        assertThat(store.getTtlMillis("lock")).isEqualTo(30_000);
+
+        assertThat(store.compareAndDelete("lock", "owner-2")).isFalse();
+        assertThat(store.compareAndDelete("lock", "owner-1")).isTrue();
+        assertThat(store.hasKey("lock")).isFalse();
+
+        // 만료된 키는 없는 것으로 취급
+        store.set("old", "x", Duration.ofMillis(10));
+        clock.advance(20);
+        assertThat(store.compareAndDelete("old", "x")).isFalse();
+        assertThat(store.setIfAbsent("old", "y", null)).isTrue();
+    }
+
+    @Test
+    @DisplayName("펜싱 락은 비어 있을 때만 획득되고, 획득할 때마다 더 큰 펜싱 토큰 발급")
+    void acquireWithFence_Monotonic() {
+        assertThat(store.acquireWithFence("lock:1", "fence:1", "a", Duration.ofSeconds(5))).isEqualTo(1);
+        assertThat(store.acquireWithFence("lock:1", "fence:1", "b", Duration.ofSeconds(5))).isEqualTo(-1);
+        assertThat(store.get("lock:1")).isEqualTo("a:1");
+
+        assertThat(store.compareAndDelete("lock:1", "a:1")).isTrue();
+        assertThat(store.acquireWithFence("lock:1", "fence:1", "b", Duration.ofSeconds(5))).isEqualTo(2);
+
+        clock.advance(6_000);   // 만료 후 다시 획득
+        assertThat(store.acquireWithFence("lock:1", "fence:1", "c", Duration.ofSeconds(5))).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("동시에 증가해도 값이 유실되지 않음, 만료는 처음 만들 때만 적용")
+    void increment_Concurrent() {
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        AtomicInteger max = new AtomicInteger();
+        for (int t = 0; t < 8; t++) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    max.accumulateAndGet((int) store.increment("counter", Duration.ofSeconds(60)), Math::max);
+                }
+            }));
+        }
+        futures.forEach(CompletableFuture::join);
+
+        assertThat(store.get("counter")).isEqualTo("8000");
+        assertThat(max.get()).isEqualTo(8000);
+        assertThat(store.getTtlMillis("counter")).isEqualTo(60_000);
+    }
+
+    @Test
+    @DisplayName("집합/정렬 집합")
+    void setsAndSortedSets() {
+        store.addToSet("s", "a");
+        store.addToSet("s", "b");
+        store.addToSet("s", "a");
+        assertThat(store.getSetMembers("s")).containsExactlyInAnyOrder("a", "b");
+
+        store.addToSortedSet("z", "x", 30);
+        store.addToSortedSet("z", "y", 10);
+        store.addToSortedSet("z", "w", 20);
+        store.addToSortedSet("z", "y", 40);   // 점수 갱신
+        assertThat(store.getSortedSetRangeByScore("z", 0, Double.POSITIVE_INFINITY)).containsExactly("w", "x", "y");
+        assertThat(store.getSortedSetScore("z", "y")).isEqualTo(40.0);
+
+        store.removeSortedSetRangeByScore("z", 0, 30);
+        assertThat(store.getSortedSetRangeByScore("z", 0, 100)).containsExactly("y");
+        store.removeSortedSetRangeByScore("z", 0, 100);
+        assertThat(store.hasKey("z")).isFalse();
+    }
+
+    /**
+     * 테스트용 수동 시계
+     */
+    private static final class MutableClock extends Clock {
+        private long millis;
+
+        private MutableClock(long millis) {
+            this.millis = millis;
+        }
+
+        private void advance(long ms) {
+            millis += ms;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.plana.file.controller;
+
+import com.plana.file.service.FileServiceImpl;
+import com.plana.file.service.ImageUrlSigner;
+import com.plana.file.service.ImageVariantService;
+import com.plana.file.service.UploadLayout;
+import com.plana.file.storage.LocalUploadStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * UploadController 단위 테스트 (임시 폴더 + standalone MockMvc)
+ */
+@DisplayName("UploadController 단위 테스트")
+class UploadControllerTest {
+
+    private static final String HASH_NAME = "a".repeat(64) + ".png";
+
+    @TempDir
+    Path uploadDir;
+
+    private MockMvc mockMvc;       // 서명 없는 예전 URL 도 허용 (file.url.require-signature=false)
+    private MockMvc signedMockMvc; // 서명 필수
+    private ImageUrlSigner signer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // 2단계 폴더로 옮기기 전 평면 위치의 예전 파일도 같은 URL 로 제공
+        Files.write(uploadDir.resolve(HASH_NAME), "0123456789".getBytes());
+        signer = new ImageUrlSigner("test-secret", 3600, true);
+        mockMvc = mockMvc(new ImageUrlSigner("test-secret", 3600, false));
+        signedMockMvc = mockMvc(signer);
+    }
+
+    private MockMvc mockMvc(ImageUrlSigner imageUrlSigner) {
+        ImageVariantService imageVariantService = mock(ImageVariantService.class);
+        UploadLayout layout = new UploadLayout(uploadDir.toString());
+        FileServiceImpl fileService = new FileServiceImpl(layout, new LocalUploadStorage(layout), imageVariantService,
+                imageUrlSigner, 3600000);
+        return MockMvcBuilders.standaloneSetup(new UploadController(fileService, imageVariantService, imageUrlSigner)).build();
+    }
+
+    @Test
+    @DisplayName("해시 이름 파일은 강한 ETag + immutable 캐시, 같은 ETag 로 다시 요청하면 304")
+    void serve_ContentAddressed_ImmutableAndNotModified() throws Exception {
+        mockMvc.perform(get("/uploads/diary/" + HASH_NAME))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + HASH_NAME + "\""))
+                .andExpect(header().string("Cache-Control", "max-age=31536000, public, immutable"))
+                .andExpect(content().bytes("0123456789".getBytes()));
+
+        mockMvc.perform(get("/uploads/diary/" + HASH_NAME).header("If-None-Match", "\"" + HASH_NAME + "\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("Range 요청은 206 + 요청 구간만, 범위를 벗어나면 416")
+    void serve_Range_PartialContent() throws Exception {
+        mockMvc.perform(get("/uploads/diary/" + HASH_NAME).header("Range", "bytes=2-4"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 2-4/10"))
+                .andExpect(content().bytes("234".getBytes()));
+
+        mockMvc.perform(get("/uploads/diary/" + HASH_NAME).header("Range", "bytes=-3"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().bytes("789".getBytes()));
+
+        mockMvc.perform(get("/uploads/diary/" + HASH_NAME).header("Range", "bytes=20-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string("Content-Range", "bytes */10"));
+    }
+
+    @Test
+    @DisplayName("서명 필수면 서명 없는/틀린/만료된 URL 은 403, 서명 URL 은 만료까지만 private 캐시")
+    void serve_SignatureRequired() throws Exception {
+        String url = "/uploads/diary/" + HASH_NAME;
+        signedMockMvc.perform(get(url)).andExpect(status().isForbidden());
+        signedMockMvc.perform(get(url + "?exp=9999999999&sig=forged")).andExpect(status().isForbidden());
+        signedMockMvc.perform(get(signer.sign(url, Instant.now().minusSeconds(1)))).andExpect(status().isForbidden());
+
+        signedMockMvc.perform(get(signer.sign(url, Instant.now().plusSeconds(600))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", matchesPattern("max-age=(59\\d|600), private, immutable")))
+                .andExpect(content().bytes("0123456789".getBytes()));
+    }
+
+    @Test
+    @DisplayName("2단계 폴더 경로는 직접 제공하지 않음")
+    void serve_ShardPath_NotFound() throws Exception {
+        Path sharded = new UploadLayout(uploadDir.toString()).target(HASH_NAME);
+        Files.createDirectories(sharded.getParent());
+        Files.move(uploadDir.resolve(HASH_NAME), sharded);
+
+        mockMvc.perform(get("/uploads/diary/" + uploadDir.relativize(sharded).toString().replace('\\', '/')))
+                .andExpect(status().isNotFound());
+    }
+}
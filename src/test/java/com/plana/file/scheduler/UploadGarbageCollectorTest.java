@@ -0,0 +1,102 @@
+package com.plana.file.scheduler;
+
+import com.plana.diary.repository.DiaryRepository;
+import com.plana.file.service.UploadLayout;
+import com.plana.file.storage.LocalUploadStorage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * UploadGarbageCollector 단위 테스트 (임시 폴더, 리포지토리는 목으로 대체)
+ */
+@DisplayName("UploadGarbageCollector 단위 테스트")
+class UploadGarbageCollectorTest {
+
+    @TempDir
+    Path root;
+
+    private static final String ORPHAN = "a".repeat(64);
+    private static final String ATTACHED = "b".repeat(64);
+    private static final String FRESH = "c".repeat(64);
+
+    @Test
+    @DisplayName("만료되고 참조되지 않은 해시 이름 원본과 축소본만 삭제하고 삭제 크기 기록")
+    void sweep_ExpiredUnreferenced_Reclaimed() throws IOException {
+        Path diaryDir = Files.createDirectories(root.resolve("diary"));
+        Path tempDir = Files.createDirectories(root.resolve("temp"));
+        Path orphan = expired(Files.write(diaryDir.resolve(ORPHAN + ".jpg"), new byte[10]));
+        Path orphanThumb = expired(Files.write(diaryDir.resolve(ORPHAN + "_thumb.jpg"), new byte[5]));
+        Path attached = expired(Files.write(diaryDir.resolve(ATTACHED + ".jpg"), new byte[10]));
+        Path fresh = Files.write(diaryDir.resolve(FRESH + ".jpg"), new byte[10]);
+        Path sharded = new UploadLayout(diaryDir.toString()).target("d".repeat(64) + ".png");
+        Files.createDirectories(sharded.getParent());
+        expired(Files.write(sharded, new byte[20]));
+        Path leftover = expired(Files.write(diaryDir.resolve(".upload-1.tmp"), new byte[7]));
+        // 예전 이름 파일, 다른 폴더 파일은 대상이 아님
+        Path legacy = expired(Files.write(diaryDir.resolve("diary_13_20250912_233500_0c9c8448.jpg"), new byte[10]));
+        Path temp = expired(Files.write(tempDir.resolve(ORPHAN + ".jpg"), new byte[10]));
+
+        DiaryRepository diaryRepository = mock(DiaryRepository.class);
+        given(diaryRepository.findReferencedImageUrls(anyCollection()))
+                .willReturn(List.of("/uploads/diary/" + ATTACHED + ".jpg"));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        UploadGarbageCollector gc = collector(diaryRepository, diaryDir, meterRegistry);
+
+        gc.sweep();
+
+        assertThat(orphan).doesNotExist();
+        assertThat(orphanThumb).doesNotExist();
+        assertThat(sharded).doesNotExist();
+        assertThat(leftover).doesNotExist();
+        assertThat(attached).exists();
+        assertThat(fresh).exists();
+        assertThat(legacy).exists();
+        assertThat(temp).exists();
+        assertThat(meterRegistry.counter("plana.upload.gc.reclaimed.bytes").count()).isEqualTo(42.0);
+    }
+
+    @Test
+    @DisplayName("참조 확인 후 삭제 전에 다시 업로드(touch)된 파일은 남겨 둠")
+    void sweep_TouchedAfterScan_Kept() throws IOException {
+        Path diaryDir = Files.createDirectories(root.resolve("diary"));
+        Path orphan = expired(Files.write(diaryDir.resolve(ORPHAN + ".jpg"), new byte[10]));
+
+        DiaryRepository diaryRepository = mock(DiaryRepository.class);
+        given(diaryRepository.findReferencedImageUrls(anyCollection())).willAnswer(invocation -> {
+            Files.setLastModifiedTime(orphan, FileTime.from(Instant.now())); // 같은 내용 재업로드
+            return List.of();
+        });
+        UploadGarbageCollector gc = collector(diaryRepository, diaryDir, new SimpleMeterRegistry());
+
+        gc.sweep();
+
+        assertThat(orphan).exists();
+    }
+
+    private static UploadGarbageCollector collector(DiaryRepository diaryRepository, Path diaryDir,
+                                                    SimpleMeterRegistry meterRegistry) {
+        UploadLayout layout = new UploadLayout(diaryDir.toString());
+        return new UploadGarbageCollector(diaryRepository, layout, new LocalUploadStorage(layout), meterRegistry,
+                true, 3600000, 100, 100);
+    }
+
+    private static Path expired(Path path) throws IOException {
+        Files.setLastModifiedTime(path, FileTime.from(Instant.now().minus(2, ChronoUnit.HOURS)));
+        return path;
+    }
+}
@@ -0,0 +1,85 @@
+package com.plana.file.service;
+
+import com.plana.common.store.InMemoryKeyValueStore;
+import com.plana.file.dto.response.ChunkedUploadStatusDto;
+import com.plana.file.dto.response.FileUploadResponseDto;
+import com.plana.file.storage.LocalUploadStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * ChunkedUploadService 단위 테스트 (임시 폴더 + 내장 저장소)
+ */
+@DisplayName("ChunkedUploadService 단위 테스트")
+class ChunkedUploadServiceTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private InMemoryKeyValueStore store;
+    private UploadLayout layout;
+    private ChunkedUploadService service;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryKeyValueStore(1000, 64);
+        layout = new UploadLayout(uploadDir.toString());
+        FileService fileService = new FileServiceImpl(layout, new LocalUploadStorage(layout), mock(ImageVariantService.class), new ImageUrlSigner("test-secret", 3600, true), 3600000);
+        service = new ChunkedUploadService(fileService, layout, store, 4, 1024, 60000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.shutdown();
+    }
+
+    @Test
+    @DisplayName("조각을 순서와 무관하게 받아 체크섬 확인 후 해시 이름 파일로 등록")
+    void chunks_OutOfOrder_CompletedWithChecksum() throws Exception {
+        byte[] content = "0123456789".getBytes(); // 4 + 4 + 2
+        String sha256 = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+
+        ChunkedUploadStatusDto init = service.init(1L, "photo.JPG", (long) content.length, sha256);
+        String id = init.getUploadId();
+        assertThat(init.getMissingChunks()).containsExactly(0, 1, 2);
+
+        service.writeChunk(1L, id, 8, new ByteArrayInputStream(Arrays.copyOfRange(content, 8, 10)));
+        ChunkedUploadStatusDto status = service.writeChunk(1L, id, 0, new ByteArrayInputStream(Arrays.copyOfRange(content, 0, 4)));
+        assertThat(status.getMissingChunks()).containsExactly(1);
+        assertThatThrownBy(() -> service.complete(1L, id, null))
+                .isInstanceOf(ResponseStatusException.class);
+
+        service.writeChunk(1L, id, 4, new ByteArrayInputStream(Arrays.copyOfRange(content, 4, 8)));
+        FileUploadResponseDto res = service.complete(1L, id, null);
+
+        assertThat(res.getFileId()).isEqualTo(sha256);
+        assertThat(Files.readAllBytes(layout.locate(sha256 + ".jpg"))).isEqualTo(content);
+    }
+
+    @Test
+    @DisplayName("다른 사용자의 세션, 크기가 맞지 않는 조각은 거부")
+    void writeChunk_WrongOwnerOrSize_Rejected() {
+        String id = service.init(1L, "a.png", 10L, null).getUploadId();
+
+        assertThatThrownBy(() -> service.writeChunk(2L, id, 0, new ByteArrayInputStream(new byte[4])))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> service.writeChunk(1L, id, 0, new ByteArrayInputStream(new byte[5])))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> service.writeChunk(1L, id, 2, new ByteArrayInputStream(new byte[4])))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+}
@@ -0,0 +1,41 @@
+package com.plana.file.service;
+
+import com.plana.file.storage.UploadStorage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * DirectUploadService 단위 테스트 (저장소/파일 서비스 mock)
+ */
+@DisplayName("DirectUploadService 단위 테스트")
+class DirectUploadServiceTest {
+
+    private static final String HASH = "b".repeat(64);
+
+    private final UploadStorage storage = mock(UploadStorage.class);
+    private final FileService fileService = mock(FileService.class);
+    private final DirectUploadService service = new DirectUploadService(fileService, storage, 50 * 1024 * 1024);
+
+    @Test
+    @DisplayName("완료 시 이미 있던 파일도 수정 시각을 갱신한 뒤 등록, 갱신 전에 정리되었으면 409")
+    void complete_TouchesExisting_ConflictWhenGone() throws IOException {
+        when(fileService.extensionOf("a.jpg")).thenReturn(".jpg");
+        when(storage.touch(HASH + ".jpg")).thenReturn(true, false);
+
+        service.complete(1L, "a.jpg", HASH);
+        verify(storage).touch(HASH + ".jpg");
+        verify(fileService).registerStored(HASH, ".jpg", 1L);
+
+        assertThatThrownBy(() -> service.complete(1L, "a.jpg", HASH))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+        verify(fileService, times(1)).registerStored(HASH, ".jpg", 1L);
+    }
+}
@@ -0,0 +1,107 @@
+package com.plana.file.service;
+
+import com.plana.file.dto.response.FileUploadResponseDto;
+import com.plana.file.storage.LocalUploadStorage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * FileServiceImpl 단위 테스트 (임시 폴더에 저장)
+ */
+@DisplayName("FileServiceImpl 단위 테스트")
+class FileServiceImplTest {
+
+    @TempDir
+    Path uploadDir;
+
+    @Test
+    @DisplayName("같은 내용은 해시 이름 파일 하나로 2단계 폴더에 저장")
+    void saveImageFile_SameContent_Deduplicated() throws IOException {
+        UploadLayout layout = new UploadLayout(uploadDir.toString());
+        FileServiceImpl fileService = new FileServiceImpl(layout, new LocalUploadStorage(layout), mock(ImageVariantService.class), new ImageUrlSigner("test-secret", 3600, true), 3600000);
+        byte[] content = "image-bytes".getBytes();
+
+        FileUploadResponseDto first = fileService.saveImageFile(
+                new MockMultipartFile("file", "a.PNG", "image/png", content), 1L);
+        FileUploadResponseDto second = fileService.saveImageFile(
+                new MockMultipartFile("file", "b.png", "image/png", content), 2L);
+
+        assertThat(ImageUrlSigner.strip(first.getUrl())).isEqualTo(ImageUrlSigner.strip(second.getUrl()))
+                .endsWith(first.getFileId() + ".png");
+        assertThat(first.getFileId()).hasSize(64);
+        Path stored = new UploadLayout(uploadDir.toString()).target(first.getFileId() + ".png");
+        assertThat(stored.getParent().getParent().getParent()).isEqualTo(uploadDir);
+        try (Stream<Path> files = Files.walk(uploadDir)) {
+            assertThat(files.filter(Files::isRegularFile)).containsExactly(stored);
+        }
+        assertThat(Files.readAllBytes(stored)).isEqualTo(content);
+    }
+
+    @Test
+    @DisplayName("JPEG 의 Exif(촬영 위치 등)/주석은 지우고 회전 정보만 남겨 저장, 이름은 올린 내용의 해시")
+    void saveImageFile_Jpeg_MetadataStripped() throws IOException, NoSuchAlgorithmException {
+        UploadLayout layout = new UploadLayout(uploadDir.toString());
+        FileServiceImpl fileService = new FileServiceImpl(layout, new LocalUploadStorage(layout), mock(ImageVariantService.class), new ImageUrlSigner("test-secret", 3600, true), 3600000);
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(8, 4, BufferedImage.TYPE_INT_RGB), "jpeg", encoded);
+        byte[] plain = encoded.toByteArray();
+        // SOI 뒤에 APP1(Exif, IFD0 에 Orientation=6 + GPS IFD 위치) 과 주석(COM) 삽입
+        byte[] exif = {
+                (byte) 0xFF, (byte) 0xE1, 0x00, 0x2E,
+                'E', 'x', 'i', 'f', 0, 0,
+                'M', 'M', 0x00, 0x2A, 0x00, 0x00, 0x00, 0x08,
+                0x00, 0x02,
+                0x01, 0x12, 0x00, 0x03, 0x00, 0x00, 0x00, 0x01, 0x00, 0x06, 0x00, 0x00,
+                (byte) 0x88, 0x25, 0x00, 0x04, 0x00, 0x00, 0x00, 0x01, 0x00, 0x00, 0x00, 0x26,
+                0x00, 0x00, 0x00, 0x00
+        };
+        byte[] comment = {(byte) 0xFF, (byte) 0xFE, 0x00, 0x05, 'g', 'p', 's'};
+        ByteArrayOutputStream upload = new ByteArrayOutputStream();
+        upload.write(plain, 0, 2);
+        upload.write(exif);
+        upload.write(comment);
+        upload.write(plain, 2, plain.length - 2);
+
+        FileUploadResponseDto res = fileService.saveImageFile(
+                new MockMultipartFile("file", "photo.jpg", "image/jpeg", upload.toByteArray()), 1L);
+
+        assertThat(res.getFileId()).isEqualTo(HexFormat.of().formatHex(
+                MessageDigest.getInstance("SHA-256").digest(upload.toByteArray())));
+        byte[] stored = Files.readAllBytes(layout.target(res.getFileId() + ".jpg"));
+        assertThat(stored).hasSize(plain.length + 4 + 32);
+        assertThat(ImageVariantService.ExifOrientation.parse(stored)).isEqualTo(6);
+        assertThat(new String(stored, StandardCharsets.ISO_8859_1)).doesNotContain("gps");
+        assertThat(ImageIO.read(new ByteArrayInputStream(stored)).getWidth()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("경로 문자가 섞인 확장자는 버림")
+    void saveImageFile_UnsafeExtension_Dropped() {
+        UploadLayout layout = new UploadLayout(uploadDir.toString());
+        FileServiceImpl fileService = new FileServiceImpl(layout, new LocalUploadStorage(layout), mock(ImageVariantService.class), new ImageUrlSigner("test-secret", 3600, true), 3600000);
+
+        FileUploadResponseDto res = fileService.saveImageFile(
+                new MockMultipartFile("file", "x./../evil", "image/png", new byte[]{1, 2, 3}), 1L);
+
+        assertThat(ImageUrlSigner.strip(res.getUrl())).isEqualTo("/uploads/diary/" + res.getFileId());
+        assertThat(res.getUrl()).contains("?exp=", "&sig=");
+    }
+}
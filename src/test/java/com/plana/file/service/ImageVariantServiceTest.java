@@ -0,0 +1,93 @@
+package com.plana.file.service;
+
+import com.plana.file.storage.LocalUploadStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * ImageVariantService 단위 테스트 (임시 폴더에 저장)
+ */
+@DisplayName("ImageVariantService 단위 테스트")
+class ImageVariantServiceTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private UploadLayout layout;
+    private ImageVariantService service;
+
+    @BeforeEach
+    void setUp() {
+        layout = new UploadLayout(uploadDir.toString());
+        service = new ImageVariantService(layout, new LocalUploadStorage(layout), 1, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("축소본이 없으면 원본으로 바로 응답하고, 긴 변 기준으로 비율을 유지해 축소한 JPEG 축소본을 생성")
+    void resolve_Thumb_ScaledDown() throws Exception {
+        ImageIO.write(new BufferedImage(1000, 500, BufferedImage.TYPE_INT_RGB), "jpeg",
+                uploadDir.resolve("abc.jpg").toFile());
+
+        assertThat(service.resolve("abc.jpg", ImageVariant.THUMB)).isEqualTo("abc.jpg");
+        String thumb = service.resolve("abc.jpg", ImageVariant.THUMB);
+        for (int i = 0; i < 250 && thumb.equals("abc.jpg"); i++) {
+            Thread.sleep(20);
+            thumb = service.resolve("abc.jpg", ImageVariant.THUMB);
+        }
+
+        assertThat(thumb).isEqualTo("abc_thumb.jpg");
+        assertThat(layout.locate(thumb)).isEqualTo(layout.target("abc_thumb.jpg"));
+        assertThat(layout.target("abc_thumb.jpg").getParent()).isEqualTo(layout.target("abc.jpg").getParent());
+        BufferedImage image = ImageIO.read(layout.locate(thumb).toFile());
+        assertThat(image.getWidth()).isEqualTo(320);
+        assertThat(image.getHeight()).isEqualTo(160);
+    }
+
+    @Test
+    @DisplayName("큰 원본은 축소 크기의 2배 정도로 솎아 읽음")
+    void read_Large_Subsampled() throws IOException {
+        Path file = uploadDir.resolve("large.png");
+        ImageIO.write(new BufferedImage(4000, 1000, BufferedImage.TYPE_INT_RGB), "png", file.toFile());
+
+        BufferedImage image = ImageVariantService.read(file, 320);
+
+        assertThat(image.getWidth()).isEqualTo(667); // 6 픽셀마다 1개
+        assertThat(image.getHeight()).isEqualTo(167);
+    }
+
+    @Test
+    @DisplayName("업로드 폴더 밖을 가리키는 이름은 거부")
+    void resolve_UnsafeName_Null() {
+        assertThat(service.resolve("../secret.jpg", ImageVariant.THUMB)).isNull();
+    }
+
+    @Test
+    @DisplayName("EXIF 회전 정보 파싱")
+    void exifOrientation_Parsed() {
+        // SOI, APP1(Exif, 빅엔디언 TIFF, IFD0 에 Orientation=6 한 개)
+        byte[] jpeg = {
+                (byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE1, 0x00, 0x22,
+                'E', 'x', 'i', 'f', 0, 0,
+                'M', 'M', 0x00, 0x2A, 0x00, 0x00, 0x00, 0x08,
+                0x00, 0x01, 0x01, 0x12, 0x00, 0x03, 0x00, 0x00, 0x00, 0x01, 0x00, 0x06, 0x00, 0x00,
+                0x00, 0x00, 0x00, 0x00
+        };
+
+        assertThat(ImageVariantService.ExifOrientation.parse(jpeg)).isEqualTo(6);
+    }
+}
@@ -0,0 +1,98 @@
+package com.plana.lock.service;
+
+import com.plana.auth.entity.Member;
+import com.plana.auth.enums.SocialProvider;
+import com.plana.common.store.InMemoryKeyValueStore;
+import com.plana.diary.entity.Diary;
+import com.plana.diary.enums.DiaryType;
+import com.plana.diary.repository.DiaryRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 다이어리 락 펜싱 토큰 테스트 (H2 + 내장 저장소)
+ */
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.database=h2",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.auto_quote_keyword=true"
+})
+class LockServiceImplTest {
+
+    @Autowired
+    private DiaryRepository diaryRepository;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Test
+    @DisplayName("저장소가 초기화되어도 펜싱 토큰은 DB 에 기록된 값 이후부터 발급되어 수정이 계속 가능")
+    void tryAcquire_AfterStoreReset_ContinuesFromPersistedFence() {
+        Member writer = em.persist(Member.builder().email("writer@test.com").name("작성자").provider(SocialProvider.LOCAL).build());
+        Long diaryId = em.persist(Diary.builder().diaryDate(LocalDate.of(2025, 1, 1)).type(DiaryType.DAILY).writer(writer).build()).getId();
+
+        // 재시작 전 두 번 수정 (DB 에 펜싱 토큰 2 기록)
+        InMemoryKeyValueStore store = new InMemoryKeyValueStore(1000, 64);
+        LockServiceImpl lockService = new LockServiceImpl(store, mock(LockEventPublisher.class), diaryRepository, 30);
+        String first = null;
+        for (int i = 0; i < 2; i++) {
+            first = lockService.tryAcquire(diaryId, writer.getId());
+            assertThat(diaryRepository.advanceLockFence(diaryId, LockService.fenceOf(first))).isEqualTo(1);
+            lockService.release(diaryId, first);
+        }
+        lockService.shutdown();
+        store.shutdown();
+
+        // 저장소 재시작 (펜싱 카운터 유실) 후 두 번째 수정
+        InMemoryKeyValueStore restarted = new InMemoryKeyValueStore(1000, 64);
+        LockServiceImpl restartedService = new LockServiceImpl(restarted, mock(LockEventPublisher.class), diaryRepository, 30);
+        try {
+            String second = restartedService.tryAcquire(diaryId, writer.getId());
+            assertThat(LockService.fenceOf(second)).isGreaterThan(LockService.fenceOf(first));
+            assertThat(diaryRepository.advanceLockFence(diaryId, LockService.fenceOf(second))).isEqualTo(1);
+        } finally {
+            restartedService.shutdown();
+            restarted.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("세션에 묶인 락은 다른 노드의 REST 연장도 lease 로만 연장, 다른 노드로 재연결한 뒤 옛 세션이 끊겨도 유지")
+    void sessionBinding_SharedAcrossNodes() {
+        Long diaryId = 1000L;
+        InMemoryKeyValueStore store = new InMemoryKeyValueStore(1000, 64);
+        LockServiceImpl nodeA = new LockServiceImpl(store, mock(LockEventPublisher.class), diaryRepository, 30);
+        LockServiceImpl nodeB = new LockServiceImpl(store, mock(LockEventPublisher.class), diaryRepository, 30);
+        try {
+            String token = nodeA.tryAcquire(diaryId, 1L);
+            assertThat(nodeA.heartbeat(diaryId, token, "session-a")).isTrue();
+
+            assertThat(nodeB.renew(diaryId, token)).isTrue();
+            assertThat(nodeB.ttl(diaryId)).isLessThanOrEqualTo(30);
+
+            // 노드 B 로 재연결 후 노드 A 의 옛 세션 종료
+            assertThat(nodeB.heartbeat(diaryId, token, "session-b")).isTrue();
+            nodeA.releaseSession("session-a");
+            assertThat(nodeA.isOwner(diaryId, token)).isTrue();
+
+            nodeB.releaseSession("session-b");
+            assertThat(nodeA.currentToken(diaryId)).isNull();
+        } finally {
+            nodeA.shutdown();
+            nodeB.shutdown();
+            store.shutdown();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.plana.notification.listener;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.plana.common.messaging.LocalClusterMessageBus;
+import com.plana.lock.service.LockService;
+import com.plana.notification.service.RedisNotificationRelay;
+import com.plana.notification.service.WebSocketSessionManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * WebSocket 연결 → 세션 등록 → Redis 중계 발행 → 로컬 전달 흐름 테스트 (노드 내 메시지 버스)
+ */
+@DisplayName("WebSocketEventListener + RedisNotificationRelay 테스트")
+class WebSocketEventListenerTest {
+
+    private LocalClusterMessageBus messageBus;
+    private SimpMessagingTemplate messagingTemplate;
+    private WebSocketSessionManager sessionManager;
+    private WebSocketEventListener listener;
+    private RedisNotificationRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        messageBus = new LocalClusterMessageBus("test");
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        sessionManager = new WebSocketSessionManager();
+        listener = new WebSocketEventListener(sessionManager, mock(LockService.class));
+        relay = new RedisNotificationRelay(messageBus, messagingTemplate, sessionManager, new ObjectMapper(),
+                new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        messageBus.shutdown();
+    }
+
+    @Test
+    @DisplayName("CONNECT_ACK 에 실린 CONNECT 메시지의 세션 속성으로 등록되어 중계 알림이 전달됨")
+    void connected_RegistersSession_RelayDelivers() {
+        listener.handleWebSocketConnectListener(connectedEvent("session-1", 7L));
+        assertThat(sessionManager.isOnline(7L)).isTrue();
+
+        relay.sendToUser(7L, "/queue/notifications", Map.of("message", "hello"));
+        relay.sendToUser(8L, "/queue/notifications", Map.of("message", "offline"));
+
+        verify(messagingTemplate, timeout(2000)).convertAndSendToUser(eq("7"), eq("/queue/notifications"), any(Object.class));
+        verify(messagingTemplate, after(200).never()).convertAndSendToUser(eq("8"), any(), any(Object.class));
+    }
+
+    /** 실제 브로커처럼 세션 속성은 CONNECT 메시지에만 두고, CONNECT_ACK 에는 그 메시지를 헤더로 실음 */
+    private SessionConnectedEvent connectedEvent(String sessionId, Long memberId) {
+        SimpMessageHeaderAccessor connect = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT);
+        connect.setSessionId(sessionId);
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("memberId", memberId);
+        attributes.put("memberEmail", "member" + memberId + "@test.com");
+        connect.setSessionAttributes(attributes);
+        Message<byte[]> connectMessage = MessageBuilder.createMessage(new byte[0], connect.getMessageHeaders());
+
+        SimpMessageHeaderAccessor ack = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT_ACK);
+        ack.setSessionId(sessionId);
+        ack.setHeader(SimpMessageHeaderAccessor.CONNECT_MESSAGE_HEADER, connectMessage);
+        return new SessionConnectedEvent(this, MessageBuilder.createMessage(new byte[0], ack.getMessageHeaders()));
+    }
+}
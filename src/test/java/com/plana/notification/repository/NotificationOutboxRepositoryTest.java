@@ -0,0 +1,66 @@
+package com.plana.notification.repository;
+
+import com.plana.notification.entity.NotificationOutbox;
+import com.plana.notification.enums.OutboxEventType;
+import com.plana.notification.enums.OutboxStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 아웃박스 폴링 쿼리 테스트 (H2)
+ */
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.database=h2",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.auto_quote_keyword=true"
+})
+class NotificationOutboxRepositoryTest {
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Test
+    @DisplayName("재시도 대기 중인 이벤트가 batch 를 채워도 다른 사용자 이벤트는 조회, 대기 중인 사용자의 이후 이벤트는 제외")
+    void findPendingBatch_SkipsBackoffAndBlockedMembers() {
+        LocalDateTime now = LocalDateTime.now();
+        // 사용자 1: 재시도 대기 중인 이벤트 3개 (batch 크기만큼) + 그 뒤 이벤트
+        for (int i = 0; i < 3; i++) {
+            persist(1L, now.plusMinutes(5));
+        }
+        persist(1L, now.minusSeconds(1));
+        // 사용자 2: 바로 처리 가능한 이벤트
+        NotificationOutbox ready = persist(2L, now.minusSeconds(1));
+        em.flush();
+        em.clear();
+
+        List<NotificationOutbox> batch = outboxRepository.findPendingBatch(now, PageRequest.of(0, 3));
+
+        assertThat(batch).extracting(NotificationOutbox::getId).containsExactly(ready.getId());
+    }
+
+    private NotificationOutbox persist(Long memberId, LocalDateTime nextAttemptAt) {
+        return em.persist(NotificationOutbox.builder()
+                .eventType(OutboxEventType.DIARY_TAG_CREATED)
+                .aggregateId(1L)
+                .memberId(memberId)
+                .status(OutboxStatus.PENDING)
+                .nextAttemptAt(nextAttemptAt)
+                .build());
+    }
+}
@@ -0,0 +1,184 @@
+package com.plana.notification.service;
+
+import com.plana.auth.entity.Member;
+import com.plana.auth.enums.SocialProvider;
+import com.plana.calendar.entity.Schedule;
+import com.plana.calendar.entity.ScheduleAlarm;
+import com.plana.calendar.enums.NotifyUnit;
+import com.plana.diary.entity.Diary;
+import com.plana.diary.entity.DiaryTag;
+import com.plana.diary.enums.DiaryType;
+import com.plana.diary.enums.TagStatus;
+import com.plana.notification.dto.response.NotificationCursorResponseDto;
+import com.plana.notification.dto.response.NotificationListResponseDto;
+import com.plana.notification.dto.response.NotificationResponseDto;
+import com.plana.notification.entity.Notification;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 알림함 목록 조회 쿼리 수 검증 테스트
+ * 페이지 크기와 무관하게 목록 조회가 고정된 개수의 SELECT 로 끝나는지 (N+1 미발생) 확인
+ */
+@DataJpaTest
+@Import(NotificationServiceImpl.class)
+@TestPropertySource(properties = {
+        "spring.jpa.database=h2",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.auto_quote_keyword=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class NotificationInboxQueryCountTest {
+
+    private static final int TAG_COUNT = 12;
+    private static final int ALARM_COUNT = 12;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private NotificationCoalescer notificationCoalescer;
+
+    @MockitoBean
+    private RecurringAlarmGenerator recurringAlarmGenerator;
+
+    private Statistics statistics;
+    private Long receiverId;
+
+    @BeforeEach
+    void setUp() {
+        Member writer = em.persist(member("writer@test.com", "작성자"));
+        Member receiver = em.persist(member("receiver@test.com", "수신자"));
+        receiverId = receiver.getId();
+
+        // 알림마다 서로 다른 다이어리/작성자 경로를 가지도록 생성 (지연 로딩이었다면 행마다 추가 SELECT 발생)
+        for (int i = 0; i < TAG_COUNT; i++) {
+            Diary diary = em.persist(Diary.builder()
+                    .diaryDate(LocalDate.of(2025, 1, 1).plusDays(i))
+                    .type(DiaryType.DAILY)
+                    .writer(writer)
+                    .build());
+            DiaryTag tag = em.persist(DiaryTag.builder()
+                    .diary(diary)
+                    .member(receiver)
+                    .tagStatus(TagStatus.PENDING)
+                    .build());
+            em.persist(Notification.builder()
+                    .diaryTag(tag)
+                    .member(receiver)
+                    .type("TAG")
+                    .time(LocalDateTime.now())
+                    .isRead(i % 2 == 0)
+                    .isSent(true)
+                    .build());
+        }
+
+        for (int i = 0; i < ALARM_COUNT; i++) {
+            Schedule schedule = em.persist(Schedule.builder()
+                    .member(receiver)
+                    .title("일정 " + i)
+                    .startAt(LocalDateTime.now().plusDays(1))
+                    .build());
+            ScheduleAlarm alarm = em.persist(ScheduleAlarm.builder()
+                    .schedule(schedule)
+                    .notifyBeforeVal(10)
+                    .notifyUnit(NotifyUnit.MIN)
+                    .build());
+            em.persist(Notification.builder()
+                    .scheduleAlarm(alarm)
+                    .member(receiver)
+                    .type("ALARM")
+                    .time(LocalDateTime.now())
+                    .isRead(false)
+                    .isSent(true)
+                    .build());
+        }
+
+        // 영속성 컨텍스트를 비워 1차 캐시가 아닌 실제 쿼리로만 조회되도록 함
+        em.flush();
+        em.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("커서 첫 페이지 - 목록 1회 + 안읽은 개수 1회")
+    void cursorFirstPage_UsesTwoStatements() {
+        NotificationCursorResponseDto result = notificationService.getNotificationsByCursor(receiverId, null, 20, false);
+
+        assertEquals(20, result.getData().size());
+        assertTrue(result.isHasNext());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertRelatedDataFilled(result.getData().toArray(NotificationResponseDto[]::new));
+    }
+
+    @Test
+    @DisplayName("커서 다음 페이지 - 목록 1회 (COUNT 없음)")
+    void cursorNextPage_UsesSingleStatement() {
+        NotificationCursorResponseDto first = notificationService.getNotificationsByCursor(receiverId, null, 20, false);
+        statistics.clear();
+
+        NotificationCursorResponseDto second = notificationService.getNotificationsByCursor(
+                receiverId, first.getNextCursor(), 20, false);
+
+        assertEquals(TAG_COUNT + ALARM_COUNT - 20, second.getData().size());
+        assertFalse(second.isHasNext());
+        assertNull(second.getUnreadCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("오프셋 페이지 - 목록 1회 + COUNT 1회 + 안읽은 개수 1회")
+    void offsetPage_UsesThreeStatements() {
+        NotificationListResponseDto result = notificationService.getNotifications(
+                receiverId, PageRequest.of(0, 20), false);
+
+        assertEquals(20, result.getData().size());
+        assertEquals(TAG_COUNT + ALARM_COUNT, result.getPagination().getTotalCount());
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    private void assertRelatedDataFilled(NotificationResponseDto... notifications) {
+        for (NotificationResponseDto dto : notifications) {
+            assertFalse(dto.getMessage().isEmpty());
+            if ("TAG".equals(dto.getType())) {
+                assertEquals("작성자", dto.getRelatedData().get("writerName"));
+            } else {
+                assertNotNull(dto.getRelatedData().get("scheduleTitle"));
+            }
+        }
+    }
+
+    private Member member(String email, String name) {
+        return Member.builder()
+                .email(email)
+                .name(name)
+                .provider(SocialProvider.LOCAL)
+                .build();
+    }
+}
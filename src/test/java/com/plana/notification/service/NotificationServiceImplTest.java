@@ -0,0 +1,124 @@
+package com.plana.notification.service;
+
+import com.plana.auth.entity.Member;
+import com.plana.auth.enums.SocialProvider;
+import com.plana.calendar.entity.Schedule;
+import com.plana.calendar.entity.ScheduleAlarm;
+import com.plana.calendar.enums.NotifyUnit;
+import com.plana.diary.entity.Diary;
+import com.plana.diary.entity.DiaryTag;
+import com.plana.diary.enums.DiaryType;
+import com.plana.diary.enums.TagStatus;
+import com.plana.notification.dto.response.NotificationCursorResponseDto;
+import com.plana.notification.dto.response.NotificationResponseDto;
+import com.plana.notification.repository.NotificationRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * 다이어리 태그 알림 생성 테스트 (중복 처리, 생성 시점 문구 보존)
+ */
+@DataJpaTest
+@Import(NotificationServiceImpl.class)
+@TestPropertySource(properties = {
+        "spring.jpa.database=h2",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.auto_quote_keyword=true"
+})
+class NotificationServiceImplTest {
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @MockitoBean
+    private NotificationCoalescer notificationCoalescer;
+
+    @MockitoBean
+    private RecurringAlarmGenerator recurringAlarmGenerator;
+
+    @Test
+    @DisplayName("같은 상태의 태그 알림은 다시 만들어도 예외 없이 기존 알림, 상태가 바뀌면 새 알림")
+    void createDiaryTagNotification_DedupePerStatus() {
+        Member writer = em.persist(member("writer@test.com", "작성자"));
+        Member tagged = em.persist(member("tagged@test.com", "친구"));
+        DiaryTag tag = em.persist(DiaryTag.builder()
+                .diary(em.persist(Diary.builder().diaryDate(LocalDate.of(2025, 1, 1)).type(DiaryType.DAILY).writer(writer).build()))
+                .member(tagged)
+                .tagStatus(TagStatus.PENDING)
+                .build());
+
+        NotificationResponseDto invite = notificationService.createDiaryTagNotification(tag.getId(), tagged.getId(), null);
+        assertEquals(invite.getId(), notificationService.createDiaryTagNotification(tag.getId(), tagged.getId(), null).getId());
+
+        tag.setTagStatus(TagStatus.ACCEPTED);
+        NotificationResponseDto accepted = notificationService.createDiaryTagNotification(tag.getId(), writer.getId(), null);
+        assertEquals(accepted.getId(), notificationService.createDiaryTagNotification(tag.getId(), writer.getId(), null).getId());
+
+        tag.setTagStatus(TagStatus.REJECTED);
+        NotificationResponseDto rejected = notificationService.createDiaryTagNotification(tag.getId(), writer.getId(), null);
+        assertNotEquals(accepted.getId(), rejected.getId());
+        assertEquals(3, notificationRepository.count());
+
+        // 이후 태그 상태가 바뀌어도 이미 만든 알림 문구는 생성 시점 그대로
+        em.flush();
+        em.clear();
+        NotificationCursorResponseDto inbox = notificationService.getNotificationsByCursor(writer.getId(), null, 20, false);
+        assertEquals("친구님이 다이어리 태그를 거절했습니다", inbox.getData().get(0).getMessage());
+        assertEquals("친구님이 다이어리 태그를 수락했습니다", inbox.getData().get(1).getMessage());
+        assertEquals(TagStatus.ACCEPTED, inbox.getData().get(1).getRelatedData().get("tagStatus"));
+    }
+
+    @Test
+    @DisplayName("반복 일정의 예정 회차가 이미 채워져 있으면 예외 없이 null (아웃박스 재전달 시 FAILED 로 남지 않도록)")
+    void createScheduleNotification_RecurringHorizonFull_NoOp() {
+        Member owner = em.persist(member("owner@test.com", "주인"));
+        Schedule schedule = em.persist(Schedule.builder()
+                .member(owner)
+                .title("주간 회의")
+                .startAt(LocalDateTime.now().plusDays(1))
+                .isRecurring(true)
+                .recurrenceRule("FREQ=WEEKLY")
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build());
+        ScheduleAlarm alarm = em.persist(ScheduleAlarm.builder()
+                .schedule(schedule)
+                .notifyBeforeVal(10)
+                .notifyUnit(NotifyUnit.MIN)
+                .build());
+        when(recurringAlarmGenerator.isActiveRecurring(any())).thenReturn(true);
+        when(recurringAlarmGenerator.fill(any(), any())).thenReturn(List.of());
+
+        assertNull(notificationService.createScheduleNotification(alarm.getId(), owner.getId(), null));
+    }
+
+    private Member member(String email, String name) {
+        return Member.builder()
+                .email(email)
+                .name(name)
+                .provider(SocialProvider.LOCAL)
+                .build();
+    }
+}